@@ -1,6 +1,12 @@
 package com.mindtree.leafservice3.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Properties specific to Leaf Service 3.
@@ -11,4 +17,445 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
 
+    private final Upload upload = new Upload();
+
+    private final SearchIndexing searchIndexing = new SearchIndexing();
+
+    private final Reindex reindex = new Reindex();
+
+    private final BlobStore blobStore = new BlobStore();
+
+    private final Pagination pagination = new Pagination();
+
+    private final DrillDown drillDown = new DrillDown();
+
+    private final Report report = new Report();
+
+    private final TokenCache tokenCache = new TokenCache();
+
+    private final Cache cache = new Cache();
+
+    public Upload getUpload() {
+        return upload;
+    }
+
+    public SearchIndexing getSearchIndexing() {
+        return searchIndexing;
+    }
+
+    public Reindex getReindex() {
+        return reindex;
+    }
+
+    public BlobStore getBlobStore() {
+        return blobStore;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public DrillDown getDrillDown() {
+        return drillDown;
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    public TokenCache getTokenCache() {
+        return tokenCache;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public static class Upload {
+
+        /**
+         * Number of sheet rows written per JDBC batch, and handed over for search indexing, before the
+         * persistence context is cleared.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Number of partitions of an application portfolio upload imported concurrently, each in its own
+         * transaction. Every partition holds a database connection, keep it below the pool size.
+         * {@code 1} imports the sheet in a single transaction.
+         */
+        private int parallelism = 4;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    public static class SearchIndexing {
+
+        /**
+         * Index the search documents in the background once the transaction committed. When {@code false}, documents
+         * are indexed right away on the calling thread.
+         */
+        private boolean async = true;
+
+        /**
+         * Maximum number of documents sent in one Elasticsearch bulk request.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Maximum time a document waits in the queue for its bulk request to fill up.
+         */
+        private long flushIntervalMillis = 1000;
+
+        /**
+         * Number of documents the queue holds before committing transactions have to wait for room.
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * Time a committing transaction waits for room in the queue, before indexing its documents itself.
+         */
+        private long enqueueTimeoutMillis = 5000;
+
+        /**
+         * Number of times a bulk request is sent before its documents are given up on.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Wait before the first retry of a bulk request, doubled on every following retry.
+         */
+        private long retryBackoffMillis = 500;
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+
+        public void setFlushIntervalMillis(long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getEnqueueTimeoutMillis() {
+            return enqueueTimeoutMillis;
+        }
+
+        public void setEnqueueTimeoutMillis(long enqueueTimeoutMillis) {
+            this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getRetryBackoffMillis() {
+            return retryBackoffMillis;
+        }
+
+        public void setRetryBackoffMillis(long retryBackoffMillis) {
+            this.retryBackoffMillis = retryBackoffMillis;
+        }
+    }
+
+    public static class Reindex {
+
+        /**
+         * Number of rows read per keyset page, and sent in one Elasticsearch bulk request, while rebuilding an index.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Time the watermark of an index is set back from the start of its rebuild, so the rows changed by the
+         * transactions still open then, or stamped by a node whose clock is behind, are caught up by the next
+         * incremental rebuild.
+         */
+        private Duration watermarkLag = Duration.ofMinutes(5);
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public Duration getWatermarkLag() {
+            return watermarkLag;
+        }
+
+        public void setWatermarkLag(Duration watermarkLag) {
+            this.watermarkLag = watermarkLag;
+        }
+    }
+
+    public static class BlobStore {
+
+        /**
+         * Storage backing the pictures, uploaded sheets and templates, only {@code filesystem} is provided.
+         */
+        private String type = "filesystem";
+
+        /**
+         * Root directory of the {@code filesystem} store, blobs are kept under the SHA-256 of their content.
+         */
+        private String directory = "data/blobs";
+
+        /**
+         * Number of rows moved per transaction when the binaries still stored in the database are migrated to the
+         * store at startup.
+         */
+        private int migrationBatchSize = 50;
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getMigrationBatchSize() {
+            return migrationBatchSize;
+        }
+
+        public void setMigrationBatchSize(int migrationBatchSize) {
+            this.migrationBatchSize = migrationBatchSize;
+        }
+    }
+
+    public static class Pagination {
+
+        /**
+         * Number of entities returned by a keyset page when the request gives an {@code after} cursor but no size.
+         */
+        private int defaultPageSize = 20;
+
+        /**
+         * Largest keyset page returned, larger sizes are capped. Unpaged lists are also read and written in chunks of
+         * this size.
+         */
+        private int maxPageSize = 1000;
+
+        public int getDefaultPageSize() {
+            return defaultPageSize;
+        }
+
+        public void setDefaultPageSize(int defaultPageSize) {
+            this.defaultPageSize = defaultPageSize;
+        }
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+    }
+
+    public static class DrillDown {
+
+        /**
+         * Largest number of capabilities, business processes, activities or tasks read for each level of a line of
+         * business drill-down; the nodes after it are left out and the drill-down is marked as truncated.
+         */
+        private int maxNodesPerLevel = 1000;
+
+        public int getMaxNodesPerLevel() {
+            return maxNodesPerLevel;
+        }
+
+        public void setMaxNodesPerLevel(int maxNodesPerLevel) {
+            this.maxNodesPerLevel = maxNodesPerLevel;
+        }
+    }
+
+    public static class Report {
+
+        /**
+         * Largest number of applications of a company whose portfolio report is streamed to the request, the report
+         * of a larger company is rendered in the background and downloaded once done.
+         */
+        private long backgroundThreshold = 5000;
+
+        public long getBackgroundThreshold() {
+            return backgroundThreshold;
+        }
+
+        public void setBackgroundThreshold(long backgroundThreshold) {
+            this.backgroundThreshold = backgroundThreshold;
+        }
+    }
+
+    public static class TokenCache {
+
+        /**
+         * Number of verified JWT kept with their subject and authorities until they expire, so a token is only parsed
+         * and its signature checked on its first request. {@code 0} disables the cache.
+         */
+        private int maxSize = 10000;
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class Cache {
+
+        private static final String DOMAIN_PACKAGE = "com.mindtree.leafservice3.domain.";
+
+        /**
+         * Cache regions tuned apart from the {@code jhipster.cache.ehcache} defaults. A region is named after the
+         * simple name of its entity, {@code <entity>-<collection>} for a collection, or the name of a Spring cache,
+         * in kebab case.
+         */
+        private final Map<String, Region> regions = new HashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        /**
+         * Get the settings of a cache.
+         *
+         * @param cacheName the name of the cache, the class name of an entity for its second-level cache region.
+         * @return the settings of the region, or {@code null} if the region uses the defaults.
+         */
+        public Region getRegion(String cacheName) {
+            String name = cacheName.startsWith(DOMAIN_PACKAGE) ? cacheName.substring(DOMAIN_PACKAGE.length()) : cacheName;
+            String key = normalize(name);
+            return regions.entrySet().stream()
+                .filter(region -> normalize(region.getKey()).equals(key))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+        }
+
+        private static String normalize(String name) {
+            return name.replace("-", "").replace(".", "").toLowerCase(Locale.ROOT);
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries kept on heap, the {@code jhipster.cache.ehcache.max-entries} default if neither
+             * this nor the heap size is set.
+             */
+            private Long maxEntries;
+
+            /**
+             * Heap used by the entries, measured by walking their object graph, instead of a number of entries.
+             */
+            private DataSize heapSize;
+
+            /**
+             * Off-heap tier below the heap one, for regions of large entries. Entries moved off heap are serialized.
+             */
+            private DataSize offHeapSize;
+
+            /**
+             * Time an entry stays in the region, the {@code jhipster.cache.ehcache.time-to-live-seconds} default if
+             * not set.
+             */
+            private Duration timeToLive;
+
+            /**
+             * Number of entities, by id, loaded into the region once the application started.
+             */
+            private int warmUpEntries;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public DataSize getHeapSize() {
+                return heapSize;
+            }
+
+            public void setHeapSize(DataSize heapSize) {
+                this.heapSize = heapSize;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public int getWarmUpEntries() {
+                return warmUpEntries;
+            }
+
+            public void setWarmUpEntries(int warmUpEntries) {
+                this.warmUpEntries = warmUpEntries;
+            }
+        }
+    }
 }
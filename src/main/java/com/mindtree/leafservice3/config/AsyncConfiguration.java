@@ -40,6 +40,17 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    @Bean(name = "uploadPartitionExecutor")
+    public ThreadPoolTaskExecutor uploadPartitionExecutor(ApplicationProperties applicationProperties) {
+        log.debug("Creating Upload Partition Task Executor");
+        int parallelism = Math.max(1, applicationProperties.getUpload().getParallelism());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("upload-partition-");
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -3,9 +3,13 @@ package com.mindtree.leafservice3.config;
 import java.time.Duration;
 
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
 
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
 import io.github.jhipster.config.JHipsterProperties;
 
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
@@ -13,15 +17,27 @@ import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomi
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.*;
 
+/**
+ * Creates the second-level cache regions and the Spring caches.
+ * <p>
+ * Every cache gets the {@code jhipster.cache.ehcache} defaults, unless its region is tuned in
+ * {@code application.cache.regions}: sized by entries or by bytes, with its own time to live and an optional off-heap
+ * tier. Statistics are enabled on every cache so their gets, hits, misses and evictions are exported with the other
+ * metrics, tagged with the name of the cache.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache =
-            jHipsterProperties.getCache().getEhcache();
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+
+    private final ApplicationProperties.Cache cacheProperties;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
 
         jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
             CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
@@ -76,6 +92,9 @@ public class CacheConfiguration {
             createCache(cm, com.mindtree.leafservice3.domain.Label.class.getName() + ".company_ids");
             createCache(cm, com.mindtree.leafservice3.domain.Diagram.class.getName());
             createCache(cm, com.mindtree.leafservice3.domain.Integration.class.getName() + ".integrationApp");
+            createCache(cm, com.mindtree.leafservice3.service.CapabilitiesService.ORGANIZATIONAL_CHART_CACHE);
+            createCache(cm, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            createUpdateTimestampsCache(cm);
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -85,6 +104,52 @@ public class CacheConfiguration {
         if (cache != null) {
             cm.destroyCache(cacheName);
         }
-        cm.createCache(cacheName, jcacheConfiguration);
+        ApplicationProperties.Cache.Region region = cacheProperties.getRegion(cacheName);
+        cm.createCache(cacheName, region != null ? regionConfiguration(region, ehcache) : jcacheConfiguration);
+        cm.enableStatistics(cacheName, true);
+    }
+
+    /**
+     * The last update of every table, checked by the query cache to drop the results read before it. Its entries must
+     * outlive the query results, so the region holds more entries than there are tables and never expires them.
+     */
+    private void createUpdateTimestampsCache(javax.cache.CacheManager cm) {
+        String cacheName = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+        if (cm.getCache(cacheName) != null) {
+            cm.destroyCache(cacheName);
+        }
+        cm.createCache(cacheName, Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                ResourcePoolsBuilder.heap(1000))
+                .withExpiry(ExpiryPolicyBuilder.noExpiration())
+                .build()));
+        cm.enableStatistics(cacheName, true);
+    }
+
+    static javax.cache.configuration.Configuration<Object, Object> regionConfiguration(
+            ApplicationProperties.Cache.Region region, JHipsterProperties.Cache.Ehcache defaults) {
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.newResourcePoolsBuilder();
+        if (region.getHeapSize() != null) {
+            resourcePools = resourcePools.heap(region.getHeapSize().toBytes(), MemoryUnit.B);
+        } else {
+            long maxEntries = region.getMaxEntries() != null ? region.getMaxEntries() : defaults.getMaxEntries();
+            resourcePools = resourcePools.heap(maxEntries, EntryUnit.ENTRIES);
+        }
+        if (region.getOffHeapSize() != null) {
+            resourcePools = resourcePools.offheap(region.getOffHeapSize().toBytes(), MemoryUnit.B);
+        }
+        Duration timeToLive = region.getTimeToLive() != null
+            ? region.getTimeToLive()
+            : Duration.ofSeconds(defaults.getTimeToLiveSeconds());
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+            .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive));
+        if (region.getOffHeapSize() != null) {
+            ClassLoader classLoader = CacheConfiguration.class.getClassLoader();
+            builder = builder
+                .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                .withValueSerializer(new PlainJavaSerializer<>(classLoader));
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
     }
 }
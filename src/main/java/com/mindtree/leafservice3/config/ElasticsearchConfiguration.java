@@ -1,8 +1,17 @@
 package com.mindtree.leafservice3.config;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.util.NameTransformer;
 import com.github.vanroy.springdata.jest.JestElasticsearchTemplate;
 import com.github.vanroy.springdata.jest.mapper.DefaultJestResultsMapper;
 import io.searchbox.client.JestClient;
@@ -17,6 +26,11 @@ import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverte
 import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
 
 import java.io.IOException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @EnableConfigurationProperties(ElasticsearchProperties.class)
@@ -50,12 +64,14 @@ public class ElasticsearchConfiguration {
         private ObjectMapper objectMapper;
 
         public CustomEntityMapper(ObjectMapper objectMapper) {
-            this.objectMapper = objectMapper;
             objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
             objectMapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
             objectMapper.configure(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS, true);
             objectMapper.configure(SerializationFeature.INDENT_OUTPUT, false);
             objectMapper.configure(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS, true);
+            // the REST API keeps serializing the binaries, only the search documents leave them out
+            this.objectMapper = objectMapper.copy()
+                .registerModule(new SimpleModule("BinaryMetadata").setSerializerModifier(new BinaryMetadataModifier()));
         }
 
         @Override
@@ -69,4 +85,51 @@ public class ElasticsearchConfiguration {
         }
     }
 
+    /**
+     * Replaces the binary properties of the search documents by their metadata, a {@code picture} property is
+     * indexed as {@code pictureMetadata} holding its size and SHA-256 checksum. The binaries are never searched,
+     * sending them base64 encoded to Elasticsearch only made the requests and the indices bigger.
+     * <p>
+     * Documents read back from Elasticsearch have no binary, unknown properties are ignored.
+     */
+    static class BinaryMetadataModifier extends BeanSerializerModifier {
+
+        private static final NameTransformer METADATA_NAME = NameTransformer.simpleTransformer("", "Metadata");
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                List<BeanPropertyWriter> beanProperties) {
+            List<BeanPropertyWriter> properties = new ArrayList<>(beanProperties.size());
+            for (BeanPropertyWriter property : beanProperties) {
+                if (property.getType().getRawClass() == byte[].class) {
+                    BeanPropertyWriter metadata = property.rename(METADATA_NAME);
+                    metadata.assignSerializer((JsonSerializer<Object>) (JsonSerializer<?>) new BinaryMetadataSerializer());
+                    properties.add(metadata);
+                } else {
+                    properties.add(property);
+                }
+            }
+            return properties;
+        }
+    }
+
+    static class BinaryMetadataSerializer extends JsonSerializer<byte[]> {
+
+        @Override
+        public void serialize(byte[] value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            gen.writeNumberField("size", value.length);
+            gen.writeStringField("checksum", sha256(value));
+            gen.writeEndObject();
+        }
+
+        private static String sha256(byte[] value) {
+            try {
+                return String.format("%064x", new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(value)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
 }
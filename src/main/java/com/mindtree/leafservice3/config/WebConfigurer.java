@@ -1,5 +1,7 @@
 package com.mindtree.leafservice3.config;
 
+import com.mindtree.leafservice3.web.rest.util.StreamingResponseBodyHttpMessageConverter;
+
 import io.github.jhipster.config.JHipsterProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,9 +13,11 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.*;
 import java.nio.charset.StandardCharsets;
@@ -76,4 +80,11 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
         return new CorsFilter(source);
     }
 
+    /**
+     * Write the streamed bodies of the handlers answering with either a stream or an object.
+     */
+    @Bean
+    public HttpMessageConverter<StreamingResponseBody> streamingResponseBodyHttpMessageConverter() {
+        return new StreamingResponseBodyHttpMessageConverter();
+    }
 }
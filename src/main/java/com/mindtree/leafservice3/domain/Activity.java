@@ -1,4 +1,5 @@
 package com.mindtree.leafservice3.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
@@ -8,6 +9,7 @@ import javax.validation.constraints.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 
 import com.mindtree.leafservice3.domain.enumeration.ResourcesRequired;
 
@@ -18,7 +20,7 @@ import com.mindtree.leafservice3.domain.enumeration.ResourcesRequired;
 @Table(name = "activity")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "activity", shards = 8)
-public class Activity implements Serializable {
+public class Activity implements Serializable, CompanyScoped, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
@@ -43,6 +45,20 @@ public class Activity implements Serializable {
     @JsonIgnoreProperties("activities")
     private BusinessProcess businessProcess;
 
+    /**
+     * Id of the company owning the row, kept in step with its parents by the
+     * {@code CompanyIdListener}.
+     */
+    @Column(name = "company_id")
+    private Long companyId;
+
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -103,6 +119,31 @@ public class Activity implements Serializable {
     public void setBusinessProcess(BusinessProcess businessProcess) {
         this.businessProcess = businessProcess;
     }
+
+    @Override
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public Activity companyId(Long companyId) {
+        this.companyId = companyId;
+        return this;
+    }
+
+    @Override
+    public void setCompanyId(Long companyId) {
+        this.companyId = companyId;
+    }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -1,4 +1,5 @@
 package com.mindtree.leafservice3.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -6,6 +7,7 @@ import javax.persistence.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 
 import com.mindtree.leafservice3.domain.enumeration.AssessmentCategory;
 
@@ -16,7 +18,7 @@ import com.mindtree.leafservice3.domain.enumeration.AssessmentCategory;
 @Table(name = "assessment")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "assessment", shards = 8)
-public class Assessment implements Serializable {
+public class Assessment implements Serializable, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
@@ -33,6 +35,13 @@ public class Assessment implements Serializable {
     @Column(name = "questions")
     private String questions;
 
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -67,6 +76,16 @@ public class Assessment implements Serializable {
     public void setQuestions(String questions) {
         this.questions = questions;
     }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -1,4 +1,5 @@
 package com.mindtree.leafservice3.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
@@ -8,6 +9,7 @@ import javax.validation.constraints.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 
 /**
  * A Brand.
@@ -16,7 +18,7 @@ import java.io.Serializable;
 @Table(name = "brand")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "brand", shards = 8)
-public class Brand implements Serializable {
+public class Brand implements Serializable, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
@@ -33,6 +35,13 @@ public class Brand implements Serializable {
     @JsonIgnoreProperties("brands")
     private LineOfBusiness lineOfBusiness;
 
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -67,6 +76,16 @@ public class Brand implements Serializable {
     public void setLineOfBusiness(LineOfBusiness lineOfBusiness) {
         this.lineOfBusiness = lineOfBusiness;
     }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -1,13 +1,17 @@
 package com.mindtree.leafservice3.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 
 import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
 
@@ -18,12 +22,18 @@ import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
 @Table(name = "budget")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "budget", shards = 8)
-public class Budget implements Serializable {
+public class Budget implements Serializable, CompanyScoped, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "budgetIdGenerator")
+    @GenericGenerator(name = "budgetIdGenerator", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = "table_name", value = "id_generator"),
+        @Parameter(name = "segment_value", value = "budget"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Keyword)
     private Long id;
 
@@ -45,6 +55,20 @@ public class Budget implements Serializable {
     @JsonIgnoreProperties("budgets")
     private Application application;
 
+    /**
+     * Id of the company owning the row, kept in step with its parents by the
+     * {@code CompanyIdListener}.
+     */
+    @Column(name = "company_id")
+    private Long companyId;
+
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -105,6 +129,31 @@ public class Budget implements Serializable {
     public void setApplication(Application application) {
         this.application = application;
     }
+
+    @Override
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public Budget companyId(Long companyId) {
+        this.companyId = companyId;
+        return this;
+    }
+
+    @Override
+    public void setCompanyId(Long companyId) {
+        this.companyId = companyId;
+    }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -1,4 +1,5 @@
 package com.mindtree.leafservice3.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
@@ -8,6 +9,7 @@ import javax.validation.constraints.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 
 import com.mindtree.leafservice3.domain.enumeration.BusinessFunctionType;
 
@@ -18,7 +20,7 @@ import com.mindtree.leafservice3.domain.enumeration.BusinessFunctionType;
 @Table(name = "business_function")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "businessfunction", shards = 8)
-public class BusinessFunction implements Serializable {
+public class BusinessFunction implements Serializable, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
@@ -44,6 +46,13 @@ public class BusinessFunction implements Serializable {
     @JsonIgnoreProperties("businessFunctions")
     private Employee employee;
 
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -104,6 +113,16 @@ public class BusinessFunction implements Serializable {
     public void setEmployee(Employee employee) {
         this.employee = employee;
     }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
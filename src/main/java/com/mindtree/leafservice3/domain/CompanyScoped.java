@@ -0,0 +1,12 @@
+package com.mindtree.leafservice3.domain;
+
+/**
+ * An entity carrying the denormalized id of the company it belongs to, so tenant scoped queries filter a single
+ * indexed column instead of joining up the hierarchy.
+ */
+public interface CompanyScoped {
+
+    Long getCompanyId();
+
+    void setCompanyId(Long companyId);
+}
@@ -1,5 +1,7 @@
 package com.mindtree.leafservice3.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -8,6 +10,7 @@ import javax.validation.constraints.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 
 import com.mindtree.leafservice3.domain.enumeration.DiagramCategory;
 
@@ -18,7 +21,7 @@ import com.mindtree.leafservice3.domain.enumeration.DiagramCategory;
 @Table(name = "diagram")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "diagram", shards = 8)
-public class Diagram implements Serializable {
+public class Diagram implements Serializable, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
@@ -32,11 +35,18 @@ public class Diagram implements Serializable {
     @Column(name = "category", nullable = false)
     private DiagramCategory category;
 
-    
-    @Lob
-    @Column(name = "picture", nullable = false)
+    /**
+     * Content received in a request, kept in the blob store on save and never returned.
+     */
+    @Transient
     private byte[] picture;
 
+    @Column(name = "picture_key", length = 64)
+    private String pictureKey;
+
+    @Column(name = "picture_size")
+    private Long pictureSize;
+
     @Column(name = "picture_content_type", nullable = false)
     private String pictureContentType;
 
@@ -45,6 +55,13 @@ public class Diagram implements Serializable {
     @JsonIgnoreProperties("diagrams")
     private Company company;
 
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -76,10 +93,37 @@ public class Diagram implements Serializable {
         return this;
     }
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     public void setPicture(byte[] picture) {
         this.picture = picture;
     }
 
+    public String getPictureKey() {
+        return pictureKey;
+    }
+
+    public Diagram pictureKey(String pictureKey) {
+        this.pictureKey = pictureKey;
+        return this;
+    }
+
+    public void setPictureKey(String pictureKey) {
+        this.pictureKey = pictureKey;
+    }
+
+    public Long getPictureSize() {
+        return pictureSize;
+    }
+
+    public Diagram pictureSize(Long pictureSize) {
+        this.pictureSize = pictureSize;
+        return this;
+    }
+
+    public void setPictureSize(Long pictureSize) {
+        this.pictureSize = pictureSize;
+    }
+
     public String getPictureContentType() {
         return pictureContentType;
     }
@@ -105,6 +149,16 @@ public class Diagram implements Serializable {
     public void setCompany(Company company) {
         this.company = company;
     }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -128,7 +182,8 @@ public class Diagram implements Serializable {
         return "Diagram{" +
             "id=" + getId() +
             ", category='" + getCategory() + "'" +
-            ", picture='" + getPicture() + "'" +
+            ", pictureKey='" + getPictureKey() + "'" +
+            ", pictureSize=" + getPictureSize() +
             ", pictureContentType='" + getPictureContentType() + "'" +
             "}";
     }
@@ -1,4 +1,5 @@
 package com.mindtree.leafservice3.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
@@ -8,6 +9,7 @@ import javax.validation.constraints.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 import java.time.LocalDate;
 
 import com.mindtree.leafservice3.domain.enumeration.AssessmentCategory;
@@ -19,7 +21,7 @@ import com.mindtree.leafservice3.domain.enumeration.AssessmentCategory;
 @Table(name = "evaluation")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "evaluation", shards = 8)
-public class Evaluation implements Serializable {
+public class Evaluation implements Serializable, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
@@ -51,6 +53,13 @@ public class Evaluation implements Serializable {
     @JsonIgnoreProperties("evaluations")
     private Application application;
 
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -124,6 +133,16 @@ public class Evaluation implements Serializable {
     public void setApplication(Application application) {
         this.application = application;
     }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
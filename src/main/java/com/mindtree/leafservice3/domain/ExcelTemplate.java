@@ -1,5 +1,7 @@
 package com.mindtree.leafservice3.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -8,6 +10,7 @@ import javax.validation.constraints.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 
 import com.mindtree.leafservice3.domain.enumeration.TemplateType;
 
@@ -18,7 +21,7 @@ import com.mindtree.leafservice3.domain.enumeration.TemplateType;
 @Table(name = "excel_template")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "exceltemplate", shards = 8)
-public class ExcelTemplate implements Serializable {
+public class ExcelTemplate implements Serializable, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
@@ -27,11 +30,18 @@ public class ExcelTemplate implements Serializable {
     @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Keyword)
     private Long id;
 
-    
-    @Lob
-    @Column(name = "file_name", nullable = false)
+    /**
+     * Content received in a request, kept in the blob store on save and never returned.
+     */
+    @Transient
     private byte[] fileName;
 
+    @Column(name = "file_name_key", length = 64)
+    private String fileNameKey;
+
+    @Column(name = "file_name_size")
+    private Long fileNameSize;
+
     @Column(name = "file_name_content_type", nullable = false)
     private String fileNameContentType;
 
@@ -43,6 +53,13 @@ public class ExcelTemplate implements Serializable {
     @ManyToOne
     private Company company;
 
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -61,10 +78,37 @@ public class ExcelTemplate implements Serializable {
         return this;
     }
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     public void setFileName(byte[] fileName) {
         this.fileName = fileName;
     }
 
+    public String getFileNameKey() {
+        return fileNameKey;
+    }
+
+    public ExcelTemplate fileNameKey(String fileNameKey) {
+        this.fileNameKey = fileNameKey;
+        return this;
+    }
+
+    public void setFileNameKey(String fileNameKey) {
+        this.fileNameKey = fileNameKey;
+    }
+
+    public Long getFileNameSize() {
+        return fileNameSize;
+    }
+
+    public ExcelTemplate fileNameSize(Long fileNameSize) {
+        this.fileNameSize = fileNameSize;
+        return this;
+    }
+
+    public void setFileNameSize(Long fileNameSize) {
+        this.fileNameSize = fileNameSize;
+    }
+
     public String getFileNameContentType() {
         return fileNameContentType;
     }
@@ -103,6 +147,16 @@ public class ExcelTemplate implements Serializable {
     public void setCompany(Company company) {
         this.company = company;
     }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -125,7 +179,8 @@ public class ExcelTemplate implements Serializable {
     public String toString() {
         return "ExcelTemplate{" +
             "id=" + getId() +
-            ", fileName='" + getFileName() + "'" +
+            ", fileNameKey='" + getFileNameKey() + "'" +
+            ", fileNameSize=" + getFileNameSize() +
             ", fileNameContentType='" + getFileNameContentType() + "'" +
             ", type='" + getType() + "'" +
             "}";
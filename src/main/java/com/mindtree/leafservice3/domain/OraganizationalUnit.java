@@ -1,13 +1,17 @@
 package com.mindtree.leafservice3.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 
 /**
  * A OraganizationalUnit.
@@ -16,12 +20,18 @@ import java.io.Serializable;
 @Table(name = "oraganizational_unit")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "oraganizationalunit", shards = 8)
-public class OraganizationalUnit implements Serializable {
+public class OraganizationalUnit implements Serializable, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "oraganizationalUnitIdGenerator")
+    @GenericGenerator(name = "oraganizationalUnitIdGenerator", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = "table_name", value = "id_generator"),
+        @Parameter(name = "segment_value", value = "oraganizational_unit"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Keyword)
     private Long id;
 
@@ -37,6 +47,13 @@ public class OraganizationalUnit implements Serializable {
     @JsonIgnoreProperties("oraganizationalUnits")
     private Company company;
 
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -84,6 +101,16 @@ public class OraganizationalUnit implements Serializable {
     public void setCompany(Company company) {
         this.company = company;
     }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
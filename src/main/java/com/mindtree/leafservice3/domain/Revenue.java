@@ -1,5 +1,6 @@
 package com.mindtree.leafservice3.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
 
@@ -11,6 +12,7 @@ import javax.validation.constraints.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 import java.time.LocalDate;
 
 
@@ -21,7 +23,7 @@ import java.time.LocalDate;
 @Table(name = "revenue")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "revenue", shards = 8)
-public class Revenue implements Serializable {
+public class Revenue implements Serializable, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
@@ -46,6 +48,13 @@ public class Revenue implements Serializable {
     @JsonIgnoreProperties("revenues")
     private LineOfBusiness lineOfBusiness;
 
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -106,6 +115,16 @@ public class Revenue implements Serializable {
     public void setLineOfBusiness(LineOfBusiness lineOfBusiness) {
         this.lineOfBusiness = lineOfBusiness;
     }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -0,0 +1,208 @@
+package com.mindtree.leafservice3.domain;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+import java.io.Serializable;
+
+import com.mindtree.leafservice3.domain.enumeration.ApplicationStatus;
+
+/**
+ * A cell of the spend aggregation cube: the spend and budget of an application for a year and an expenditure type.
+ * <p>
+ * Budget totals are kept in the cell without expenditure type. Amounts are in currency units, see
+ * {@link com.mindtree.leafservice3.service.util.CurrencyUnits}. Cells are maintained by the application, do not
+ * edit them.
+ */
+@Entity
+@Table(name = "spend_aggregate")
+public class SpendAggregate implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "spendAggregateIdGenerator")
+    @GenericGenerator(name = "spendAggregateIdGenerator", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = "table_name", value = "id_generator"),
+        @Parameter(name = "segment_value", value = "spend_aggregate"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
+    private Long id;
+
+    @NotNull
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
+    @NotNull
+    @Column(name = "line_of_business_id", nullable = false)
+    private Long lineOfBusinessId;
+
+    @NotNull
+    @Column(name = "application_id", nullable = false)
+    private Long applicationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "application_status")
+    private ApplicationStatus applicationStatus;
+
+    @NotNull
+    @Column(name = "year", nullable = false)
+    private Integer year;
+
+    @Column(name = "expenditure_type")
+    private String expenditureType;
+
+    @NotNull
+    @Column(name = "spent", nullable = false)
+    private Long spent = 0L;
+
+    @NotNull
+    @Column(name = "budgeted", nullable = false)
+    private Long budgeted = 0L;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public SpendAggregate companyId(Long companyId) {
+        this.companyId = companyId;
+        return this;
+    }
+
+    public void setCompanyId(Long companyId) {
+        this.companyId = companyId;
+    }
+
+    public Long getLineOfBusinessId() {
+        return lineOfBusinessId;
+    }
+
+    public SpendAggregate lineOfBusinessId(Long lineOfBusinessId) {
+        this.lineOfBusinessId = lineOfBusinessId;
+        return this;
+    }
+
+    public void setLineOfBusinessId(Long lineOfBusinessId) {
+        this.lineOfBusinessId = lineOfBusinessId;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public SpendAggregate applicationId(Long applicationId) {
+        this.applicationId = applicationId;
+        return this;
+    }
+
+    public void setApplicationId(Long applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public ApplicationStatus getApplicationStatus() {
+        return applicationStatus;
+    }
+
+    public SpendAggregate applicationStatus(ApplicationStatus applicationStatus) {
+        this.applicationStatus = applicationStatus;
+        return this;
+    }
+
+    public void setApplicationStatus(ApplicationStatus applicationStatus) {
+        this.applicationStatus = applicationStatus;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public SpendAggregate year(Integer year) {
+        this.year = year;
+        return this;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public String getExpenditureType() {
+        return expenditureType;
+    }
+
+    public SpendAggregate expenditureType(String expenditureType) {
+        this.expenditureType = expenditureType;
+        return this;
+    }
+
+    public void setExpenditureType(String expenditureType) {
+        this.expenditureType = expenditureType;
+    }
+
+    public Long getSpent() {
+        return spent;
+    }
+
+    public SpendAggregate spent(Long spent) {
+        this.spent = spent;
+        return this;
+    }
+
+    public void setSpent(Long spent) {
+        this.spent = spent;
+    }
+
+    public Long getBudgeted() {
+        return budgeted;
+    }
+
+    public SpendAggregate budgeted(Long budgeted) {
+        this.budgeted = budgeted;
+        return this;
+    }
+
+    public void setBudgeted(Long budgeted) {
+        this.budgeted = budgeted;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SpendAggregate)) {
+            return false;
+        }
+        return id != null && id.equals(((SpendAggregate) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    @Override
+    public String toString() {
+        return "SpendAggregate{" +
+            "id=" + getId() +
+            ", companyId=" + getCompanyId() +
+            ", lineOfBusinessId=" + getLineOfBusinessId() +
+            ", applicationId=" + getApplicationId() +
+            ", applicationStatus='" + getApplicationStatus() + "'" +
+            ", year=" + getYear() +
+            ", expenditureType='" + getExpenditureType() + "'" +
+            ", spent=" + getSpent() +
+            ", budgeted=" + getBudgeted() +
+            "}";
+    }
+}
@@ -1,4 +1,5 @@
 package com.mindtree.leafservice3.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -7,6 +8,7 @@ import javax.validation.constraints.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 
 
 /**
@@ -16,7 +18,7 @@ import java.io.Serializable;
 @Table(name = "technology_recommendation")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "technologyrecommendation", shards = 8)
-public class TechnologyRecommendation implements Serializable {
+public class TechnologyRecommendation implements Serializable, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
@@ -45,6 +47,13 @@ public class TechnologyRecommendation implements Serializable {
     @Column(name = "technology_type")
     private String technologyType;
 
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -131,6 +140,16 @@ public class TechnologyRecommendation implements Serializable {
     public void setTechnologyType(String technologyType) {
         this.technologyType = technologyType;
     }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -1,4 +1,5 @@
 package com.mindtree.leafservice3.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
@@ -7,6 +8,7 @@ import javax.persistence.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 
 import com.mindtree.leafservice3.domain.enumeration.Type;
 
@@ -17,7 +19,7 @@ import com.mindtree.leafservice3.domain.enumeration.Type;
 @Table(name = "technology_suggestions")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "technologysuggestions", shards = 8)
-public class TechnologySuggestions implements Serializable {
+public class TechnologySuggestions implements Serializable, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
@@ -43,6 +45,13 @@ public class TechnologySuggestions implements Serializable {
     @JsonIgnoreProperties("technologySuggestions")
     private TechnologyRecommendation technologyRecommendation;
 
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -116,6 +125,16 @@ public class TechnologySuggestions implements Serializable {
     public void setTechnologyRecommendation(TechnologyRecommendation technologyRecommendation) {
         this.technologyRecommendation = technologyRecommendation;
     }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
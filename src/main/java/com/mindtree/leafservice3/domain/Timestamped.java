@@ -0,0 +1,14 @@
+package com.mindtree.leafservice3.domain;
+
+import java.time.Instant;
+
+/**
+ * An entity stamped with the time of its last change, so the search indices are caught up with the rows changed
+ * since a watermark instead of being rebuilt.
+ */
+public interface Timestamped {
+
+    Instant getLastModified();
+
+    void setLastModified(Instant lastModified);
+}
@@ -1,5 +1,7 @@
 package com.mindtree.leafservice3.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -8,6 +10,7 @@ import javax.validation.constraints.*;
 
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import java.io.Serializable;
+import java.time.Instant;
 
 import com.mindtree.leafservice3.domain.enumeration.UploadExcelType;
 
@@ -18,7 +21,7 @@ import com.mindtree.leafservice3.domain.enumeration.UploadExcelType;
 @Table(name = "upload_excel")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "uploadexcel", shards = 8)
-public class UploadExcel implements Serializable {
+public class UploadExcel implements Serializable, Timestamped {
 
     private static final long serialVersionUID = 1L;
 
@@ -27,11 +30,18 @@ public class UploadExcel implements Serializable {
     @org.springframework.data.elasticsearch.annotations.Field(type = FieldType.Keyword)
     private Long id;
 
-    
-    @Lob
-    @Column(name = "name", nullable = false)
+    /**
+     * Content received in a request, kept in the blob store on save and never returned.
+     */
+    @Transient
     private byte[] name;
 
+    @Column(name = "name_key", length = 64)
+    private String nameKey;
+
+    @Column(name = "name_size")
+    private Long nameSize;
+
     @Column(name = "name_content_type", nullable = false)
     private String nameContentType;
 
@@ -44,6 +54,13 @@ public class UploadExcel implements Serializable {
     @NotNull
     private Company company;
 
+    /**
+     * Time of the last change of the row, stamped by the {@code LastModifiedListener}.
+     */
+    @JsonIgnore
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -62,10 +79,37 @@ public class UploadExcel implements Serializable {
         return this;
     }
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     public void setName(byte[] name) {
         this.name = name;
     }
 
+    public String getNameKey() {
+        return nameKey;
+    }
+
+    public UploadExcel nameKey(String nameKey) {
+        this.nameKey = nameKey;
+        return this;
+    }
+
+    public void setNameKey(String nameKey) {
+        this.nameKey = nameKey;
+    }
+
+    public Long getNameSize() {
+        return nameSize;
+    }
+
+    public UploadExcel nameSize(Long nameSize) {
+        this.nameSize = nameSize;
+        return this;
+    }
+
+    public void setNameSize(Long nameSize) {
+        this.nameSize = nameSize;
+    }
+
     public String getNameContentType() {
         return nameContentType;
     }
@@ -104,6 +148,16 @@ public class UploadExcel implements Serializable {
     public void setCompany(Company company) {
         this.company = company;
     }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -126,7 +180,8 @@ public class UploadExcel implements Serializable {
     public String toString() {
         return "UploadExcel{" +
             "id=" + getId() +
-            ", name='" + getName() + "'" +
+            ", nameKey='" + getNameKey() + "'" +
+            ", nameSize=" + getNameSize() +
             ", nameContentType='" + getNameContentType() + "'" +
             ", type='" + getType() + "'" +
             "}";
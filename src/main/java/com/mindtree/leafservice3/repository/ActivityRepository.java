@@ -1,9 +1,16 @@
 package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.Activity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * Spring Data  repository for the Activity entity.
@@ -12,4 +19,18 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select activity from Activity activity where activity.companyId = :companyId")
+    List<Activity> findAllByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * @return rows of [id, name, description, resources required, business process id] of the activities of
+     * business processes.
+     */
+    @Query("select activity.id, activity.name, activity.description, activity.resourcesRequired, "
+        + "activity.businessProcess.id "
+        + "from Activity activity where activity.businessProcess.id in :businessProcessIds "
+        + "order by activity.id")
+    List<Object[]> findDrillDownNodes(@Param("businessProcessIds") Collection<Long> businessProcessIds,
+        Pageable pageable);
 }
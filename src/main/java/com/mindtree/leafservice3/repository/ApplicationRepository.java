@@ -1,9 +1,17 @@
 package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.Application;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * Spring Data  repository for the Application entity.
@@ -12,4 +20,58 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select application from Application application "
+        + "join fetch application.lineOfBusiness lineOfBusiness "
+        + "left join fetch lineOfBusiness.employee "
+        + "join fetch lineOfBusiness.oraganizationalUnit oraganizationalUnit "
+        + "left join fetch oraganizationalUnit.employee "
+        + "join fetch oraganizationalUnit.company company "
+        + "left join fetch company.user "
+        + "where application.companyId = :companyId")
+    List<Application> findAllByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * @return rows of [id, name, line of business id] of a page of the applications of a line of business.
+     */
+    @Query(value = "select application.id, application.name, application.lineOfBusiness.id "
+        + "from Application application where application.lineOfBusiness.id = :lineOfBusinessId "
+        + "order by application.id",
+        countQuery = "select count(application) from Application application "
+        + "where application.lineOfBusiness.id = :lineOfBusinessId")
+    Page<Object[]> findChartNodesByLineOfBusinessId(@Param("lineOfBusinessId") Long lineOfBusinessId, Pageable pageable);
+
+    /**
+     * @return rows of [id, name, line of business id] of the applications of lines of business.
+     */
+    @Query("select application.id, application.name, application.lineOfBusiness.id "
+        + "from Application application where application.lineOfBusiness.id in :lineOfBusinessIds "
+        + "order by application.id")
+    List<Object[]> findChartNodesByLineOfBusinessIds(@Param("lineOfBusinessIds") Collection<Long> lineOfBusinessIds);
+
+    /**
+     * @return rows of [line of business id, number of applications] of lines of business having some.
+     */
+    @Query("select application.lineOfBusiness.id, count(application) from Application application "
+        + "where application.lineOfBusiness.id in :lineOfBusinessIds group by application.lineOfBusiness.id")
+    List<Object[]> countChartNodesByLineOfBusinessIds(@Param("lineOfBusinessIds") Collection<Long> lineOfBusinessIds);
+
+    /**
+     * @return rows of [id, name] of applications.
+     */
+    @Query("select application.id, application.name from Application application where application.id in :ids")
+    List<Object[]> findNames(@Param("ids") Collection<Long> ids);
+
+    long countByCompanyId(Long companyId);
+
+    /**
+     * Applications of a company after an id, read from the company index.
+     *
+     * @return rows of {@code [id, name, lineOfBusinessName, status, type]}, ordered by id.
+     */
+    @Query("select application.id, application.name, lineOfBusiness.name, application.status, application.type "
+        + "from Application application left join application.lineOfBusiness lineOfBusiness "
+        + "where application.companyId = :companyId and application.id > :after order by application.id")
+    List<Object[]> findReportRowsAfter(@Param("companyId") Long companyId, @Param("after") Long after, Pageable pageable);
+
 }
@@ -1,8 +1,13 @@
 package com.mindtree.leafservice3.repository;
 import com.mindtree.leafservice3.domain.Assessment;
+import com.mindtree.leafservice3.service.dto.AssessmentSummaryDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 
 /**
  * Spring Data  repository for the Assessment entity.
@@ -11,4 +16,12 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
 
+    /**
+     * Summaries of the assessments after an id, without reading their questions.
+     */
+    @Query("select new com.mindtree.leafservice3.service.dto.AssessmentSummaryDTO(assessment.id, "
+        + "assessment.assessmentCategory) "
+        + "from Assessment assessment "
+        + "where assessment.id > :after order by assessment.id")
+    List<AssessmentSummaryDTO> findSummariesAfter(@Param("after") Long after, Pageable pageable);
 }
@@ -2,8 +2,13 @@ package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.Budget;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * Spring Data  repository for the Budget entity.
@@ -12,4 +17,16 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select budget from Budget budget "
+        + "join fetch budget.application application "
+        + "join fetch application.lineOfBusiness lineOfBusiness "
+        + "left join fetch lineOfBusiness.employee "
+        + "join fetch lineOfBusiness.oraganizationalUnit oraganizationalUnit "
+        + "left join fetch oraganizationalUnit.employee "
+        + "join fetch oraganizationalUnit.company company "
+        + "left join fetch company.user "
+        + "where budget.companyId = :companyId")
+    List<Budget> findAllByCompanyId(@Param("companyId") Long companyId);
+
 }
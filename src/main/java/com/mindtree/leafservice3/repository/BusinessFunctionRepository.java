@@ -1,9 +1,16 @@
 package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.BusinessFunction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * Spring Data  repository for the BusinessFunction entity.
@@ -12,4 +19,23 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface BusinessFunctionRepository extends JpaRepository<BusinessFunction, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select businessFunction from BusinessFunction businessFunction "
+        + "left join fetch businessFunction.employee "
+        + "join fetch businessFunction.lineOfBusiness lineOfBusiness "
+        + "left join fetch lineOfBusiness.employee "
+        + "join fetch lineOfBusiness.oraganizationalUnit oraganizationalUnit "
+        + "left join fetch oraganizationalUnit.employee "
+        + "join fetch oraganizationalUnit.company company "
+        + "left join fetch company.user "
+        + "where company.id = :companyId")
+    List<BusinessFunction> findAllByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * @return rows of [id, name, type] of a page of the business functions of a line of business.
+     */
+    @Query("select businessFunction.id, businessFunction.name, businessFunction.type "
+        + "from BusinessFunction businessFunction where businessFunction.lineOfBusiness.id = :lineOfBusinessId "
+        + "order by businessFunction.id")
+    Slice<Object[]> findDrillDownNodes(@Param("lineOfBusinessId") Long lineOfBusinessId, Pageable pageable);
 }
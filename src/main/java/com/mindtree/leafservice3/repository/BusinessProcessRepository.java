@@ -1,9 +1,16 @@
 package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.BusinessProcess;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * Spring Data  repository for the BusinessProcess entity.
@@ -12,4 +19,17 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface BusinessProcessRepository extends JpaRepository<BusinessProcess, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select businessProcess from BusinessProcess businessProcess where businessProcess.companyId = :companyId")
+    List<BusinessProcess> findAllByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * @return rows of [id, name, status, start date, expected end date, end date, capabilities id] of the business
+     * processes of capabilities.
+     */
+    @Query("select businessProcess.id, businessProcess.name, businessProcess.status, businessProcess.startDate, "
+        + "businessProcess.expectedEndDate, businessProcess.endDate, businessProcess.capabilities.id "
+        + "from BusinessProcess businessProcess where businessProcess.capabilities.id in :capabilitiesIds "
+        + "order by businessProcess.id")
+    List<Object[]> findDrillDownNodes(@Param("capabilitiesIds") Collection<Long> capabilitiesIds, Pageable pageable);
 }
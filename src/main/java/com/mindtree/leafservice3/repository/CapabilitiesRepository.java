@@ -1,9 +1,16 @@
 package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.Capabilities;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * Spring Data  repository for the Capabilities entity.
@@ -12,4 +19,25 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface CapabilitiesRepository extends JpaRepository<Capabilities, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select capabilities from Capabilities capabilities "
+        + "join fetch capabilities.businessFunction businessFunction "
+        + "left join fetch businessFunction.employee "
+        + "join fetch businessFunction.lineOfBusiness lineOfBusiness "
+        + "left join fetch lineOfBusiness.employee "
+        + "join fetch lineOfBusiness.oraganizationalUnit oraganizationalUnit "
+        + "left join fetch oraganizationalUnit.employee "
+        + "join fetch oraganizationalUnit.company company "
+        + "left join fetch company.user "
+        + "where capabilities.companyId = :companyId")
+    List<Capabilities> findAllByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * @return rows of [id, description, business function id] of the capabilities of business functions.
+     */
+    @Query("select capabilities.id, capabilities.description, capabilities.businessFunction.id "
+        + "from Capabilities capabilities where capabilities.businessFunction.id in :businessFunctionIds "
+        + "order by capabilities.id")
+    List<Object[]> findDrillDownNodes(@Param("businessFunctionIds") Collection<Long> businessFunctionIds,
+        Pageable pageable);
 }
@@ -2,6 +2,7 @@ package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.Company;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +17,36 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
     @Query("select company from Company company where company.user.login = ?#{principal.username}")
     List<Company> findByUserIsCurrentUser();
 
+    /**
+     * Level of a row returned by {@link #findOrganizationalChartNodes(Long)}.
+     */
+    int CHART_COMPANY = 0;
+    int CHART_ORGANIZATIONAL_UNIT = 1;
+    int CHART_LINE_OF_BUSINESS = 2;
+    int CHART_BUSINESS_FUNCTION = 3;
+    int CHART_CAPABILITY = 4;
+
+    /**
+     * Get the organizational chart of a company, from the company down to its capabilities, in a single query.
+     *
+     * @param companyId the id of the company.
+     * @return rows of [level, id, name, parent id], the parent id is {@code null} for the company row.
+     */
+    @Query(value = "select 0, company.id, company.company_name, null from company "
+        + "where company.id = :companyId "
+        + "union all select 1, oraganizational_unit.id, oraganizational_unit.name, oraganizational_unit.company_id "
+        + "from oraganizational_unit where oraganizational_unit.company_id = :companyId "
+        + "union all select 2, line_of_business.id, line_of_business.name, line_of_business.oraganizational_unit_id "
+        + "from line_of_business "
+        + "join oraganizational_unit on oraganizational_unit.id = line_of_business.oraganizational_unit_id "
+        + "where oraganizational_unit.company_id = :companyId "
+        + "union all select 3, business_function.id, business_function.name, business_function.line_of_business_id "
+        + "from business_function "
+        + "join line_of_business on line_of_business.id = business_function.line_of_business_id "
+        + "join oraganizational_unit on oraganizational_unit.id = line_of_business.oraganizational_unit_id "
+        + "where oraganizational_unit.company_id = :companyId "
+        + "union all select 4, capabilities.id, capabilities.description, capabilities.business_function_id "
+        + "from capabilities where capabilities.company_id = :companyId", nativeQuery = true)
+    List<Object[]> findOrganizationalChartNodes(@Param("companyId") Long companyId);
+
 }
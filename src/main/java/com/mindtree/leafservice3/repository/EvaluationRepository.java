@@ -1,9 +1,14 @@
 package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.Evaluation;
+import com.mindtree.leafservice3.service.dto.EvaluationSummaryDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 
 /**
  * Spring Data  repository for the Evaluation entity.
@@ -12,4 +17,12 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface EvaluationRepository extends JpaRepository<Evaluation, Long> {
 
+    /**
+     * Summaries of the evaluations after an id, without reading their assessment result.
+     */
+    @Query("select new com.mindtree.leafservice3.service.dto.EvaluationSummaryDTO(evaluation.id, "
+        + "evaluation.assessmentCategory, evaluation.score, evaluation.attemptDate, application.id, application.name) "
+        + "from Evaluation evaluation join evaluation.application application "
+        + "where evaluation.id > :after order by evaluation.id")
+    List<EvaluationSummaryDTO> findSummariesAfter(@Param("after") Long after, Pageable pageable);
 }
@@ -2,8 +2,13 @@ package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.Expenditure;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * Spring Data  repository for the Expenditure entity.
@@ -12,4 +17,16 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ExpenditureRepository extends JpaRepository<Expenditure, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select expenditure from Expenditure expenditure "
+        + "join fetch expenditure.application application "
+        + "join fetch application.lineOfBusiness lineOfBusiness "
+        + "left join fetch lineOfBusiness.employee "
+        + "join fetch lineOfBusiness.oraganizationalUnit oraganizationalUnit "
+        + "left join fetch oraganizationalUnit.employee "
+        + "join fetch oraganizationalUnit.company company "
+        + "left join fetch company.user "
+        + "where expenditure.companyId = :companyId")
+    List<Expenditure> findAllByCompanyId(@Param("companyId") Long companyId);
+
 }
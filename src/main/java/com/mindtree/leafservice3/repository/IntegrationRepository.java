@@ -1,9 +1,13 @@
 package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.Integration;
+import com.mindtree.leafservice3.service.dto.Links;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 
 /**
  * Spring Data  repository for the Integration entity.
@@ -12,4 +16,22 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface IntegrationRepository extends JpaRepository<Integration, Long> {
 
+    /**
+     * @return rows of [id, application id, integration application id, flow type] of every integration with an
+     * application.
+     */
+    @Query("select integration.id, application.id, integrationApp.id, integration.flowType "
+        + "from Integration integration join integration.application application "
+        + "join integration.integrationApp integrationApp")
+    List<Object[]> findGraphEdges();
+
+    /**
+     * The links of the integrations of an application, with the name of the application integrated.
+     */
+    @Query("select new com.mindtree.leafservice3.service.dto.Links(integrationApp.id, integrationApp.name, "
+        + "integration.entity, integration.flowType) "
+        + "from Integration integration join integration.integrationApp integrationApp "
+        + "where integration.application.id = :applicationId order by integration.id")
+    List<Links> findLinks(@Param("applicationId") Long applicationId);
+
 }
@@ -1,9 +1,14 @@
 package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.Label;
+import com.mindtree.leafservice3.service.dto.LabelSummaryDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 
 /**
  * Spring Data  repository for the Label entity.
@@ -12,4 +17,12 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface LabelRepository extends JpaRepository<Label, Long> {
 
+    /**
+     * Summaries of the labels after an id, without reading their data.
+     */
+    @Query("select new com.mindtree.leafservice3.service.dto.LabelSummaryDTO(label.id, label.label_type, "
+        + "company.id, company.companyName) "
+        + "from Label label join label.company company "
+        + "where label.id > :after order by label.id")
+    List<LabelSummaryDTO> findSummariesAfter(@Param("after") Long after, Pageable pageable);
 }
@@ -1,9 +1,17 @@
 package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.LineOfBusiness;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * Spring Data  repository for the LineOfBusiness entity.
@@ -12,4 +20,43 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface LineOfBusinessRepository extends JpaRepository<LineOfBusiness, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select lineOfBusiness from LineOfBusiness lineOfBusiness "
+        + "left join fetch lineOfBusiness.employee "
+        + "join fetch lineOfBusiness.oraganizationalUnit oraganizationalUnit "
+        + "left join fetch oraganizationalUnit.employee "
+        + "join fetch oraganizationalUnit.company company "
+        + "left join fetch company.user "
+        + "where company.id = :companyId")
+    List<LineOfBusiness> findAllByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * @return rows of [id, name, organizational unit id] of a page of the lines of business of an organizational unit.
+     */
+    @Query(value = "select lineOfBusiness.id, lineOfBusiness.name, lineOfBusiness.oraganizationalUnit.id "
+        + "from LineOfBusiness lineOfBusiness where lineOfBusiness.oraganizationalUnit.id = :oraganizationalUnitId "
+        + "order by lineOfBusiness.id",
+        countQuery = "select count(lineOfBusiness) from LineOfBusiness lineOfBusiness "
+        + "where lineOfBusiness.oraganizationalUnit.id = :oraganizationalUnitId")
+    Page<Object[]> findChartNodesByOraganizationalUnitId(@Param("oraganizationalUnitId") Long oraganizationalUnitId,
+        Pageable pageable);
+
+    /**
+     * @return rows of [id, name, organizational unit id] of the lines of business of organizational units.
+     */
+    @Query("select lineOfBusiness.id, lineOfBusiness.name, lineOfBusiness.oraganizationalUnit.id "
+        + "from LineOfBusiness lineOfBusiness where lineOfBusiness.oraganizationalUnit.id in :oraganizationalUnitIds "
+        + "order by lineOfBusiness.id")
+    List<Object[]> findChartNodesByOraganizationalUnitIds(
+        @Param("oraganizationalUnitIds") Collection<Long> oraganizationalUnitIds);
+
+    /**
+     * @return rows of [organizational unit id, number of lines of business] of organizational units having some.
+     */
+    @Query("select lineOfBusiness.oraganizationalUnit.id, count(lineOfBusiness) from LineOfBusiness lineOfBusiness "
+        + "where lineOfBusiness.oraganizationalUnit.id in :oraganizationalUnitIds "
+        + "group by lineOfBusiness.oraganizationalUnit.id")
+    List<Object[]> countChartNodesByOraganizationalUnitIds(
+        @Param("oraganizationalUnitIds") Collection<Long> oraganizationalUnitIds);
+
 }
@@ -1,9 +1,16 @@
 package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.OraganizationalUnit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * Spring Data  repository for the OraganizationalUnit entity.
@@ -12,4 +19,20 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface OraganizationalUnitRepository extends JpaRepository<OraganizationalUnit, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select oraganizationalUnit from OraganizationalUnit oraganizationalUnit "
+        + "left join fetch oraganizationalUnit.employee "
+        + "join fetch oraganizationalUnit.company company "
+        + "left join fetch company.user "
+        + "where company.id = :companyId")
+    List<OraganizationalUnit> findAllByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * @return rows of [id, name] of a page of organizational units.
+     */
+    @Query(value = "select oraganizationalUnit.id, oraganizationalUnit.name from OraganizationalUnit oraganizationalUnit "
+        + "order by oraganizationalUnit.id",
+        countQuery = "select count(oraganizationalUnit) from OraganizationalUnit oraganizationalUnit")
+    Page<Object[]> findChartNodes(Pageable pageable);
+
 }
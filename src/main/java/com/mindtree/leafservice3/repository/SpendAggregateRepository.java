@@ -0,0 +1,118 @@
+package com.mindtree.leafservice3.repository;
+
+import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.SpendAggregate;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ * Spring Data  repository for the SpendAggregate entity.
+ * <p>
+ * Besides the cube itself, it holds the queries summing the source rows of the cells of a set of applications.
+ */
+@Repository
+public interface SpendAggregateRepository extends JpaRepository<SpendAggregate, Long> {
+
+    /**
+     * Totals of a company per year, line of business and application status.
+     *
+     * @return rows of {@code [year, lineOfBusinessId, applicationStatus, spent, budgeted]}, amounts in currency units.
+     */
+    @Query("select spendAggregate.year, spendAggregate.lineOfBusinessId, spendAggregate.applicationStatus, "
+        + "sum(spendAggregate.spent), sum(spendAggregate.budgeted) from SpendAggregate spendAggregate "
+        + "where spendAggregate.companyId = :companyId and spendAggregate.year >= :fromYear "
+        + "group by spendAggregate.year, spendAggregate.lineOfBusinessId, spendAggregate.applicationStatus")
+    List<Object[]> findTotalsByCompanyId(@Param("companyId") Long companyId, @Param("fromYear") Integer fromYear);
+
+    /**
+     * Totals of applications for a year.
+     *
+     * @return rows of {@code [applicationId, spent, budgeted]}, amounts in currency units.
+     */
+    @Query("select spendAggregate.applicationId, sum(spendAggregate.spent), sum(spendAggregate.budgeted) "
+        + "from SpendAggregate spendAggregate "
+        + "where spendAggregate.applicationId in :applicationIds and spendAggregate.year = :year "
+        + "group by spendAggregate.applicationId")
+    List<Object[]> findTotalsByApplicationIds(@Param("applicationIds") Collection<Long> applicationIds,
+        @Param("year") Integer year);
+
+    /**
+     * Lock the applications, in the order of their ids, until the end of the transaction: the cells of an
+     * application are refreshed by one transaction at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select application from Application application where application.id in :applicationIds "
+        + "order by application.id")
+    List<Application> lockApplications(@Param("applicationIds") Collection<Long> applicationIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from SpendAggregate spendAggregate where spendAggregate.applicationId in :applicationIds")
+    void deleteByApplicationIdIn(@Param("applicationIds") Collection<Long> applicationIds);
+
+    /**
+     * @return rows of {@code [applicationId, companyId, lineOfBusinessId, status]}.
+     */
+    @Query("select application.id, company.id, lineOfBusiness.id, application.status from Application application "
+        + "join application.lineOfBusiness lineOfBusiness join lineOfBusiness.oraganizationalUnit oraganizationalUnit "
+        + "join oraganizationalUnit.company company where application.id in :applicationIds")
+    List<Object[]> findApplicationDimensions(@Param("applicationIds") Collection<Long> applicationIds);
+
+    @Query("select technology.application.id from Technology technology where technology.id in :technologyIds")
+    List<Long> findApplicationIdsOfTechnologies(@Param("technologyIds") Collection<Long> technologyIds);
+
+    @Query("select expenditure.application.id from Expenditure expenditure where expenditure.id in :expenditureIds")
+    List<Long> findApplicationIdsOfExpenditures(@Param("expenditureIds") Collection<Long> expenditureIds);
+
+    @Query("select technology.application.id from Technology technology where technology.technologyStack.id in :technologyStackIds")
+    List<Long> findApplicationIdsOfTechnologyStacks(@Param("technologyStackIds") Collection<Long> technologyStackIds);
+
+    @Query("select application.id from Application application where application.lineOfBusiness.id in :lineOfBusinessIds")
+    List<Long> findApplicationIdsOfLineOfBusinesses(@Param("lineOfBusinessIds") Collection<Long> lineOfBusinessIds);
+
+    @Query("select application.id from Application application "
+        + "where application.lineOfBusiness.oraganizationalUnit.id in :oraganizationalUnitIds")
+    List<Long> findApplicationIdsOfOraganizationalUnits(@Param("oraganizationalUnitIds") Collection<Long> oraganizationalUnitIds);
+
+    /**
+     * Only the spends matching the stack of their technology are summed: {@code INFRA} for a {@code CLOUD} stack,
+     * {@code LICENSE} for any other.
+     *
+     * @return rows of {@code [applicationId, year, expenditureType, successor, amount]}.
+     */
+    @Query("select technology.application.id, year(spend.dateOfUpdate), spend.expenditureType, spend.successor, sum(spend.amount) "
+        + "from Spend spend, Technology technology left join technology.technologyStack technologyStack "
+        + "where technology.id = spend.spendId "
+        + "and ((technologyStack.type = 'CLOUD' and spend.expenditureType = 'INFRA') "
+        + "or (coalesce(technologyStack.type, '') <> 'CLOUD' and spend.expenditureType = 'LICENSE')) "
+        + "and technology.application.id in :applicationIds "
+        + "group by technology.application.id, year(spend.dateOfUpdate), spend.expenditureType, spend.successor")
+    List<Object[]> sumTechnologySpends(@Param("applicationIds") Collection<Long> applicationIds);
+
+    /**
+     * @return rows of {@code [applicationId, year, expenditureType, successor, amount]}.
+     */
+    @Query("select expenditure.application.id, year(spend.dateOfUpdate), spend.expenditureType, spend.successor, sum(spend.amount) "
+        + "from Spend spend, Expenditure expenditure "
+        + "where expenditure.id = spend.spendId and spend.expenditureType not in :technologyTypes "
+        + "and expenditure.application.id in :applicationIds "
+        + "group by expenditure.application.id, year(spend.dateOfUpdate), spend.expenditureType, spend.successor")
+    List<Object[]> sumExpenditureSpends(@Param("applicationIds") Collection<Long> applicationIds,
+        @Param("technologyTypes") Collection<String> technologyTypes);
+
+    /**
+     * @return rows of {@code [applicationId, year, successor, amount]}.
+     */
+    @Query("select budget.application.id, budget.year, budget.successor, sum(budget.amount) from Budget budget "
+        + "where budget.application.id in :applicationIds "
+        + "group by budget.application.id, budget.year, budget.successor")
+    List<Object[]> sumBudgets(@Param("applicationIds") Collection<Long> applicationIds);
+
+    @Query("select application.id from Application application order by application.id")
+    List<Long> findAllApplicationIds();
+}
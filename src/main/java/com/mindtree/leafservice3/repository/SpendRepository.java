@@ -2,8 +2,14 @@ package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.Spend;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * Spring Data  repository for the Spend entity.
@@ -12,4 +18,21 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface SpendRepository extends JpaRepository<Spend, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select spend from Spend spend where spend.companyId = :companyId")
+    List<Spend> findAllByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * Spends of a company resolved through their target: the technology of a technology spend, the expenditure of
+     * any other spend. Both sides are index lookups on the company id of the target and the spend id of the spend.
+     */
+    @Query("select spend from Spend spend "
+        + "where (spend.expenditureType in :technologyTypes and spend.spendId in "
+        + "(select technology.id from Technology technology where technology.companyId = :companyId)) "
+        + "or (spend.expenditureType not in :technologyTypes and spend.spendId in "
+        + "(select expenditure.id from Expenditure expenditure where expenditure.companyId = :companyId)) "
+        + "order by spend.id")
+    List<Spend> findAllByTargetCompanyId(@Param("companyId") Long companyId,
+        @Param("technologyTypes") Collection<String> technologyTypes);
+
 }
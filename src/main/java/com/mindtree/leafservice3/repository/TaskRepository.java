@@ -1,9 +1,14 @@
 package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.Task;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 
 /**
  * Spring Data  repository for the Task entity.
@@ -12,4 +17,20 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    /**
+     * @return rows of [id, name, estimated cost, successor, activity id] of the tasks of activities.
+     */
+    @Query("select task.id, task.name, task.estimatedCost, task.successor, task.activity.id "
+        + "from Task task where task.activity.id in :activityIds "
+        + "order by task.id")
+    List<Object[]> findDrillDownNodes(@Param("activityIds") Collection<Long> activityIds, Pageable pageable);
+
+    /**
+     * @return rows of [activity id, successor, sum of the estimated costs] of the tasks of activities.
+     */
+    @Query("select task.activity.id, task.successor, sum(task.estimatedCost) "
+        + "from Task task where task.activity.id in :activityIds "
+        + "group by task.activity.id, task.successor")
+    List<Object[]> sumEstimatedCosts(@Param("activityIds") Collection<Long> activityIds);
+
 }
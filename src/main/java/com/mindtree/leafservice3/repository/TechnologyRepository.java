@@ -2,8 +2,14 @@ package com.mindtree.leafservice3.repository;
 
 import com.mindtree.leafservice3.domain.Technology;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * Spring Data  repository for the Technology entity.
@@ -12,4 +18,38 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TechnologyRepository extends JpaRepository<Technology, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select technology from Technology technology "
+        + "left join fetch technology.technologyStack "
+        + "join fetch technology.application application "
+        + "join fetch application.lineOfBusiness lineOfBusiness "
+        + "left join fetch lineOfBusiness.employee "
+        + "join fetch lineOfBusiness.oraganizationalUnit oraganizationalUnit "
+        + "left join fetch oraganizationalUnit.employee "
+        + "join fetch oraganizationalUnit.company company "
+        + "left join fetch company.user "
+        + "where technology.companyId = :companyId")
+    List<Technology> findAllByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * Number of technologies of a company per technology stack, read from the company and stack index.
+     *
+     * @return rows of {@code [stackName, stackType, count]}, ordered by stack.
+     */
+    @Query("select technologyStack.name, technologyStack.type, count(technology) from Technology technology "
+        + "join technology.technologyStack technologyStack "
+        + "where technology.companyId = :companyId "
+        + "group by technologyStack.id, technologyStack.name, technologyStack.type "
+        + "order by technologyStack.id")
+    List<Object[]> countApplicationsPerTechnologyStack(@Param("companyId") Long companyId);
+
+    /**
+     * @return rows of {@code [applicationId, stackName]} of the technologies of applications, ordered by stack.
+     */
+    @Query("select technology.application.id, technologyStack.name from Technology technology "
+        + "join technology.technologyStack technologyStack "
+        + "where technology.application.id in :applicationIds "
+        + "order by technologyStack.name")
+    List<Object[]> findStackNamesByApplicationIds(@Param("applicationIds") Collection<Long> applicationIds);
+
 }
@@ -4,6 +4,8 @@ import com.mindtree.leafservice3.domain.TechnologyStack;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 
 /**
  * Spring Data  repository for the TechnologyStack entity.
@@ -12,4 +14,5 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TechnologyStackRepository extends JpaRepository<TechnologyStack, Long> {
 
+    Optional<TechnologyStack> findFirstByNameIgnoreCaseAndTypeIgnoreCase(String name, String type);
 }
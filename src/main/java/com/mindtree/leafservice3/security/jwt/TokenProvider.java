@@ -2,6 +2,7 @@ package com.mindtree.leafservice3.security.jwt;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Clock;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -16,6 +17,8 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import com.mindtree.leafservice3.config.ApplicationProperties;
+
 import io.github.jhipster.config.JHipsterProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -36,8 +39,12 @@ public class TokenProvider implements InitializingBean {
 
     private final JHipsterProperties jHipsterProperties;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         this.jHipsterProperties = jHipsterProperties;
+        this.verifiedTokenCache =
+            new VerifiedTokenCache(applicationProperties.getTokenCache().getMaxSize(), Clock.systemUTC());
     }
 
     @Override
@@ -87,20 +94,55 @@ public class TokenProvider implements InitializingBean {
             .parseClaimsJws(token)
             .getBody();
 
-        Collection<? extends GrantedAuthority> authorities =
-            Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        return createAuthentication(token, claims);
+    }
+
+    /**
+     * Get the authentication of a token in a single step, verifying the token only the first time it is seen: its
+     * subject and authorities are then kept until the token expires. The authorities being claims of the signed
+     * token, they are the ones a new verification would read. Each call builds its own authentication, which the
+     * caller may change.
+     *
+     * @param token the token.
+     * @return the authentication, or empty if the token is invalid or expired.
+     */
+    public Optional<Authentication> getVerifiedAuthentication(String token) {
+        VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.get(token);
+        if (verified == null) {
+            Optional<Claims> claims = parseClaims(token);
+            if (!claims.isPresent()) {
+                return Optional.empty();
+            }
+            verified = verifiedTokenCache.put(token, claims.get().getSubject(), getAuthorities(claims.get()),
+                claims.get().getExpiration());
+        }
+        return Optional.of(createAuthentication(token, verified.getSubject(), verified.getAuthorities()));
+    }
+
+    private Authentication createAuthentication(String token, Claims claims) {
+        return createAuthentication(token, claims.getSubject(), getAuthorities(claims));
+    }
 
-        User principal = new User(claims.getSubject(), "", authorities);
+    private Authentication createAuthentication(String token, String subject,
+            Collection<? extends GrantedAuthority> authorities) {
+        User principal = new User(subject, "", authorities);
 
         return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
 
+    private Collection<? extends GrantedAuthority> getAuthorities(Claims claims) {
+        return Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList());
+    }
+
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken).isPresent();
+    }
+
+    private Optional<Claims> parseClaims(String authToken) {
         try {
-            Jwts.parser().setSigningKey(key).parseClaimsJws(authToken);
-            return true;
+            return Optional.of(Jwts.parser().setSigningKey(key).parseClaimsJws(authToken).getBody());
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT signature.");
             log.trace("Invalid JWT signature trace: {}", e);
@@ -114,6 +156,6 @@ public class TokenProvider implements InitializingBean {
             log.info("JWT token compact of handler are invalid.");
             log.trace("JWT token compact of handler are invalid trace: {}", e);
         }
-        return false;
+        return Optional.empty();
     }
 }
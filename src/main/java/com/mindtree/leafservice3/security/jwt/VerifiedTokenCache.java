@@ -0,0 +1,151 @@
+package com.mindtree.leafservice3.security.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Subjects and authorities of the JWT whose signature was verified, kept until the token expires.
+ * <p>
+ * Entries are keyed by the SHA-256 of the token, far cheaper than parsing it and checking its HMAC again. Only
+ * immutable values are kept, so each request builds its own authentication from them. An entry past the expiration
+ * of its token is never returned. When the cache is full, expired entries are dropped and, if more than half of
+ * the entries are left, arbitrary ones until half are: the next sweep is then at least {@code maxSize / 2} new
+ * tokens away, so sweeping costs a constant time per token on average and the memory used stays bounded.
+ */
+class VerifiedTokenCache {
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    private final Lock sweepLock = new ReentrantLock();
+
+    private final int maxSize;
+
+    private final Clock clock;
+
+    VerifiedTokenCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Get a verified token.
+     *
+     * @param token the token.
+     * @return the subject and authorities of the token, or {@code null} if the token is not cached or expired.
+     */
+    VerifiedToken get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        String key = hash(token);
+        VerifiedToken entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiration <= clock.millis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Keep a verified token.
+     *
+     * @param token the token.
+     * @param subject the subject of the token.
+     * @param authorities the authorities claimed by the token.
+     * @param expiration the expiration of the token, tokens without one or already expired are not kept.
+     * @return the subject and authorities of the token.
+     */
+    VerifiedToken put(String token, String subject, Collection<? extends GrantedAuthority> authorities,
+            Date expiration) {
+        VerifiedToken verified = new VerifiedToken(subject, authorities,
+            expiration != null ? expiration.getTime() : Long.MIN_VALUE);
+        long now = clock.millis();
+        if (maxSize <= 0 || verified.expiration <= now) {
+            return verified;
+        }
+        if (entries.size() >= maxSize && !sweep(now)) {
+            return verified;
+        }
+        entries.put(hash(token), verified);
+        return verified;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop the expired entries, then arbitrary ones until at most half of the entries are left.
+     *
+     * @return {@code false} if another thread is already sweeping.
+     */
+    private boolean sweep(long now) {
+        if (!sweepLock.tryLock()) {
+            return false;
+        }
+        try {
+            entries.values().removeIf(entry -> entry.expiration <= now);
+            Iterator<VerifiedToken> iterator = entries.values().iterator();
+            while (entries.size() > maxSize / 2 && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+            return true;
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The subject and authorities of a verified token.
+     */
+    static final class VerifiedToken {
+
+        private final String subject;
+
+        private final List<GrantedAuthority> authorities;
+
+        private final long expiration;
+
+        private VerifiedToken(String subject, Collection<? extends GrantedAuthority> authorities, long expiration) {
+            this.subject = subject;
+            this.authorities = Collections.unmodifiableList(new ArrayList<>(authorities));
+            this.expiration = expiration;
+        }
+
+        String getSubject() {
+            return subject;
+        }
+
+        List<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.mindtree.leafservice3.service;
 import com.mindtree.leafservice3.domain.Application;
 import com.mindtree.leafservice3.service.dto.ChartData;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -51,7 +54,16 @@ public interface ApplicationService {
      */
     List<Application> search(String query);
 
-    List<ChartData> organizationalChartData();
+    /**
+     * Get the organizational tree: organizational units, their lines of business and their applications.
+     *
+     * @param parentId the tracking id of the node to expand, or {@code null} for the top of the tree.
+     * @param depth the number of levels to return, or {@code null} for every level. The nodes of the deepest level
+     *              only carry the number of their children.
+     * @param pageable the pagination information of the nodes right below the parent.
+     * @return the page of nodes below the parent, each with the nodes below it up to the depth.
+     */
+    Page<ChartData> organizationalChartData(String parentId, Integer depth, Pageable pageable);
 
     List<ChartData> getAppChartData(Long company_id);
 }
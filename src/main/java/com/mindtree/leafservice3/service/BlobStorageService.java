@@ -0,0 +1,49 @@
+package com.mindtree.leafservice3.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Service Interface for storing binary content under its SHA-256 hash.
+ * <p>
+ * The key of a blob is the lowercase hex SHA-256 of its content, so storing the same bytes twice keeps a single copy
+ * and a stored blob never changes.
+ */
+public interface BlobStorageService {
+
+    /**
+     * Store binary content.
+     *
+     * @param content the bytes to store.
+     * @return the key of the blob.
+     */
+    String store(byte[] content);
+
+    /**
+     * Store binary content read from a stream, the stream is read to its end but not closed.
+     *
+     * @param content the stream of the bytes to store.
+     * @return the key of the blob.
+     * @throws IOException if the content can't be read or written.
+     */
+    String store(InputStream content) throws IOException;
+
+    /**
+     * Get a stored blob.
+     *
+     * @param key the SHA-256 of the content.
+     * @return the blob, readable in ranges, or empty if no blob has this key.
+     */
+    Optional<Resource> find(String key);
+
+    /**
+     * Check that a blob is stored.
+     *
+     * @param key the SHA-256 of the content.
+     * @return whether a blob has this key.
+     */
+    boolean exists(String key);
+}
@@ -11,6 +11,8 @@ import java.util.Optional;
  */
 public interface CapabilitiesService {
 
+    String ORGANIZATIONAL_CHART_CACHE = "organizationalChart";
+
     /**
      * Save a capabilities.
      *
@@ -51,6 +53,15 @@ public interface CapabilitiesService {
      */
     List<Capabilities> search(String query);
 
+    /**
+     * Get the organizational chart of a company, from the company down to its capabilities.
+     * <p>
+     * The chart is cached per company in {@link #ORGANIZATIONAL_CHART_CACHE}, until a node of the chart changes. Each
+     * call returns its own copy of the cached nodes.
+     *
+     * @param company_id the id of the company.
+     * @return the nodes of the chart, each level after its parents, or an empty list if the company does not exist.
+     */
     List<ChartData> organizationalChartData(Long company_id);
 
 }
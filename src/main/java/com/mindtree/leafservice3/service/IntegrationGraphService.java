@@ -0,0 +1,43 @@
+package com.mindtree.leafservice3.service;
+
+import com.mindtree.leafservice3.service.dto.IntegrationGraphNode;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service Interface for traversing the graph of the integrations between applications.
+ * <p>
+ * The data of an integration flows from its application to the integration application when it is
+ * {@code OUTBOUND}, the other way round when it is {@code INBOUND}, and both ways when it is {@code BIDIRECTIONAL}.
+ */
+public interface IntegrationGraphService {
+
+    /**
+     * Get the applications linked to an application, whatever the direction of the data flow, within a number of hops.
+     *
+     * @param appId the id of the application.
+     * @param hops the largest number of hops.
+     * @return the applications, nearest first, or empty if the application does not exist.
+     */
+    Optional<List<IntegrationGraphNode>> getNeighbourhood(Long appId, int hops);
+
+    /**
+     * Get the blast radius of an application: the applications its data flows to, directly or through other
+     * applications.
+     *
+     * @param appId the id of the application.
+     * @param hops the largest number of hops, or {@code null} for every application reached.
+     * @return the applications, nearest first, or empty if the application does not exist.
+     */
+    Optional<List<IntegrationGraphNode>> getBlastRadius(Long appId, Integer hops);
+
+    /**
+     * Get a path with the fewest integrations between two applications, whatever the direction of the data flow.
+     *
+     * @param fromAppId the id of the first application.
+     * @param toAppId the id of the last application.
+     * @return the applications of the path, from the first to the last, or empty if they are not linked.
+     */
+    Optional<List<IntegrationGraphNode>> getShortestPath(Long fromAppId, Long toAppId);
+}
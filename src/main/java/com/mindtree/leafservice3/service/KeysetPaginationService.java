@@ -0,0 +1,103 @@
+package com.mindtree.leafservice3.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Service Interface for reading entities in pages ordered by id, each page starting after the last id of the
+ * previous one.
+ * <p>
+ * Unlike offset pagination, reading a page costs the same whatever its position in the table: the query seeks the
+ * primary key index to the cursor and reads {@code size} rows.
+ */
+public interface KeysetPaginationService {
+
+    /**
+     * Query reading a page, such as a repository method selecting a projection.
+     *
+     * @param <T> the type of the rows.
+     */
+    @FunctionalInterface
+    interface PageQuery<T> {
+
+        /**
+         * Read the rows of a page.
+         *
+         * @param after the id after which the page starts, {@link Long#MIN_VALUE} for the first page.
+         * @param size the number of rows of the page.
+         * @return the rows, ordered by id.
+         */
+        List<T> find(long after, int size);
+    }
+
+    /**
+     * Callback receiving the pages of a full read.
+     *
+     * @param <T> the type of the entities.
+     */
+    @FunctionalInterface
+    interface PageCallback<T> {
+
+        /**
+         * Handle a page, once its transaction ended: the entities are detached, and no connection is held while the
+         * page is written.
+         *
+         * @param page the entities of the page.
+         * @throws IOException if the page can't be written.
+         */
+        void accept(List<T> page) throws IOException;
+    }
+
+    /**
+     * Get the size of a page, from the size requested.
+     *
+     * @param size the size requested, {@code null} for the default size.
+     * @return the size, at least {@code 1} and capped to the largest page size.
+     */
+    int pageSize(Integer size);
+
+    /**
+     * Get a page of entities.
+     *
+     * @param type the class of the entities.
+     * @param after the id after which the page starts, {@code null} for the first page.
+     * @param size the number of entities of the page.
+     * @return the entities, ordered by id.
+     */
+    <T> List<T> findPage(Class<T> type, Long after, int size);
+
+    /**
+     * Get a page of rows read by a query.
+     *
+     * @param query the query reading the rows.
+     * @param after the id after which the page starts, {@code null} for the first page.
+     * @param size the number of rows of the page.
+     * @return the rows, ordered by id.
+     */
+    <T> List<T> findPage(PageQuery<T> query, Long after, int size);
+
+    /**
+     * Read all the entities of a type, one page of the largest size at a time. Each page is read in its own read-only
+     * transaction, or the current one, and the persistence context is cleared once it was read, so the memory used
+     * does not grow with the table. The callback is only called after the transaction of the page ended: a slow
+     * writer does not hold a connection of the pool.
+     *
+     * @param type the class of the entities.
+     * @param callback the callback handling each page.
+     * @throws IOException if a page can't be written.
+     */
+    <T> void forEachPage(Class<T> type, PageCallback<T> callback) throws IOException;
+
+    /**
+     * Read all the rows of a query, one page of the largest size at a time, like
+     * {@link #forEachPage(Class, PageCallback)}. Everything the callback needs must be read by the query, within the
+     * transaction of the page.
+     *
+     * @param query the query reading the rows.
+     * @param id the id of a row, used as the cursor of the next page.
+     * @param callback the callback handling each page.
+     * @throws IOException if a page can't be written.
+     */
+    <T> void forEachPage(PageQuery<T> query, Function<T, Long> id, PageCallback<T> callback) throws IOException;
+}
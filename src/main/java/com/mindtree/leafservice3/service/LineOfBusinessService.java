@@ -51,5 +51,16 @@ public interface LineOfBusinessService {
      */
     List<LineOfBusiness> search(String query);
 
-    LobSearchData searchData(Long lob_id);
+    /**
+     * Drill down into a lineOfBusiness: a page of its business functions and, down to a depth, their capabilities,
+     * business processes, activities and tasks.
+     *
+     * @param lob_id the id of the lineOfBusiness.
+     * @param depth the number of levels read below the lineOfBusiness, from {@code 1} for the business functions to
+     * {@code 5} for the tasks.
+     * @param page the page of business functions, from {@code 0}.
+     * @param size the number of business functions of the page, or {@code null} for the default page size.
+     * @return the drill-down, or empty if the lineOfBusiness does not exist.
+     */
+    Optional<LobSearchData> searchData(Long lob_id, int depth, int page, Integer size);
 }
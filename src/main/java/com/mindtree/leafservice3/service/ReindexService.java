@@ -0,0 +1,47 @@
+package com.mindtree.leafservice3.service;
+
+import com.mindtree.leafservice3.service.dto.ReindexJobDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service Interface for rebuilding the Elasticsearch indices from the database, in the background.
+ */
+public interface ReindexService {
+
+    /**
+     * Get the aliases of the search indices that can be rebuilt.
+     *
+     * @return the aliases, one per searchable entity.
+     */
+    Set<String> getAliases();
+
+    /**
+     * Queue the rebuild of search indices. Only one rebuild runs at a time, a job submitted while another one is
+     * queued or running fails right away.
+     *
+     * @param mode rebuild the indices from scratch, or index the rows added or updated since the last
+     *             rebuild.
+     * @param aliases the aliases of the indices to rebuild, all of them when empty.
+     * @return the queued job.
+     */
+    ReindexJobDTO submit(ReindexJobDTO.Mode mode, Collection<String> aliases);
+
+    /**
+     * Get all the reindex jobs still tracked, most recent first.
+     *
+     * @return the list of jobs.
+     */
+    List<ReindexJobDTO> findAll();
+
+    /**
+     * Get the "id" reindex job.
+     *
+     * @param id the id of the job.
+     * @return the job.
+     */
+    Optional<ReindexJobDTO> findOne(String id);
+}
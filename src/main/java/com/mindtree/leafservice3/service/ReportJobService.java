@@ -0,0 +1,45 @@
+package com.mindtree.leafservice3.service;
+
+import com.mindtree.leafservice3.service.dto.ReportJobDTO;
+
+import org.springframework.core.io.Resource;
+
+import java.util.Optional;
+
+/**
+ * Service Interface for rendering portfolio reports in the background.
+ */
+public interface ReportJobService {
+
+    /**
+     * Check whether the portfolio report of a company is too large to be streamed to the request.
+     *
+     * @param applications the number of applications of the report.
+     * @return whether the report should be rendered in the background.
+     */
+    boolean isRenderedInBackground(long applications);
+
+    /**
+     * Queue the rendering of the portfolio report of a company.
+     *
+     * @param company_id the id of the company.
+     * @return the queued job.
+     */
+    ReportJobDTO submitPortfolioReport(Long company_id);
+
+    /**
+     * Get the "id" report job.
+     *
+     * @param id the id of the job.
+     * @return the job.
+     */
+    Optional<ReportJobDTO> findOne(String id);
+
+    /**
+     * Get the report rendered by the "id" job.
+     *
+     * @param id the id of the job.
+     * @return the PDF, or empty if the job does not exist or is not completed.
+     */
+    Optional<Resource> findReport(String id);
+}
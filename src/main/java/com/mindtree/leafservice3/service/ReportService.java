@@ -2,6 +2,8 @@ package com.mindtree.leafservice3.service;
 
 import com.mindtree.leafservice3.domain.Report;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,5 +52,25 @@ public interface ReportService {
      */
     List<Report> search(String query);
 
-    void pdfGenerator();
+    /**
+     * Get the number of applications of the portfolio report of a company.
+     *
+     * @param company_id the id of the company.
+     * @return the number of applications, or empty if the company does not exist.
+     */
+    Optional<Long> countPortfolioApplications(Long company_id);
+
+    /**
+     * Write the portfolio report of a company as a PDF: every application with its line of business, status,
+     * technology stacks and spend of the current year.
+     * <p>
+     * The applications are read one keyset page at a time, and each page is rendered and flushed to the stream
+     * before the next one is read, so the memory used does not grow with the portfolio.
+     *
+     * @param company_id the id of the company.
+     * @param outputStream the stream to write the PDF to, left open.
+     * @return the number of applications written.
+     * @throws IOException if the report can't be written.
+     */
+    long writePortfolioReport(Long company_id, OutputStream outputStream) throws IOException;
 }
@@ -0,0 +1,31 @@
+package com.mindtree.leafservice3.service;
+
+import java.util.Collection;
+
+/**
+ * Service Interface for keeping the Elasticsearch documents of the entities in step with the database.
+ */
+public interface SearchIndexingService {
+
+    /**
+     * Index the search document of an entity, once the current transaction committed.
+     *
+     * @param entity the entity to index.
+     */
+    void index(Object entity);
+
+    /**
+     * Index the search documents of entities, once the current transaction committed.
+     *
+     * @param entities the entities to index.
+     */
+    void indexAll(Collection<?> entities);
+
+    /**
+     * Delete the search document of an entity, once the current transaction committed.
+     *
+     * @param type the class of the entity.
+     * @param id the id of the entity.
+     */
+    void delete(Class<?> type, Long id);
+}
@@ -0,0 +1,24 @@
+package com.mindtree.leafservice3.service;
+
+import java.util.Collection;
+
+/**
+ * Service Interface maintaining the spend aggregation cube, {@link com.mindtree.leafservice3.domain.SpendAggregate}.
+ * <p>
+ * The cube is refreshed before commit by every transaction changing a Spend, Budget, Technology, Expenditure or
+ * Application, so it never needs to be refreshed by hand.
+ */
+public interface SpendAggregateService {
+
+    /**
+     * Recompute the cells of applications from their spends and budgets, in the current transaction.
+     *
+     * @param applicationIds the ids of the applications, deleted applications lose their cells.
+     */
+    void refresh(Collection<Long> applicationIds);
+
+    /**
+     * Recompute the cells of every application.
+     */
+    void rebuild();
+}
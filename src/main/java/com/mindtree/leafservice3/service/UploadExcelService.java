@@ -12,9 +12,13 @@ import com.mindtree.leafservice3.domain.OraganizationalUnit;
 import com.mindtree.leafservice3.domain.Technology;
 import com.mindtree.leafservice3.domain.TechnologyStack;
 import com.mindtree.leafservice3.domain.UploadExcel;
+import com.mindtree.leafservice3.service.util.UploadProgress;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -67,6 +71,44 @@ public interface UploadExcelService {
 
     String appPortfolioUpload(Long company_id, MultipartFile readExcelDataFile);
 
+    /**
+     * Import a functional view sheet.
+     *
+     * @param company_id the id of the company the sheet belongs to.
+     * @param inputStream the workbook content.
+     * @param progress notified of the outcome of each row.
+     * @return the number of rows read.
+     * @throws IOException if the content is not a readable workbook.
+     */
+    long functionDataUpload(Long company_id, InputStream inputStream, UploadProgress progress) throws IOException;
+
+    /**
+     * Import an application portfolio sheet.
+     *
+     * @param company_id the id of the company the sheet belongs to.
+     * @param inputStream the workbook content.
+     * @param progress notified of the outcome of each row.
+     * @return the number of rows read.
+     * @throws IOException if the content is not a readable workbook.
+     */
+    long appPortfolioUpload(Long company_id, InputStream inputStream, UploadProgress progress) throws IOException;
+
+    /**
+     * Import an application portfolio sheet in parallel.
+     * <p>
+     * The organizational units, lines of business, employees and technology stacks are resolved first, then
+     * the rows are partitioned by application name and the partitions are imported concurrently, each in its
+     * own transaction. A failed partition does not roll back the others.
+     *
+     * @param company_id the id of the company the sheet belongs to.
+     * @param sheet the workbook, read twice: once to resolve the rows the partitions share, once to hand each
+     *              row to its partition.
+     * @param progress notified of the outcome of each row, from several threads.
+     * @return the number of rows read.
+     * @throws IOException if the file is not a readable workbook.
+     */
+    long appPortfolioUploadInParallel(Long company_id, File sheet, UploadProgress progress) throws IOException;
+
     OraganizationalUnit checkForOrganizationalUnit(String orgName, String employee_id,String employee_name, Long company_id);
 
     LineOfBusiness checkForLOB(OraganizationalUnit orgData, String LobName, String employee_id, String employee_name);
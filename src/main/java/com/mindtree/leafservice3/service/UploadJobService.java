@@ -0,0 +1,50 @@
+package com.mindtree.leafservice3.service;
+
+import com.mindtree.leafservice3.service.dto.UploadJobDTO;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service Interface for running Excel uploads in the background.
+ */
+public interface UploadJobService {
+
+    /**
+     * Queue the upload of a functional view sheet.
+     *
+     * @param company_id the id of the company the sheet belongs to.
+     * @param readExcelDataFile the uploaded sheet.
+     * @return the queued job.
+     * @throws IOException if the sheet could not be kept for the job.
+     */
+    UploadJobDTO submitFunctionDataUpload(Long company_id, MultipartFile readExcelDataFile) throws IOException;
+
+    /**
+     * Queue the upload of an application portfolio sheet.
+     *
+     * @param company_id the id of the company the sheet belongs to.
+     * @param readExcelDataFile the uploaded sheet.
+     * @return the queued job.
+     * @throws IOException if the sheet could not be kept for the job.
+     */
+    UploadJobDTO submitAppPortfolioUpload(Long company_id, MultipartFile readExcelDataFile) throws IOException;
+
+    /**
+     * Get all the upload jobs still tracked, most recent first.
+     *
+     * @return the list of jobs.
+     */
+    List<UploadJobDTO> findAll();
+
+    /**
+     * Get the "id" upload job.
+     *
+     * @param id the id of the job.
+     * @return the job.
+     */
+    Optional<UploadJobDTO> findOne(String id);
+}
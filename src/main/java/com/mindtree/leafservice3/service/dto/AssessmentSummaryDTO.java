@@ -0,0 +1,18 @@
+package com.mindtree.leafservice3.service.dto;
+
+import com.mindtree.leafservice3.domain.enumeration.AssessmentCategory;
+
+/**
+ * Summary of an {@link com.mindtree.leafservice3.domain.Assessment} for list views, without its questions.
+ */
+public class AssessmentSummaryDTO {
+
+    public Long id;
+
+    public AssessmentCategory assessmentCategory;
+
+    public AssessmentSummaryDTO(Long id, AssessmentCategory assessmentCategory) {
+        this.id = id;
+        this.assessmentCategory = assessmentCategory;
+    }
+}
@@ -1,10 +1,55 @@
 package com.mindtree.leafservice3.service.dto;
- 
-public class ChartData {
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ChartData implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     public Long id;
     public String name;
     public String title;
     public String parentId;
     public String parentName;
     public String trackingId;
-}
\ No newline at end of file
+
+    /**
+     * Number of nodes below this one in a nested chart.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Integer childCount;
+
+    /**
+     * Nodes below this one in a nested chart, {@code null} when they were not expanded.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<ChartData> children;
+
+    public ChartData() {
+    }
+
+    /**
+     * Copy a node, along with the nodes below it.
+     *
+     * @param other the node to copy.
+     */
+    public ChartData(ChartData other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.title = other.title;
+        this.parentId = other.parentId;
+        this.parentName = other.parentName;
+        this.trackingId = other.trackingId;
+        this.childCount = other.childCount;
+        if (other.children != null) {
+            this.children = new ArrayList<>(other.children.size());
+            for (ChartData child : other.children) {
+                this.children.add(new ChartData(child));
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.mindtree.leafservice3.service.dto;
+
+import com.mindtree.leafservice3.domain.enumeration.AssessmentCategory;
+
+import java.time.LocalDate;
+
+/**
+ * Summary of an {@link com.mindtree.leafservice3.domain.Evaluation} for list views, without its assessment result.
+ */
+public class EvaluationSummaryDTO {
+
+    public Long id;
+
+    public AssessmentCategory assessmentCategory;
+
+    public Integer score;
+
+    public LocalDate attemptDate;
+
+    public Application application = new Application();
+
+    public EvaluationSummaryDTO(Long id, AssessmentCategory assessmentCategory, Integer score, LocalDate attemptDate,
+            Long applicationId, String applicationName) {
+        this.id = id;
+        this.assessmentCategory = assessmentCategory;
+        this.score = score;
+        this.attemptDate = attemptDate;
+        this.application.id = applicationId;
+        this.application.name = applicationName;
+    }
+
+    /**
+     * The application evaluated.
+     */
+    public static class Application {
+
+        public Long id;
+
+        public String name;
+    }
+}
@@ -0,0 +1,22 @@
+package com.mindtree.leafservice3.service.dto;
+
+/**
+ * An application reached through the integration graph.
+ */
+public class IntegrationGraphNode {
+
+    public Long appId;
+
+    public String appName;
+
+    /**
+     * Number of integrations between the application the traversal started from and this one.
+     */
+    public int hops;
+
+    public IntegrationGraphNode(Long appId, String appName, int hops) {
+        this.appId = appId;
+        this.appName = appName;
+        this.hops = hops;
+    }
+}
@@ -0,0 +1,20 @@
+package com.mindtree.leafservice3.service.dto;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of the progress of a job run in the background.
+ */
+public class JobDTO {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public String id;
+    public Status status;
+    public Instant submittedAt;
+    public Instant startedAt;
+    public Instant finishedAt;
+    public String message;
+}
@@ -0,0 +1,30 @@
+package com.mindtree.leafservice3.service.dto;
+
+/**
+ * Summary of a {@link com.mindtree.leafservice3.domain.Label} for list views, without its data.
+ */
+public class LabelSummaryDTO {
+
+    public Long id;
+
+    public String label_type;
+
+    public Company company = new Company();
+
+    public LabelSummaryDTO(Long id, String label_type, Long companyId, String companyName) {
+        this.id = id;
+        this.label_type = label_type;
+        this.company.id = companyId;
+        this.company.companyName = companyName;
+    }
+
+    /**
+     * The company the label belongs to.
+     */
+    public static class Company {
+
+        public Long id;
+
+        public String companyName;
+    }
+}
@@ -7,4 +7,14 @@ public class Links {
     public String appName;
     public String entity;
     public IntegrationFlowType flowType;
-}
\ No newline at end of file
+
+    public Links() {
+    }
+
+    public Links(Long appId, String appName, String entity, IntegrationFlowType flowType) {
+        this.appId = appId;
+        this.appName = appName;
+        this.entity = entity;
+        this.flowType = flowType;
+    }
+}
@@ -1,19 +1,160 @@
 package com.mindtree.leafservice3.service.dto;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
-import com.mindtree.leafservice3.domain.Activity;
-import com.mindtree.leafservice3.domain.BusinessFunction;
-import com.mindtree.leafservice3.domain.BusinessProcess;
-import com.mindtree.leafservice3.domain.Capabilities;
-import com.mindtree.leafservice3.domain.Task;
+import com.mindtree.leafservice3.domain.enumeration.BusinessFunctionType;
+import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
+import com.mindtree.leafservice3.domain.enumeration.ProcessStatus;
+import com.mindtree.leafservice3.domain.enumeration.ResourcesRequired;
+import com.mindtree.leafservice3.service.util.CurrencyUnits;
 
+/**
+ * Drill-down of a {@link com.mindtree.leafservice3.domain.LineOfBusiness}: a page of its business functions, with
+ * their capabilities, business processes, activities and tasks nested down to the requested depth.
+ * <p>
+ * The levels deeper than {@link #depth} are not read and their lists stay empty. Each level below the business
+ * functions holds a bounded number of nodes; {@link #truncated} tells when some were left out.
+ */
 public class LobSearchData {
+
+    /**
+     * Deepest level of the drill-down, the tasks.
+     */
+    public static final int MAX_DEPTH = 5;
+
     public Long id;
+
     public String name;
-    public List<BusinessFunction> bFunction;
-    public List<Capabilities> capability;
-    public List<BusinessProcess> bProcesses;
-    public List<Activity> activities;
-    public List<Task> tasks;
-}
\ No newline at end of file
+
+    /**
+     * Levels read below the line of business, from {@code 1} for the business functions to {@code 5} for the tasks.
+     */
+    public int depth;
+
+    /**
+     * Whether the line of business has business functions after this page.
+     */
+    public boolean hasMoreBusinessFunctions;
+
+    /**
+     * Whether nodes were left out of a level because it reached its limit.
+     */
+    public boolean truncated;
+
+    public List<BusinessFunction> businessFunctions = new ArrayList<>();
+
+    public LobSearchData(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public static class BusinessFunction {
+
+        public Long id;
+
+        public String name;
+
+        public BusinessFunctionType type;
+
+        public List<Capability> capabilities = new ArrayList<>();
+
+        public BusinessFunction(Long id, String name, BusinessFunctionType type) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+        }
+    }
+
+    public static class Capability {
+
+        public Long id;
+
+        public String description;
+
+        public List<BusinessProcess> businessProcesses = new ArrayList<>();
+
+        public Capability(Long id, String description) {
+            this.id = id;
+            this.description = description;
+        }
+    }
+
+    public static class BusinessProcess {
+
+        public Long id;
+
+        public String name;
+
+        public ProcessStatus status;
+
+        public LocalDate startDate;
+
+        public LocalDate expectedEndDate;
+
+        public LocalDate endDate;
+
+        public List<Activity> activities = new ArrayList<>();
+
+        public BusinessProcess(Long id, String name, ProcessStatus status, LocalDate startDate,
+                LocalDate expectedEndDate, LocalDate endDate) {
+            this.id = id;
+            this.name = name;
+            this.status = status;
+            this.startDate = startDate;
+            this.expectedEndDate = expectedEndDate;
+            this.endDate = endDate;
+        }
+    }
+
+    public static class Activity {
+
+        public Long id;
+
+        public String name;
+
+        public String description;
+
+        public ResourcesRequired resourcesRequired;
+
+        public List<Task> tasks = new ArrayList<>();
+
+        /**
+         * Estimated cost of all the tasks of the activity in currency units, including those left out of
+         * {@link #tasks}. Only read with the tasks.
+         */
+        public long estimatedCostUnits;
+
+        public Activity(Long id, String name, String description, ResourcesRequired resourcesRequired) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.resourcesRequired = resourcesRequired;
+        }
+    }
+
+    public static class Task {
+
+        public Long id;
+
+        public String name;
+
+        public Integer estimatedCost;
+
+        public CurrencySuccessor successor;
+
+        /**
+         * Estimated cost in currency units.
+         */
+        public long estimatedCostUnits;
+
+        public Task(Long id, String name, Integer estimatedCost, CurrencySuccessor successor) {
+            this.id = id;
+            this.name = name;
+            this.estimatedCost = estimatedCost;
+            this.successor = successor;
+            this.estimatedCostUnits = estimatedCost == null ? 0L : CurrencyUnits.toUnits(estimatedCost, successor);
+        }
+    }
+}
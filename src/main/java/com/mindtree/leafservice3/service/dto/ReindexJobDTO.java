@@ -0,0 +1,43 @@
+package com.mindtree.leafservice3.service.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot of the progress of a rebuild of the search indices.
+ */
+public class ReindexJobDTO extends JobDTO {
+
+    public enum Mode {
+        /**
+         * Rebuild every document in a fresh index, then move the alias of the index to it.
+         */
+        FULL,
+        /**
+         * Index the rows added or updated since the watermark of the live index.
+         */
+        INCREMENTAL
+    }
+
+    public Mode mode;
+    public long documentsIndexed;
+    public double documentsPerSecond;
+    public List<IndexProgress> indices;
+
+    /**
+     * Progress of the rebuild of one index.
+     */
+    public static class IndexProgress {
+
+        public String alias;
+        public String index;
+        public Status status;
+        public long documentsIndexed;
+        public long documentsTotal;
+        public double documentsPerSecond;
+        public Instant watermark;
+        public Instant startedAt;
+        public Instant finishedAt;
+        public String message;
+    }
+}
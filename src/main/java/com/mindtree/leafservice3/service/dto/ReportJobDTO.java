@@ -0,0 +1,10 @@
+package com.mindtree.leafservice3.service.dto;
+
+/**
+ * Snapshot of the progress of a portfolio report rendered in the background.
+ */
+public class ReportJobDTO extends JobDTO {
+
+    public Long companyId;
+    public long applicationsWritten;
+}
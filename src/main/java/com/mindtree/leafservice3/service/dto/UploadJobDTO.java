@@ -0,0 +1,14 @@
+package com.mindtree.leafservice3.service.dto;
+
+/**
+ * Snapshot of the progress of an asynchronous Excel upload.
+ */
+public class UploadJobDTO extends JobDTO {
+
+    public String type;
+    public Long companyId;
+    public String fileName;
+    public long rowsProcessed;
+    public long rowsFailed;
+    public double rowsPerSecond;
+}
@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.ActivityService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.Activity;
 import com.mindtree.leafservice3.repository.ActivityRepository;
 import com.mindtree.leafservice3.repository.search.ActivitySearchRepository;
@@ -30,9 +31,14 @@ public class ActivityServiceImpl implements ActivityService {
 
     private final ActivitySearchRepository activitySearchRepository;
 
-    public ActivityServiceImpl(ActivityRepository activityRepository, ActivitySearchRepository activitySearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public ActivityServiceImpl(ActivityRepository activityRepository,
+            ActivitySearchRepository activitySearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.activityRepository = activityRepository;
         this.activitySearchRepository = activitySearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class ActivityServiceImpl implements ActivityService {
     public Activity save(Activity activity) {
         log.debug("Request to save Activity : {}", activity);
         Activity result = activityRepository.save(activity);
-        activitySearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class ActivityServiceImpl implements ActivityService {
     public void delete(Long id) {
         log.debug("Request to delete Activity : {}", id);
         activityRepository.deleteById(id);
-        activitySearchRepository.deleteById(id);
+        searchIndexingService.delete(Activity.class, id);
     }
 
     /**
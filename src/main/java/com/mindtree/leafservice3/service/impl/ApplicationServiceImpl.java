@@ -1,10 +1,10 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.ApplicationService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.service.dto.ChartData;
 import com.mindtree.leafservice3.domain.Application;
 import com.mindtree.leafservice3.domain.LineOfBusiness;
-import com.mindtree.leafservice3.domain.OraganizationalUnit;
 import com.mindtree.leafservice3.domain.Technology;
 import com.mindtree.leafservice3.repository.ApplicationRepository;
 import com.mindtree.leafservice3.repository.LineOfBusinessRepository;
@@ -14,12 +14,23 @@ import com.mindtree.leafservice3.repository.search.ApplicationSearchRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -32,6 +43,18 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 @Transactional
 public class ApplicationServiceImpl implements ApplicationService {
 
+    /**
+     * Titles of the levels of the organizational tree, from the top.
+     */
+    private static final String[] TREE_LEVELS = {"oraganizational-units", "line-of-businesses", "applications"};
+
+    /**
+     * Tracking id infixes of the levels of the organizational tree, from the top.
+     */
+    private static final List<String> TREE_INFIXES = Arrays.asList("-Org", "-Lob", "-App");
+
+    private static final Pattern TREE_NODE = Pattern.compile(".*(-Org|-Lob|-App)(\\d+)");
+
     private final Logger log = LoggerFactory.getLogger(ApplicationServiceImpl.class);
 
     private final ApplicationRepository applicationRepository;
@@ -41,16 +64,20 @@ public class ApplicationServiceImpl implements ApplicationService {
 
     private final ApplicationSearchRepository applicationSearchRepository;
 
+    private final SearchIndexingService searchIndexingService;
+
     public ApplicationServiceImpl(ApplicationRepository applicationRepository, 
             OraganizationalUnitRepository oraganizationalUnitRepository,
             LineOfBusinessRepository lineOfBusinessRepository, 
             ApplicationSearchRepository applicationSearchRepository,
-            TechnologyRepository technologyRepository) {
+            TechnologyRepository technologyRepository,
+            SearchIndexingService searchIndexingService) {
         this.applicationRepository = applicationRepository;
         this.applicationSearchRepository = applicationSearchRepository;
         this.oraganizationalUnitRepository = oraganizationalUnitRepository;
         this.lineOfBusinessRepository = lineOfBusinessRepository;
         this.technologyRepository = technologyRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -63,7 +90,7 @@ public class ApplicationServiceImpl implements ApplicationService {
     public Application save(Application application) {
         log.debug("Request to save Application : {}", application);
         Application result = applicationRepository.save(application);
-        applicationSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -102,7 +129,7 @@ public class ApplicationServiceImpl implements ApplicationService {
     public void delete(Long id) {
         log.debug("Request to delete Application : {}", id);
         applicationRepository.deleteById(id);
-        applicationSearchRepository.deleteById(id);
+        searchIndexingService.delete(Application.class, id);
     }
 
     /**
@@ -119,77 +146,141 @@ public class ApplicationServiceImpl implements ApplicationService {
             .stream(applicationSearchRepository.search(queryStringQuery(query)).spliterator(), false)
             .collect(Collectors.toList());
     }
+    /**
+     * Get the organizational tree, reading only the id, name and parent id of its nodes.
+     * <p>
+     * The top level is read a page at a time, each level below in one query for the nodes of the level above. When
+     * the depth is limited, the children of the nodes of the deepest level are only counted, grouped by parent.
+     *
+     * @param parentId the tracking id of the node to expand, or {@code null} for the top of the tree.
+     * @param depth the number of levels to return, or {@code null} for every level.
+     * @param pageable the pagination information of the top level, sorted by id.
+     * @return the page of nodes below the parent, each with the nodes below it up to the depth.
+     */
     @Override
-    public List<ChartData> organizationalChartData() {
-        log.debug("REST request to get organizational chart data");
-        List<OraganizationalUnit> organizationalUnit = oraganizationalUnitRepository.findAll();
-        List<LineOfBusiness> lineOfBusiness = lineOfBusinessRepository.findAll();
-        List<Application> applications = applicationRepository.findAll();
-        List<ChartData> parent = new ArrayList<>();
-
-        for (OraganizationalUnit organization : organizationalUnit) {
+    @Transactional(readOnly = true)
+    public Page<ChartData> organizationalChartData(String parentId, Integer depth, Pageable pageable) {
+        log.debug("Request to get the organizational tree below {} to depth {}", parentId, depth);
+        int top = 0;
+        Long parent = null;
+        if (parentId != null) {
+            Matcher matcher = TREE_NODE.matcher(parentId);
+            if (!matcher.matches()) {
+                return Page.empty(pageable);
+            }
+            top = TREE_INFIXES.indexOf(matcher.group(1)) + 1;
+            parent = Long.valueOf(matcher.group(2));
+        }
+        int levels = depth != null ? depth : TREE_LEVELS.length;
+        if (levels < 1 || top >= TREE_LEVELS.length) {
+            return Page.empty(pageable);
+        }
+        int bottom = (int) Math.min(TREE_LEVELS.length - 1L, (long) top + levels - 1);
+
+        Page<Object[]> topRows = treeRows(top, parent,
+            pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable);
+        List<ChartData> tree = new ArrayList<>(topRows.getNumberOfElements());
+        for (Object[] row : topRows) {
+            ChartData data = treeNode(top, row);
+            data.parentId = parentId;
+            tree.add(data);
+        }
+        List<ChartData> nodes = tree;
+        for (int level = top; level < bottom && !nodes.isEmpty(); level++) {
+            Map<Long, ChartData> parents = new HashMap<>();
+            for (ChartData data : nodes) {
+                data.children = new ArrayList<>();
+                parents.put(data.id, data);
+            }
             List<ChartData> children = new ArrayList<>();
-            for (LineOfBusiness LOB : lineOfBusiness) {
-                if (organization.getId() == LOB.getOraganizationalUnit().getId()) {
-                    List<ChartData> grandChildren = new ArrayList<>();
-                    for(Application application : applications) {
-                        if(application.getLineOfBusiness().getId() == LOB.getId()) {
-                            ChartData childrenObj = new ChartData();
-                                childrenObj.id = application.getId();
-                                childrenObj.name = application.getName();
-                                childrenObj.title = "applications";
-                                grandChildren.add(childrenObj);
-                            }
-                        }
-                        ChartData LOBObj = new ChartData();
-                        LOBObj.id = LOB.getId();
-                        LOBObj.name = LOB.getName();
-                        LOBObj.title = "line-of-businesses";
-                        
-                        children.add(LOBObj);
-                    }
-                    
-                }
-                ChartData OrgObj = new ChartData();
-                OrgObj.id = organization.getId();
-                OrgObj.name = organization.getName();
-                OrgObj.title = "oraganizational-units";
-            
-                parent.add(OrgObj);
+            for (Object[] row : childTreeRows(level, parents.keySet())) {
+                ChartData data = treeNode(level + 1, row);
+                ChartData parentData = parents.get((Long) row[2]);
+                data.parentId = parentData.trackingId;
+                data.parentName = parentData.name;
+                parentData.children.add(data);
+                children.add(data);
+            }
+            for (ChartData data : nodes) {
+                data.childCount = data.children.size();
+            }
+            nodes = children;
+        }
+        if (bottom < TREE_LEVELS.length - 1 && !nodes.isEmpty()) {
+            Map<Long, ChartData> parents = new HashMap<>();
+            for (ChartData data : nodes) {
+                data.childCount = 0;
+                parents.put(data.id, data);
+            }
+            for (Object[] row : countChildTreeRows(bottom, parents.keySet())) {
+                parents.get((Long) row[0]).childCount = ((Number) row[1]).intValue();
             }
-        return parent;
+        }
+        return new PageImpl<>(tree, topRows.getPageable(), topRows.getTotalElements());
     }
-    
+
+    private static ChartData treeNode(int level, Object[] row) {
+        ChartData data = new ChartData();
+        data.id = (Long) row[0];
+        data.name = (String) row[1];
+        data.title = TREE_LEVELS[level];
+        data.trackingId = data.name + TREE_INFIXES.get(level) + data.id;
+        return data;
+    }
+
+    /**
+     * Read a page of the rows of the top level of the organizational tree, the children of the parent node.
+     */
+    private Page<Object[]> treeRows(int top, Long parent, Pageable pageable) {
+        if (top == 0) {
+            return oraganizationalUnitRepository.findChartNodes(pageable);
+        }
+        return top == 1 ? lineOfBusinessRepository.findChartNodesByOraganizationalUnitId(parent, pageable)
+            : applicationRepository.findChartNodesByLineOfBusinessId(parent, pageable);
+    }
+
+    /**
+     * Read the rows of the children of nodes of a level of the organizational tree.
+     */
+    private List<Object[]> childTreeRows(int level, Collection<Long> parentIds) {
+        return level == 0 ? lineOfBusinessRepository.findChartNodesByOraganizationalUnitIds(parentIds)
+            : applicationRepository.findChartNodesByLineOfBusinessIds(parentIds);
+    }
+
+    /**
+     * Count the children of nodes of a level of the organizational tree.
+     */
+    private List<Object[]> countChildTreeRows(int level, Collection<Long> parentIds) {
+        return level == 0 ? lineOfBusinessRepository.countChartNodesByOraganizationalUnitIds(parentIds)
+            : applicationRepository.countChartNodesByLineOfBusinessIds(parentIds);
+    }
+
     @Override
     public List<ChartData> getAppChartData(Long company_id) {
         List<ChartData> chartData = new ArrayList<>();
-        List<LineOfBusiness> lineOfBusinesses = lineOfBusinessRepository.findAll();
-        List<Application> applications = applicationRepository.findAll();
+        List<LineOfBusiness> lineOfBusinesses = lineOfBusinessRepository.findAllByCompanyId(company_id);
+        List<Application> applications = applicationRepository.findAllByCompanyId(company_id);
         
         for(LineOfBusiness lob : lineOfBusinesses) {
-            if(lob.getOraganizationalUnit().getCompany().getId() == company_id) {
-                ChartData lob_data = new ChartData();
-                    lob_data.id = lob.getId();
-                    lob_data.name = lob.getName();
-                    lob_data.title = "line-of-businesses";
-                    lob_data.trackingId = lob.getName() +"-Lob"+ lob.getId();
-
-                chartData.add(lob_data);
-            }
+            ChartData lob_data = new ChartData();
+                lob_data.id = lob.getId();
+                lob_data.name = lob.getName();
+                lob_data.title = "line-of-businesses";
+                lob_data.trackingId = lob.getName() +"-Lob"+ lob.getId();
+
+            chartData.add(lob_data);
         }
 
         for(Application app : applications) {
-            if(app.getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == company_id) {
-                ChartData appData = new ChartData();
-                    appData.id = app.getId();
-                    appData.name = app.getName();
-                    appData.title = "applications";
-                    appData.trackingId = app.getName() +"-App"+ app.getId();
-                    appData.parentId = app.getLineOfBusiness().getName() +"-Lob"+ app.getLineOfBusiness().getId();
-                    appData.parentName = app.getLineOfBusiness().getName();
-
-                chartData.add(appData);
-            }
+            ChartData appData = new ChartData();
+                appData.id = app.getId();
+                appData.name = app.getName();
+                appData.title = "applications";
+                appData.trackingId = app.getName() +"-App"+ app.getId();
+                appData.parentId = app.getLineOfBusiness().getName() +"-Lob"+ app.getLineOfBusiness().getId();
+                appData.parentName = app.getLineOfBusiness().getName();
+
+            chartData.add(appData);
         }
         // for(Technology tech : technologies) {
         //     if(tech.getApplication().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == company_id) {
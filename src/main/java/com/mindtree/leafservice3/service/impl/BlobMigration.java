@@ -0,0 +1,122 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.service.BlobStorageService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Moves the binaries still stored in the database to the blob store, once the application started.
+ * <p>
+ * Rows are read in batches of {@code migrationBatchSize}, each batch in its own transaction: the content of a row is
+ * streamed to the store, then the row gets the key and size of its blob and its binary column is cleared. A row is
+ * only picked while it has no key, so an interrupted migration resumes where it stopped on the next startup.
+ */
+@Component
+class BlobMigration {
+
+    private static final List<BlobColumn> COLUMNS = Arrays.asList(
+        new BlobColumn("diagram", "picture"),
+        new BlobColumn("upload_excel", "name"),
+        new BlobColumn("excel_template", "file_name"));
+
+    private final Logger log = LoggerFactory.getLogger(BlobMigration.class);
+
+    private final BlobStorageService blobStorageService;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    BlobMigration(BlobStorageService blobStorageService, EntityManager entityManager,
+            PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties) {
+        this.blobStorageService = blobStorageService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = applicationProperties.getBlobStore().getMigrationBatchSize();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void migrate() {
+        for (BlobColumn column : COLUMNS) {
+            try {
+                int migrated = 0;
+                for (int batch = migrateBatch(column); batch > 0; batch = migrateBatch(column)) {
+                    migrated += batch;
+                }
+                if (migrated > 0) {
+                    log.info("Moved {} binaries of {}.{} to the blob store", migrated, column.table, column.column);
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not move the binaries of {}.{} to the blob store", column.table, column.column, e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int migrateBatch(BlobColumn column) {
+        Integer migrated = transactionTemplate.execute(status -> {
+            List<Object[]> rows = entityManager.createNativeQuery("select id, " + column.column + " from " + column.table
+                    + " where " + column.column + " is not null and " + column.column + "_key is null order by id")
+                .setMaxResults(batchSize)
+                .getResultList();
+            for (Object[] row : rows) {
+                Object content = row[1];
+                String key;
+                long size;
+                if (content instanceof Blob) {
+                    Blob blob = (Blob) content;
+                    try (InputStream in = blob.getBinaryStream()) {
+                        key = blobStorageService.store(in);
+                        size = blob.length();
+                    } catch (IOException | SQLException e) {
+                        throw new IllegalStateException("Could not read " + column.table + " " + row[0], e);
+                    }
+                } else {
+                    byte[] bytes = (byte[]) content;
+                    key = blobStorageService.store(bytes);
+                    size = bytes.length;
+                }
+                entityManager.createNativeQuery("update " + column.table + " set " + column.column + "_key = ?, "
+                        + column.column + "_size = ?, " + column.column + " = null, last_modified = ? "
+                        + "where id = ?")
+                    .setParameter(1, key)
+                    .setParameter(2, size)
+                    .setParameter(3, Instant.now())
+                    .setParameter(4, ((Number) row[0]).longValue())
+                    .executeUpdate();
+            }
+            return rows.size();
+        });
+        return migrated != null ? migrated : 0;
+    }
+
+    private static final class BlobColumn {
+
+        private final String table;
+
+        private final String column;
+
+        private BlobColumn(String table, String column) {
+            this.table = table;
+            this.column = column;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.BrandService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.Brand;
 import com.mindtree.leafservice3.repository.BrandRepository;
 import com.mindtree.leafservice3.repository.search.BrandSearchRepository;
@@ -30,9 +31,14 @@ public class BrandServiceImpl implements BrandService {
 
     private final BrandSearchRepository brandSearchRepository;
 
-    public BrandServiceImpl(BrandRepository brandRepository, BrandSearchRepository brandSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public BrandServiceImpl(BrandRepository brandRepository,
+            BrandSearchRepository brandSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.brandRepository = brandRepository;
         this.brandSearchRepository = brandSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class BrandServiceImpl implements BrandService {
     public Brand save(Brand brand) {
         log.debug("Request to save Brand : {}", brand);
         Brand result = brandRepository.save(brand);
-        brandSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class BrandServiceImpl implements BrandService {
     public void delete(Long id) {
         log.debug("Request to delete Brand : {}", id);
         brandRepository.deleteById(id);
-        brandSearchRepository.deleteById(id);
+        searchIndexingService.delete(Brand.class, id);
     }
 
     /**
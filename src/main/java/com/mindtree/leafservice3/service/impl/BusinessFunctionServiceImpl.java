@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.BusinessFunctionService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.BusinessFunction;
 import com.mindtree.leafservice3.repository.BusinessFunctionRepository;
 import com.mindtree.leafservice3.repository.search.BusinessFunctionSearchRepository;
@@ -30,9 +31,14 @@ public class BusinessFunctionServiceImpl implements BusinessFunctionService {
 
     private final BusinessFunctionSearchRepository businessFunctionSearchRepository;
 
-    public BusinessFunctionServiceImpl(BusinessFunctionRepository businessFunctionRepository, BusinessFunctionSearchRepository businessFunctionSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public BusinessFunctionServiceImpl(BusinessFunctionRepository businessFunctionRepository,
+            BusinessFunctionSearchRepository businessFunctionSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.businessFunctionRepository = businessFunctionRepository;
         this.businessFunctionSearchRepository = businessFunctionSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class BusinessFunctionServiceImpl implements BusinessFunctionService {
     public BusinessFunction save(BusinessFunction businessFunction) {
         log.debug("Request to save BusinessFunction : {}", businessFunction);
         BusinessFunction result = businessFunctionRepository.save(businessFunction);
-        businessFunctionSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class BusinessFunctionServiceImpl implements BusinessFunctionService {
     public void delete(Long id) {
         log.debug("Request to delete BusinessFunction : {}", id);
         businessFunctionRepository.deleteById(id);
-        businessFunctionSearchRepository.deleteById(id);
+        searchIndexingService.delete(BusinessFunction.class, id);
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.BusinessProcessService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.BusinessProcess;
 import com.mindtree.leafservice3.repository.BusinessProcessRepository;
 import com.mindtree.leafservice3.repository.search.BusinessProcessSearchRepository;
@@ -30,9 +31,14 @@ public class BusinessProcessServiceImpl implements BusinessProcessService {
 
     private final BusinessProcessSearchRepository businessProcessSearchRepository;
 
-    public BusinessProcessServiceImpl(BusinessProcessRepository businessProcessRepository, BusinessProcessSearchRepository businessProcessSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public BusinessProcessServiceImpl(BusinessProcessRepository businessProcessRepository,
+            BusinessProcessSearchRepository businessProcessSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.businessProcessRepository = businessProcessRepository;
         this.businessProcessSearchRepository = businessProcessSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class BusinessProcessServiceImpl implements BusinessProcessService {
     public BusinessProcess save(BusinessProcess businessProcess) {
         log.debug("Request to save BusinessProcess : {}", businessProcess);
         BusinessProcess result = businessProcessRepository.save(businessProcess);
-        businessProcessSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class BusinessProcessServiceImpl implements BusinessProcessService {
     public void delete(Long id) {
         log.debug("Request to delete BusinessProcess : {}", id);
         businessProcessRepository.deleteById(id);
-        businessProcessSearchRepository.deleteById(id);
+        searchIndexingService.delete(BusinessProcess.class, id);
     }
 
     /**
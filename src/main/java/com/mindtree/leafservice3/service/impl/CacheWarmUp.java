@@ -0,0 +1,70 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.EntityType;
+
+/**
+ * Loads the first entities of the second-level cache regions with {@code warm-up-entries}, once the application
+ * started, so the first requests on hot tables don't all miss.
+ * <p>
+ * Each region is loaded in its own read-only transaction, entities ordered by id; Hibernate puts them in the region as
+ * they are read. Nothing is loaded when the second-level cache is disabled.
+ */
+@Component
+class CacheWarmUp {
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUp.class);
+
+    private final ApplicationProperties.Cache cache;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readTransaction;
+
+    CacheWarmUp(ApplicationProperties applicationProperties, EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.cache = applicationProperties.getCache();
+        this.entityManager = entityManager;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        boolean secondLevelCacheEnabled = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+            .getSessionFactoryOptions().isSecondLevelCacheEnabled();
+        if (!secondLevelCacheEnabled) {
+            return;
+        }
+        for (EntityType<?> entity : entityManager.getMetamodel().getEntities()) {
+            ApplicationProperties.Cache.Region region = cache.getRegion(entity.getJavaType().getName());
+            if (region == null || region.getWarmUpEntries() <= 0) {
+                continue;
+            }
+            try {
+                Integer loaded = readTransaction.execute(status -> {
+                    int size = entityManager.createQuery("select e from " + entity.getName() + " e order by e.id")
+                        .setMaxResults(region.getWarmUpEntries())
+                        .getResultList()
+                        .size();
+                    entityManager.clear();
+                    return size;
+                });
+                log.info("Loaded {} {} in the second-level cache", loaded, entity.getName());
+            } catch (RuntimeException e) {
+                log.warn("Could not load {} in the second-level cache", entity.getName(), e);
+            }
+        }
+    }
+}
@@ -1,26 +1,25 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.CapabilitiesService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.service.dto.ChartData;
-import com.mindtree.leafservice3.domain.BusinessFunction;
 import com.mindtree.leafservice3.domain.Capabilities;
-import com.mindtree.leafservice3.domain.Company;
-import com.mindtree.leafservice3.domain.LineOfBusiness;
-import com.mindtree.leafservice3.domain.OraganizationalUnit;
-import com.mindtree.leafservice3.repository.BusinessFunctionRepository;
 import com.mindtree.leafservice3.repository.CapabilitiesRepository;
 import com.mindtree.leafservice3.repository.CompanyRepository;
-import com.mindtree.leafservice3.repository.LineOfBusinessRepository;
-import com.mindtree.leafservice3.repository.OraganizationalUnitRepository;
 import com.mindtree.leafservice3.repository.search.CapabilitiesSearchRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -34,28 +33,39 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 @Transactional
 public class CapabilitiesServiceImpl implements CapabilitiesService {
 
+    /**
+     * Title and tracking id infix of the chart nodes, by {@link CompanyRepository} chart level.
+     */
+    private static final String[][] CHART_LEVELS = {
+        {"Company", "-Comp"},
+        {"oraganizational-units", "-Org"},
+        {"line-of-businesses", "-Lob"},
+        {"business-functions", "-bf"},
+        {"capabilities", "-Cap"}
+    };
+
     private final Logger log = LoggerFactory.getLogger(CapabilitiesServiceImpl.class);
 
     private final CapabilitiesRepository capabilitiesRepository;
 
     private final CapabilitiesSearchRepository capabilitiesSearchRepository;
-    private final OraganizationalUnitRepository oraganizationalUnitRepository;
-    private final LineOfBusinessRepository lineOfBusinessRepository;
-    private final BusinessFunctionRepository businessFunctionRepository;
+
+    private final SearchIndexingService searchIndexingService;
+
     private final CompanyRepository companyRepository;
 
+    private final CacheManager cacheManager;
+
     public CapabilitiesServiceImpl(CapabilitiesRepository capabilitiesRepository,
             CapabilitiesSearchRepository capabilitiesSearchRepository,
-            OraganizationalUnitRepository oraganizationalUnitRepository,
-            LineOfBusinessRepository lineOfBusinessRepository, 
-            BusinessFunctionRepository businessFunctionRepository,
-            CompanyRepository companyRepository) {
+            CompanyRepository companyRepository,
+            SearchIndexingService searchIndexingService,
+            CacheManager cacheManager) {
         this.capabilitiesRepository = capabilitiesRepository;
         this.capabilitiesSearchRepository = capabilitiesSearchRepository;
-        this.oraganizationalUnitRepository = oraganizationalUnitRepository;
-        this.lineOfBusinessRepository = lineOfBusinessRepository;
-        this.businessFunctionRepository = businessFunctionRepository;
         this.companyRepository = companyRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.cacheManager = cacheManager;
     }
 
     /**
@@ -68,7 +78,7 @@ public class CapabilitiesServiceImpl implements CapabilitiesService {
     public Capabilities save(Capabilities capabilities) {
         log.debug("Request to save Capabilities : {}", capabilities);
         Capabilities result = capabilitiesRepository.save(capabilities);
-        capabilitiesSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -106,7 +116,7 @@ public class CapabilitiesServiceImpl implements CapabilitiesService {
     public void delete(Long id) {
         log.debug("Request to delete Capabilities : {}", id);
         capabilitiesRepository.deleteById(id);
-        capabilitiesSearchRepository.deleteById(id);
+        searchIndexingService.delete(Capabilities.class, id);
     }
 
     /**
@@ -123,76 +133,71 @@ public class CapabilitiesServiceImpl implements CapabilitiesService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get the organizational chart of a company from a single projection query.
+     * <p>
+     * The cached nodes are never handed out: each call gets its own copy of them, which the caller may change.
+     *
+     * @param company_id the id of the company.
+     * @return the nodes of the chart, each level after its parents.
+     */
     @Override
+    @Transactional(readOnly = true)
     public List<ChartData> organizationalChartData(Long company_id) {
-        log.debug("REST request to get organizational chart data");
-        List<OraganizationalUnit> organizationalUnit = oraganizationalUnitRepository.findAll();
-        List<LineOfBusiness> lineOfBusiness = lineOfBusinessRepository.findAll();
-        List<BusinessFunction> businessFunction = businessFunctionRepository.findAll();
-        List<Capabilities> capabilities = capabilitiesRepository.findAll();
-        List<ChartData> orgData = new ArrayList<>();
-        Optional<Company> company = companyRepository.findById(company_id);
-        ChartData data = new ChartData();
-            data.id = company.get().getId();
-            data.name = company.get().getCompanyName();
-            data.title = "Company";
-            data.trackingId = company.get().getCompanyName()+"-Comp"+company.get().getId();
-            orgData.add(data);
-
-        for (OraganizationalUnit organization : organizationalUnit) {
-            if(organization.getCompany().getId() == company_id) {
-                ChartData orgUnit = new ChartData();
-                orgUnit.id = organization.getId();
-                orgUnit.name = organization.getName();
-                orgUnit.parentId = company.get().getCompanyName()+"-Comp"+company.get().getId();
-                orgUnit.parentName = company.get().getCompanyName();
-                orgUnit.title = "oraganizational-units";
-                orgUnit.trackingId = organization.getName() +"-Org"+ organization.getId();
-    
-                orgData.add(orgUnit);
-            }
-          
+        log.debug("Request to get organizational chart data of Company : {}", company_id);
+        Cache cache = cacheManager.getCache(ORGANIZATIONAL_CHART_CACHE);
+        List<ChartData> chart = cache != null ? cache.get(company_id, () -> loadChartData(company_id))
+            : loadChartData(company_id);
+        List<ChartData> orgData = new ArrayList<>(chart.size());
+        for (ChartData data : chart) {
+            orgData.add(new ChartData(data));
         }
-        for (LineOfBusiness LOB : lineOfBusiness) {
-            if(LOB.getOraganizationalUnit().getCompany().getId() == company_id) {
-                ChartData lobData = new ChartData();
-                lobData.id = LOB.getId();
-                lobData.name = LOB.getName();
-                lobData.parentId = LOB.getOraganizationalUnit().getName()+"-Org"+ LOB.getOraganizationalUnit().getId();
-                lobData.parentName = LOB.getOraganizationalUnit().getName();
-                lobData.title = "line-of-businesses";
-                lobData.trackingId = LOB.getName() +"-Lob"+ LOB.getId();
-    
-                orgData.add(lobData);
-            }
+        return orgData;
+    }
 
-        }
-        for (BusinessFunction bFunction : businessFunction) {
-            if(bFunction.getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == company_id) {
-                ChartData bfData = new ChartData();
-                bfData.id = bFunction.getId();
-                bfData.name = bFunction.getName();
-                bfData.parentId =bFunction.getLineOfBusiness().getName()+"-Lob" +bFunction.getLineOfBusiness().getId();
-                bfData.parentName = bFunction.getLineOfBusiness().getName();
-                bfData.title = "business-functions";
-                bfData.trackingId = bFunction.getName()+"-bf"+ bFunction.getId();
-    
-                orgData.add(bfData);
-            }
+    private List<ChartData> loadChartData(Long company_id) {
+        return Collections.unmodifiableList(chartData(companyRepository.findOrganizationalChartNodes(company_id)));
+    }
 
+    /**
+     * Assemble the chart from the rows of {@link CompanyRepository#findOrganizationalChartNodes(Long)}, in linear time.
+     * <p>
+     * Rows are grouped by level, then each level is linked to the level above through an id index. A row whose
+     * parent is not part of the chart is left out, along with the rows below it.
+     */
+    static List<ChartData> chartData(List<Object[]> rows) {
+        List<List<Object[]>> levels = new ArrayList<>();
+        for (int level = 0; level < CHART_LEVELS.length; level++) {
+            levels.add(new ArrayList<>());
+        }
+        for (Object[] row : rows) {
+            levels.get(((Number) row[0]).intValue()).add(row);
         }
-        for (Capabilities capability : capabilities) {
-            if(capability.getBusinessFunction().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == company_id) {
-                ChartData capData = new ChartData();
-                capData.id = capability.getId();
-                capData.name = capability.getDescription();
-                capData.parentId = capability.getBusinessFunction().getName() +"-bf"+ capability.getBusinessFunction().getId();
-                capData.parentName = capability.getBusinessFunction().getName();
-                capData.title = "capabilities";
-                capData.trackingId = capability.getDescription() +"-Cap" + capability.getId();
-    
-                orgData.add(capData);
+        List<ChartData> orgData = new ArrayList<>(rows.size());
+        Map<Long, ChartData> parents = Collections.emptyMap();
+        for (int level = 0; level < CHART_LEVELS.length; level++) {
+            Map<Long, ChartData> nodes = new HashMap<>(levels.get(level).size() * 2);
+            for (Object[] row : levels.get(level)) {
+                ChartData parent = null;
+                if (level > CompanyRepository.CHART_COMPANY) {
+                    parent = row[3] != null ? parents.get(((Number) row[3]).longValue()) : null;
+                    if (parent == null) {
+                        continue;
+                    }
+                }
+                ChartData data = new ChartData();
+                data.id = ((Number) row[1]).longValue();
+                data.name = (String) row[2];
+                data.title = CHART_LEVELS[level][0];
+                data.trackingId = data.name + CHART_LEVELS[level][1] + data.id;
+                if (parent != null) {
+                    data.parentId = parent.trackingId;
+                    data.parentName = parent.name;
+                }
+                nodes.put(data.id, data);
+                orgData.add(data);
             }
+            parents = nodes;
         }
         return orgData;
     }
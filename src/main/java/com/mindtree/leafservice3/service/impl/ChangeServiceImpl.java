@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.ChangeService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.Change;
 import com.mindtree.leafservice3.repository.ChangeRepository;
 import com.mindtree.leafservice3.repository.search.ChangeSearchRepository;
@@ -30,9 +31,14 @@ public class ChangeServiceImpl implements ChangeService {
 
     private final ChangeSearchRepository changeSearchRepository;
 
-    public ChangeServiceImpl(ChangeRepository changeRepository, ChangeSearchRepository changeSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public ChangeServiceImpl(ChangeRepository changeRepository,
+            ChangeSearchRepository changeSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.changeRepository = changeRepository;
         this.changeSearchRepository = changeSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class ChangeServiceImpl implements ChangeService {
     public Change save(Change change) {
         log.debug("Request to save Change : {}", change);
         Change result = changeRepository.save(change);
-        changeSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class ChangeServiceImpl implements ChangeService {
     public void delete(Long id) {
         log.debug("Request to delete Change : {}", id);
         changeRepository.deleteById(id);
-        changeSearchRepository.deleteById(id);
+        searchIndexingService.delete(Change.class, id);
     }
 
     /**
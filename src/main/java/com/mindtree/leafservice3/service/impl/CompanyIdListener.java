@@ -0,0 +1,319 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.domain.Activity;
+import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.Budget;
+import com.mindtree.leafservice3.domain.BusinessFunction;
+import com.mindtree.leafservice3.domain.BusinessProcess;
+import com.mindtree.leafservice3.domain.Capabilities;
+import com.mindtree.leafservice3.domain.CompanyScoped;
+import com.mindtree.leafservice3.domain.Expenditure;
+import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.OraganizationalUnit;
+import com.mindtree.leafservice3.domain.Spend;
+import com.mindtree.leafservice3.domain.Task;
+import com.mindtree.leafservice3.domain.Technology;
+
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the denormalized company id of the {@link CompanyScoped} entities in step with their parents.
+ * <p>
+ * The company id of a row is derived from its parents when it is inserted or updated. A spend has no parent
+ * association, its company is the one of the technology or expenditure it points at. When a row moves to another
+ * parent, the rows below it are not updated by Hibernate: the ids of the moved rows are recorded, and once the
+ * transaction flushed for its commit the company ids of their subtree are derived again, one level at a time, each
+ * statement scoped to the ids of the level above it.
+ */
+@Component
+class CompanyIdListener extends EntityEventListener implements PreInsertEventListener, PreUpdateEventListener, PostUpdateEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Largest number of parent ids bound to a single statement.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String LINES_OF_BUSINESS_OF_UNITS =
+        "select id from line_of_business where oraganizational_unit_id in (:ids)";
+
+    private static final String BUSINESS_FUNCTIONS_OF_LINES_OF_BUSINESS =
+        "select id from business_function where line_of_business_id in (:ids)";
+
+    private static final Derivation APPLICATION = new Derivation(Application.class, "application",
+        "line_of_business_id in (:ids)",
+        "(select oraganizational_unit.company_id from line_of_business "
+            + "join oraganizational_unit on oraganizational_unit.id = line_of_business.oraganizational_unit_id "
+            + "where line_of_business.id = application.line_of_business_id)");
+
+    private static final Derivation TECHNOLOGY = new Derivation(Technology.class, "technology",
+        "application_id in (:ids)",
+        "(select application.company_id from application where application.id = technology.application_id)");
+
+    private static final Derivation EXPENDITURE = new Derivation(Expenditure.class, "expenditure",
+        "application_id in (:ids)",
+        "(select application.company_id from application where application.id = expenditure.application_id)");
+
+    private static final Derivation BUDGET = new Derivation(Budget.class, "budget",
+        "application_id in (:ids)",
+        "(select application.company_id from application where application.id = budget.application_id)");
+
+    private static final Derivation TECHNOLOGY_SPEND = new Derivation(Spend.class, "spend",
+        "expenditure_type in ('INFRA', 'LICENSE') and spend_id in (:ids)",
+        "(select technology.company_id from technology where technology.id = spend.spend_id)");
+
+    private static final Derivation EXPENDITURE_SPEND = new Derivation(Spend.class, "spend",
+        "expenditure_type not in ('INFRA', 'LICENSE') and spend_id in (:ids)",
+        "(select expenditure.company_id from expenditure where expenditure.id = spend.spend_id)");
+
+    private static final Derivation CAPABILITIES = new Derivation(Capabilities.class, "capabilities",
+        "business_function_id in (:ids)",
+        "(select oraganizational_unit.company_id from business_function "
+            + "join line_of_business on line_of_business.id = business_function.line_of_business_id "
+            + "join oraganizational_unit on oraganizational_unit.id = line_of_business.oraganizational_unit_id "
+            + "where business_function.id = capabilities.business_function_id)");
+
+    private static final Derivation BUSINESS_PROCESS = new Derivation(BusinessProcess.class, "business_process",
+        "capabilities_id in (:ids)",
+        "(select capabilities.company_id from capabilities where capabilities.id = business_process.capabilities_id)");
+
+    private static final Derivation ACTIVITY = new Derivation(Activity.class, "activity",
+        "business_process_id in (:ids)",
+        "(select business_process.company_id from business_process "
+            + "where business_process.id = activity.business_process_id)");
+
+    private static final Derivation TASK = new Derivation(Task.class, "task",
+        "activity_id in (:ids)",
+        "(select activity.company_id from activity where activity.id = task.activity_id)");
+
+    /**
+     * The association moving a row, and the rows below it, to another company.
+     */
+    private static final Map<Class<?>, String> PARENTS = new HashMap<>();
+
+    static {
+        PARENTS.put(OraganizationalUnit.class, "company");
+        PARENTS.put(LineOfBusiness.class, "oraganizationalUnit");
+        PARENTS.put(BusinessFunction.class, "lineOfBusiness");
+        PARENTS.put(Capabilities.class, "businessFunction");
+        PARENTS.put(BusinessProcess.class, "capabilities");
+        PARENTS.put(Activity.class, "businessProcess");
+        PARENTS.put(Application.class, "lineOfBusiness");
+        PARENTS.put(Technology.class, "application");
+        PARENTS.put(Expenditure.class, "application");
+    }
+
+    private final Logger log = LoggerFactory.getLogger(CompanyIdListener.class);
+
+    CompanyIdListener(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory, EventType.PRE_INSERT, EventType.PRE_UPDATE, EventType.POST_UPDATE);
+    }
+
+    @Override
+    public boolean onPreInsert(PreInsertEvent event) {
+        if (event.getEntity() instanceof CompanyScoped) {
+            assign((CompanyScoped) event.getEntity(), event.getPersister(), event.getState(), event.getSession());
+        }
+        return false;
+    }
+
+    @Override
+    public boolean onPreUpdate(PreUpdateEvent event) {
+        if (event.getEntity() instanceof CompanyScoped) {
+            assign((CompanyScoped) event.getEntity(), event.getPersister(), event.getState(), event.getSession());
+        }
+        return false;
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        String parent = PARENTS.get(event.getEntity().getClass());
+        if (parent == null || event.getDirtyProperties() == null) {
+            return;
+        }
+        int parentIndex = event.getPersister().getEntityMetamodel().getPropertyIndex(parent);
+        for (int dirtyProperty : event.getDirtyProperties()) {
+            if (dirtyProperty == parentIndex) {
+                moved(event.getSession(), event.getEntity().getClass(), (Long) event.getId());
+                return;
+            }
+        }
+    }
+
+    private void assign(CompanyScoped entity, EntityPersister persister, Object[] state, SessionImplementor session) {
+        Long companyId = companyOf(entity, session);
+        entity.setCompanyId(companyId);
+        // the state is what gets written, the entity is what the session keeps
+        state[persister.getEntityMetamodel().getPropertyIndex("companyId")] = companyId;
+    }
+
+    private void moved(SessionImplementor session, Class<?> type, Long id) {
+        Map<Class<?>, Set<Long>> moved = TransactionScope.state(this, () -> {
+            Map<Class<?>, Set<Long>> pending = new HashMap<>();
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing ->
+                synchronize(completing, pending));
+            return pending;
+        });
+        if (moved != null) {
+            moved.computeIfAbsent(type, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    /**
+     * Derive the company ids below the moved rows, from the top of the hierarchy down. The moved rows themselves got
+     * their company id when they were updated.
+     */
+    private void synchronize(SessionImplementor session, Map<Class<?>, Set<Long>> moved) {
+        log.debug("Rows moved to another parent, synchronizing the company ids below {}", moved);
+        Set<Long> lineOfBusinesses = union(moved.get(LineOfBusiness.class),
+            select(session, LINES_OF_BUSINESS_OF_UNITS, moved.get(OraganizationalUnit.class)));
+
+        Set<Long> applications = union(moved.get(Application.class), derive(session, APPLICATION, lineOfBusinesses, true));
+        Set<Long> technologies = union(moved.get(Technology.class), derive(session, TECHNOLOGY, applications, true));
+        Set<Long> expenditures = union(moved.get(Expenditure.class), derive(session, EXPENDITURE, applications, true));
+        derive(session, BUDGET, applications, false);
+        derive(session, TECHNOLOGY_SPEND, technologies, false);
+        derive(session, EXPENDITURE_SPEND, expenditures, false);
+
+        Set<Long> businessFunctions = union(moved.get(BusinessFunction.class),
+            select(session, BUSINESS_FUNCTIONS_OF_LINES_OF_BUSINESS, lineOfBusinesses));
+        Set<Long> capabilities = union(moved.get(Capabilities.class), derive(session, CAPABILITIES, businessFunctions, true));
+        Set<Long> businessProcesses = union(moved.get(BusinessProcess.class),
+            derive(session, BUSINESS_PROCESS, capabilities, true));
+        Set<Long> activities = union(moved.get(Activity.class), derive(session, ACTIVITY, businessProcesses, true));
+        derive(session, TASK, activities, false);
+    }
+
+    /**
+     * Derive the company id of the rows of a table below parent rows, stamping them as modified. Only the cached
+     * entities and query results of the entity of the table are invalidated.
+     *
+     * @return the ids of the rows, when {@code children} is set.
+     */
+    private static Set<Long> derive(SessionImplementor session, Derivation derivation, Set<Long> parentIds,
+            boolean children) {
+        for (List<Long> chunk : chunks(parentIds)) {
+            session.createNativeQuery(derivation.update)
+                .addSynchronizedEntityClass(derivation.entity)
+                .setParameterList("ids", chunk)
+                .setParameter("lastModified", Instant.now())
+                .executeUpdate();
+        }
+        return children ? select(session, derivation.children, parentIds) : Collections.emptySet();
+    }
+
+    private static Set<Long> select(SessionImplementor session, String statement, Set<Long> parentIds) {
+        Set<Long> ids = new HashSet<>();
+        for (List<Long> chunk : chunks(parentIds)) {
+            for (Object id : session.createNativeQuery(statement).setParameterList("ids", chunk).getResultList()) {
+                ids.add(((Number) id).longValue());
+            }
+        }
+        return ids;
+    }
+
+    private static List<List<Long>> chunks(Set<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> list = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += CHUNK_SIZE) {
+            chunks.add(list.subList(from, Math.min(from + CHUNK_SIZE, list.size())));
+        }
+        return chunks;
+    }
+
+    private static Set<Long> union(Set<Long> moved, Set<Long> below) {
+        if (moved == null || moved.isEmpty()) {
+            return below;
+        }
+        Set<Long> union = new HashSet<>(below);
+        union.addAll(moved);
+        return union;
+    }
+
+    private static Long companyOf(Object entity, SessionImplementor session) {
+        if (entity instanceof Task) {
+            return companyOf(((Task) entity).getActivity(), session);
+        } else if (entity instanceof Activity) {
+            return companyOf(((Activity) entity).getBusinessProcess(), session);
+        } else if (entity instanceof BusinessProcess) {
+            return companyOf(((BusinessProcess) entity).getCapabilities(), session);
+        } else if (entity instanceof Capabilities) {
+            return companyOf(((Capabilities) entity).getBusinessFunction(), session);
+        } else if (entity instanceof BusinessFunction) {
+            return companyOf(((BusinessFunction) entity).getLineOfBusiness(), session);
+        } else if (entity instanceof Technology) {
+            return companyOf(((Technology) entity).getApplication(), session);
+        } else if (entity instanceof Expenditure) {
+            return companyOf(((Expenditure) entity).getApplication(), session);
+        } else if (entity instanceof Budget) {
+            return companyOf(((Budget) entity).getApplication(), session);
+        } else if (entity instanceof Application) {
+            return companyOf(((Application) entity).getLineOfBusiness(), session);
+        } else if (entity instanceof LineOfBusiness) {
+            return companyOf(((LineOfBusiness) entity).getOraganizationalUnit(), session);
+        } else if (entity instanceof OraganizationalUnit) {
+            OraganizationalUnit unit = (OraganizationalUnit) entity;
+            return unit.getCompany() != null ? unit.getCompany().getId() : null;
+        } else if (entity instanceof Spend) {
+            Spend spend = (Spend) entity;
+            if (spend.getSpendId() == null) {
+                return null;
+            }
+            Class<?> target = SpendAggregateServiceImpl.TECHNOLOGY_SPEND_TYPES.contains(spend.getExpenditureType())
+                ? Technology.class : Expenditure.class;
+            return companyOf(session.get(target, spend.getSpendId()), session);
+        }
+        return null;
+    }
+
+    /**
+     * A table whose company id is derived from its parent rows.
+     */
+    private static final class Derivation {
+
+        private final Class<?> entity;
+
+        private final String update;
+
+        private final String children;
+
+        /**
+         * @param entity the entity mapped on the table.
+         * @param table the table.
+         * @param parents the condition selecting the rows below the parent ids bound to {@code :ids}.
+         * @param companyId the expression of the company id of a row.
+         */
+        Derivation(Class<?> entity, String table, String parents, String companyId) {
+            this.entity = entity;
+            this.update = "update " + table + " set company_id = " + companyId
+                + ", last_modified = :lastModified where " + parents;
+            this.children = "select id from " + table + " where " + parents;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.CompanyService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.Company;
 import com.mindtree.leafservice3.repository.CompanyRepository;
 import com.mindtree.leafservice3.repository.search.CompanySearchRepository;
@@ -30,9 +31,14 @@ public class CompanyServiceImpl implements CompanyService {
 
     private final CompanySearchRepository companySearchRepository;
 
-    public CompanyServiceImpl(CompanyRepository companyRepository, CompanySearchRepository companySearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public CompanyServiceImpl(CompanyRepository companyRepository,
+            CompanySearchRepository companySearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.companyRepository = companyRepository;
         this.companySearchRepository = companySearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class CompanyServiceImpl implements CompanyService {
     public Company save(Company company) {
         log.debug("Request to save Company : {}", company);
         Company result = companyRepository.save(company);
-        companySearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class CompanyServiceImpl implements CompanyService {
     public void delete(Long id) {
         log.debug("Request to delete Company : {}", id);
         companyRepository.deleteById(id);
-        companySearchRepository.deleteById(id);
+        searchIndexingService.delete(Company.class, id);
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.EmployeeService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.Employee;
 import com.mindtree.leafservice3.repository.EmployeeRepository;
 import com.mindtree.leafservice3.repository.search.EmployeeSearchRepository;
@@ -30,9 +31,14 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     private final EmployeeSearchRepository employeeSearchRepository;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EmployeeSearchRepository employeeSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository,
+            EmployeeSearchRepository employeeSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.employeeRepository = employeeRepository;
         this.employeeSearchRepository = employeeSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     public Employee save(Employee employee) {
         log.debug("Request to save Employee : {}", employee);
         Employee result = employeeRepository.save(employee);
-        employeeSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     public void delete(Long id) {
         log.debug("Request to delete Employee : {}", id);
         employeeRepository.deleteById(id);
-        employeeSearchRepository.deleteById(id);
+        searchIndexingService.delete(Employee.class, id);
     }
 
     /**
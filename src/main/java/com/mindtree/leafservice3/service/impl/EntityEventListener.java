@@ -0,0 +1,60 @@
+package com.mindtree.leafservice3.service.impl;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.persister.entity.EntityPersister;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Base of the Hibernate event listeners declared as Spring beans, appended to the listeners of the session factory
+ * for the event types they handle once they are constructed.
+ * <p>
+ * The post insert, update and delete events are handled when the change is flushed, not after the commit: the
+ * listeners of these events implement the post commit handling methods of their interfaces with the ones below.
+ */
+abstract class EntityEventListener implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient EntityManagerFactory entityManagerFactory;
+
+    private final transient List<EventType<?>> eventTypes;
+
+    EntityEventListener(EntityManagerFactory entityManagerFactory, EventType<?>... eventTypes) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventTypes = Arrays.asList(eventTypes);
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        eventTypes.forEach(eventType -> append(registry, eventType));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void append(EventListenerRegistry registry, EventType<T> eventType) {
+        if (!eventType.baseListenerInterface().isInstance(this)) {
+            throw new IllegalStateException(getClass().getSimpleName() + " does not listen to " + eventType);
+        }
+        registry.appendListeners(eventType, (T) this);
+    }
+
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Superseded by {@link #requiresPostCommitHandling(EntityPersister)}, still abstract in Hibernate 5.3.
+     */
+    @SuppressWarnings("deprecation")
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+}
@@ -0,0 +1,482 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.domain.Activity;
+import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.Budget;
+import com.mindtree.leafservice3.domain.BusinessFunction;
+import com.mindtree.leafservice3.domain.BusinessProcess;
+import com.mindtree.leafservice3.domain.Capabilities;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.domain.Employee;
+import com.mindtree.leafservice3.domain.Expenditure;
+import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.OraganizationalUnit;
+import com.mindtree.leafservice3.domain.Spend;
+import com.mindtree.leafservice3.domain.Technology;
+import com.mindtree.leafservice3.domain.TechnologyStack;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationStatus;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationType;
+import com.mindtree.leafservice3.domain.enumeration.BusinessFunctionType;
+import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
+import com.mindtree.leafservice3.domain.enumeration.ProcessStatus;
+import com.mindtree.leafservice3.domain.enumeration.ResourcesRequired;
+import com.mindtree.leafservice3.repository.ActivityRepository;
+import com.mindtree.leafservice3.repository.ApplicationRepository;
+import com.mindtree.leafservice3.repository.BudgetRepository;
+import com.mindtree.leafservice3.repository.BusinessFunctionRepository;
+import com.mindtree.leafservice3.repository.BusinessProcessRepository;
+import com.mindtree.leafservice3.repository.CapabilitiesRepository;
+import com.mindtree.leafservice3.repository.CompanyRepository;
+import com.mindtree.leafservice3.repository.ExpenditureRepository;
+import com.mindtree.leafservice3.repository.LineOfBusinessRepository;
+import com.mindtree.leafservice3.repository.OraganizationalUnitRepository;
+import com.mindtree.leafservice3.repository.SpendRepository;
+import com.mindtree.leafservice3.repository.TechnologyRepository;
+import com.mindtree.leafservice3.service.SearchIndexingService;
+
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the natural keys of an Excel upload (names, employee ids, application and type) to entities.
+ * <p>
+ * A resolver lives for one upload, or one partition of a parallel upload, and is not thread safe. Each table
+ * is loaded once per company the first time it is needed and kept in the hash {@link Indexes} of the upload,
+ * keyed by company id and lower-cased name, which are updated as new rows are created. Resolving a row
+ * therefore costs a few map lookups instead of one full table scan per lookup. Employees and technology
+ * stacks, which are shared by all companies, are resolved through a {@link SharedUploadIndex}.
+ * <p>
+ * New rows are not written one by one: their inserts are sent as JDBC batches and their search documents handed
+ * to the {@link SearchIndexingService} every {@code batchSize} sheet rows, see {@link #rowCompleted()}.
+ */
+class ExcelUploadResolver {
+
+    private final ZoneId defaultZoneId = ZoneId.systemDefault();
+
+    private final SharedUploadIndex sharedIndex;
+    private final OraganizationalUnitRepository oraganizationalUnitRepository;
+    private final LineOfBusinessRepository lineOfBusinessRepository;
+    private final BusinessFunctionRepository businessFunctionRepository;
+    private final CapabilitiesRepository capabilitiesRepository;
+    private final BusinessProcessRepository businessProcessRepository;
+    private final ActivityRepository activityRepository;
+    private final CompanyRepository companyRepository;
+    private final ApplicationRepository applicationRepository;
+    private final TechnologyRepository technologyRepository;
+    private final ExpenditureRepository expenditureRepository;
+    private final SpendRepository spendRepository;
+    private final BudgetRepository budgetRepository;
+    private final SearchIndexingService searchIndexingService;
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    private final List<Activity> pendingActivities = new ArrayList<>();
+    private final List<Application> pendingApplications = new ArrayList<>();
+    private final List<Technology> pendingTechnologies = new ArrayList<>();
+    private int pendingRows;
+
+    private final Indexes indexes;
+
+    ExcelUploadResolver(SharedUploadIndex sharedIndex,
+            Indexes indexes,
+            OraganizationalUnitRepository oraganizationalUnitRepository,
+            LineOfBusinessRepository lineOfBusinessRepository,
+            BusinessFunctionRepository businessFunctionRepository,
+            CapabilitiesRepository capabilitiesRepository,
+            BusinessProcessRepository businessProcessRepository,
+            ActivityRepository activityRepository,
+            CompanyRepository companyRepository,
+            ApplicationRepository applicationRepository,
+            TechnologyRepository technologyRepository,
+            ExpenditureRepository expenditureRepository,
+            SpendRepository spendRepository,
+            BudgetRepository budgetRepository,
+            SearchIndexingService searchIndexingService,
+            EntityManager entityManager,
+            int batchSize) {
+        this.sharedIndex = sharedIndex;
+        this.indexes = indexes;
+        this.oraganizationalUnitRepository = oraganizationalUnitRepository;
+        this.lineOfBusinessRepository = lineOfBusinessRepository;
+        this.businessFunctionRepository = businessFunctionRepository;
+        this.capabilitiesRepository = capabilitiesRepository;
+        this.businessProcessRepository = businessProcessRepository;
+        this.activityRepository = activityRepository;
+        this.companyRepository = companyRepository;
+        this.applicationRepository = applicationRepository;
+        this.technologyRepository = technologyRepository;
+        this.expenditureRepository = expenditureRepository;
+        this.spendRepository = spendRepository;
+        this.budgetRepository = budgetRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+    }
+
+    /**
+     * Mark the end of a sheet row. Once {@code batchSize} rows are pending they are written and the
+     * persistence context is cleared, so it does not grow with the sheet.
+     */
+    void rowCompleted() {
+        if (++pendingRows >= batchSize) {
+            this.flush();
+            entityManager.clear();
+            pendingRows = 0;
+        }
+    }
+
+    /**
+     * Write the pending inserts and updates, then index the pending search documents.
+     */
+    void flush() {
+        entityManager.flush();
+        if (!pendingActivities.isEmpty()) {
+            searchIndexingService.indexAll(pendingActivities);
+            pendingActivities.clear();
+        }
+        if (!pendingApplications.isEmpty()) {
+            searchIndexingService.indexAll(pendingApplications);
+            pendingApplications.clear();
+        }
+        if (!pendingTechnologies.isEmpty()) {
+            searchIndexingService.indexAll(pendingTechnologies);
+            pendingTechnologies.clear();
+        }
+    }
+
+    /**
+     * Load the indexes of the application portfolio of a company: its applications, technologies, expenditures,
+     * budgets and spends.
+     */
+    void loadApplicationIndexes(Long company_id) {
+        applicationIndex(company_id);
+        technologyIndex(company_id);
+        expenditureIndex(company_id);
+        budgetIndex(company_id);
+        spendIndex(company_id);
+    }
+
+    OraganizationalUnit organizationalUnit(String orgName, String employee_id, String employee_name, Long company_id) {
+        Map<String, OraganizationalUnit> index = index(indexes.organizationalUnits, company_id,
+            () -> oraganizationalUnitRepository.findAllByCompanyId(company_id), OraganizationalUnit::getName);
+        OraganizationalUnit organization = index.get(key(orgName));
+        if (organization != null) {
+            if (!isManagedBy(organization.getEmployee(), employee_id)) {
+                organization.setEmployee(this.employee(employee_id, employee_name));
+                organization = oraganizationalUnitRepository.save(organization);
+                index.put(key(orgName), organization);
+            }
+            return organization;
+        }
+        OraganizationalUnit newOrgData = new OraganizationalUnit();
+        newOrgData.setName(orgName);
+        newOrgData.setCompany(this.company(company_id));
+        newOrgData.setEmployee(this.employee(employee_id, employee_name));
+        organization = oraganizationalUnitRepository.save(newOrgData);
+        index.put(key(orgName), organization);
+        return organization;
+    }
+
+    LineOfBusiness lineOfBusiness(OraganizationalUnit orgData, String lobName, String employee_id, String employee_name) {
+        Long company_id = orgData.getCompany().getId();
+        Map<String, LineOfBusiness> index = index(indexes.lineOfBusinesses, company_id,
+            () -> lineOfBusinessRepository.findAllByCompanyId(company_id), LineOfBusiness::getName);
+        LineOfBusiness lob = index.get(key(lobName));
+        if (lob != null) {
+            if (!isManagedBy(lob.getEmployee(), employee_id)) {
+                lob.setEmployee(this.employee(employee_id, employee_name));
+                lob = lineOfBusinessRepository.save(lob);
+                index.put(key(lobName), lob);
+            }
+            return lob;
+        }
+        LineOfBusiness newLobData = new LineOfBusiness();
+        newLobData.setName(lobName);
+        newLobData.setOraganizationalUnit(orgData);
+        newLobData.setEmployee(this.employee(employee_id, employee_name));
+        lob = lineOfBusinessRepository.save(newLobData);
+        index.put(key(lobName), lob);
+        return lob;
+    }
+
+    BusinessFunction businessFunction(LineOfBusiness lobData, String bfName, String bfType, String employee_id, String employee_name) {
+        Long company_id = lobData.getOraganizationalUnit().getCompany().getId();
+        Map<String, BusinessFunction> index = index(indexes.businessFunctions, company_id,
+            () -> businessFunctionRepository.findAllByCompanyId(company_id), BusinessFunction::getName);
+        BusinessFunction bf = index.get(key(bfName));
+        if (bf != null) {
+            if (!isManagedBy(bf.getEmployee(), employee_id)) {
+                bf.setEmployee(this.employee(employee_id, employee_name));
+                bf = businessFunctionRepository.save(bf);
+                index.put(key(bfName), bf);
+            }
+            return bf;
+        }
+        BusinessFunction newbfData = new BusinessFunction();
+        newbfData.setName(bfName);
+        newbfData.setLineOfBusiness(lobData);
+        newbfData.setType(BusinessFunctionType.valueOf(bfType));
+        newbfData.setEmployee(this.employee(employee_id, employee_name));
+        bf = businessFunctionRepository.save(newbfData);
+        index.put(key(bfName), bf);
+        return bf;
+    }
+
+    Capabilities capability(BusinessFunction bfData, String capName) {
+        Long company_id = bfData.getLineOfBusiness().getOraganizationalUnit().getCompany().getId();
+        Map<String, Capabilities> index = index(indexes.capabilities, company_id,
+            () -> capabilitiesRepository.findAllByCompanyId(company_id), Capabilities::getDescription);
+        Capabilities capability = index.get(key(capName));
+        if (capability != null) {
+            return capability;
+        }
+        Capabilities newCapData = new Capabilities();
+        newCapData.setDescription(capName);
+        newCapData.setBusinessFunction(bfData);
+        capability = capabilitiesRepository.save(newCapData);
+        index.put(key(capName), capability);
+        return capability;
+    }
+
+    BusinessProcess businessProcess(Capabilities capData, String bpName, Date startDate, Date endDate, String bpStatus) {
+        Long company_id = capData.getBusinessFunction().getLineOfBusiness().getOraganizationalUnit().getCompany().getId();
+        Map<String, BusinessProcess> index = index(indexes.businessProcesses, company_id,
+            () -> businessProcessRepository.findAllByCompanyId(company_id), BusinessProcess::getName);
+        BusinessProcess businessProcess = index.get(key(bpName));
+        if (businessProcess != null) {
+            return businessProcess;
+        }
+        BusinessProcess newBpData = new BusinessProcess();
+        newBpData.setName(bpName);
+        newBpData.setCapabilities(capData);
+        newBpData.setStartDate(startDate.toInstant().atZone(defaultZoneId).toLocalDate());
+        newBpData.setEndDate(endDate.toInstant().atZone(defaultZoneId).toLocalDate());
+        newBpData.setStatus(ProcessStatus.valueOf(bpStatus));
+        businessProcess = businessProcessRepository.save(newBpData);
+        index.put(key(bpName), businessProcess);
+        return businessProcess;
+    }
+
+    Activity activity(BusinessProcess bpData, String name, String resourcesRequired) {
+        Long company_id = bpData.getCapabilities().getBusinessFunction().getLineOfBusiness().getOraganizationalUnit().getCompany().getId();
+        Map<String, Activity> index = index(indexes.activities, company_id,
+            () -> activityRepository.findAllByCompanyId(company_id), Activity::getName);
+        Activity activity = index.get(key(name));
+        if (activity != null) {
+            return activity;
+        }
+        Activity newActivityData = new Activity();
+        newActivityData.setName(name);
+        newActivityData.setBusinessProcess(bpData);
+        newActivityData.setResourcesRequired(ResourcesRequired.valueOf(resourcesRequired));
+        activity = activityRepository.save(newActivityData);
+        pendingActivities.add(activity);
+        index.put(key(name), activity);
+        return activity;
+    }
+
+    Employee employee(String employee_id, String employee_name) {
+        return sharedIndex.employee(employee_id, employee_name);
+    }
+
+    Application application(LineOfBusiness lob_data, String app_name, String app_type, String app_status, Date imp_date) {
+        Long company_id = lob_data.getOraganizationalUnit().getCompany().getId();
+        Map<String, Application> index = applicationIndex(company_id);
+        Application application = index.get(key(app_name));
+        if (application != null) {
+            return application;
+        }
+        Application newApplicationData = new Application();
+        newApplicationData.setName(app_name);
+        newApplicationData.setDescription(app_name + "-" + ApplicationType.valueOf(app_type).toString());
+        newApplicationData.setLineOfBusiness(lob_data);
+        newApplicationData.setStatus(ApplicationStatus.valueOf(app_status));
+        newApplicationData.setType(ApplicationType.valueOf(app_type));
+        newApplicationData.setImplementationDate(imp_date.toInstant().atZone(defaultZoneId).toLocalDate());
+        application = applicationRepository.save(newApplicationData);
+        pendingApplications.add(application);
+        index.put(key(app_name), application);
+        return application;
+    }
+
+    TechnologyStack technologyStack(String techName, String version, String techType) {
+        return sharedIndex.technologyStack(techName + "-" + version, techType);
+    }
+
+    Technology technology(Application app_data, TechnologyStack techStack_data) {
+        Long company_id = companyId(app_data);
+        Map<String, Technology> index = technologyIndex(company_id);
+        String technologyKey = pairKey(app_data.getId(), techStack_data.getId());
+        Technology technology = index.get(technologyKey);
+        if (technology != null) {
+            return technology;
+        }
+        Technology newTechnologydata = new Technology();
+        newTechnologydata.setTechnologyStack(techStack_data);
+        newTechnologydata.setApplication(app_data);
+        technology = technologyRepository.save(newTechnologydata);
+        pendingTechnologies.add(technology);
+        index.put(technologyKey, technology);
+        return technology;
+    }
+
+    void spend(Long company_id, String type, Long spend_id, Integer amount, String successor) {
+        Map<String, Spend> index = spendIndex(company_id);
+        String spendKey = pairKey(type, spend_id);
+        Spend spend = index.get(spendKey);
+        if (spend != null) {
+            if (!Objects.equals(spend.getAmount(), amount)) {
+                spend.setAmount(amount);
+                spend.setSuccessor(CurrencySuccessor.valueOf(successor));
+                index.put(spendKey, spendRepository.save(spend));
+            }
+            return;
+        }
+        Spend newSpendData = new Spend();
+        newSpendData.setAmount(amount);
+        newSpendData.setSuccessor(CurrencySuccessor.valueOf(successor));
+        newSpendData.setExpenditureType(type);
+        newSpendData.setSpendId(spend_id);
+        newSpendData.setDateOfUpdate(new Date().toInstant().atZone(defaultZoneId).toLocalDate());
+        index.put(spendKey, spendRepository.save(newSpendData));
+    }
+
+    Expenditure expenditure(Application appData, String exp_type, String exp_desc, Date startDate, Date end_date) {
+        Long company_id = companyId(appData);
+        Map<String, Expenditure> index = expenditureIndex(company_id);
+        String expenditureKey = pairKey(appData.getId(), exp_type);
+        Expenditure expenditure = index.get(expenditureKey);
+        if (expenditure != null) {
+            return expenditure;
+        }
+        Expenditure newExpendituredata = new Expenditure();
+        newExpendituredata.setDescription(exp_desc);
+        newExpendituredata.setExpenditureType(exp_type);
+        newExpendituredata.setStartDate(startDate.toInstant().atZone(defaultZoneId).toLocalDate());
+        newExpendituredata.setEndDate(end_date.toInstant().atZone(defaultZoneId).toLocalDate());
+        newExpendituredata.setApplication(appData);
+        expenditure = expenditureRepository.save(newExpendituredata);
+        index.put(expenditureKey, expenditure);
+        return expenditure;
+    }
+
+    void budget(Application app_data, Integer amount, String successor, Integer year) {
+        Long company_id = companyId(app_data);
+        Map<String, Budget> index = budgetIndex(company_id);
+        String budgetKey = pairKey(app_data.getId(), year);
+        Budget budget = index.get(budgetKey);
+        if (budget != null) {
+            if (!Objects.equals(budget.getAmount(), amount)) {
+                budget.setAmount(amount);
+                budget.setSuccessor(CurrencySuccessor.valueOf(successor));
+                index.put(budgetKey, budgetRepository.save(budget));
+            }
+            return;
+        }
+        Budget newBudgetData = new Budget();
+        newBudgetData.setAmount(amount);
+        newBudgetData.setApplication(app_data);
+        newBudgetData.setSuccessor(CurrencySuccessor.valueOf(successor));
+        newBudgetData.setYear(year);
+        index.put(budgetKey, budgetRepository.save(newBudgetData));
+    }
+
+    static Long companyId(Application application) {
+        return application.getLineOfBusiness().getOraganizationalUnit().getCompany().getId();
+    }
+
+    private Company company(Long company_id) {
+        return indexes.companies.computeIfAbsent(company_id, id -> companyRepository.findById(id).orElse(null));
+    }
+
+    private Map<String, Application> applicationIndex(Long company_id) {
+        return index(indexes.applications, company_id,
+            () -> applicationRepository.findAllByCompanyId(company_id), Application::getName);
+    }
+
+    private Map<String, Technology> technologyIndex(Long company_id) {
+        return index(indexes.technologies, company_id,
+            () -> technologyRepository.findAllByCompanyId(company_id),
+            technology -> pairKey(technology.getApplication().getId(), technology.getTechnologyStack().getId()));
+    }
+
+    private Map<String, Spend> spendIndex(Long company_id) {
+        return index(indexes.spends, company_id,
+            () -> spendRepository.findAllByCompanyId(company_id),
+            spend -> pairKey(spend.getExpenditureType(), spend.getSpendId()));
+    }
+
+    private Map<String, Expenditure> expenditureIndex(Long company_id) {
+        return index(indexes.expenditures, company_id,
+            () -> expenditureRepository.findAllByCompanyId(company_id),
+            expenditure -> pairKey(expenditure.getApplication().getId(), expenditure.getExpenditureType()));
+    }
+
+    private Map<String, Budget> budgetIndex(Long company_id) {
+        return index(indexes.budgets, company_id,
+            () -> budgetRepository.findAllByCompanyId(company_id),
+            budget -> pairKey(budget.getApplication().getId(), budget.getYear()));
+    }
+
+    /**
+     * Get the index of a table for a company, loading it on first use.
+     */
+    private static <T> Map<String, T> index(Map<Long, Map<String, T>> indexes, Long company_id,
+            Supplier<List<T>> loader, Function<T, ?> naturalKey) {
+        return indexes.computeIfAbsent(company_id, id -> {
+            Map<String, T> index = new ConcurrentHashMap<>();
+            for (T entity : loader.get()) {
+                Object value = naturalKey.apply(entity);
+                index.put(value instanceof String ? key((String) value) : String.valueOf(value), entity);
+            }
+            return index;
+        });
+    }
+
+    private static boolean isManagedBy(Employee employee, String employee_id) {
+        return employee != null && Objects.equals(employee.getEmployeeId(), employee_id);
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.toLowerCase();
+    }
+
+    private static String pairKey(Object first, Object second) {
+        return key(String.valueOf(first)) + ":" + key(String.valueOf(second));
+    }
+
+    /**
+     * The natural-key indexes of the companies of an upload.
+     * <p>
+     * The resolvers of the partitions of a parallel upload share the indexes loaded by its first pass, see
+     * {@link #loadApplicationIndexes(Long)}. A partition only reads and adds the rows of the applications hashed
+     * to it, so the partitions never update the same entry.
+     */
+    static class Indexes {
+
+        private final Map<Long, Company> companies = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, OraganizationalUnit>> organizationalUnits = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, LineOfBusiness>> lineOfBusinesses = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, BusinessFunction>> businessFunctions = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, Capabilities>> capabilities = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, BusinessProcess>> businessProcesses = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, Activity>> activities = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, Application>> applications = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, Technology>> technologies = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, Expenditure>> expenditures = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, Budget>> budgets = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, Spend>> spends = new ConcurrentHashMap<>();
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.ExpenditureService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.Expenditure;
 import com.mindtree.leafservice3.repository.ExpenditureRepository;
 import com.mindtree.leafservice3.repository.search.ExpenditureSearchRepository;
@@ -30,9 +31,14 @@ public class ExpenditureServiceImpl implements ExpenditureService {
 
     private final ExpenditureSearchRepository expenditureSearchRepository;
 
-    public ExpenditureServiceImpl(ExpenditureRepository expenditureRepository, ExpenditureSearchRepository expenditureSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public ExpenditureServiceImpl(ExpenditureRepository expenditureRepository,
+            ExpenditureSearchRepository expenditureSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.expenditureRepository = expenditureRepository;
         this.expenditureSearchRepository = expenditureSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class ExpenditureServiceImpl implements ExpenditureService {
     public Expenditure save(Expenditure expenditure) {
         log.debug("Request to save Expenditure : {}", expenditure);
         Expenditure result = expenditureRepository.save(expenditure);
-        expenditureSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class ExpenditureServiceImpl implements ExpenditureService {
     public void delete(Long id) {
         log.debug("Request to delete Expenditure : {}", id);
         expenditureRepository.deleteById(id);
-        expenditureSearchRepository.deleteById(id);
+        searchIndexingService.delete(Expenditure.class, id);
     }
 
     /**
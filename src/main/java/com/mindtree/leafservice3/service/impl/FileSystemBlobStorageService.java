@@ -0,0 +1,123 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.service.BlobStorageService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Service Implementation keeping the blobs in files of a local directory.
+ * <p>
+ * A blob is stored under {@code <directory>/ab/cd/abcd...}, from the first two bytes of its key, so no directory
+ * holds more than a few thousand files. Content is first written to a temporary file of the same file system while
+ * its hash is computed, then moved in place atomically: a blob is either complete or missing, and concurrent writers
+ * of the same content end up with one file.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.blob-store", name = "type", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemBlobStorageService implements BlobStorageService {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+
+    private final Logger log = LoggerFactory.getLogger(FileSystemBlobStorageService.class);
+
+    private final Path directory;
+
+    private final Path temporaryDirectory;
+
+    public FileSystemBlobStorageService(ApplicationProperties applicationProperties) throws IOException {
+        this.directory = Paths.get(applicationProperties.getBlobStore().getDirectory()).toAbsolutePath();
+        this.temporaryDirectory = Files.createDirectories(directory.resolve("tmp"));
+    }
+
+    @Override
+    public String store(byte[] content) {
+        try {
+            return store(new ByteArrayInputStream(content));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String store(InputStream content) throws IOException {
+        Path temporary = Files.createTempFile(temporaryDirectory, "blob", ".tmp");
+        try {
+            DigestInputStream digestStream = new DigestInputStream(content, sha256());
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                byte[] buffer = new byte[8192];
+                for (int read = digestStream.read(buffer); read != -1; read = digestStream.read(buffer)) {
+                    out.write(buffer, 0, read);
+                }
+            }
+            String key = String.format("%064x", new BigInteger(1, digestStream.getMessageDigest().digest()));
+            Path target = path(key);
+            if (Files.exists(target)) {
+                log.debug("Blob {} already stored", key);
+                return key;
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+                log.debug("Stored blob {}", key);
+            } catch (FileAlreadyExistsException e) {
+                log.debug("Blob {} stored concurrently", key);
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public Optional<Resource> find(String key) {
+        if (!isKey(key)) {
+            return Optional.empty();
+        }
+        Path path = path(key);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return isKey(key) && Files.isRegularFile(path(key));
+    }
+
+    private Path path(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static boolean isKey(String key) {
+        return key != null && KEY.matcher(key).matches();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.FunctionalityService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.Functionality;
 import com.mindtree.leafservice3.repository.FunctionalityRepository;
 import com.mindtree.leafservice3.repository.search.FunctionalitySearchRepository;
@@ -30,9 +31,14 @@ public class FunctionalityServiceImpl implements FunctionalityService {
 
     private final FunctionalitySearchRepository functionalitySearchRepository;
 
-    public FunctionalityServiceImpl(FunctionalityRepository functionalityRepository, FunctionalitySearchRepository functionalitySearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public FunctionalityServiceImpl(FunctionalityRepository functionalityRepository,
+            FunctionalitySearchRepository functionalitySearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.functionalityRepository = functionalityRepository;
         this.functionalitySearchRepository = functionalitySearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class FunctionalityServiceImpl implements FunctionalityService {
     public Functionality save(Functionality functionality) {
         log.debug("Request to save Functionality : {}", functionality);
         Functionality result = functionalityRepository.save(functionality);
-        functionalitySearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class FunctionalityServiceImpl implements FunctionalityService {
     public void delete(Long id) {
         log.debug("Request to delete Functionality : {}", id);
         functionalityRepository.deleteById(id);
-        functionalitySearchRepository.deleteById(id);
+        searchIndexingService.delete(Functionality.class, id);
     }
 
     /**
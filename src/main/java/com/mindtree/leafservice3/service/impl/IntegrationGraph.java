@@ -0,0 +1,353 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.domain.enumeration.IntegrationFlowType;
+
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.LongObjectCursor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the application integration graph.
+ * <p>
+ * Each integration is a directed edge along its data flow: an {@code OUTBOUND} integration from its application to
+ * the integration application, an {@code INBOUND} one the other way round and a {@code BIDIRECTIONAL} one both ways.
+ * Every application linked gets a dense index, and the edges are kept in primitive adjacency lists of indexes,
+ * outbound and inbound, so a traversal marks the applications it visited in a plain array and allocates no boxed
+ * ids. Applications linked by several integrations are listed once per integration.
+ * <p>
+ * Traversals share a read lock; the changes of the {@link IntegrationGraphTracker} take the write lock.
+ */
+@Component
+class IntegrationGraph {
+
+    private static final int NONE = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongObjectHashMap<Edge> edges = new LongObjectHashMap<>();
+
+    private final LongIntHashMap indexes = new LongIntHashMap();
+
+    private final LongArrayList applicationIds = new LongArrayList();
+
+    private final List<IntArrayList> outbound = new ArrayList<>();
+
+    private final List<IntArrayList> inbound = new ArrayList<>();
+
+    /**
+     * Replace every edge of the graph.
+     *
+     * @param integrations the edges, by integration id.
+     */
+    void load(LongObjectHashMap<Edge> integrations) {
+        lock.writeLock().lock();
+        try {
+            edges.clear();
+            indexes.clear();
+            applicationIds.clear();
+            outbound.clear();
+            inbound.clear();
+            for (LongObjectCursor<Edge> integration : integrations) {
+                add(integration.key, integration.value);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add the edge of an integration, or move it when the integration was already in the graph.
+     *
+     * @param integrationId the id of the integration.
+     * @param edge the edge.
+     */
+    void put(long integrationId, Edge edge) {
+        lock.writeLock().lock();
+        try {
+            removeEdge(integrationId);
+            add(integrationId, edge);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the edge of an integration.
+     *
+     * @param integrationId the id of the integration.
+     */
+    void remove(long integrationId) {
+        lock.writeLock().lock();
+        try {
+            removeEdge(integrationId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return edges.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The applications linked to an application, whatever the direction of the data flow, within a number of hops.
+     *
+     * @param applicationId the id of the application.
+     * @param maxHops the largest number of hops.
+     * @return the applications reached, nearest first, without the application itself.
+     */
+    Traversal neighbourhood(long applicationId, int maxHops) {
+        return traverse(applicationId, maxHops, true);
+    }
+
+    /**
+     * The applications the data of an application flows to, directly or through other applications: the ones
+     * affected when it fails.
+     *
+     * @param applicationId the id of the application.
+     * @param maxHops the largest number of hops.
+     * @return the applications reached, nearest first, without the application itself.
+     */
+    Traversal dependents(long applicationId, int maxHops) {
+        return traverse(applicationId, maxHops, false);
+    }
+
+    /**
+     * A path with the fewest hops between two applications, whatever the direction of the data flow.
+     * <p>
+     * The path is searched from both applications at once, expanding the smaller frontier first, so only the
+     * applications around the two ends are visited rather than every application within the length of the path.
+     *
+     * @param fromApplicationId the id of the first application.
+     * @param toApplicationId the id of the last application.
+     * @return the ids of the applications of the path, from the first to the last, or {@code null} if they are not
+     * linked.
+     */
+    LongArrayList shortestPath(long fromApplicationId, long toApplicationId) {
+        if (fromApplicationId == toApplicationId) {
+            LongArrayList path = new LongArrayList();
+            path.add(fromApplicationId);
+            return path;
+        }
+        lock.readLock().lock();
+        try {
+            int from = indexes.getOrDefault(fromApplicationId, NONE);
+            int to = indexes.getOrDefault(toApplicationId, NONE);
+            if (from == NONE || to == NONE) {
+                return null;
+            }
+            int[] forward = previous(from);
+            int[] backward = previous(to);
+            IntArrayList forwardFrontier = new IntArrayList();
+            forwardFrontier.add(from);
+            IntArrayList backwardFrontier = new IntArrayList();
+            backwardFrontier.add(to);
+            while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+                boolean expandForward = forwardFrontier.size() <= backwardFrontier.size();
+                IntArrayList frontier = expandForward ? forwardFrontier : backwardFrontier;
+                int[] previous = expandForward ? forward : backward;
+                int[] other = expandForward ? backward : forward;
+                IntArrayList next = new IntArrayList();
+                for (int i = 0; i < frontier.size(); i++) {
+                    int application = frontier.buffer[i];
+                    int meeting = expand(outbound.get(application), application, previous, other, next);
+                    if (meeting == NONE) {
+                        meeting = expand(inbound.get(application), application, previous, other, next);
+                    }
+                    if (meeting != NONE) {
+                        return path(forward, backward, meeting, from, to);
+                    }
+                }
+                if (expandForward) {
+                    forwardFrontier = next;
+                } else {
+                    backwardFrontier = next;
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Traversal traverse(long applicationId, int maxHops, boolean bothWays) {
+        lock.readLock().lock();
+        try {
+            Traversal traversal = new Traversal();
+            int start = indexes.getOrDefault(applicationId, NONE);
+            if (start == NONE) {
+                return traversal;
+            }
+            boolean[] visited = new boolean[applicationIds.size()];
+            visited[start] = true;
+            IntArrayList frontier = new IntArrayList();
+            frontier.add(start);
+            for (int hops = 1; hops <= maxHops && !frontier.isEmpty(); hops++) {
+                IntArrayList next = new IntArrayList();
+                for (int i = 0; i < frontier.size(); i++) {
+                    int application = frontier.buffer[i];
+                    visit(outbound.get(application), visited, next);
+                    if (bothWays) {
+                        visit(inbound.get(application), visited, next);
+                    }
+                }
+                for (int i = 0; i < next.size(); i++) {
+                    traversal.applicationIds.add(applicationIds.get(next.buffer[i]));
+                    traversal.hops.add(hops);
+                }
+                frontier = next;
+            }
+            return traversal;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void visit(IntArrayList adjacent, boolean[] visited, IntArrayList next) {
+        for (int i = 0; i < adjacent.size(); i++) {
+            int application = adjacent.buffer[i];
+            if (!visited[application]) {
+                visited[application] = true;
+                next.add(application);
+            }
+        }
+    }
+
+    /**
+     * Visit the applications adjacent to one of a frontier of the path search.
+     *
+     * @return the first application visited which the search from the other end already reached, or {@link #NONE}.
+     */
+    private static int expand(IntArrayList adjacent, int application, int[] previous, int[] other, IntArrayList next) {
+        for (int i = 0; i < adjacent.size(); i++) {
+            int adjacentApplication = adjacent.buffer[i];
+            if (previous[adjacentApplication] == NONE) {
+                previous[adjacentApplication] = application;
+                if (other[adjacentApplication] != NONE) {
+                    return adjacentApplication;
+                }
+                next.add(adjacentApplication);
+            }
+        }
+        return NONE;
+    }
+
+    private int[] previous(int start) {
+        int[] previous = new int[applicationIds.size()];
+        Arrays.fill(previous, NONE);
+        previous[start] = start;
+        return previous;
+    }
+
+    private LongArrayList path(int[] forward, int[] backward, int meeting, int from, int to) {
+        LongArrayList path = new LongArrayList();
+        for (int application = meeting; ; application = forward[application]) {
+            path.add(applicationIds.get(application));
+            if (application == from) {
+                break;
+            }
+        }
+        reverse(path);
+        for (int application = meeting; application != to; ) {
+            application = backward[application];
+            path.add(applicationIds.get(application));
+        }
+        return path;
+    }
+
+    private void add(long integrationId, Edge edge) {
+        edges.put(integrationId, edge);
+        int application = index(edge.applicationId);
+        int integrationApp = index(edge.integrationAppId);
+        if (edge.flowType != IntegrationFlowType.INBOUND) {
+            outbound.get(application).add(integrationApp);
+            inbound.get(integrationApp).add(application);
+        }
+        if (edge.flowType == IntegrationFlowType.INBOUND || edge.flowType == IntegrationFlowType.BIDIRECTIONAL) {
+            outbound.get(integrationApp).add(application);
+            inbound.get(application).add(integrationApp);
+        }
+    }
+
+    private void removeEdge(long integrationId) {
+        Edge edge = edges.remove(integrationId);
+        if (edge == null) {
+            return;
+        }
+        int application = indexes.get(edge.applicationId);
+        int integrationApp = indexes.get(edge.integrationAppId);
+        if (edge.flowType != IntegrationFlowType.INBOUND) {
+            outbound.get(application).removeFirst(integrationApp);
+            inbound.get(integrationApp).removeFirst(application);
+        }
+        if (edge.flowType == IntegrationFlowType.INBOUND || edge.flowType == IntegrationFlowType.BIDIRECTIONAL) {
+            outbound.get(integrationApp).removeFirst(application);
+            inbound.get(application).removeFirst(integrationApp);
+        }
+    }
+
+    /**
+     * @return the index of an application, given to it when it is first linked and kept until the graph is reloaded.
+     */
+    private int index(long applicationId) {
+        int index = indexes.getOrDefault(applicationId, NONE);
+        if (index == NONE) {
+            index = applicationIds.size();
+            indexes.put(applicationId, index);
+            applicationIds.add(applicationId);
+            outbound.add(new IntArrayList(4));
+            inbound.add(new IntArrayList(4));
+        }
+        return index;
+    }
+
+    private static void reverse(LongArrayList list) {
+        for (int i = 0, j = list.size() - 1; i < j; i++, j--) {
+            long swapped = list.buffer[i];
+            list.buffer[i] = list.buffer[j];
+            list.buffer[j] = swapped;
+        }
+    }
+
+    /**
+     * The applications linked by an integration, and the direction of its data flow.
+     */
+    static final class Edge {
+
+        private final long applicationId;
+
+        private final long integrationAppId;
+
+        private final IntegrationFlowType flowType;
+
+        Edge(long applicationId, long integrationAppId, IntegrationFlowType flowType) {
+            this.applicationId = applicationId;
+            this.integrationAppId = integrationAppId;
+            this.flowType = flowType;
+        }
+    }
+
+    /**
+     * The applications reached by a traversal, in the order they were reached, with their number of hops.
+     */
+    static final class Traversal {
+
+        final LongArrayList applicationIds = new LongArrayList();
+
+        final IntArrayList hops = new IntArrayList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.repository.ApplicationRepository;
+import com.mindtree.leafservice3.service.IntegrationGraphService;
+import com.mindtree.leafservice3.service.dto.IntegrationGraphNode;
+
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service Implementation traversing the {@link IntegrationGraph}.
+ * <p>
+ * The traversals only read the in-memory graph; the names of the applications reached are then read with one
+ * projection query per {@link #NAMES_CHUNK_SIZE} applications.
+ */
+@Service
+@Transactional(readOnly = true)
+public class IntegrationGraphServiceImpl implements IntegrationGraphService {
+
+    static final int NAMES_CHUNK_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(IntegrationGraphServiceImpl.class);
+
+    private final IntegrationGraph integrationGraph;
+
+    private final ApplicationRepository applicationRepository;
+
+    IntegrationGraphServiceImpl(IntegrationGraph integrationGraph, ApplicationRepository applicationRepository) {
+        this.integrationGraph = integrationGraph;
+        this.applicationRepository = applicationRepository;
+    }
+
+    @Override
+    public Optional<List<IntegrationGraphNode>> getNeighbourhood(Long appId, int hops) {
+        log.debug("Request to get the applications within {} hops of Application : {}", hops, appId);
+        if (!applicationRepository.existsById(appId)) {
+            return Optional.empty();
+        }
+        IntegrationGraph.Traversal traversal = integrationGraph.neighbourhood(appId, Math.max(1, hops));
+        return Optional.of(nodes(traversal.applicationIds, traversal.hops));
+    }
+
+    @Override
+    public Optional<List<IntegrationGraphNode>> getBlastRadius(Long appId, Integer hops) {
+        log.debug("Request to get the blast radius of Application : {}", appId);
+        if (!applicationRepository.existsById(appId)) {
+            return Optional.empty();
+        }
+        IntegrationGraph.Traversal traversal = integrationGraph.dependents(appId,
+            hops == null ? Integer.MAX_VALUE : Math.max(1, hops));
+        return Optional.of(nodes(traversal.applicationIds, traversal.hops));
+    }
+
+    @Override
+    public Optional<List<IntegrationGraphNode>> getShortestPath(Long fromAppId, Long toAppId) {
+        log.debug("Request to get the shortest path from Application : {} to Application : {}", fromAppId, toAppId);
+        if (!applicationRepository.existsById(fromAppId) || !applicationRepository.existsById(toAppId)) {
+            return Optional.empty();
+        }
+        LongArrayList path = integrationGraph.shortestPath(fromAppId, toAppId);
+        if (path == null) {
+            return Optional.empty();
+        }
+        IntArrayList hops = new IntArrayList(path.size());
+        for (int i = 0; i < path.size(); i++) {
+            hops.add(i);
+        }
+        return Optional.of(nodes(path, hops));
+    }
+
+    private List<IntegrationGraphNode> nodes(LongArrayList applicationIds, IntArrayList hops) {
+        Map<Long, String> names = new HashMap<>();
+        List<Long> chunk = new ArrayList<>(Math.min(applicationIds.size(), NAMES_CHUNK_SIZE));
+        for (int i = 0; i < applicationIds.size(); i++) {
+            chunk.add(applicationIds.get(i));
+            if (chunk.size() == NAMES_CHUNK_SIZE || i == applicationIds.size() - 1) {
+                for (Object[] row : applicationRepository.findNames(chunk)) {
+                    names.put((Long) row[0], (String) row[1]);
+                }
+                chunk.clear();
+            }
+        }
+        List<IntegrationGraphNode> nodes = new ArrayList<>(applicationIds.size());
+        for (int i = 0; i < applicationIds.size(); i++) {
+            long appId = applicationIds.get(i);
+            nodes.add(new IntegrationGraphNode(appId, names.get(appId), hops.get(i)));
+        }
+        return nodes;
+    }
+}
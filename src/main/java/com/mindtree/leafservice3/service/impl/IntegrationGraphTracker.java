@@ -0,0 +1,125 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.domain.Integration;
+import com.mindtree.leafservice3.domain.enumeration.IntegrationFlowType;
+import com.mindtree.leafservice3.repository.IntegrationRepository;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the {@link IntegrationGraph} in step with the integration table.
+ * <p>
+ * The graph is loaded once the application started. Every insert, update and delete of an Integration flushed by
+ * Hibernate is then recorded, and applied to the graph once its transaction committed, so a rolled back change never
+ * shows in the graph. Bulk statements bypass the listener: {@link #load()} reloads the whole table.
+ */
+@Component
+class IntegrationGraphTracker extends EntityEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Logger log = LoggerFactory.getLogger(IntegrationGraphTracker.class);
+
+    private final transient IntegrationGraph integrationGraph;
+
+    private final transient IntegrationRepository integrationRepository;
+
+    private final transient TransactionTemplate readTransaction;
+
+    IntegrationGraphTracker(EntityManagerFactory entityManagerFactory, IntegrationGraph integrationGraph,
+            IntegrationRepository integrationRepository, PlatformTransactionManager transactionManager) {
+        super(entityManagerFactory, EventType.POST_INSERT, EventType.POST_UPDATE, EventType.POST_DELETE);
+        this.integrationGraph = integrationGraph;
+        this.integrationRepository = integrationRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Load every integration of the table in the graph.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void load() {
+        LongObjectHashMap<IntegrationGraph.Edge> edges = readTransaction.execute(status -> {
+            LongObjectHashMap<IntegrationGraph.Edge> rows = new LongObjectHashMap<>();
+            for (Object[] row : integrationRepository.findGraphEdges()) {
+                rows.put((Long) row[0], new IntegrationGraph.Edge((Long) row[1], (Long) row[2],
+                    (IntegrationFlowType) row[3]));
+            }
+            return rows;
+        });
+        integrationGraph.load(edges);
+        log.info("Loaded {} integrations in the integration graph", edges.size());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Integration) {
+            changed(event.getSession(), (Integration) event.getEntity(), false);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Integration) {
+            changed(event.getSession(), (Integration) event.getEntity(), false);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Integration) {
+            changed(event.getSession(), (Integration) event.getEntity(), true);
+        }
+    }
+
+    private void changed(SessionImplementor session, Integration integration, boolean deleted) {
+        IntegrationGraph.Edge edge = null;
+        if (!deleted && integration.getApplication() != null && integration.getIntegrationApp() != null) {
+            edge = new IntegrationGraph.Edge(integration.getApplication().getId(),
+                integration.getIntegrationApp().getId(), integration.getFlowType());
+        }
+        Map<Long, IntegrationGraph.Edge> changes = TransactionScope.state(this, () -> {
+            Map<Long, IntegrationGraph.Edge> pending = new LinkedHashMap<>();
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> {
+                if (success) {
+                    pending.forEach(this::apply);
+                }
+            });
+            return pending;
+        });
+        if (changes == null) {
+            apply(integration.getId(), edge);
+            return;
+        }
+        changes.put(integration.getId(), edge);
+    }
+
+    private void apply(Long integrationId, IntegrationGraph.Edge edge) {
+        if (edge == null) {
+            integrationGraph.remove(integrationId);
+        } else {
+            integrationGraph.put(integrationId, edge);
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.IntegrationService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.service.dto.IntegrationData;
-import com.mindtree.leafservice3.service.dto.Links;
 import com.mindtree.leafservice3.domain.Application;
 import com.mindtree.leafservice3.domain.Integration;
 import com.mindtree.leafservice3.repository.ApplicationRepository;
@@ -14,7 +14,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -36,12 +35,16 @@ public class IntegrationServiceImpl implements IntegrationService {
 
     private final IntegrationSearchRepository integrationSearchRepository;
 
+    private final SearchIndexingService searchIndexingService;
+
     public IntegrationServiceImpl(IntegrationRepository integrationRepository,
             IntegrationSearchRepository integrationSearchRepository,
-            ApplicationRepository applicationRepository) {
+            ApplicationRepository applicationRepository,
+            SearchIndexingService searchIndexingService) {
         this.integrationRepository = integrationRepository;
         this.integrationSearchRepository = integrationSearchRepository;
         this.applicationRepository = applicationRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -54,7 +57,7 @@ public class IntegrationServiceImpl implements IntegrationService {
     public Integration save(Integration integration) {
         log.debug("Request to save Integration : {}", integration);
         Integration result = integrationRepository.save(integration);
-        integrationSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -92,7 +95,7 @@ public class IntegrationServiceImpl implements IntegrationService {
     public void delete(Long id) {
         log.debug("Request to delete Integration : {}", id);
         integrationRepository.deleteById(id);
-        integrationSearchRepository.deleteById(id);
+        searchIndexingService.delete(Integration.class, id);
     }
 
     /**
@@ -109,29 +112,21 @@ public class IntegrationServiceImpl implements IntegrationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get the integrations of an application, with the names of the applications integrated.
+     *
+     * @param app_id the id of the application.
+     * @return the application and its links.
+     */
     @Override
+    @Transactional(readOnly = true)
     public IntegrationData getIntegrationData(Long app_id) {
+        log.debug("Request to get the integrations of Application : {}", app_id);
         Optional<Application> application = applicationRepository.findById(app_id);
-        List<Integration> data = integrationRepository.findAll();
         IntegrationData integration = new IntegrationData();
-        List<Links> linkData = new ArrayList<>();
-
         integration.mainAppId = application.get().getId();
         integration.mainAppName = application.get().getName();
-        
-
-        for (Integration item : data) {
-            if(item.getApplication().getId() == app_id) {
-                Links linkObject = new Links();
-                linkObject.appId = item.getIntegrationApp().getId();
-                linkObject.appName = item.getIntegrationApp().getName();
-                linkObject.entity = item.getEntity();
-                linkObject.flowType = item.getFlowType();
-                linkData.add(linkObject);
-                // integration.links.add(linkObject);
-            }
-        }
-        integration.links = linkData;
-       return integration; 
+        integration.links = integrationRepository.findLinks(app_id);
+        return integration;
     }
 }
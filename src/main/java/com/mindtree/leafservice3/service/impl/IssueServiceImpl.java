@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.IssueService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.Issue;
 import com.mindtree.leafservice3.repository.IssueRepository;
 import com.mindtree.leafservice3.repository.search.IssueSearchRepository;
@@ -30,9 +31,14 @@ public class IssueServiceImpl implements IssueService {
 
     private final IssueSearchRepository issueSearchRepository;
 
-    public IssueServiceImpl(IssueRepository issueRepository, IssueSearchRepository issueSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public IssueServiceImpl(IssueRepository issueRepository,
+            IssueSearchRepository issueSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.issueRepository = issueRepository;
         this.issueSearchRepository = issueSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class IssueServiceImpl implements IssueService {
     public Issue save(Issue issue) {
         log.debug("Request to save Issue : {}", issue);
         Issue result = issueRepository.save(issue);
-        issueSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class IssueServiceImpl implements IssueService {
     public void delete(Long id) {
         log.debug("Request to delete Issue : {}", id);
         issueRepository.deleteById(id);
-        issueSearchRepository.deleteById(id);
+        searchIndexingService.delete(Issue.class, id);
     }
 
     /**
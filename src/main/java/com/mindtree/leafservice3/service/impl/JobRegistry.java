@@ -0,0 +1,163 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.service.dto.JobDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory registry of the jobs run on the {@code taskExecutor}.
+ * <p>
+ * Jobs are kept for polling until more than {@code maxFinishedJobs} of them are finished, the least recently finished
+ * ones are then evicted when the next job is added.
+ */
+class JobRegistry<J extends JobRegistry.Job> {
+
+    private final Logger log = LoggerFactory.getLogger(JobRegistry.class);
+
+    private final Map<String, J> jobs = new ConcurrentHashMap<>();
+
+    private final String kind;
+
+    private final Executor taskExecutor;
+
+    private final int maxFinishedJobs;
+
+    private final Consumer<? super J> evicted;
+
+    /**
+     * @param kind the kind of the jobs, for the logs.
+     * @param taskExecutor the executor running the jobs.
+     * @param maxFinishedJobs the number of finished jobs kept.
+     * @param evicted called with each evicted job, to release what it holds.
+     */
+    JobRegistry(String kind, Executor taskExecutor, int maxFinishedJobs, Consumer<? super J> evicted) {
+        this.kind = kind;
+        this.taskExecutor = taskExecutor;
+        this.maxFinishedJobs = maxFinishedJobs;
+        this.evicted = evicted;
+    }
+
+    JobRegistry(String kind, Executor taskExecutor, int maxFinishedJobs) {
+        this(kind, taskExecutor, maxFinishedJobs, job -> { });
+    }
+
+    /**
+     * Track a job without running it.
+     */
+    void add(J job) {
+        evictFinishedJobs();
+        jobs.put(job.id, job);
+    }
+
+    /**
+     * Track a job and queue its task. The job fails right away when the task queue is full.
+     *
+     * @return whether the task was queued.
+     */
+    boolean submit(J job, Runnable task, String rejectedMessage) {
+        add(job);
+        try {
+            taskExecutor.execute(task);
+            return true;
+        } catch (TaskRejectedException e) {
+            log.warn("{} job {} rejected, the task queue is full", kind, job.id);
+            job.finish(JobDTO.Status.FAILED, rejectedMessage);
+            return false;
+        }
+    }
+
+    Optional<J> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * @return the jobs still tracked, most recent first.
+     */
+    List<J> findAll() {
+        return jobs.values().stream()
+            .sorted(Comparator.comparing((J job) -> job.submittedAt).reversed())
+            .collect(Collectors.toList());
+    }
+
+    private void evictFinishedJobs() {
+        List<J> finished = jobs.values().stream()
+            .filter(job -> job.finishedAt != null)
+            .sorted(Comparator.comparing((J job) -> job.finishedAt).reversed())
+            .collect(Collectors.toList());
+        for (int i = maxFinishedJobs; i < finished.size(); i++) {
+            jobs.remove(finished.get(i).id);
+            evicted.accept(finished.get(i));
+        }
+    }
+
+    /**
+     * The average rate of the items handled by a job, up to now while it runs.
+     */
+    static double rate(long items, Instant startedAt, Instant finishedAt) {
+        if (startedAt == null) {
+            return 0;
+        }
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        double seconds = (end.toEpochMilli() - startedAt.toEpochMilli()) / 1000d;
+        return seconds > 0 ? items / seconds : 0;
+    }
+
+    /**
+     * The live state of a job, updated from the thread running it.
+     */
+    abstract static class Job {
+
+        final String id = UUID.randomUUID().toString();
+
+        final Instant submittedAt = Instant.now();
+
+        volatile JobDTO.Status status = JobDTO.Status.QUEUED;
+
+        volatile Instant startedAt;
+
+        volatile Instant finishedAt;
+
+        volatile String message;
+
+        boolean isActive() {
+            return status == JobDTO.Status.QUEUED || status == JobDTO.Status.RUNNING;
+        }
+
+        void start() {
+            startedAt = Instant.now();
+            status = JobDTO.Status.RUNNING;
+        }
+
+        void finish(JobDTO.Status status, String message) {
+            this.message = message;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        /**
+         * Copy the state shared by all the jobs to the snapshot.
+         */
+        <D extends JobDTO> D toDTO(D dto) {
+            dto.id = id;
+            dto.status = status;
+            dto.submittedAt = submittedAt;
+            dto.startedAt = startedAt;
+            dto.finishedAt = finishedAt;
+            dto.message = message;
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.service.KeysetPaginationService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Service Implementation reading the pages with JPQL queries on the id of the entities.
+ */
+@Service
+public class KeysetPaginationServiceImpl implements KeysetPaginationService {
+
+    private final Logger log = LoggerFactory.getLogger(KeysetPaginationServiceImpl.class);
+
+    private final ApplicationProperties.Pagination properties;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readTransaction;
+
+    public KeysetPaginationServiceImpl(ApplicationProperties applicationProperties, EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.properties = applicationProperties.getPagination();
+        this.entityManager = entityManager;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public int pageSize(Integer size) {
+        if (size == null) {
+            return Math.min(properties.getDefaultPageSize(), properties.getMaxPageSize());
+        }
+        return Math.max(1, Math.min(size, properties.getMaxPageSize()));
+    }
+
+    @Override
+    public <T> List<T> findPage(Class<T> type, Long after, int size) {
+        log.debug("Request to get {} {} after {}", size, type.getSimpleName(), after);
+        return findPage(entities(type), after, size);
+    }
+
+    @Override
+    public <T> List<T> findPage(PageQuery<T> query, Long after, int size) {
+        return readTransaction.execute(status -> query.find(after == null ? Long.MIN_VALUE : after, size));
+    }
+
+    @Override
+    public <T> void forEachPage(Class<T> type, PageCallback<T> callback) throws IOException {
+        log.debug("Request to read all {}", type.getSimpleName());
+        forEachPage(entities(type), this::id, callback);
+    }
+
+    @Override
+    public <T> void forEachPage(PageQuery<T> query, Function<T, Long> id, PageCallback<T> callback) throws IOException {
+        int size = properties.getMaxPageSize();
+        Long after = Long.MIN_VALUE;
+        do {
+            long cursor = after;
+            List<T> page = readTransaction.execute(status -> {
+                List<T> rows = query.find(cursor, size);
+                entityManager.clear();
+                return rows;
+            });
+            callback.accept(page);
+            after = page.size() < size ? null : id.apply(page.get(page.size() - 1));
+        } while (after != null);
+    }
+
+    private <T> PageQuery<T> entities(Class<T> type) {
+        String entity = entityManager.getMetamodel().entity(type).getName();
+        return (after, size) -> entityManager
+            .createQuery("select e from " + entity + " e where e.id > :after order by e.id", type)
+            .setParameter("after", after)
+            .setMaxResults(size)
+            .getResultList();
+    }
+
+    private Long id(Object entity) {
+        return (Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+    }
+}
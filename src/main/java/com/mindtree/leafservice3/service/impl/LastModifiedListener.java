@@ -0,0 +1,53 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.domain.Timestamped;
+
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+
+/**
+ * Stamps the {@link Timestamped} entities with the time they are inserted or updated at, the watermark the
+ * incremental reindex catches the search indices up from.
+ * <p>
+ * The rows updated by statements, bypassing Hibernate, are stamped by these statements.
+ */
+@Component
+class LastModifiedListener extends EntityEventListener implements PreInsertEventListener, PreUpdateEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    LastModifiedListener(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory, EventType.PRE_INSERT, EventType.PRE_UPDATE);
+    }
+
+    @Override
+    public boolean onPreInsert(PreInsertEvent event) {
+        if (event.getEntity() instanceof Timestamped) {
+            stamp((Timestamped) event.getEntity(), event.getPersister(), event.getState());
+        }
+        return false;
+    }
+
+    @Override
+    public boolean onPreUpdate(PreUpdateEvent event) {
+        if (event.getEntity() instanceof Timestamped) {
+            stamp((Timestamped) event.getEntity(), event.getPersister(), event.getState());
+        }
+        return false;
+    }
+
+    private static void stamp(Timestamped entity, EntityPersister persister, Object[] state) {
+        Instant now = Instant.now();
+        entity.setLastModified(now);
+        // the state is what gets written, the entity is what the session keeps
+        state[persister.getEntityMetamodel().getPropertyIndex("lastModified")] = now;
+    }
+}
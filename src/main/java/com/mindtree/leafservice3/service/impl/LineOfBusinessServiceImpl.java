@@ -1,13 +1,16 @@
 package com.mindtree.leafservice3.service.impl;
 
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.service.KeysetPaginationService;
 import com.mindtree.leafservice3.service.LineOfBusinessService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.service.dto.LobSearchData;
-import com.mindtree.leafservice3.domain.Activity;
-import com.mindtree.leafservice3.domain.BusinessFunction;
-import com.mindtree.leafservice3.domain.BusinessProcess;
-import com.mindtree.leafservice3.domain.Capabilities;
+import com.mindtree.leafservice3.service.util.CurrencyUnits;
 import com.mindtree.leafservice3.domain.LineOfBusiness;
-import com.mindtree.leafservice3.domain.Task;
+import com.mindtree.leafservice3.domain.enumeration.BusinessFunctionType;
+import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
+import com.mindtree.leafservice3.domain.enumeration.ProcessStatus;
+import com.mindtree.leafservice3.domain.enumeration.ResourcesRequired;
 import com.mindtree.leafservice3.repository.ActivityRepository;
 import com.mindtree.leafservice3.repository.BusinessFunctionRepository;
 import com.mindtree.leafservice3.repository.BusinessProcessRepository;
@@ -18,11 +21,21 @@ import com.mindtree.leafservice3.repository.search.LineOfBusinessSearchRepositor
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -51,13 +64,22 @@ public class LineOfBusinessServiceImpl implements LineOfBusinessService {
 
     private final LineOfBusinessSearchRepository lineOfBusinessSearchRepository;
 
+    private final SearchIndexingService searchIndexingService;
+
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final ApplicationProperties.DrillDown drillDown;
+
     public LineOfBusinessServiceImpl(LineOfBusinessRepository lineOfBusinessRepository, 
     LineOfBusinessSearchRepository lineOfBusinessSearchRepository,
     BusinessFunctionRepository businessFunctionRepository, 
     CapabilitiesRepository capabilitiesRepository, 
     BusinessProcessRepository businessProcessRepository, 
     ActivityRepository activityRepository,
-    TaskRepository taskRepository ) {
+    TaskRepository taskRepository,
+    SearchIndexingService searchIndexingService,
+    KeysetPaginationService keysetPaginationService,
+    ApplicationProperties applicationProperties) {
         this.lineOfBusinessRepository = lineOfBusinessRepository;
         this.lineOfBusinessSearchRepository = lineOfBusinessSearchRepository;
         this.businessFunctionRepository = businessFunctionRepository;
@@ -65,6 +87,9 @@ public class LineOfBusinessServiceImpl implements LineOfBusinessService {
         this.capabilitiesRepository = capabilitiesRepository;
         this.activityRepository = activityRepository;
         this.taskRepository = taskRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.keysetPaginationService = keysetPaginationService;
+        this.drillDown = applicationProperties.getDrillDown();
     }
 
     /**
@@ -77,7 +102,7 @@ public class LineOfBusinessServiceImpl implements LineOfBusinessService {
     public LineOfBusiness save(LineOfBusiness lineOfBusiness) {
         log.debug("Request to save LineOfBusiness : {}", lineOfBusiness);
         LineOfBusiness result = lineOfBusinessRepository.save(lineOfBusiness);
-        lineOfBusinessSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -116,45 +141,119 @@ public class LineOfBusinessServiceImpl implements LineOfBusinessService {
     public void delete(Long id) {
         log.debug("Request to delete LineOfBusiness : {}", id);
         lineOfBusinessRepository.deleteById(id);
-        lineOfBusinessSearchRepository.deleteById(id);
+        searchIndexingService.delete(LineOfBusiness.class, id);
     }
 
+    /**
+     * Drill down into a lineOfBusiness.
+     * <p>
+     * Each level is read with one projection query on the ids of the nodes of the level above, so only the subtree of
+     * the page of business functions is read, and at most {@code max-nodes-per-level} nodes per level.
+     *
+     * @param lob_id the id of the lineOfBusiness.
+     * @param depth the number of levels read below the lineOfBusiness.
+     * @param page the page of business functions.
+     * @param size the number of business functions of the page, or {@code null}.
+     * @return the drill-down, or empty if the lineOfBusiness does not exist.
+     */
     @Override
-    public LobSearchData searchData(Long lob_id) {
+    @Transactional(readOnly = true)
+    public Optional<LobSearchData> searchData(Long lob_id, int depth, int page, Integer size) {
         log.debug("Request to search data for lob id : {}", lob_id);
-        LobSearchData lob_data = new LobSearchData();
-        Optional<LineOfBusiness> lob = lineOfBusinessRepository.findById(lob_id);
-        lob_data.id = lob.get().getId();
-        lob_data.name = lob.get().getName();
-
-        lob_data.bFunction = businessFunctionRepository.findAll();
-        // lob_data.bFunction = bfunction.stream()
-        //                     .filter(value -> value.getLineOfBusiness().getId().equals(lob_id))
-        //                     .collect(Collectors.toList());
-        
-        lob_data.capability = capabilitiesRepository.findAll();
-        // lob_data.capability = capabilities.stream()
-        //                     .filter(value -> value.getBusinessFunction().getLineOfBusiness().getId().equals(lob_id))
-        //                     .collect(Collectors.toList());
-        
-        lob_data.bProcesses  = businessProcessRepository.findAll();
-        // lob_data.bProcesses = businessProcess.stream()
-        //                     .filter(value -> value.getCapabilities().getBusinessFunction().getLineOfBusiness().getId().equals(lob_id))
-        //                     .collect(Collectors.toList());
-
-         lob_data.activities = activityRepository.findAll();
-        // lob_data.activities = activity.stream()
-        //                     .filter(value -> value.getBusinessProcess().getCapabilities().getBusinessFunction().getLineOfBusiness().getId().equals(lob_id))
-        //                     .collect(Collectors.toList());
-
-        lob_data.tasks = taskRepository.findAll();
-        // lob_data.tasks = taskData.stream()
-        //                 .filter(value -> value.getActivity().getBusinessProcess().getCapabilities().getBusinessFunction().getLineOfBusiness().getId().equals(lob_id))
-        //                 .collect(Collectors.toList());
-
-        return lob_data;
- 
+        return lineOfBusinessRepository.findById(lob_id).map(lineOfBusiness -> {
+            LobSearchData data = new LobSearchData(lineOfBusiness.getId(), lineOfBusiness.getName());
+            data.depth = Math.max(0, Math.min(depth, LobSearchData.MAX_DEPTH));
+            if (data.depth < 1) {
+                return data;
+            }
+            Slice<Object[]> functionRows = businessFunctionRepository.findDrillDownNodes(lob_id,
+                PageRequest.of(Math.max(0, page), keysetPaginationService.pageSize(size)));
+            data.hasMoreBusinessFunctions = functionRows.hasNext();
+            Map<Long, LobSearchData.BusinessFunction> functions = new LinkedHashMap<>();
+            for (Object[] row : functionRows) {
+                LobSearchData.BusinessFunction function = new LobSearchData.BusinessFunction((Long) row[0],
+                    (String) row[1], (BusinessFunctionType) row[2]);
+                functions.put(function.id, function);
+                data.businessFunctions.add(function);
+            }
+
+            if (data.depth < 2) {
+                return data;
+            }
+            Map<Long, LobSearchData.Capability> capabilities = readLevel(data, functions,
+                capabilitiesRepository::findDrillDownNodes,
+                row -> new LobSearchData.Capability((Long) row[0], (String) row[1]),
+                (function, capability) -> function.capabilities.add(capability));
+
+            if (data.depth < 3) {
+                return data;
+            }
+            Map<Long, LobSearchData.BusinessProcess> processes = readLevel(data, capabilities,
+                businessProcessRepository::findDrillDownNodes,
+                row -> new LobSearchData.BusinessProcess((Long) row[0], (String) row[1], (ProcessStatus) row[2],
+                    (LocalDate) row[3], (LocalDate) row[4], (LocalDate) row[5]),
+                (capability, process) -> capability.businessProcesses.add(process));
+
+            if (data.depth < 4) {
+                return data;
+            }
+            Map<Long, LobSearchData.Activity> activities = readLevel(data, processes,
+                activityRepository::findDrillDownNodes,
+                row -> new LobSearchData.Activity((Long) row[0], (String) row[1], (String) row[2],
+                    (ResourcesRequired) row[3]),
+                (process, activity) -> process.activities.add(activity));
+
+            if (data.depth < 5) {
+                return data;
+            }
+            readLevel(data, activities,
+                taskRepository::findDrillDownNodes,
+                row -> new LobSearchData.Task((Long) row[0], (String) row[1], (Integer) row[2],
+                    (CurrencySuccessor) row[3]),
+                (activity, task) -> activity.tasks.add(task));
+            if (!activities.isEmpty()) {
+                for (Object[] row : taskRepository.sumEstimatedCosts(activities.keySet())) {
+                    LobSearchData.Activity activity = activities.get((Long) row[0]);
+                    activity.estimatedCostUnits = Math.addExact(activity.estimatedCostUnits,
+                        CurrencyUnits.toUnits(((Number) row[2]).longValue(), (CurrencySuccessor) row[1]));
+                }
+            }
+            return data;
+        });
+    }
+
+    /**
+     * Read the nodes of a level of a drill-down, and add each of them to its parent.
+     *
+     * @param data the drill-down, marked as truncated when the level has more nodes than the limit.
+     * @param parents the nodes of the level above, by id.
+     * @param query the query reading the rows of the nodes of parents, the id of the node first and the id of its
+     * parent last.
+     * @param node the node of a row.
+     * @param addChild adds a node to its parent.
+     * @return the nodes of the level, by id.
+     */
+    private <P, C> Map<Long, C> readLevel(LobSearchData data, Map<Long, P> parents,
+            BiFunction<Collection<Long>, Pageable, List<Object[]>> query, Function<Object[], C> node,
+            BiConsumer<P, C> addChild) {
+        Map<Long, C> children = new LinkedHashMap<>();
+        if (parents.isEmpty()) {
+            return children;
+        }
+        int limit = drillDown.getMaxNodesPerLevel();
+        List<Object[]> rows = query.apply(parents.keySet(), PageRequest.of(0, limit + 1));
+        if (rows.size() > limit) {
+            data.truncated = true;
+            rows = rows.subList(0, limit);
+        }
+        for (Object[] row : rows) {
+            C child = node.apply(row);
+            addChild.accept(parents.get((Long) row[row.length - 1]), child);
+            children.put((Long) row[0], child);
+        }
+        return children;
     }
+
     /**
      * Search for the lineOfBusiness corresponding to the query.
      *
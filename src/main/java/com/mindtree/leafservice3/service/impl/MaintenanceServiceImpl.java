@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.MaintenanceService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.Maintenance;
 import com.mindtree.leafservice3.repository.MaintenanceRepository;
 import com.mindtree.leafservice3.repository.search.MaintenanceSearchRepository;
@@ -30,9 +31,14 @@ public class MaintenanceServiceImpl implements MaintenanceService {
 
     private final MaintenanceSearchRepository maintenanceSearchRepository;
 
-    public MaintenanceServiceImpl(MaintenanceRepository maintenanceRepository, MaintenanceSearchRepository maintenanceSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public MaintenanceServiceImpl(MaintenanceRepository maintenanceRepository,
+            MaintenanceSearchRepository maintenanceSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.maintenanceRepository = maintenanceRepository;
         this.maintenanceSearchRepository = maintenanceSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class MaintenanceServiceImpl implements MaintenanceService {
     public Maintenance save(Maintenance maintenance) {
         log.debug("Request to save Maintenance : {}", maintenance);
         Maintenance result = maintenanceRepository.save(maintenance);
-        maintenanceSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class MaintenanceServiceImpl implements MaintenanceService {
     public void delete(Long id) {
         log.debug("Request to delete Maintenance : {}", id);
         maintenanceRepository.deleteById(id);
-        maintenanceSearchRepository.deleteById(id);
+        searchIndexingService.delete(Maintenance.class, id);
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.OraganizationalUnitService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.OraganizationalUnit;
 import com.mindtree.leafservice3.repository.OraganizationalUnitRepository;
 import com.mindtree.leafservice3.repository.search.OraganizationalUnitSearchRepository;
@@ -30,9 +31,14 @@ public class OraganizationalUnitServiceImpl implements OraganizationalUnitServic
 
     private final OraganizationalUnitSearchRepository oraganizationalUnitSearchRepository;
 
-    public OraganizationalUnitServiceImpl(OraganizationalUnitRepository oraganizationalUnitRepository, OraganizationalUnitSearchRepository oraganizationalUnitSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public OraganizationalUnitServiceImpl(OraganizationalUnitRepository oraganizationalUnitRepository,
+            OraganizationalUnitSearchRepository oraganizationalUnitSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.oraganizationalUnitRepository = oraganizationalUnitRepository;
         this.oraganizationalUnitSearchRepository = oraganizationalUnitSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class OraganizationalUnitServiceImpl implements OraganizationalUnitServic
     public OraganizationalUnit save(OraganizationalUnit oraganizationalUnit) {
         log.debug("Request to save OraganizationalUnit : {}", oraganizationalUnit);
         OraganizationalUnit result = oraganizationalUnitRepository.save(oraganizationalUnit);
-        oraganizationalUnitSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class OraganizationalUnitServiceImpl implements OraganizationalUnitServic
     public void delete(Long id) {
         log.debug("Request to delete OraganizationalUnit : {}", id);
         oraganizationalUnitRepository.deleteById(id);
-        oraganizationalUnitSearchRepository.deleteById(id);
+        searchIndexingService.delete(OraganizationalUnit.class, id);
     }
 
     /**
@@ -0,0 +1,141 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.domain.BusinessFunction;
+import com.mindtree.leafservice3.domain.Capabilities;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.OraganizationalUnit;
+import com.mindtree.leafservice3.service.CapabilitiesService;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evicts the cached organizational chart of a company when one of its nodes is inserted, updated or deleted.
+ * <p>
+ * The charts are evicted when the change is flushed, so the transaction making it reads the new chart, and again
+ * once the transaction completed, so a chart read by another transaction while it was running is not kept.
+ * When a node moves to another parent, the chart of the company it left is evicted as well.
+ */
+@Component
+class OrganizationalChartCacheEvictor extends EntityEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The association linking a node to its parent in the chart.
+     */
+    private static final Map<Class<?>, String> PARENTS = new HashMap<>();
+
+    static {
+        PARENTS.put(OraganizationalUnit.class, "company");
+        PARENTS.put(LineOfBusiness.class, "oraganizationalUnit");
+        PARENTS.put(BusinessFunction.class, "lineOfBusiness");
+        PARENTS.put(Capabilities.class, "businessFunction");
+    }
+
+    private final Logger log = LoggerFactory.getLogger(OrganizationalChartCacheEvictor.class);
+
+    private final transient CacheManager cacheManager;
+
+    OrganizationalChartCacheEvictor(EntityManagerFactory entityManagerFactory, CacheManager cacheManager) {
+        super(entityManagerFactory, EventType.POST_INSERT, EventType.POST_UPDATE, EventType.POST_DELETE);
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (isNode(event.getEntity())) {
+            evictAfterCompletion(event.getSession(), Collections.singleton(companyOf(event.getEntity())));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!isNode(event.getEntity())) {
+            return;
+        }
+        Set<Long> companyIds = new HashSet<>();
+        companyIds.add(companyOf(event.getEntity()));
+        String parent = PARENTS.get(event.getEntity().getClass());
+        if (parent != null && event.getOldState() != null) {
+            int parentIndex = event.getPersister().getEntityMetamodel().getPropertyIndex(parent);
+            companyIds.add(companyOf(event.getOldState()[parentIndex]));
+        }
+        evictAfterCompletion(event.getSession(), companyIds);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (isNode(event.getEntity())) {
+            evictAfterCompletion(event.getSession(), Collections.singleton(companyOf(event.getEntity())));
+        }
+    }
+
+    private void evictAfterCompletion(SessionImplementor session, Collection<Long> companyIds) {
+        evict(companyIds);
+        Set<Long> pending = TransactionScope.state(this, () -> {
+            Set<Long> evicted = new HashSet<>();
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) ->
+                evict(evicted));
+            return evicted;
+        });
+        if (pending != null) {
+            pending.addAll(companyIds);
+        }
+    }
+
+    private void evict(Collection<Long> companyIds) {
+        Cache cache = cacheManager.getCache(CapabilitiesService.ORGANIZATIONAL_CHART_CACHE);
+        if (cache == null) {
+            return;
+        }
+        for (Long companyId : companyIds) {
+            if (companyId != null) {
+                log.debug("Evicting the organizational chart of Company : {}", companyId);
+                cache.evict(companyId);
+            }
+        }
+    }
+
+    private static boolean isNode(Object entity) {
+        return entity instanceof Company || PARENTS.containsKey(entity.getClass());
+    }
+
+    private static Long companyOf(Object entity) {
+        if (entity instanceof Capabilities) {
+            Capabilities capabilities = (Capabilities) entity;
+            return capabilities.getCompanyId() != null ? capabilities.getCompanyId()
+                : companyOf(capabilities.getBusinessFunction());
+        } else if (entity instanceof BusinessFunction) {
+            return companyOf(((BusinessFunction) entity).getLineOfBusiness());
+        } else if (entity instanceof LineOfBusiness) {
+            return companyOf(((LineOfBusiness) entity).getOraganizationalUnit());
+        } else if (entity instanceof OraganizationalUnit) {
+            return companyOf(((OraganizationalUnit) entity).getCompany());
+        } else if (entity instanceof Company) {
+            return ((Company) entity).getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.mindtree.leafservice3.service.impl;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the ids of the entities changed while their search index is being rebuilt.
+ * <p>
+ * Documents indexed while a fresh index is loaded still go to the live index, the rebuild replays the changes
+ * recorded here into the fresh index before and after moving the alias to it. Ids are only recorded once their
+ * transaction committed.
+ */
+@Component
+class ReindexChangeTracker extends EntityEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Map<Class<?>, Set<Long>> changes = new ConcurrentHashMap<>();
+
+    ReindexChangeTracker(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory, EventType.POST_INSERT, EventType.POST_UPDATE, EventType.POST_DELETE);
+    }
+
+    /**
+     * Start recording the changes of an entity type.
+     *
+     * @param type the class of the entity.
+     */
+    void track(Class<?> type) {
+        changes.put(type, ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * Take the ids recorded so far, the type stays tracked.
+     *
+     * @param type the class of the entity.
+     * @return the ids of the entities changed since the last call.
+     */
+    Set<Long> drain(Class<?> type) {
+        Set<Long> ids = changes.get(type);
+        if (ids == null) {
+            return Collections.emptySet();
+        }
+        Set<Long> drained = new HashSet<>(ids);
+        ids.removeAll(drained);
+        return drained;
+    }
+
+    /**
+     * Stop recording the changes of an entity type.
+     *
+     * @param type the class of the entity.
+     * @return the ids recorded since the last drain.
+     */
+    Set<Long> untrack(Class<?> type) {
+        Set<Long> ids = changes.remove(type);
+        return ids != null ? new HashSet<>(ids) : Collections.emptySet();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        recordAfterCommit(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        recordAfterCommit(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        recordAfterCommit(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    private void recordAfterCommit(SessionImplementor session, EntityPersister persister, Serializable id) {
+        Set<Long> ids = changes.get(persister.getMappedClass());
+        if (ids == null || !(id instanceof Long)) {
+            return;
+        }
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> {
+            if (success) {
+                ids.add((Long) id);
+            }
+        });
+    }
+}
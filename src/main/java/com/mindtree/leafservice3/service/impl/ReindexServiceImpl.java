@@ -0,0 +1,575 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.domain.AbstractAuditingEntity;
+import com.mindtree.leafservice3.domain.Timestamped;
+import com.mindtree.leafservice3.service.ReindexService;
+import com.mindtree.leafservice3.service.dto.ReindexJobDTO;
+
+import io.searchbox.action.Action;
+import io.searchbox.client.JestClient;
+import io.searchbox.client.JestResult;
+import io.searchbox.core.Bulk;
+import io.searchbox.core.Delete;
+import io.searchbox.core.Index;
+import io.searchbox.indices.aliases.AddAliasMapping;
+import io.searchbox.indices.aliases.AliasMapping;
+import io.searchbox.indices.aliases.GetAliases;
+import io.searchbox.indices.aliases.ModifyAliases;
+import io.searchbox.indices.aliases.RemoveAliasMapping;
+import io.searchbox.indices.settings.UpdateSettings;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.EntityMapper;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Service Implementation rebuilding the search indices on the {@code taskExecutor}.
+ * <p>
+ * Every search index is used through an alias named after the {@link Document#indexName()} of its entity. A full
+ * rebuild streams the table in keyset pages of {@code chunkSize} rows, each sent as one bulk request to a fresh
+ * versioned index, then moves the alias to it in a single atomic request and deletes the previous index. Changes
+ * committed during the rebuild are replayed into the fresh index. The start of the rebuild, set back by the
+ * {@code watermarkLag}, is kept as the watermark of the index, in the {@code _meta} of its mapping.
+ * <p>
+ * An incremental rebuild indexes the rows stamped as modified since the watermark of the live index, in keyset pages
+ * as well, then moves the watermark forward. The rows are stamped by the {@link LastModifiedListener}, the users by
+ * their audit columns. Deleted rows leave no row behind, their documents are deleted by
+ * {@link SearchIndexingServiceImpl}.
+ * <p>
+ * Jobs are tracked in memory, the most recent {@link #MAX_FINISHED_JOBS} finished jobs are kept for polling.
+ */
+@Service
+public class ReindexServiceImpl implements ReindexService {
+
+    private static final int MAX_FINISHED_JOBS = 20;
+
+    private static final String WATERMARK = "lastModified";
+
+    private static final DateTimeFormatter INDEX_VERSION = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS")
+        .withZone(ZoneOffset.UTC);
+
+    private final Logger log = LoggerFactory.getLogger(ReindexServiceImpl.class);
+
+    private final JobRegistry<ReindexJob> jobs;
+
+    /**
+     * The searchable entities, by the alias of their index.
+     */
+    private final Map<String, EntityType<?>> entities = new TreeMap<>();
+
+    private final ApplicationProperties.Reindex properties;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readTransaction;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    private final JestClient jestClient;
+
+    private final EntityMapper entityMapper;
+
+    private final ReindexChangeTracker changeTracker;
+
+    public ReindexServiceImpl(ApplicationProperties applicationProperties, EntityManager entityManager,
+            PlatformTransactionManager transactionManager, ElasticsearchOperations elasticsearchOperations,
+            JestClient jestClient, EntityMapper entityMapper, ReindexChangeTracker changeTracker,
+            @Qualifier("taskExecutor") Executor taskExecutor) {
+        this.properties = applicationProperties.getReindex();
+        this.entityManager = entityManager;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.jestClient = jestClient;
+        this.entityMapper = entityMapper;
+        this.changeTracker = changeTracker;
+        this.jobs = new JobRegistry<>("Reindex", taskExecutor, MAX_FINISHED_JOBS);
+        for (EntityType<?> entity : entityManager.getMetamodel().getEntities()) {
+            if (entity.getJavaType().isAnnotationPresent(Document.class)) {
+                entities.put(document(entity).getIndexName(), entity);
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getAliases() {
+        return Collections.unmodifiableSet(entities.keySet());
+    }
+
+    @Override
+    public synchronized ReindexJobDTO submit(ReindexJobDTO.Mode mode, Collection<String> aliases) {
+        Set<String> selected = new LinkedHashSet<>(aliases.isEmpty() ? entities.keySet() : aliases);
+        for (String alias : selected) {
+            if (!entities.containsKey(alias)) {
+                throw new IllegalArgumentException("Unknown search index " + alias);
+            }
+        }
+        ReindexJob job = new ReindexJob(mode, selected);
+        if (jobs.findAll().stream().anyMatch(ReindexJob::isActive)) {
+            jobs.add(job);
+            job.finish(ReindexJobDTO.Status.FAILED, "Another reindex job is queued or running");
+            return job.toDTO();
+        }
+        jobs.submit(job, () -> run(job), "The task queue is full, please retry later");
+        return job.toDTO();
+    }
+
+    @Override
+    public List<ReindexJobDTO> findAll() {
+        return jobs.findAll().stream().map(ReindexJob::toDTO).collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<ReindexJobDTO> findOne(String id) {
+        return jobs.find(id).map(ReindexJob::toDTO);
+    }
+
+    private void run(ReindexJob job) {
+        log.info("Starting {} reindex job {} of {}", job.mode, job.id, job.indices.keySet());
+        job.start();
+        String failure = null;
+        for (IndexProgress index : job.indices.values()) {
+            try {
+                if (job.mode == ReindexJobDTO.Mode.FULL) {
+                    rebuild(index);
+                } else {
+                    catchUp(index);
+                }
+                index.finish(ReindexJobDTO.Status.COMPLETED, null);
+            } catch (IOException | RuntimeException e) {
+                log.error("Reindex of {} failed", index.alias, e);
+                index.finish(ReindexJobDTO.Status.FAILED, e.getMessage());
+                if (failure == null) {
+                    failure = index.alias + ": " + e.getMessage();
+                }
+            }
+        }
+        job.finish(failure == null ? ReindexJobDTO.Status.COMPLETED : ReindexJobDTO.Status.FAILED, failure);
+        log.info("Reindex job {} finished: {} documents indexed", job.id, job.documentsIndexed());
+    }
+
+    /**
+     * Load the whole table in a fresh index and move the alias to it.
+     */
+    private void rebuild(IndexProgress progress) throws IOException {
+        EntityType<?> entity = entities.get(progress.alias);
+        ElasticsearchPersistentEntity<?> document = document(entity);
+        String target = progress.alias + "_" + INDEX_VERSION.format(Instant.now());
+        progress.start(target, count(entity, null));
+        Instant watermark = Instant.now().minus(properties.getWatermarkLag());
+
+        changeTracker.track(entity.getJavaType());
+        boolean created = false;
+        boolean swapped = false;
+        try {
+            created = createIndex(target, entity, document);
+            load(progress, entity, target, document.getIndexType(), null);
+            replay(entity, target, document.getIndexType(), changeTracker.drain(entity.getJavaType()));
+
+            Map<String, Object> settings = new HashMap<>();
+            settings.put("number_of_replicas", document.getReplicas());
+            settings.put("refresh_interval", document.getRefreshInterval());
+            execute(new UpdateSettings.Builder(Collections.singletonMap("index", settings)).addIndex(target).build());
+            putWatermark(target, document.getIndexType(), watermark);
+            elasticsearchOperations.refresh(target);
+
+            Set<String> previous = swapAlias(progress.alias, target);
+            swapped = true;
+            // changes committed before the swap may have been indexed in the previous index
+            replay(entity, target, document.getIndexType(), changeTracker.untrack(entity.getJavaType()));
+            for (String index : previous) {
+                elasticsearchOperations.deleteIndex(index);
+            }
+            progress.watermark = watermark;
+        } finally {
+            changeTracker.untrack(entity.getJavaType());
+            if (created && !swapped) {
+                elasticsearchOperations.deleteIndex(target);
+            }
+        }
+    }
+
+    /**
+     * Index the rows modified since the watermark of the live index.
+     */
+    private void catchUp(IndexProgress progress) throws IOException {
+        EntityType<?> entity = entities.get(progress.alias);
+        ElasticsearchPersistentEntity<?> document = document(entity);
+        Set<String> live = indicesOf(progress.alias);
+        Instant since = live.size() == 1 ? watermark(live.iterator().next(), document.getIndexType()) : null;
+        if (since == null) {
+            throw new IllegalStateException("The index has no watermark, run a full reindex first");
+        }
+        String index = live.iterator().next();
+        progress.start(index, count(entity, since));
+        Instant watermark = Instant.now().minus(properties.getWatermarkLag());
+        load(progress, entity, index, document.getIndexType(), since);
+        if (watermark.isAfter(since)) {
+            putWatermark(index, document.getIndexType(), watermark);
+        } else {
+            watermark = since;
+        }
+        progress.watermark = watermark;
+    }
+
+    /**
+     * Stream the rows modified since {@code since}, or all of them when it is not set, in keyset pages of ids, one
+     * bulk request per page. Each page is read in its own transaction, ended before the page is sent.
+     */
+    private void load(IndexProgress progress, EntityType<?> entity, String index, String indexType, Instant since)
+            throws IOException {
+        String id = idAttribute(entity);
+        String query = "select e from " + entity.getName() + " e where e." + id + " > :after"
+            + (since != null ? " and e." + lastModifiedAttribute(entity) + " >= :since" : "") + " order by e." + id;
+        long last = Long.MIN_VALUE;
+        while (true) {
+            long from = last;
+            List<?> rows = readTransaction.execute(status -> {
+                TypedQuery<?> page = entityManager.createQuery(query, entity.getJavaType())
+                    .setParameter("after", from)
+                    .setMaxResults(properties.getChunkSize());
+                if (since != null) {
+                    page.setParameter("since", since);
+                }
+                return page.getResultList();
+            });
+            if (rows.isEmpty()) {
+                return;
+            }
+            bulk(index, indexType, rows, Collections.emptyList());
+            progress.documentsIndexed.addAndGet(rows.size());
+            last = id(rows.get(rows.size() - 1));
+            if (rows.size() < properties.getChunkSize()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Index the current state of the changed entities, deleting the documents of the ones gone, one bulk request
+     * per chunk.
+     */
+    private void replay(EntityType<?> entity, String index, String indexType, Set<Long> ids) throws IOException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        log.debug("Replaying {} changes of {} into {}", ids.size(), entity.getName(), index);
+        List<Long> pending = new ArrayList<>(ids);
+        for (int start = 0; start < pending.size(); start += properties.getChunkSize()) {
+            List<Long> chunk = pending.subList(start, Math.min(start + properties.getChunkSize(), pending.size()));
+            List<?> rows = readTransaction.execute(status ->
+                entityManager.unwrap(Session.class).byMultipleIds(entity.getJavaType()).multiLoad(chunk));
+            List<Object> found = new ArrayList<>(rows.size());
+            List<Long> gone = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i) != null) {
+                    found.add(rows.get(i));
+                } else {
+                    gone.add(chunk.get(i));
+                }
+            }
+            bulk(index, indexType, found, gone);
+        }
+    }
+
+    /**
+     * Index the rows and delete the documents of the ids in a single bulk request.
+     */
+    private void bulk(String index, String indexType, List<?> rows, List<Long> deletedIds) throws IOException {
+        if (rows.isEmpty() && deletedIds.isEmpty()) {
+            return;
+        }
+        Bulk.Builder bulk = new Bulk.Builder().defaultIndex(index).defaultType(indexType);
+        for (Object row : rows) {
+            bulk.addAction(new Index.Builder(entityMapper.mapToString(row)).id(String.valueOf(id(row))).build());
+        }
+        for (Long id : deletedIds) {
+            bulk.addAction(new Delete.Builder(String.valueOf(id)).build());
+        }
+        execute(bulk.build());
+    }
+
+    /**
+     * Create the versioned index, without replicas nor refreshes while it is loaded.
+     */
+    private boolean createIndex(String index, EntityType<?> entity, ElasticsearchPersistentEntity<?> document) {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("number_of_shards", document.getShards());
+        settings.put("number_of_replicas", 0);
+        settings.put("refresh_interval", "-1");
+        Map<String, Object> source = new HashMap<>();
+        source.put("settings", settings);
+        source.put("mappings", Collections.singletonMap(document.getIndexType(),
+            Collections.singletonMap("properties", fieldMappings(entity.getJavaType()))));
+        if (!elasticsearchOperations.createIndex(index, source)) {
+            throw new IllegalStateException("Could not create the index " + index);
+        }
+        return true;
+    }
+
+    /**
+     * The types set with {@link org.springframework.data.elasticsearch.annotations.Field}, the other properties are
+     * mapped dynamically.
+     */
+    private static Map<String, Object> fieldMappings(Class<?> type) {
+        Map<String, Object> properties = new HashMap<>();
+        for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+            for (java.lang.reflect.Field field : current.getDeclaredFields()) {
+                org.springframework.data.elasticsearch.annotations.Field annotation =
+                    field.getAnnotation(org.springframework.data.elasticsearch.annotations.Field.class);
+                if (annotation == null || annotation.type() == FieldType.Auto) {
+                    continue;
+                }
+                Map<String, Object> mapping = new HashMap<>();
+                mapping.put("type", annotation.type().name().toLowerCase(Locale.ROOT));
+                if (!annotation.index()) {
+                    mapping.put("index", false);
+                }
+                properties.putIfAbsent(field.getName(), mapping);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Point the alias to the index in one request, detaching it from the indices it pointed to.
+     *
+     * @return the indices the alias pointed to, to delete.
+     */
+    private Set<String> swapAlias(String alias, String index) throws IOException {
+        Set<String> previous = indicesOf(alias);
+        List<AliasMapping> actions = new ArrayList<>();
+        for (String current : previous) {
+            if (current.equals(alias)) {
+                // created under the name of the alias before its first rebuild
+                actions.add(new RemoveIndexMapping(current));
+            } else {
+                actions.add(new RemoveAliasMapping.Builder(current, alias).build());
+            }
+        }
+        actions.add(new AddAliasMapping.Builder(index, alias).build());
+        execute(new ModifyAliases.Builder(actions).build());
+        log.info("Search index alias {} moved from {} to {}", alias, previous, index);
+        previous.remove(alias);
+        return previous;
+    }
+
+    /**
+     * The indices behind an alias, or the index of that name when it is not an alias yet.
+     */
+    private Set<String> indicesOf(String alias) throws IOException {
+        JestResult result = jestClient.execute(new GetAliases.Builder().addIndex(alias).build());
+        if (result.getResponseCode() == 404) {
+            return new LinkedHashSet<>();
+        }
+        if (!result.isSucceeded()) {
+            throw new IllegalStateException(result.getErrorMessage());
+        }
+        Set<String> indices = new LinkedHashSet<>();
+        result.getJsonObject().entrySet().forEach(entry -> indices.add(entry.getKey()));
+        return indices;
+    }
+
+    /**
+     * The watermark of an index, kept in epoch milliseconds. The indices rebuilt before the rows were stamped have
+     * none.
+     */
+    private Instant watermark(String index, String indexType) {
+        Map<?, ?> mapping = elasticsearchOperations.getMapping(index, indexType);
+        Object meta = mapping != null ? mapping.get("_meta") : null;
+        Object watermark = meta instanceof Map ? ((Map<?, ?>) meta).get(WATERMARK) : null;
+        return watermark instanceof Number ? Instant.ofEpochMilli(((Number) watermark).longValue()) : null;
+    }
+
+    private void putWatermark(String index, String indexType, Instant watermark) {
+        elasticsearchOperations.putMapping(index, indexType,
+            Collections.singletonMap("_meta", Collections.singletonMap(WATERMARK, watermark.toEpochMilli())));
+    }
+
+    private void execute(Action<? extends JestResult> action) throws IOException {
+        JestResult result = jestClient.execute(action);
+        if (!result.isSucceeded()) {
+            throw new IllegalStateException(result.getErrorMessage());
+        }
+    }
+
+    private long count(EntityType<?> entity, Instant since) {
+        if (since == null) {
+            return readTransaction.execute(status -> entityManager
+                .createQuery("select count(e) from " + entity.getName() + " e", Long.class)
+                .getSingleResult());
+        }
+        String lastModified = lastModifiedAttribute(entity);
+        return readTransaction.execute(status -> entityManager
+            .createQuery("select count(e) from " + entity.getName() + " e where e." + lastModified + " >= :since",
+                Long.class)
+            .setParameter("since", since)
+            .getSingleResult());
+    }
+
+    private ElasticsearchPersistentEntity<?> document(EntityType<?> entity) {
+        return elasticsearchOperations.getPersistentEntityFor(entity.getJavaType());
+    }
+
+    private static String idAttribute(EntityType<?> entity) {
+        return entity.getId(entity.getIdType().getJavaType()).getName();
+    }
+
+    /**
+     * The attribute the rows of an entity are stamped with when they change.
+     */
+    private static String lastModifiedAttribute(EntityType<?> entity) {
+        if (Timestamped.class.isAssignableFrom(entity.getJavaType())) {
+            return "lastModified";
+        }
+        if (AbstractAuditingEntity.class.isAssignableFrom(entity.getJavaType())) {
+            return "lastModifiedDate";
+        }
+        throw new IllegalStateException(entity.getName() + " rows are not stamped when they change, run a full "
+            + "reindex");
+    }
+
+    private Long id(Object entity) {
+        return (Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+    }
+
+    /**
+     * The {@code remove_index} action, deleting an index in the same request moving its name to an alias.
+     */
+    private static class RemoveIndexMapping extends AliasMapping {
+
+        RemoveIndexMapping(String index) {
+            this.indices.add(index);
+        }
+
+        @Override
+        public String getType() {
+            return "remove_index";
+        }
+
+        @Override
+        public List<Map<String, Object>> getData() {
+            List<Map<String, Object>> data = new ArrayList<>();
+            for (String index : indices) {
+                data.add(Collections.singletonMap(getType(), Collections.singletonMap("index", index)));
+            }
+            return data;
+        }
+    }
+
+    /**
+     * The live state of a job, updated from the thread running it.
+     */
+    private static class ReindexJob extends JobRegistry.Job {
+
+        private final ReindexJobDTO.Mode mode;
+
+        private final Map<String, IndexProgress> indices = new LinkedHashMap<>();
+
+        ReindexJob(ReindexJobDTO.Mode mode, Collection<String> aliases) {
+            this.mode = mode;
+            aliases.forEach(alias -> indices.put(alias, new IndexProgress(alias)));
+        }
+
+        long documentsIndexed() {
+            return indices.values().stream().mapToLong(index -> index.documentsIndexed.get()).sum();
+        }
+
+        ReindexJobDTO toDTO() {
+            ReindexJobDTO dto = toDTO(new ReindexJobDTO());
+            dto.mode = mode;
+            dto.documentsIndexed = documentsIndexed();
+            dto.documentsPerSecond = JobRegistry.rate(dto.documentsIndexed, dto.startedAt, dto.finishedAt);
+            dto.indices = indices.values().stream().map(IndexProgress::toDTO).collect(Collectors.toList());
+            return dto;
+        }
+    }
+
+    /**
+     * The live state of the rebuild of one index.
+     */
+    private static class IndexProgress {
+
+        private final String alias;
+
+        private final AtomicLong documentsIndexed = new AtomicLong();
+
+        private volatile String index;
+
+        private volatile long documentsTotal;
+
+        private volatile ReindexJobDTO.Status status = ReindexJobDTO.Status.QUEUED;
+
+        private volatile Instant watermark;
+
+        private volatile Instant startedAt;
+
+        private volatile Instant finishedAt;
+
+        private volatile String message;
+
+        IndexProgress(String alias) {
+            this.alias = alias;
+        }
+
+        void start(String index, long documentsTotal) {
+            this.index = index;
+            this.documentsTotal = documentsTotal;
+            this.startedAt = Instant.now();
+            this.status = ReindexJobDTO.Status.RUNNING;
+        }
+
+        void finish(ReindexJobDTO.Status status, String message) {
+            this.message = message;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        ReindexJobDTO.IndexProgress toDTO() {
+            ReindexJobDTO.IndexProgress dto = new ReindexJobDTO.IndexProgress();
+            dto.alias = alias;
+            dto.index = index;
+            dto.status = status;
+            dto.documentsIndexed = documentsIndexed.get();
+            dto.documentsTotal = documentsTotal;
+            dto.documentsPerSecond = JobRegistry.rate(dto.documentsIndexed, startedAt, finishedAt);
+            dto.watermark = watermark;
+            dto.startedAt = startedAt;
+            dto.finishedAt = finishedAt;
+            dto.message = message;
+            return dto;
+        }
+    }
+}
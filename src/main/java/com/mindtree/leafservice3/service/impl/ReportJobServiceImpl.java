@@ -0,0 +1,198 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.service.ReportJobService;
+import com.mindtree.leafservice3.service.ReportService;
+import com.mindtree.leafservice3.service.dto.ReportJobDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service Implementation rendering portfolio reports on the {@code taskExecutor}.
+ * <p>
+ * Each report is written to a temporary file, kept until its job is evicted and the downloads reading it are done:
+ * jobs are tracked in memory, the most recent {@link #MAX_FINISHED_JOBS} finished jobs are kept for polling and
+ * download.
+ */
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    static final int MAX_FINISHED_JOBS = 20;
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobServiceImpl.class);
+
+    private final JobRegistry<ReportJob> jobs;
+
+    private final ReportService reportService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ReportJobServiceImpl(ReportService reportService, @Qualifier("taskExecutor") Executor taskExecutor,
+            ApplicationProperties applicationProperties) {
+        this.jobs = new JobRegistry<>("Report", taskExecutor, MAX_FINISHED_JOBS, ReportJob::evict);
+        this.reportService = reportService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public boolean isRenderedInBackground(long applications) {
+        return applications > applicationProperties.getReport().getBackgroundThreshold();
+    }
+
+    @Override
+    public ReportJobDTO submitPortfolioReport(Long company_id) {
+        ReportJob job = new ReportJob(company_id);
+        jobs.submit(job, () -> run(job), "Too many reports in progress, please retry later");
+        return job.toDTO();
+    }
+
+    @Override
+    public Optional<ReportJobDTO> findOne(String id) {
+        return jobs.find(id).map(ReportJob::toDTO);
+    }
+
+    @Override
+    public Optional<Resource> findReport(String id) {
+        return jobs.find(id)
+            .filter(job -> job.status == ReportJobDTO.Status.COMPLETED)
+            .map(ReportFile::new);
+    }
+
+    private void run(ReportJob job) {
+        log.debug("Starting report job {}", job.id);
+        job.start();
+        try {
+            job.file = Files.createTempFile("report-job", ".pdf");
+            try (OutputStream outputStream = Files.newOutputStream(job.file)) {
+                job.applicationsWritten = reportService.writePortfolioReport(job.companyId, outputStream);
+            }
+            job.finish(ReportJobDTO.Status.COMPLETED, null);
+        } catch (IOException | RuntimeException e) {
+            log.error("Report job {} failed", job.id, e);
+            job.finish(ReportJobDTO.Status.FAILED, e.getMessage());
+            job.delete();
+        }
+        log.debug("Report job {} finished: {} applications written", job.id, job.applicationsWritten);
+    }
+
+    /**
+     * The report of a job, counted as read from its opening to its closing.
+     */
+    private static class ReportFile extends FileSystemResource {
+
+        private final ReportJob job;
+
+        ReportFile(ReportJob job) {
+            super(job.file);
+            this.job = job;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return job.open();
+        }
+    }
+
+    /**
+     * The live state of a job, updated from the thread running it.
+     */
+    private static class ReportJob extends JobRegistry.Job {
+
+        private final Long companyId;
+
+        private final AtomicInteger readers = new AtomicInteger();
+
+        private volatile Path file;
+
+        private volatile long applicationsWritten;
+
+        private volatile boolean evicted;
+
+        ReportJob(Long companyId) {
+            this.companyId = companyId;
+        }
+
+        /**
+         * Open the report for reading, it is kept until the stream is closed.
+         */
+        InputStream open() throws IOException {
+            readers.incrementAndGet();
+            if (evicted) {
+                release();
+                throw new FileNotFoundException("The report of report job " + id + " was evicted");
+            }
+            try {
+                return new FilterInputStream(Files.newInputStream(file)) {
+
+                    private boolean closed;
+
+                    @Override
+                    public void close() throws IOException {
+                        if (closed) {
+                            return;
+                        }
+                        closed = true;
+                        try {
+                            super.close();
+                        } finally {
+                            release();
+                        }
+                    }
+                };
+            } catch (IOException | RuntimeException e) {
+                release();
+                throw e;
+            }
+        }
+
+        private void release() {
+            if (readers.decrementAndGet() == 0 && evicted) {
+                delete();
+            }
+        }
+
+        /**
+         * Delete the report once its last reader is done.
+         */
+        void evict() {
+            evicted = true;
+            if (readers.get() == 0) {
+                delete();
+            }
+        }
+
+        void delete() {
+            if (file == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete the report of report job {}", id, e);
+            }
+        }
+
+        ReportJobDTO toDTO() {
+            ReportJobDTO dto = toDTO(new ReportJobDTO());
+            dto.companyId = companyId;
+            dto.applicationsWritten = applicationsWritten;
+            return dto;
+        }
+    }
+}
@@ -1,22 +1,43 @@
 package com.mindtree.leafservice3.service.impl;
 
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.domain.Report;
+import com.mindtree.leafservice3.repository.ApplicationRepository;
+import com.mindtree.leafservice3.repository.CompanyRepository;
+import com.mindtree.leafservice3.repository.ReportRepository;
+import com.mindtree.leafservice3.repository.SpendAggregateRepository;
+import com.mindtree.leafservice3.repository.TechnologyRepository;
+import com.mindtree.leafservice3.repository.search.ReportSearchRepository;
+import com.mindtree.leafservice3.service.KeysetPaginationService;
 import com.mindtree.leafservice3.service.ReportService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
+import com.mindtree.leafservice3.service.util.CurrencyUnits;
+
 import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.PageSize;
 import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
-import com.mindtree.leafservice3.domain.Report;
-import com.mindtree.leafservice3.repository.ReportRepository;
-import com.mindtree.leafservice3.repository.search.ReportSearchRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -30,15 +51,51 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 @Transactional
 public class ReportServiceImpl implements ReportService {
 
+    private static final String[] REPORT_COLUMNS = {"Application", "Line of business", "Status", "Type",
+        "Technology stacks", "Spent (K)", "Budgeted (K)"};
+
+    private static final float[] REPORT_COLUMN_WIDTHS = {4, 3, 2, 2, 5, 2, 2};
+
+    private static final Font TITLE_FONT = new Font(Font.FontFamily.HELVETICA, 16, Font.BOLD);
+
+    private static final Font HEADER_FONT = new Font(Font.FontFamily.HELVETICA, 9, Font.BOLD);
+
+    private static final Font CELL_FONT = new Font(Font.FontFamily.HELVETICA, 9);
+
     private final Logger log = LoggerFactory.getLogger(ReportServiceImpl.class);
 
     private final ReportRepository reportRepository;
 
     private final ReportSearchRepository reportSearchRepository;
 
-    public ReportServiceImpl(ReportRepository reportRepository, ReportSearchRepository reportSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final CompanyRepository companyRepository;
+
+    private final ApplicationRepository applicationRepository;
+
+    private final TechnologyRepository technologyRepository;
+
+    private final SpendAggregateRepository spendAggregateRepository;
+
+    public ReportServiceImpl(ReportRepository reportRepository,
+            ReportSearchRepository reportSearchRepository,
+            SearchIndexingService searchIndexingService,
+            KeysetPaginationService keysetPaginationService,
+            CompanyRepository companyRepository,
+            ApplicationRepository applicationRepository,
+            TechnologyRepository technologyRepository,
+            SpendAggregateRepository spendAggregateRepository) {
         this.reportRepository = reportRepository;
         this.reportSearchRepository = reportSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.keysetPaginationService = keysetPaginationService;
+        this.companyRepository = companyRepository;
+        this.applicationRepository = applicationRepository;
+        this.technologyRepository = technologyRepository;
+        this.spendAggregateRepository = spendAggregateRepository;
     }
 
     /**
@@ -51,7 +108,7 @@ public class ReportServiceImpl implements ReportService {
     public Report save(Report report) {
         log.debug("Request to save Report : {}", report);
         Report result = reportRepository.save(report);
-        reportSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -90,34 +147,126 @@ public class ReportServiceImpl implements ReportService {
     public void delete(Long id) {
         log.debug("Request to delete Report : {}", id);
         reportRepository.deleteById(id);
-        reportSearchRepository.deleteById(id);
+        searchIndexingService.delete(Report.class, id);
     }
 
     @Override
-    public void pdfGenerator() {
-        log.debug("Request to generate pdf Report ");
-        FileOutputStream file = null;
-        
+    @Transactional(readOnly = true)
+    public Optional<Long> countPortfolioApplications(Long company_id) {
+        log.debug("Request to count the applications of the portfolio report of Company : {}", company_id);
+        if (!companyRepository.existsById(company_id)) {
+            return Optional.empty();
+        }
+        return Optional.of(applicationRepository.countByCompanyId(company_id));
+    }
+
+    /**
+     * Write the portfolio report of a company.
+     * <p>
+     * The table of the applications is added to the document incomplete, after each keyset page: iText renders the
+     * rows added so far, writes the pages they fill to the stream and drops them from the table. Every page, with the
+     * stacks and totals of its applications, is read in its own read-only transaction, and only rendered once that
+     * transaction ended: no connection is held while the report is written.
+     *
+     * @param company_id the id of the company.
+     * @param outputStream the stream to write the PDF to, left open.
+     * @return the number of applications written.
+     * @throws IOException if the report can't be written.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long writePortfolioReport(Long company_id, OutputStream outputStream) throws IOException {
+        log.debug("Request to write the portfolio report of Company : {}", company_id);
+        String companyName = companyRepository.findById(company_id).map(Company::getCompanyName).orElse("");
+        int year = Calendar.getInstance().get(Calendar.YEAR);
+        long[] written = new long[1];
+        Document document = new Document(PageSize.A4.rotate());
         try {
-            file = new FileOutputStream(new File("test.pdf"));
-            Document document = new Document();
-            PdfWriter.getInstance(document, file);
-            PdfWriter writer = PdfWriter.getInstance(document, file);
+            PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+            writer.setCloseStream(false);
             document.open();
-            document.add(new Paragraph("List Example")); 
-            document.add(new Paragraph("A Hello World PDF document."));
-            document.add(new Paragraph("A second paragraph."));
-            document.add(new Paragraph("A third paragraph."));
-         
+            document.add(new Paragraph("Application portfolio of " + companyName, TITLE_FONT));
+            document.add(new Paragraph("Spend and budget of " + year + ", in thousands", CELL_FONT));
+            PdfPTable table = new PdfPTable(REPORT_COLUMN_WIDTHS);
+            table.setWidthPercentage(100);
+            table.setSpacingBefore(10);
+            table.setHeaderRows(1);
+            table.setComplete(false);
+            for (String column : REPORT_COLUMNS) {
+                table.addCell(new PdfPCell(new Phrase(column, HEADER_FONT)));
+            }
+            keysetPaginationService.forEachPage(
+                (after, size) -> findPortfolioRows(company_id, after, size, year),
+                row -> (Long) row[0],
+                page -> {
+                    addPortfolioRows(table, page);
+                    written[0] += page.size();
+                    add(document, table);
+                    writer.flush();
+                });
+            table.setComplete(true);
+            add(document, table);
             document.close();
-            writer.close();
-            System.out.println("file wrote successfully");
+        } catch (DocumentException e) {
+            throw new IOException("Could not write the portfolio report of company " + company_id, e);
+        }
+        log.debug("Wrote the portfolio report of Company {}: {} applications", company_id, written[0]);
+        return written[0];
+    }
+
+    /**
+     * Read a page of the applications of the portfolio report, with their stacks and totals.
+     *
+     * @return rows of {@code [id, name, lineOfBusinessName, status, type, stacks, spent, budgeted]} of applications,
+     * the amounts in thousands.
+     */
+    private List<Object[]> findPortfolioRows(Long company_id, long after, int size, int year) {
+        List<Object[]> page = applicationRepository.findReportRowsAfter(company_id, after, PageRequest.of(0, size));
+        List<Long> applicationIds = page.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+        Map<Long, List<String>> stacks = new HashMap<>();
+        Map<Long, Object[]> totals = new HashMap<>();
+        if (!applicationIds.isEmpty()) {
+            for (Object[] row : technologyRepository.findStackNamesByApplicationIds(applicationIds)) {
+                stacks.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+            for (Object[] row : spendAggregateRepository.findTotalsByApplicationIds(applicationIds, year)) {
+                totals.put((Long) row[0], row);
+            }
+        }
+        List<Object[]> rows = new ArrayList<>(page.size());
+        for (Object[] row : page) {
+            Object[] total = totals.get(row[0]);
+            rows.add(new Object[] {row[0], row[1], row[2], row[3], row[4],
+                String.join(", ", stacks.getOrDefault(row[0], Collections.emptyList())),
+                total == null ? 0L : CurrencyUnits.toThousands(((Number) total[1]).longValue()),
+                total == null ? 0L : CurrencyUnits.toThousands(((Number) total[2]).longValue())});
+        }
+        return rows;
+    }
+
+    /**
+     * @param page rows of {@link #findPortfolioRows}.
+     */
+    private static void addPortfolioRows(PdfPTable table, List<Object[]> page) {
+        for (Object[] row : page) {
+            for (int column = 1; column < row.length; column++) {
+                addCell(table, row[column], column < 6 ? Element.ALIGN_LEFT : Element.ALIGN_RIGHT);
+            }
+        }
+    }
+
+    private static void addCell(PdfPTable table, Object value, int alignment) {
+        PdfPCell cell = new PdfPCell(new Phrase(value == null ? "" : value.toString(), CELL_FONT));
+        cell.setHorizontalAlignment(alignment);
+        table.addCell(cell);
+    }
+
+    private static void add(Document document, Element element) throws IOException {
+        try {
+            document.add(element);
+        } catch (DocumentException e) {
+            throw new IOException("Could not add to the report", e);
         }
-        catch (Exception e) {
-            System.out.println("An error occurred.");
-            e.printStackTrace();
-          }
-        
     }
 
     /**
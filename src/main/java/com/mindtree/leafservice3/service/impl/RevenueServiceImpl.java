@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.RevenueService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.Revenue;
 import com.mindtree.leafservice3.repository.RevenueRepository;
 import com.mindtree.leafservice3.repository.search.RevenueSearchRepository;
@@ -30,9 +31,14 @@ public class RevenueServiceImpl implements RevenueService {
 
     private final RevenueSearchRepository revenueSearchRepository;
 
-    public RevenueServiceImpl(RevenueRepository revenueRepository, RevenueSearchRepository revenueSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public RevenueServiceImpl(RevenueRepository revenueRepository,
+            RevenueSearchRepository revenueSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.revenueRepository = revenueRepository;
         this.revenueSearchRepository = revenueSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class RevenueServiceImpl implements RevenueService {
     public Revenue save(Revenue revenue) {
         log.debug("Request to save Revenue : {}", revenue);
         Revenue result = revenueRepository.save(revenue);
-        revenueSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class RevenueServiceImpl implements RevenueService {
     public void delete(Long id) {
         log.debug("Request to delete Revenue : {}", id);
         revenueRepository.deleteById(id);
-        revenueSearchRepository.deleteById(id);
+        searchIndexingService.delete(Revenue.class, id);
     }
 
     /**
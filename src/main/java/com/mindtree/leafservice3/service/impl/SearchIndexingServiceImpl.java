@@ -0,0 +1,411 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.service.SearchIndexingService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.searchbox.client.JestClient;
+import io.searchbox.core.Bulk;
+import io.searchbox.core.BulkResult;
+import io.searchbox.core.Delete;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service Implementation indexing the search documents in Elasticsearch bulk requests, in the background.
+ * <p>
+ * The entities indexed or deleted during a transaction are only remembered by id. Once the transaction committed
+ * they are put in a bounded queue, read by a single worker thread. The worker coalesces the requests for the same
+ * entity, reloads the entities from the database and sends one bulk request per entity type, and one for its
+ * deleted documents, when
+ * {@code batchSize} documents are waiting or the oldest one waited {@code flushIntervalMillis}. A bulk request
+ * failing is retried with an exponential backoff. When the queue is full, committing transactions wait for room
+ * and, past {@code enqueueTimeoutMillis}, index their documents themselves.
+ * <p>
+ * When asynchronous indexing is disabled, documents are indexed on the calling thread, before the commit.
+ */
+@Service
+public class SearchIndexingServiceImpl implements SearchIndexingService {
+
+    private final Logger log = LoggerFactory.getLogger(SearchIndexingServiceImpl.class);
+
+    private final ApplicationProperties.SearchIndexing properties;
+
+    private final Map<Class<?>, ElasticsearchRepository<Object, Long>> searchRepositories = new HashMap<>();
+
+    private final EntityManager entityManager;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    private final JestClient jestClient;
+
+    private final TransactionTemplate loadTransaction;
+
+    private final BlockingQueue<IndexRequest> queue;
+
+    private final Timer lag;
+
+    private final Counter indexedDocuments;
+
+    private final Counter deletedDocuments;
+
+    private final Counter retries;
+
+    private final Counter failures;
+
+    private final Counter inlineDocuments;
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    public SearchIndexingServiceImpl(ApplicationProperties applicationProperties,
+            List<ElasticsearchRepository<?, ?>> searchRepositories, EntityManager entityManager,
+            PlatformTransactionManager transactionManager, ElasticsearchOperations elasticsearchOperations,
+            JestClient jestClient, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getSearchIndexing();
+        this.entityManager = entityManager;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.jestClient = jestClient;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+        this.queue = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+        for (ElasticsearchRepository<?, ?> searchRepository : searchRepositories) {
+            register(searchRepository);
+        }
+
+        Gauge.builder("search.indexing.queue.size", queue, BlockingQueue::size)
+            .description("Search documents waiting to be indexed")
+            .register(meterRegistry);
+        Gauge.builder("search.indexing.queue.age", this, SearchIndexingServiceImpl::oldestRequestAge)
+            .description("Time the oldest search document has been waiting to be indexed")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        this.lag = Timer.builder("search.indexing.lag")
+            .description("Time from the commit of a change to the indexing of its search document")
+            .register(meterRegistry);
+        this.indexedDocuments = Counter.builder("search.indexing.documents").tag("operation", "index")
+            .description("Search documents indexed").register(meterRegistry);
+        this.deletedDocuments = Counter.builder("search.indexing.documents").tag("operation", "delete")
+            .description("Search documents deleted").register(meterRegistry);
+        this.retries = Counter.builder("search.indexing.retries")
+            .description("Bulk requests sent again after a failure").register(meterRegistry);
+        this.failures = Counter.builder("search.indexing.failures")
+            .description("Search documents given up on after the last attempt").register(meterRegistry);
+        this.inlineDocuments = Counter.builder("search.indexing.inline")
+            .description("Search documents indexed by the committing thread as the queue was full")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isAsync()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "search-indexing");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(properties.getFlushIntervalMillis() + properties.getEnqueueTimeoutMillis());
+            if (!queue.isEmpty()) {
+                log.warn("Stopped with {} search documents not indexed", queue.size());
+            }
+        }
+    }
+
+    @Override
+    public void index(Object entity) {
+        Class<?> type = Hibernate.getClass(entity);
+        ElasticsearchRepository<Object, Long> searchRepository = searchRepositories.get(type);
+        if (searchRepository == null) {
+            return;
+        }
+        if (!properties.isAsync()) {
+            searchRepository.save(entity);
+            return;
+        }
+        submit(new IndexRequest(type, id(entity), false));
+    }
+
+    @Override
+    public void indexAll(Collection<?> entities) {
+        if (properties.isAsync()) {
+            entities.forEach(this::index);
+            return;
+        }
+        Map<Class<?>, List<Object>> byType = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            byType.computeIfAbsent(Hibernate.getClass(entity), key -> new ArrayList<>()).add(entity);
+        }
+        byType.forEach((type, documents) -> {
+            ElasticsearchRepository<Object, Long> searchRepository = searchRepositories.get(type);
+            if (searchRepository != null) {
+                searchRepository.saveAll(documents);
+            }
+        });
+    }
+
+    @Override
+    public void delete(Class<?> type, Long id) {
+        ElasticsearchRepository<Object, Long> searchRepository = searchRepositories.get(type);
+        if (searchRepository == null) {
+            return;
+        }
+        if (!properties.isAsync()) {
+            searchRepository.deleteById(id);
+            return;
+        }
+        submit(new IndexRequest(type, id, true));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void register(ElasticsearchRepository<?, ?> searchRepository) {
+        for (Class<?> repositoryInterface : ClassUtils.getAllInterfacesForClassAsSet(searchRepository.getClass())) {
+            if (repositoryInterface == ElasticsearchRepository.class
+                    || !ElasticsearchRepository.class.isAssignableFrom(repositoryInterface)) {
+                continue;
+            }
+            Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(repositoryInterface, ElasticsearchRepository.class);
+            if (arguments != null && arguments[0] != null && arguments[0] != Object.class) {
+                searchRepositories.put(arguments[0], (ElasticsearchRepository<Object, Long>) searchRepository);
+                return;
+            }
+        }
+    }
+
+    private Long id(Object entity) {
+        return (Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+    }
+
+    /**
+     * Keep the request until the current transaction committed, the last request for an entity wins. A transaction
+     * started with {@code REQUIRES_NEW} keeps its own requests, queued when it commits.
+     */
+    private void submit(IndexRequest request) {
+        Map<String, IndexRequest> pending = TransactionScope.state(this, () -> {
+            Map<String, IndexRequest> transactionRequests = new LinkedHashMap<>();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    enqueue(transactionRequests.values());
+                }
+            });
+            return transactionRequests;
+        });
+        if (pending == null) {
+            enqueue(Collections.singletonList(request));
+            return;
+        }
+        pending.put(request.key(), request);
+    }
+
+    private void enqueue(Collection<IndexRequest> requests) {
+        for (IndexRequest request : requests) {
+            request.enqueuedAt = System.nanoTime();
+            boolean queued = false;
+            if (running) {
+                try {
+                    queued = queue.offer(request, properties.getEnqueueTimeoutMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (!queued) {
+                log.debug("Indexing {} {} on the committing thread", request.type.getSimpleName(), request.id);
+                inlineDocuments.increment();
+                process(Collections.singletonList(request));
+            }
+        }
+    }
+
+    private void run() {
+        long flushInterval = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMillis());
+        while (running || !queue.isEmpty()) {
+            try {
+                IndexRequest first = queue.poll(flushInterval, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                Map<String, IndexRequest> batch = new LinkedHashMap<>();
+                batch.put(first.key(), first);
+                long deadline = first.enqueuedAt + flushInterval;
+                while (batch.size() < properties.getBatchSize()) {
+                    long wait = deadline - System.nanoTime();
+                    IndexRequest next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    // a later request for the same entity replaces the queued one
+                    IndexRequest replaced = batch.remove(next.key());
+                    if (replaced != null) {
+                        next.enqueuedAt = Math.min(next.enqueuedAt, replaced.enqueuedAt);
+                    }
+                    batch.put(next.key(), next);
+                }
+                process(batch.values());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Search indexing batch failed", e);
+            }
+        }
+    }
+
+    /**
+     * Send the requests of each entity type as one bulk request, retrying it on failure.
+     */
+    private void process(Collection<IndexRequest> requests) {
+        Map<Class<?>, List<IndexRequest>> byType = new LinkedHashMap<>();
+        for (IndexRequest request : requests) {
+            byType.computeIfAbsent(request.type, key -> new ArrayList<>()).add(request);
+        }
+        byType.forEach((type, typeRequests) -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    write(type, typeRequests);
+                    break;
+                } catch (RuntimeException e) {
+                    if (attempt >= properties.getMaxAttempts() || !backOff(attempt)) {
+                        log.error("Could not index {} {} search documents", typeRequests.size(), type.getSimpleName(), e);
+                        failures.increment(typeRequests.size());
+                        break;
+                    }
+                    log.warn("Indexing {} {} search documents failed, retrying: {}", typeRequests.size(),
+                        type.getSimpleName(), e.toString());
+                    retries.increment();
+                }
+            }
+            long now = System.nanoTime();
+            for (IndexRequest request : typeRequests) {
+                lag.record(now - request.enqueuedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private void write(Class<?> type, List<IndexRequest> requests) {
+        ElasticsearchRepository<Object, Long> searchRepository = searchRepositories.get(type);
+        List<Long> indexIds = new ArrayList<>();
+        List<Long> deleteIds = new ArrayList<>();
+        for (IndexRequest request : requests) {
+            (request.delete ? deleteIds : indexIds).add(request.id);
+        }
+        loadTransaction.execute(status -> {
+            if (!indexIds.isEmpty()) {
+                List<Object> documents = new ArrayList<>(indexIds.size());
+                List<?> entities = entityManager.unwrap(Session.class).byMultipleIds(type).multiLoad(indexIds);
+                for (int i = 0; i < entities.size(); i++) {
+                    if (entities.get(i) != null) {
+                        documents.add(entities.get(i));
+                    } else {
+                        // deleted since it was saved
+                        deleteIds.add(indexIds.get(i));
+                    }
+                }
+                if (!documents.isEmpty()) {
+                    searchRepository.saveAll(documents);
+                    indexedDocuments.increment(documents.size());
+                }
+            }
+            return null;
+        });
+        if (!deleteIds.isEmpty()) {
+            delete(type, deleteIds);
+        }
+    }
+
+    private void delete(Class<?> type, List<Long> ids) {
+        ElasticsearchPersistentEntity<?> document = elasticsearchOperations.getPersistentEntityFor(type);
+        Bulk.Builder bulk = new Bulk.Builder();
+        for (Long id : ids) {
+            bulk.addAction(new Delete.Builder(String.valueOf(id))
+                .index(document.getIndexName()).type(document.getIndexType()).build());
+        }
+        BulkResult result;
+        try {
+            result = jestClient.execute(bulk.build());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!result.isSucceeded()) {
+            throw new IllegalStateException(result.getErrorMessage());
+        }
+        deletedDocuments.increment(ids.size());
+    }
+
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(properties.getRetryBackoffMillis() << (attempt - 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private double oldestRequestAge() {
+        IndexRequest oldest = queue.peek();
+        return oldest != null ? (System.nanoTime() - oldest.enqueuedAt) / 1e9 : 0;
+    }
+
+    private static class IndexRequest {
+
+        private final Class<?> type;
+
+        private final Long id;
+
+        private final boolean delete;
+
+        private volatile long enqueuedAt;
+
+        IndexRequest(Class<?> type, Long id, boolean delete) {
+            this.type = type;
+            this.id = id;
+            this.delete = delete;
+        }
+
+        String key() {
+            return type.getName() + '#' + id;
+        }
+    }
+}
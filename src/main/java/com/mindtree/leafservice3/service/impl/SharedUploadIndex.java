@@ -0,0 +1,58 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.domain.Employee;
+import com.mindtree.leafservice3.domain.TechnologyStack;
+import com.mindtree.leafservice3.repository.EmployeeRepository;
+import com.mindtree.leafservice3.repository.TechnologyStackRepository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Natural-key index of the rows shared by every company: employees and technology stacks.
+ * <p>
+ * Rows are read by key the first time the upload needs them, and created in the transaction of the caller
+ * when missing. The index can be read by the concurrent partitions of a parallel upload: their first pass
+ * resolves every employee and stack of the sheet and commits them before the partitions start, so the
+ * partitions only find rows that are already in the index.
+ */
+class SharedUploadIndex {
+
+    private final EmployeeRepository employeeRepository;
+    private final TechnologyStackRepository technologyStackRepository;
+
+    private final ConcurrentMap<String, Employee> employees = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TechnologyStack> technologyStacks = new ConcurrentHashMap<>();
+
+    SharedUploadIndex(EmployeeRepository employeeRepository,
+            TechnologyStackRepository technologyStackRepository) {
+        this.employeeRepository = employeeRepository;
+        this.technologyStackRepository = technologyStackRepository;
+    }
+
+    Employee employee(String employee_id, String employee_name) {
+        return employees.computeIfAbsent(String.valueOf(employee_id), key -> employeeRepository
+            .findFirstByEmployeeId(employee_id)
+            .orElseGet(() -> {
+                Employee newEmployeeData = new Employee();
+                newEmployeeData.setEmployeeId(employee_id);
+                newEmployeeData.setName(employee_name);
+                return employeeRepository.save(newEmployeeData);
+            }));
+    }
+
+    TechnologyStack technologyStack(String name, String techType) {
+        return technologyStacks.computeIfAbsent(technologyStackKey(name, techType), key -> technologyStackRepository
+            .findFirstByNameIgnoreCaseAndTypeIgnoreCase(name, techType)
+            .orElseGet(() -> {
+                TechnologyStack newTechnologyStackdata = new TechnologyStack();
+                newTechnologyStackdata.setName(name);
+                newTechnologyStackdata.setType(techType);
+                return technologyStackRepository.save(newTechnologyStackdata);
+            }));
+    }
+
+    private static String technologyStackKey(String name, String type) {
+        return String.valueOf(name).toLowerCase() + ":" + String.valueOf(type).toLowerCase();
+    }
+}
@@ -0,0 +1,126 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.domain.SpendAggregate;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationStatus;
+import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
+import com.mindtree.leafservice3.repository.SpendAggregateRepository;
+import com.mindtree.leafservice3.service.SpendAggregateService;
+import com.mindtree.leafservice3.service.util.CurrencyUnits;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Service Implementation for maintaining the spend aggregation cube.
+ * <p>
+ * A spend of type {@code INFRA} or {@code LICENSE} points at a Technology, any other at an Expenditure. The spends
+ * of a technology only count when their type matches its stack, {@code INFRA} for a cloud stack and
+ * {@code LICENSE} for any other.
+ * <p>
+ * The applications are locked before their cells are recomputed, so that two transactions changing the rows of the
+ * same application refresh its cells one after the other, the second one reading the rows committed by the first.
+ */
+@Service
+@Transactional
+public class SpendAggregateServiceImpl implements SpendAggregateService {
+
+    static final List<String> TECHNOLOGY_SPEND_TYPES = Arrays.asList("INFRA", "LICENSE");
+
+    /**
+     * Number of applications refreshed per query, keeps the {@code in} lists short.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(SpendAggregateServiceImpl.class);
+
+    private final SpendAggregateRepository spendAggregateRepository;
+
+    private final EntityManager entityManager;
+
+    public SpendAggregateServiceImpl(SpendAggregateRepository spendAggregateRepository, EntityManager entityManager) {
+        this.spendAggregateRepository = spendAggregateRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void refresh(Collection<Long> applicationIds) {
+        // sorted, the chunks lock the applications in the same order in every transaction
+        List<Long> ids = new ArrayList<>(applicationIds.stream().filter(Objects::nonNull)
+            .collect(Collectors.toCollection(TreeSet::new)));
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            refreshChunk(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        log.debug("Request to rebuild the spend aggregation cube");
+        spendAggregateRepository.deleteAllInBatch();
+        List<Long> ids = spendAggregateRepository.findAllApplicationIds();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            refreshChunk(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private void refreshChunk(List<Long> applicationIds) {
+        log.debug("Request to refresh the spend aggregates of {} applications", applicationIds.size());
+        spendAggregateRepository.lockApplications(applicationIds);
+        spendAggregateRepository.deleteByApplicationIdIn(applicationIds);
+
+        Map<Long, Object[]> applications = new HashMap<>();
+        for (Object[] row : spendAggregateRepository.findApplicationDimensions(applicationIds)) {
+            applications.put((Long) row[0], row);
+        }
+        Map<List<Object>, SpendAggregate> cells = new HashMap<>();
+        List<Object[]> spends = new ArrayList<>(spendAggregateRepository.sumTechnologySpends(applicationIds));
+        spends.addAll(spendAggregateRepository.sumExpenditureSpends(applicationIds, TECHNOLOGY_SPEND_TYPES));
+        for (Object[] row : spends) {
+            SpendAggregate cell = cell(cells, applications.get(row[0]), (Integer) row[1], (String) row[2]);
+            if (cell != null) {
+                cell.setSpent(Math.addExact(cell.getSpent(),
+                    CurrencyUnits.toUnits(((Number) row[4]).longValue(), (CurrencySuccessor) row[3])));
+            }
+        }
+        for (Object[] row : spendAggregateRepository.sumBudgets(applicationIds)) {
+            SpendAggregate cell = cell(cells, applications.get(row[0]), (Integer) row[1], null);
+            if (cell != null) {
+                cell.setBudgeted(Math.addExact(cell.getBudgeted(),
+                    CurrencyUnits.toUnits(((Number) row[3]).longValue(), (CurrencySuccessor) row[2])));
+            }
+        }
+        spendAggregateRepository.saveAll(cells.values());
+    }
+
+    /**
+     * @param application the {@code [applicationId, companyId, lineOfBusinessId, status]} of the application, or
+     *                    {@code null} when it no longer belongs to a company.
+     */
+    private static SpendAggregate cell(Map<List<Object>, SpendAggregate> cells, Object[] application, Integer year,
+            String expenditureType) {
+        if (application == null || year == null) {
+            return null;
+        }
+        return cells.computeIfAbsent(Arrays.asList(application[0], year, expenditureType), key -> new SpendAggregate()
+            .applicationId((Long) application[0])
+            .companyId((Long) application[1])
+            .lineOfBusinessId((Long) application[2])
+            .applicationStatus((ApplicationStatus) application[3])
+            .year(year)
+            .expenditureType(expenditureType));
+    }
+}
@@ -0,0 +1,223 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.Budget;
+import com.mindtree.leafservice3.domain.Expenditure;
+import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.OraganizationalUnit;
+import com.mindtree.leafservice3.domain.Spend;
+import com.mindtree.leafservice3.domain.Technology;
+import com.mindtree.leafservice3.domain.TechnologyStack;
+import com.mindtree.leafservice3.repository.SpendAggregateRepository;
+import com.mindtree.leafservice3.service.SpendAggregateService;
+
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps the spend aggregation cube in step with the rows it is computed from.
+ * <p>
+ * Every insert, update and delete of a Spend, Budget, Technology, Expenditure or Application flushed by Hibernate
+ * marks the applications it belongs to, before and after the change. So does a line of business or organizational
+ * unit moved to another parent, which may move its applications to another company, and a technology stack changing
+ * type, which decides the spends its technologies count. Once the transaction flushed for its commit, the marked
+ * applications are refreshed by the {@link SpendAggregateService}, in the same transaction.
+ */
+@Component
+class SpendAggregateTracker extends EntityEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Logger log = LoggerFactory.getLogger(SpendAggregateTracker.class);
+
+    private final transient SpendAggregateService spendAggregateService;
+
+    private final transient SpendAggregateRepository spendAggregateRepository;
+
+    private final transient TransactionTemplate transactionTemplate;
+
+    SpendAggregateTracker(EntityManagerFactory entityManagerFactory, SpendAggregateService spendAggregateService, SpendAggregateRepository spendAggregateRepository,
+            PlatformTransactionManager transactionManager) {
+        super(entityManagerFactory, EventType.POST_INSERT, EventType.POST_UPDATE, EventType.POST_DELETE);
+        this.spendAggregateService = spendAggregateService;
+        this.spendAggregateRepository = spendAggregateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Fill the cube of a database it was added to.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void initialize() {
+        transactionTemplate.execute(status -> {
+            if (spendAggregateRepository.count() == 0) {
+                log.info("Building the spend aggregation cube");
+                spendAggregateService.rebuild();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getSession(), event.getEntity(), event.getPersister(), null);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getSession(), event.getEntity(), event.getPersister(), event.getOldState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getSession(), event.getEntity(), event.getPersister(), null);
+    }
+
+    private void changed(SessionImplementor session, Object entity, EntityPersister persister, Object[] oldState) {
+        if (entity instanceof Spend) {
+            Spend spend = (Spend) entity;
+            Changes changes = changes(session);
+            changes.spend(spend.getExpenditureType(), spend.getSpendId());
+            if (oldState != null) {
+                changes.spend((String) oldState(persister, oldState, "expenditureType"),
+                    (Long) oldState(persister, oldState, "spendId"));
+            }
+        } else if (entity instanceof Application) {
+            changes(session).applicationIds.add(((Application) entity).getId());
+        } else if (entity instanceof Budget) {
+            changed(session, ((Budget) entity).getApplication(), persister, oldState);
+        } else if (entity instanceof Technology) {
+            changed(session, ((Technology) entity).getApplication(), persister, oldState);
+        } else if (entity instanceof Expenditure) {
+            changed(session, ((Expenditure) entity).getApplication(), persister, oldState);
+        } else if (entity instanceof LineOfBusiness) {
+            if (isDirty(session, entity, persister, oldState, "oraganizationalUnit")) {
+                changes(session).lineOfBusinessIds.add(((LineOfBusiness) entity).getId());
+            }
+        } else if (entity instanceof OraganizationalUnit) {
+            if (isDirty(session, entity, persister, oldState, "company")) {
+                changes(session).oraganizationalUnitIds.add(((OraganizationalUnit) entity).getId());
+            }
+        } else if (entity instanceof TechnologyStack) {
+            if (isDirty(session, entity, persister, oldState, "type")) {
+                changes(session).technologyStackIds.add(((TechnologyStack) entity).getId());
+            }
+        }
+    }
+
+    private void changed(SessionImplementor session, Application application, EntityPersister persister, Object[] oldState) {
+        Changes changes = changes(session);
+        if (application != null) {
+            changes.applicationIds.add(application.getId());
+        }
+        Application oldApplication = oldState != null ? (Application) oldState(persister, oldState, "application") : null;
+        if (oldApplication != null) {
+            changes.applicationIds.add(oldApplication.getId());
+        }
+    }
+
+    private static Object oldState(EntityPersister persister, Object[] oldState, String property) {
+        return oldState[persister.getEntityMetamodel().getPropertyIndex(property)];
+    }
+
+    /**
+     * @return whether an update changed a property, entities being compared by id. Inserts and deletes have no
+     *         old state and are left to the rows below them.
+     */
+    private static boolean isDirty(SessionImplementor session, Object entity, EntityPersister persister, Object[] oldState,
+            String property) {
+        if (oldState == null) {
+            return false;
+        }
+        int index = persister.getEntityMetamodel().getPropertyIndex(property);
+        return persister.getPropertyTypes()[index].isDirty(oldState[index], persister.getPropertyValue(entity, index), session);
+    }
+
+    /**
+     * @return the changes of the current transaction, registering the refresh on the first one.
+     */
+    private Changes changes(SessionImplementor session) {
+        Changes changes = TransactionScope.state(this, () -> {
+            Changes pending = new Changes();
+            // runs after the flush of the commit, which may be the one raising the events
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing ->
+                refresh(completing, pending));
+            return pending;
+        });
+        if (changes == null) {
+            log.warn("Spend data changed outside of a transaction, the spend aggregation cube is not refreshed");
+            changes = new Changes();
+        }
+        return changes;
+    }
+
+    private void refresh(SessionImplementor session, Changes changes) {
+        Set<Long> applicationIds = new HashSet<>(changes.applicationIds);
+        if (!changes.technologyIds.isEmpty()) {
+            applicationIds.addAll(spendAggregateRepository.findApplicationIdsOfTechnologies(changes.technologyIds));
+        }
+        if (!changes.expenditureIds.isEmpty()) {
+            applicationIds.addAll(spendAggregateRepository.findApplicationIdsOfExpenditures(changes.expenditureIds));
+        }
+        if (!changes.technologyStackIds.isEmpty()) {
+            applicationIds.addAll(spendAggregateRepository.findApplicationIdsOfTechnologyStacks(changes.technologyStackIds));
+        }
+        if (!changes.lineOfBusinessIds.isEmpty()) {
+            applicationIds.addAll(spendAggregateRepository.findApplicationIdsOfLineOfBusinesses(changes.lineOfBusinessIds));
+        }
+        if (!changes.oraganizationalUnitIds.isEmpty()) {
+            applicationIds.addAll(spendAggregateRepository.findApplicationIdsOfOraganizationalUnits(changes.oraganizationalUnitIds));
+        }
+        spendAggregateService.refresh(applicationIds);
+        session.flush();
+    }
+
+    /**
+     * The rows changed by a transaction, by the keys leading to their applications.
+     */
+    private static class Changes {
+
+        private final Set<Long> applicationIds = new HashSet<>();
+
+        private final Set<Long> technologyIds = new HashSet<>();
+
+        private final Set<Long> expenditureIds = new HashSet<>();
+
+        private final Set<Long> technologyStackIds = new HashSet<>();
+
+        private final Set<Long> lineOfBusinessIds = new HashSet<>();
+
+        private final Set<Long> oraganizationalUnitIds = new HashSet<>();
+
+        void spend(String expenditureType, Long spendId) {
+            if (spendId == null) {
+                return;
+            }
+            if (SpendAggregateServiceImpl.TECHNOLOGY_SPEND_TYPES.contains(expenditureType)) {
+                technologyIds.add(spendId);
+            } else {
+                expenditureIds.add(spendId);
+            }
+        }
+
+    }
+}
@@ -1,22 +1,22 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.SpendService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.service.dto.ApplicationData;
 import com.mindtree.leafservice3.domain.Application;
-import com.mindtree.leafservice3.domain.Budget;
 import com.mindtree.leafservice3.domain.Expenditure;
 import com.mindtree.leafservice3.domain.LineOfBusiness;
 import com.mindtree.leafservice3.domain.Spend;
 import com.mindtree.leafservice3.domain.Technology;
 import com.mindtree.leafservice3.domain.enumeration.ApplicationStatus;
-import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
 import com.mindtree.leafservice3.repository.ApplicationRepository;
-import com.mindtree.leafservice3.repository.BudgetRepository;
 import com.mindtree.leafservice3.repository.ExpenditureRepository;
 import com.mindtree.leafservice3.repository.LineOfBusinessRepository;
+import com.mindtree.leafservice3.repository.SpendAggregateRepository;
 import com.mindtree.leafservice3.repository.SpendRepository;
 import com.mindtree.leafservice3.repository.TechnologyRepository;
 import com.mindtree.leafservice3.repository.search.SpendSearchRepository;
+import com.mindtree.leafservice3.service.util.CurrencyUnits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +24,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
@@ -41,12 +42,19 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 @Transactional
 public class SpendServiceImpl implements SpendService {
 
+    /**
+     * Number of years of the spend dashboard, ending with the current one.
+     */
+    private static final int YEARS = 5;
+
     private final Logger log = LoggerFactory.getLogger(SpendServiceImpl.class);
 
     private final SpendRepository spendRepository;
 
     private final SpendSearchRepository spendSearchRepository;
 
+    private final SearchIndexingService searchIndexingService;
+
     private final ApplicationRepository applicationRepository;
 
     private final TechnologyRepository technologyRepository;
@@ -55,21 +63,21 @@ public class SpendServiceImpl implements SpendService {
 
     private final LineOfBusinessRepository lineOfBusinessRepository;
 
-    private final BudgetRepository budgetRepository;
-
-    private int positioin;
+    private final SpendAggregateRepository spendAggregateRepository;
 
     public SpendServiceImpl(SpendRepository spendRepository, SpendSearchRepository spendSearchRepository,
             ApplicationRepository applicationRepository, TechnologyRepository technologyRepository,
             ExpenditureRepository expenditureRepository, LineOfBusinessRepository lineOfBusinessRepository,
-            BudgetRepository budgetRepository) {
+            SpendAggregateRepository spendAggregateRepository,
+            SearchIndexingService searchIndexingService) {
         this.spendRepository = spendRepository;
         this.spendSearchRepository = spendSearchRepository;
         this.applicationRepository = applicationRepository;
         this.technologyRepository = technologyRepository;
         this.expenditureRepository = expenditureRepository;
         this.lineOfBusinessRepository = lineOfBusinessRepository;
-        this.budgetRepository = budgetRepository;
+        this.spendAggregateRepository = spendAggregateRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -82,7 +90,7 @@ public class SpendServiceImpl implements SpendService {
     public Spend save(Spend spend) {
         log.debug("Request to save Spend : {}", spend);
         Spend result = spendRepository.save(spend);
-        spendSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -120,7 +128,7 @@ public class SpendServiceImpl implements SpendService {
     public void delete(Long id) {
         log.debug("Request to delete Spend : {}", id);
         spendRepository.deleteById(id);
-        spendSearchRepository.deleteById(id);
+        searchIndexingService.delete(Spend.class, id);
     }
 
     /**
@@ -138,54 +146,17 @@ public class SpendServiceImpl implements SpendService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Spend> getSpendData(Long company_id) {
-        log.debug("Request to get all spend data based on company id");
-        List<Spend> spendData = spendRepository.findAll();
-        List<Technology> technologies = technologyRepository.findAll();
-        List<Expenditure> expenditures = expenditureRepository.findAll();
-        List<Spend> spends = new ArrayList<>();
-
-        List<Technology> technologyData = technologies.stream()
-                                            .filter(value -> value.getApplication().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == company_id)
-                                            .collect(Collectors.toList());
-
-        List<Expenditure> expenditureData = expenditures.stream()
-                                            .filter(value -> value.getApplication().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == company_id)
-                                            .collect(Collectors.toList());
-
-        for(Spend spend : spendData) {
-                if(spend.getExpenditureType().equals("INFRA") || spend.getExpenditureType().equals("LICENSE")) {
-                    for(Technology technology : technologyData) {
-                        if(spend.getSpendId() == (technology.getId())) {
-                            spends.add(spend);
-                        }
-                    }
-                }
-                else {
-                    for(Expenditure expenditure : expenditureData) {
-                        if(spend.getSpendId() == (expenditure.getId())) {
-                            spends.add(spend);
-                        }
-                    }
-                }  
-            }
-        return spends;
+        log.debug("Request to get all spend data based on company id : {}", company_id);
+        return spendRepository.findAllByTargetCompanyId(company_id, SpendAggregateServiceImpl.TECHNOLOGY_SPEND_TYPES);
     }
 
-
     @Override
     public List<ApplicationData> getApplicationData(Long company_id) {
         List<ApplicationData> applicationData = new ArrayList<>();
-        List<Technology> technologies = technologyRepository.findAll();
-        List<Expenditure> expenditures = expenditureRepository.findAll();
-
-        List<Technology> technologyData = technologies.stream()
-                                            .filter(value -> value.getApplication().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == company_id)
-                                            .collect(Collectors.toList());
-
-        List<Expenditure> expenditureData = expenditures.stream()
-                                            .filter(value -> value.getApplication().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == company_id)
-                                            .collect(Collectors.toList());
+        List<Technology> technologyData = technologyRepository.findAllByCompanyId(company_id);
+        List<Expenditure> expenditureData = expenditureRepository.findAllByCompanyId(company_id);
         
         for(Technology technology : technologyData) {
             if(technology.getTechnologyStack().getType().equals("CLOUD")) {
@@ -215,178 +186,69 @@ public class SpendServiceImpl implements SpendService {
         return applicationData;
     }
 
+    /**
+     * Get the spend dashboard of a company, read from the spend aggregation cube.
+     * <p>
+     * Amounts are in thousands, normalized from the successor they were entered with.
+     *
+     * @param company_id the id of the company.
+     * @return the last five years, the spend of running and in progress applications for each of them, the names
+     *         of the lines of business and the spend and budget of each of them this year.
+     */
     @Override
+    @Transactional(readOnly = true)
     public List<Object> findYearlySpendDetails(Long company_id) {
-        // check();
-        List<Object> result = new ArrayList<>();
-        List<Integer> runningAppResult = new ArrayList<>();
-        List<Integer> growingAppResult = new ArrayList<>();
-        List<Integer> years = new ArrayList<>();
+        log.debug("Request to get the yearly spend details of Company : {}", company_id);
         int currentYear = Calendar.getInstance().get(Calendar.YEAR);
-        List<Spend> spends = this.getSpendData(company_id);
-
-        List<Technology> technologies = technologyRepository.findAll();
-        List<Expenditure> expendictures = expenditureRepository.findAll();
-        List<LineOfBusiness> lineOfBusinesses = lineOfBusinessRepository.findAll();
-        List<Budget> budgets = budgetRepository.findAll();
-
-        /// Filtering based on company_id
-
-        List<Technology> technologyData = technologies.stream()
-                                            .filter(value-> value.getApplication().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == company_id)
-                                            .collect(Collectors.toList());
-
-        List<Expenditure> expenditureData = expendictures.stream()
-                                                .filter(value-> value.getApplication().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == company_id)
-                                                .collect(Collectors.toList());
-
-        List<Budget> budgetData = budgets.stream()
-                                    .filter(value-> value.getApplication().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == company_id)
-                                    .collect(Collectors.toList());
+        List<Integer> years = new ArrayList<>();
+        long[] runningTotals = new long[YEARS];
+        long[] growingTotals = new long[YEARS];
+        for (int count = 0; count < YEARS; count++) {
+            years.add(currentYear - count);
+        }
 
-        List<LineOfBusiness> lineOfBusinessData = lineOfBusinesses.stream()
-                                                        .filter(value-> value.getOraganizationalUnit().getCompany().getId() == company_id)
-                                                        .collect(Collectors.toList());
+        List<LineOfBusiness> lineOfBusinessData = lineOfBusinessRepository.findAllByCompanyId(company_id);
         List<String> lobNames = new ArrayList<>();
-        List<Integer> currentYearBudget = new ArrayList<>();
-        List<Integer> currentYearSpend = new ArrayList<>();
-
+        Map<Long, Integer> lobPositions = new HashMap<>();
         for (LineOfBusiness linBusiness : lineOfBusinessData) {
+            lobPositions.put(linBusiness.getId(), lobNames.size());
             lobNames.add(linBusiness.getName());
-            currentYearSpend.add(0);
-            currentYearBudget.add(0);
         }
-        int count = 0;
-        for (int year = currentYear; count < 5; year--, count++) {
-            years.add(year);
-            int runningTotal = 0;
-            int growingTotal = 0;
-            for (Spend spend : spends) {
-                for (Technology technology : technologyData) {
-                    if ((spend.getSpendId() == (technology.getId()) && year == spend.getDateOfUpdate().getYear())
-                            && ((technology.getTechnologyStack().getType().equals("CLOUD")
-                                    && spend.getExpenditureType().equals("INFRA"))
-                                    || (technology.getTechnologyStack().getType() != "CLOUD"
-                                            && spend.getExpenditureType().equals("LICENSE")))) {
-                        if (technology.getApplication().getStatus() == ApplicationStatus.Running) {
-                            if(spend.getSuccessor() == CurrencySuccessor.K) {
-                                runningTotal = runningTotal + spend.getAmount();
-                            } else if(spend.getSuccessor() == CurrencySuccessor.M) {
-                                runningTotal = runningTotal + spend.getAmount() * 1000;
-                            } else {
-                                runningTotal = runningTotal + spend.getAmount();
-                            } 
-                        }
-                        if (technology.getApplication().getStatus() == ApplicationStatus.InProgress) {
-                            if(spend.getSuccessor() == CurrencySuccessor.K) {
-                                growingTotal = growingTotal + spend.getAmount();
-                            } else if(spend.getSuccessor() == CurrencySuccessor.M) {
-                                growingTotal = growingTotal + spend.getAmount() * 1000;
-                            } else {
-                                growingTotal = growingTotal + spend.getAmount();
-                            } 
-                        }
-                        if (currentYear == year) {
-                            positioin = 0;
-                            lobNames.forEach(el -> {
-                                if (el.equals(technology.getApplication().getLineOfBusiness().getName())) {
-                                    if(spend.getSuccessor() == CurrencySuccessor.K) {
-                                        currentYearSpend.set(positioin,
-                                        currentYearSpend.get(positioin) + (spend.getAmount()));
-                                    } else if(spend.getSuccessor() == CurrencySuccessor.M) {
-                                        currentYearSpend.set(positioin,
-                                        currentYearSpend.get(positioin) + (spend.getAmount() * 1000));
-                                    } else {
-                                        currentYearSpend.set(positioin,
-                                        currentYearSpend.get(positioin) + (spend.getAmount()));
-                                    } 
-                                    currentYearSpend.set(positioin,
-                                            currentYearSpend.get(positioin) + spend.getAmount());
-                                }
-                                positioin++;
-                            });
-                            // currentYearSpend.forEach((lobName, totalSpend) -> {
-                            // if
-                            // (lobName.equals(technology.getApplication().getLineOfBusiness().getName())) {
-                            // totalSpend = totalSpend + spend.getAmount();
-                            // currentYearSpend.put(lobName, totalSpend);
-                            // }
-                            // });
-                        }
-                    }
-                }
-                for (Expenditure expenditure : expenditureData) {
-                    if (spend.getSpendId() == (expenditure.getId()) && year == spend.getDateOfUpdate().getYear()
-                            && (spend.getExpenditureType() != "LICENSE"
-                                    || spend.getExpenditureType() != "INFRA")) {
-                        if (expenditure.getApplication().getStatus() == ApplicationStatus.Running) {
-                            if(spend.getSuccessor() == CurrencySuccessor.K) {
-                                runningTotal = runningTotal + spend.getAmount();
-                            } else if(spend.getSuccessor() == CurrencySuccessor.M) {
-                                runningTotal = runningTotal + spend.getAmount() * 1000;
-                            } else {
-                                runningTotal = runningTotal + spend.getAmount();
-                            } 
-                        }
-                        if (expenditure.getApplication().getStatus() == ApplicationStatus.InProgress) {
-                            if(spend.getSuccessor() == CurrencySuccessor.K) {
-                                growingTotal = growingTotal + spend.getAmount();
-                            } else if(spend.getSuccessor() == CurrencySuccessor.M) {
-                                growingTotal = growingTotal + spend.getAmount() * 1000;
-                            } else {
-                                growingTotal = growingTotal + spend.getAmount();
-                            } 
-                        }
-                        if (currentYear == year) {
-                            positioin = 0;
-                            for (String lob : lobNames) {
-                                if (lob.equals(expenditure.getApplication().getLineOfBusiness().getName())) {
-                                    if(spend.getSuccessor() == CurrencySuccessor.K) {
-                                        currentYearSpend.set(positioin,
-                                        currentYearSpend.get(positioin) + (spend.getAmount()));
-                                    } else if(spend.getSuccessor() == CurrencySuccessor.M) {
-                                        currentYearSpend.set(positioin,
-                                        currentYearSpend.get(positioin) + (spend.getAmount() * 1000));
-                                    } else {
-                                        currentYearSpend.set(positioin,
-                                        currentYearSpend.get(positioin) + (spend.getAmount()));
-                                    } 
-                                }
-                                positioin++;
-                            }
-                        }
-                    }
-                }
+        long[] currentYearSpends = new long[lobNames.size()];
+        long[] currentYearBudgets = new long[lobNames.size()];
+
+        for (Object[] total : spendAggregateRepository.findTotalsByCompanyId(company_id, currentYear - YEARS + 1)) {
+            int year = (Integer) total[0];
+            Integer lobPosition = lobPositions.get((Long) total[1]);
+            ApplicationStatus status = (ApplicationStatus) total[2];
+            long spent = ((Number) total[3]).longValue();
+            long budgeted = ((Number) total[4]).longValue();
+            if (year > currentYear) {
+                continue;
+            }
+            if (status == ApplicationStatus.Running) {
+                CurrencyUnits.add(runningTotals, currentYear - year, spent);
+            } else if (status == ApplicationStatus.InProgress) {
+                CurrencyUnits.add(growingTotals, currentYear - year, spent);
+            }
+            if (year == currentYear && lobPosition != null) {
+                CurrencyUnits.add(currentYearSpends, lobPosition, spent);
+                CurrencyUnits.add(currentYearBudgets, lobPosition, budgeted);
             }
-            runningAppResult.add(runningTotal);
-            growingAppResult.add(growingTotal);
         }
-        positioin = 0;
-        lobNames.forEach(lob -> {
-            for (Budget budget : budgetData) {
-                if (budget.getYear() == currentYear
-                        && lob.equals(budget.getApplication().getLineOfBusiness().getName())) {
-                            if(budget.getSuccessor() == CurrencySuccessor.K) {
-                                currentYearBudget.set(positioin,
-                            (int) ((int) currentYearBudget.get(positioin) + budget.getAmount()));
-                            } else if(budget.getSuccessor() == CurrencySuccessor.M) {
-                                currentYearBudget.set(positioin,
-                            (int) ((int) currentYearBudget.get(positioin) + budget.getAmount() * 1000));
-                            } else {
-                                currentYearBudget.set(positioin,
-                            (int) ((int) currentYearBudget.get(positioin) + budget.getAmount()));
-                            }     
-                }
-            }           
-            positioin++;
-        });
+
+        List<Object> result = new ArrayList<>();
         result.add(years);
-        result.add(runningAppResult);
-        result.add(growingAppResult);
+        result.add(toThousands(runningTotals));
+        result.add(toThousands(growingTotals));
         result.add(lobNames);
-        result.add(currentYearSpend);
-        result.add(currentYearBudget);
+        result.add(toThousands(currentYearSpends));
+        result.add(toThousands(currentYearBudgets));
         return result;
     }
 
+    private static List<Long> toThousands(long[] units) {
+        return Arrays.stream(CurrencyUnits.toThousands(units)).boxed().collect(Collectors.toList());
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.TaskService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.Task;
 import com.mindtree.leafservice3.repository.TaskRepository;
 import com.mindtree.leafservice3.repository.search.TaskSearchRepository;
@@ -30,9 +31,14 @@ public class TaskServiceImpl implements TaskService {
 
     private final TaskSearchRepository taskSearchRepository;
 
-    public TaskServiceImpl(TaskRepository taskRepository, TaskSearchRepository taskSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public TaskServiceImpl(TaskRepository taskRepository,
+            TaskSearchRepository taskSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.taskRepository = taskRepository;
         this.taskSearchRepository = taskSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class TaskServiceImpl implements TaskService {
     public Task save(Task task) {
         log.debug("Request to save Task : {}", task);
         Task result = taskRepository.save(task);
-        taskSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class TaskServiceImpl implements TaskService {
     public void delete(Long id) {
         log.debug("Request to delete Task : {}", id);
         taskRepository.deleteById(id);
-        taskSearchRepository.deleteById(id);
+        searchIndexingService.delete(Task.class, id);
     }
 
     /**
@@ -1,10 +1,9 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.TechnologyService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 
-import com.mindtree.leafservice3.repository.TechnologyStackRepository;
 import com.mindtree.leafservice3.service.dto.TechnologyAppCount;
-import com.mindtree.leafservice3.domain.TechnologyStack;
 import com.mindtree.leafservice3.domain.Technology;
 import com.mindtree.leafservice3.repository.LabelRepository;
 import com.mindtree.leafservice3.repository.TechnologyRepository;
@@ -33,18 +32,20 @@ public class TechnologyServiceImpl implements TechnologyService {
     private final Logger log = LoggerFactory.getLogger(TechnologyServiceImpl.class);
 
     private final TechnologyRepository technologyRepository;
-    private final TechnologyStackRepository technologyStackRepository;
     private final LabelRepository labelRepository;
 
     private final TechnologySearchRepository technologySearchRepository;
 
+    private final SearchIndexingService searchIndexingService;
+
     public TechnologyServiceImpl(TechnologyRepository technologyRepository, TechnologySearchRepository technologySearchRepository,
-    		TechnologyStackRepository technologyStackRepository, LabelRepository labelRepository) {
+    		LabelRepository labelRepository,
+    		SearchIndexingService searchIndexingService) {
         this.technologyRepository = technologyRepository;
         this.technologySearchRepository = technologySearchRepository;
-        this.technologyStackRepository = technologyStackRepository;
         this.labelRepository = labelRepository;
         
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -57,7 +58,7 @@ public class TechnologyServiceImpl implements TechnologyService {
     public Technology save(Technology technology) {
         log.debug("Request to save Technology : {}", technology);
         Technology result = technologyRepository.save(technology);
-        technologySearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -96,7 +97,7 @@ public class TechnologyServiceImpl implements TechnologyService {
     public void delete(Long id) {
         log.debug("Request to delete Technology : {}", id);
         technologyRepository.deleteById(id);
-        technologySearchRepository.deleteById(id);
+        searchIndexingService.delete(Technology.class, id);
     }
 
     /**
@@ -115,27 +116,18 @@ public class TechnologyServiceImpl implements TechnologyService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<TechnologyAppCount> technologyCount(Long company_id) {
-       List<Technology> technology = technologyRepository.findAll();
-       List<TechnologyStack> technologyStack = technologyStackRepository.findAll();
-       List<TechnologyAppCount> technologyData = new ArrayList<>();
-       for(TechnologyStack techStack : technologyStack) {
-    	   TechnologyAppCount technologyAppCount = new TechnologyAppCount();
-    	   int count = 0;
-    	   for(Technology tech : technology) {
-    		   if(tech.getTechnologyStack().getId() == techStack.getId() && tech.getApplication().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == company_id) {
-    			  count = count + 1;
-    		   }
-    	   }
-    	   if(count > 0) {
-    		   technologyAppCount.count = count;
-    		   technologyAppCount.name = techStack.getName();
-    		   technologyAppCount.type = techStack.getType().toString();
-    		   technologyData.add(technologyAppCount);
-    	   }
-    	   count = 0;
-       }
-       return technologyData;
+        log.debug("Request to count the applications per technology stack of Company : {}", company_id);
+        List<TechnologyAppCount> technologyData = new ArrayList<>();
+        for (Object[] row : technologyRepository.countApplicationsPerTechnologyStack(company_id)) {
+            TechnologyAppCount technologyAppCount = new TechnologyAppCount();
+            technologyAppCount.name = (String) row[0];
+            technologyAppCount.type = (String) row[1];
+            technologyAppCount.count = ((Number) row[2]).intValue();
+            technologyData.add(technologyAppCount);
+        }
+        return technologyData;
     }
     
 }
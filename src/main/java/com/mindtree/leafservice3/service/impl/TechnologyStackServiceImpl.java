@@ -1,6 +1,7 @@
 package com.mindtree.leafservice3.service.impl;
 
 import com.mindtree.leafservice3.service.TechnologyStackService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.TechnologyStack;
 import com.mindtree.leafservice3.repository.TechnologyStackRepository;
 import com.mindtree.leafservice3.repository.search.TechnologyStackSearchRepository;
@@ -30,9 +31,14 @@ public class TechnologyStackServiceImpl implements TechnologyStackService {
 
     private final TechnologyStackSearchRepository technologyStackSearchRepository;
 
-    public TechnologyStackServiceImpl(TechnologyStackRepository technologyStackRepository, TechnologyStackSearchRepository technologyStackSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public TechnologyStackServiceImpl(TechnologyStackRepository technologyStackRepository,
+            TechnologyStackSearchRepository technologyStackSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.technologyStackRepository = technologyStackRepository;
         this.technologyStackSearchRepository = technologyStackSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -45,7 +51,7 @@ public class TechnologyStackServiceImpl implements TechnologyStackService {
     public TechnologyStack save(TechnologyStack technologyStack) {
         log.debug("Request to save TechnologyStack : {}", technologyStack);
         TechnologyStack result = technologyStackRepository.save(technologyStack);
-        technologyStackSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -84,7 +90,7 @@ public class TechnologyStackServiceImpl implements TechnologyStackService {
     public void delete(Long id) {
         log.debug("Request to delete TechnologyStack : {}", id);
         technologyStackRepository.deleteById(id);
-        technologyStackSearchRepository.deleteById(id);
+        searchIndexingService.delete(TechnologyStack.class, id);
     }
 
     /**
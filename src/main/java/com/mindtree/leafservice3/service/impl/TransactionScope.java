@@ -0,0 +1,55 @@
+package com.mindtree.leafservice3.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * State a component keeps for the duration of the current transaction.
+ * <p>
+ * The state is held by a {@link TransactionSynchronization} of the transaction. Unlike a resource bound with
+ * {@link TransactionSynchronizationManager#bindResource}, which a {@code REQUIRES_NEW} transaction still sees while
+ * the outer one is suspended, the synchronizations of a transaction are suspended with it: each transaction gets
+ * its own state, dropped once it completed.
+ */
+final class TransactionScope {
+
+    private TransactionScope() {
+    }
+
+    /**
+     * Get the state of a component in the current transaction, creating it on first use.
+     *
+     * @param owner the component the state belongs to.
+     * @param initializer creates the state, and registers what must run when the transaction completes.
+     * @return the state, or {@code null} when transaction synchronization is not active.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T state(Object owner, Supplier<T> initializer) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof State && ((State<?>) synchronization).owner == owner) {
+                return ((State<T>) synchronization).value;
+            }
+        }
+        T value = initializer.get();
+        TransactionSynchronizationManager.registerSynchronization(new State<>(owner, value));
+        return value;
+    }
+
+    private static class State<T> extends TransactionSynchronizationAdapter {
+
+        private final Object owner;
+
+        private final T value;
+
+        State(Object owner, T value) {
+            this.owner = owner;
+            this.value = value;
+        }
+    }
+}
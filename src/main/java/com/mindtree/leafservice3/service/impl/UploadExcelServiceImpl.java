@@ -1,18 +1,17 @@
 package com.mindtree.leafservice3.service.impl;
 
+import com.mindtree.leafservice3.config.ApplicationProperties;
 import com.mindtree.leafservice3.service.UploadExcelService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.domain.Activity;
 import com.mindtree.leafservice3.domain.Application;
-import com.mindtree.leafservice3.domain.Budget;
 import com.mindtree.leafservice3.domain.BusinessFunction;
 import com.mindtree.leafservice3.domain.BusinessProcess;
 import com.mindtree.leafservice3.domain.Capabilities;
-import com.mindtree.leafservice3.domain.Company;
 import com.mindtree.leafservice3.domain.Employee;
 import com.mindtree.leafservice3.domain.Expenditure;
 import com.mindtree.leafservice3.domain.LineOfBusiness;
 import com.mindtree.leafservice3.domain.OraganizationalUnit;
-import com.mindtree.leafservice3.domain.Spend;
 import com.mindtree.leafservice3.domain.Technology;
 import com.mindtree.leafservice3.domain.TechnologyStack;
 import com.mindtree.leafservice3.domain.UploadExcel;
@@ -37,26 +36,42 @@ import com.mindtree.leafservice3.repository.SpendRepository;
 import com.mindtree.leafservice3.repository.TechnologyRepository;
 import com.mindtree.leafservice3.repository.TechnologyStackRepository;
 import com.mindtree.leafservice3.repository.UploadExcelRepository;
-import com.mindtree.leafservice3.repository.search.ActivitySearchRepository;
-import com.mindtree.leafservice3.repository.search.ApplicationSearchRepository;
-import com.mindtree.leafservice3.repository.search.TechnologySearchRepository;
 import com.mindtree.leafservice3.repository.search.UploadExcelSearchRepository;
+import com.mindtree.leafservice3.service.util.ExcelRow;
+import com.mindtree.leafservice3.service.util.StreamingExcelReader;
+import com.mindtree.leafservice3.service.util.UploadProgress;
 
-import org.apache.poi.xssf.usermodel.XSSFRow;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.persistence.EntityManager;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -71,6 +86,11 @@ public class UploadExcelServiceImpl implements UploadExcelService {
 
     private final Logger log = LoggerFactory.getLogger(UploadExcelServiceImpl.class);
 
+    /**
+     * The first two rows of the upload templates are headers.
+     */
+    private static final int FIRST_DATA_ROW = 2;
+
     public ZoneId defaultZoneId = ZoneId.systemDefault();
     public Date toDay = new Date();
 
@@ -91,9 +111,11 @@ public class UploadExcelServiceImpl implements UploadExcelService {
     private final ExpenditureRepository expenditureRepository;
     private final SpendRepository spendRepository;
     private final BudgetRepository budgetRepository;
-    private final ActivitySearchRepository activitySearchRepository;
-    private final ApplicationSearchRepository applicationSearchRepository;
-    private final TechnologySearchRepository technologySearchRepository;
+    private final SearchIndexingService searchIndexingService;
+    private final EntityManager entityManager;
+    private final ApplicationProperties applicationProperties;
+    private final PlatformTransactionManager transactionManager;
+    private final AsyncTaskExecutor uploadPartitionExecutor;
 
     public UploadExcelServiceImpl(UploadExcelRepository uploadExcelRepository,
             EmployeeRepository employeeRepository,
@@ -111,9 +133,11 @@ public class UploadExcelServiceImpl implements UploadExcelService {
             ExpenditureRepository expenditureRepository, 
             SpendRepository spendRepository,
             BudgetRepository budgetRepository,
-            ActivitySearchRepository activitySearchRepository,
-            ApplicationSearchRepository applicationSearchRepository,
-            TechnologySearchRepository technologySearchRepository
+            SearchIndexingService searchIndexingService,
+            EntityManager entityManager,
+            ApplicationProperties applicationProperties,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("uploadPartitionExecutor") AsyncTaskExecutor uploadPartitionExecutor
             ) {
         this.uploadExcelRepository = uploadExcelRepository;
         this.uploadExcelSearchRepository = uploadExcelSearchRepository;
@@ -131,9 +155,11 @@ public class UploadExcelServiceImpl implements UploadExcelService {
         this.expenditureRepository = expenditureRepository;
         this.spendRepository = spendRepository;
         this.budgetRepository = budgetRepository;
-        this.activitySearchRepository = activitySearchRepository;
-        this.applicationSearchRepository = applicationSearchRepository;
-        this.technologySearchRepository = technologySearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.entityManager = entityManager;
+        this.applicationProperties = applicationProperties;
+        this.transactionManager = transactionManager;
+        this.uploadPartitionExecutor = uploadPartitionExecutor;
 
     }
 
@@ -147,7 +173,7 @@ public class UploadExcelServiceImpl implements UploadExcelService {
     public UploadExcel save(UploadExcel uploadExcel) {
         log.debug("Request to save UploadExcel : {}", uploadExcel);
         UploadExcel result = uploadExcelRepository.save(uploadExcel);
-        uploadExcelSearchRepository.save(result);
+        searchIndexingService.index(result);
         return result;
     }
 
@@ -186,7 +212,7 @@ public class UploadExcelServiceImpl implements UploadExcelService {
     public void delete(Long id) {
         log.debug("Request to delete UploadExcel : {}", id);
         uploadExcelRepository.deleteById(id);
-        uploadExcelSearchRepository.deleteById(id);
+        searchIndexingService.delete(UploadExcel.class, id);
     }
 
     /**
@@ -199,469 +225,504 @@ public class UploadExcelServiceImpl implements UploadExcelService {
     @Transactional(readOnly = true)
     public List<UploadExcel> search(String query) {
         log.debug("Request to search UploadExcels for query {}", query);
-        return StreamSupport
+        // the documents only hold the metadata of the sheets, read the uploads found from the database
+        List<Long> ids = StreamSupport
             .stream(uploadExcelSearchRepository.search(queryStringQuery(query)).spliterator(), false)
+            .map(UploadExcel::getId)
             .collect(Collectors.toList());
+        Map<Long, UploadExcel> uploadExcels = uploadExcelRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(UploadExcel::getId, Function.identity()));
+        return ids.stream().map(uploadExcels::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
     @Override
     public String functionDataUpload(Long company_id,MultipartFile readExcelDataFile) throws RuntimeException {
         String result = " ";
-        try {
-            XSSFWorkbook workbook = new XSSFWorkbook(readExcelDataFile.getInputStream());
-            XSSFSheet worksheet = workbook.getSheetAt(0);
-
-            for (int i = 2; i < worksheet.getPhysicalNumberOfRows(); i++) {
-                XSSFRow row = worksheet.getRow(i);
-                OraganizationalUnit org_data = this.checkForOrganizationalUnit(row.getCell(0).getStringCellValue(), row.getCell(1).getStringCellValue(), row.getCell(2).getStringCellValue(),company_id);
-                
-                LineOfBusiness lob_data = this.checkForLOB(org_data,row.getCell(3).getStringCellValue(), row.getCell(4).getStringCellValue(),  row.getCell(5).getStringCellValue());
-
-                BusinessFunction bf_data = this.checkForBF(lob_data, row.getCell(6).getStringCellValue(), row.getCell(7).getStringCellValue(), row.getCell(8).getStringCellValue(), row.getCell(9).getStringCellValue());
-
-                Capabilities cap_data = this.checkForCap(bf_data, row.getCell(10).getStringCellValue());
-
-                if(row.getCell(11).getStringCellValue() != "") {
-                    BusinessProcess bp_data = this.checkForBP(cap_data, row.getCell(11).getStringCellValue(),
-                    row.getCell(12).getDateCellValue(),row.getCell(13).getDateCellValue(), row.getCell(14).getStringCellValue());
-
-                    if(row.getCell(15).getStringCellValue() != "") {
-                        this.checkForActivity(bp_data,row.getCell(15).getStringCellValue(),
-                        row.getCell(16).getStringCellValue());
-                    }
-                }
-   
+        try (InputStream inputStream = readExcelDataFile.getInputStream()) {
+            if (this.functionDataUpload(company_id, inputStream, UploadProgress.FAIL_FAST) > 0) {
                 result = "sucessfully Added";
-            
-            workbook.close();
             }
         }
         catch(IOException exception) {
             result = "Please check your input data";
         }
-        
+
         return result;
     }
 
     @Override
     public String appPortfolioUpload(Long company_id, MultipartFile readExcelDataFile) {
         String response = " ";
-        try {
-            XSSFWorkbook workbook = new XSSFWorkbook(readExcelDataFile.getInputStream());
-            XSSFSheet worksheet = workbook.getSheetAt(0);
-
-            for (int i = 2; i < worksheet.getPhysicalNumberOfRows(); i++) {
-                XSSFRow row = worksheet.getRow(i);
-                OraganizationalUnit org_data = this.checkForOrganizationalUnit(row.getCell(0).getStringCellValue(), row.getCell(1).getStringCellValue(), row.getCell(2).getStringCellValue(),company_id);
-                
-                LineOfBusiness lob_data = this.checkForLOB(org_data,row.getCell(3).getStringCellValue(), row.getCell(4).getStringCellValue(), row.getCell(5).getStringCellValue());
-
-                Application app_data = this.checkForApplication(lob_data,row.getCell(6).getStringCellValue(), row.getCell(7).getStringCellValue(), row.getCell(8).getStringCellValue(), row.getCell(9).getDateCellValue());
-
-                if(row.getCell(10).getStringCellValue() != "") {
-                    TechnologyStack techStack_data = this.checkForTechnologyStack(row.getCell(10).getStringCellValue(),row.getCell(11).getStringCellValue(), row.getCell(12).getStringCellValue());
-
-                    Technology tech_data = this.checkForTechnology(app_data, techStack_data);
-    
-                    if(tech_data.getTechnologyStack().getType().equals("CLOUD")) {
-                        this.checkForSpend("INFRA",tech_data.getId(), (int) Math.round(row.getCell(13).getNumericCellValue()),row.getCell(14).getStringCellValue());
-                    } else {
-                        this.checkForSpend("LICENSE",tech_data.getId(), (int) Math.round(row.getCell(13).getNumericCellValue()),row.getCell(14).getStringCellValue()); 
-                    }
-                }
-
-                if(row.getCell(15).getStringCellValue() != "") {
-                    Expenditure expenditure_data = this.checkForExpenditure(app_data, row.getCell(15).getStringCellValue(),row.getCell(16).getStringCellValue(),
-                    row.getCell(19).getDateCellValue(),row.getCell(20).getDateCellValue());
-                    
-                    this.checkForSpend(expenditure_data.getExpenditureType(), expenditure_data.getId(), 
-                    (int) Math.round(row.getCell(17).getNumericCellValue()),row.getCell(18).getStringCellValue());
-                }
-
-                if((int) Math.round(row.getCell(21).getNumericCellValue()) == 0 && 
-                row.getCell(22).getStringCellValue() != "") {
-                    this.checkForBudget(app_data, (int) Math.round(row.getCell(21).getNumericCellValue()),row.getCell(22).getStringCellValue(),
-                    (int) Math.round(row.getCell(21).getNumericCellValue()));
-                }
-
-
-               response = "sucessfully Added";
-            
-            workbook.close();
+        try (InputStream inputStream = readExcelDataFile.getInputStream()) {
+            if (this.appPortfolioUpload(company_id, inputStream, UploadProgress.FAIL_FAST) > 0) {
+                response = "sucessfully Added";
             }
         }
         catch(IOException exception) {
             response = "Please check your input data";
         }
-        
+
         return response;
     }
 
     @Override
-    public OraganizationalUnit checkForOrganizationalUnit(String orgName, String employee_id, String employee_name, Long company_id) {
-        List<OraganizationalUnit> orgData = oraganizationalUnitRepository.findAll();
-        OraganizationalUnit organizationData = new OraganizationalUnit();
-        Boolean status = false;
-        //For checking id already exist
-        for(OraganizationalUnit organization : orgData) {
-            if(organization.getCompany().getId() == company_id && 
-            organization.getName().toLowerCase().equals(orgName.toLowerCase())) {
-                if(organization.getEmployee().getEmployeeId() != employee_id) {
-                    Employee employee = this.checkForEmployee(employee_id, employee_name);
-                    organization.setEmployee(employee);
-                    organizationData =  oraganizationalUnitRepository.save(organization);
-                }
-                else {
-                    organizationData = organization;
-                }
-                status = true;
+    public long functionDataUpload(Long company_id, InputStream inputStream, UploadProgress progress) throws IOException {
+        ExcelUploadResolver resolver = this.newResolver();
+        long rows = StreamingExcelReader.forEachRow(inputStream, FIRST_DATA_ROW, row -> {
+            try {
+                validateFunctionDataRow(row);
+            } catch (IllegalArgumentException exception) {
+                progress.rowFailed(row, exception);
+                return;
             }
-        }
-        /// if not exists then add to the table
-        if(status == false) {
-            OraganizationalUnit newOrgData = new OraganizationalUnit();
-            newOrgData.setName(orgName);
-
-            List<Company> companyObject = companyRepository.findAll();
-            for(Company company : companyObject) {
-                if(company.getId() == company_id) {
-                    newOrgData.setCompany(company);
+            OraganizationalUnit org_data = resolver.organizationalUnit(row.getString(0), row.getString(1), row.getString(2),company_id);
+
+            LineOfBusiness lob_data = resolver.lineOfBusiness(org_data,row.getString(3), row.getString(4), row.getString(5));
+
+            BusinessFunction bf_data = resolver.businessFunction(lob_data, row.getString(6), row.getString(7), row.getString(8), row.getString(9));
+
+            Capabilities cap_data = resolver.capability(bf_data, row.getString(10));
+
+            if(!row.isBlank(11)) {
+                BusinessProcess bp_data = resolver.businessProcess(cap_data, row.getString(11),
+                row.getDate(12),row.getDate(13), row.getString(14));
+
+                if(!row.isBlank(15)) {
+                    resolver.activity(bp_data,row.getString(15),
+                    row.getString(16));
                 }
             }
-            newOrgData.setEmployee(this.checkForEmployee(employee_id, employee_name));
-            organizationData =  oraganizationalUnitRepository.save(newOrgData);
-        }
-        return organizationData;
+            resolver.rowCompleted();
+            progress.rowProcessed(row);
+        });
+        resolver.flush();
+        return rows;
     }
 
     @Override
-    public LineOfBusiness checkForLOB(OraganizationalUnit orgData,String lobName, String employee_id, String employee_name) {
-        List<LineOfBusiness> LOBData = lineOfBusinessRepository.findAll();
-        LineOfBusiness lineOfBusiness = new LineOfBusiness();
-        Boolean status = false;
-        //For checking id already exist
-        for(LineOfBusiness lob : LOBData) {
-            if(lob.getOraganizationalUnit().getCompany().getId() == orgData.getCompany().getId() && 
-            lob.getName().toLowerCase().equals(lobName.toLowerCase())) {   
-                if(lob.getEmployee().getEmployeeId() != employee_id) {
-                    Employee employee = this.checkForEmployee(employee_id, employee_name);         
-                    lob.setEmployee(employee);
-                    lineOfBusiness =  lineOfBusinessRepository.save(lob);
-                }
-                else {
-                    lineOfBusiness = lob;
-                }
-                status = true;
+    public long appPortfolioUpload(Long company_id, InputStream inputStream, UploadProgress progress) throws IOException {
+        ExcelUploadResolver resolver = this.newResolver();
+        long rows = StreamingExcelReader.forEachRow(inputStream, FIRST_DATA_ROW, row -> {
+            try {
+                validateAppPortfolioRow(row);
+            } catch (IllegalArgumentException exception) {
+                progress.rowFailed(row, exception);
+                return;
             }
-        }
-        // if not exists then add to the table
-        if(status == false) {
-            LineOfBusiness newLobData = new LineOfBusiness();
-            newLobData.setName(lobName);
-            newLobData.setOraganizationalUnit(orgData);
-            newLobData.setEmployee(this.checkForEmployee(employee_id, employee_name));
-            lineOfBusiness =  lineOfBusinessRepository.save(newLobData);
-        }
-        return lineOfBusiness;
+            OraganizationalUnit org_data = resolver.organizationalUnit(row.getString(0), row.getString(1), row.getString(2),company_id);
+
+            LineOfBusiness lob_data = resolver.lineOfBusiness(org_data,row.getString(3), row.getString(4), row.getString(5));
+
+            this.importApplicationRow(resolver, company_id, lob_data, row);
+            resolver.rowCompleted();
+            progress.rowProcessed(row);
+        });
+        resolver.flush();
+        return rows;
     }
 
     @Override
-    public BusinessFunction checkForBF(LineOfBusiness lobData,
-     String bfName, String bfType, String employee_id, String employee_name) {
-        List<BusinessFunction> bfData = businessFunctionRepository.findAll();
-        BusinessFunction businessFunction = new BusinessFunction();
-        Boolean status = false;
-        //For checking id already exist
-        for(BusinessFunction bf : bfData) {
-            if(bf.getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == lobData.getOraganizationalUnit().getCompany().getId() && 
-            bf.getName().toLowerCase().equals(bfName.toLowerCase())) {
-                if(bf.getEmployee().getEmployeeId() != employee_id) {
-                    Employee employee = this.checkForEmployee(employee_id, employee_name);
-                    bf.setEmployee(employee);
-                    businessFunction = businessFunctionRepository.save(bf);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long appPortfolioUploadInParallel(Long company_id, File sheet, UploadProgress progress) throws IOException {
+        int partitions = Math.max(1, applicationProperties.getUpload().getParallelism());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        SharedUploadIndex sharedIndex = new SharedUploadIndex(employeeRepository, technologyStackRepository);
+        ExcelUploadResolver.Indexes indexes = new ExcelUploadResolver.Indexes();
+
+        // first pass: the hierarchy, employees and technology stacks every partition depends on, committed before
+        // the partitions start, and the indexes of the company the partitions share
+        Map<String, LineOfBusiness> lineOfBusinesses = new HashMap<>();
+        long rows = inTransaction(transaction, () -> {
+            ExcelUploadResolver resolver = this.newResolver(sharedIndex, indexes);
+            resolver.loadApplicationIndexes(company_id);
+            long count = StreamingExcelReader.forEachRow(sheet, FIRST_DATA_ROW, row -> {
+                try {
+                    validateAppPortfolioRow(row);
+                } catch (IllegalArgumentException exception) {
+                    progress.rowFailed(row, exception);
+                    return;
                 }
-                else {
-                    businessFunction = bf;
+                OraganizationalUnit org_data = resolver.organizationalUnit(row.getString(0), row.getString(1), row.getString(2),company_id);
+                lineOfBusinesses.put(row.getString(3).toLowerCase(),
+                    resolver.lineOfBusiness(org_data,row.getString(3), row.getString(4), row.getString(5)));
+                if(!row.isBlank(10)) {
+                    resolver.technologyStack(row.getString(10),row.getString(11), row.getString(12));
+                }
+            });
+            resolver.flush();
+            return count;
+        });
+
+        // second pass: the sheet is read once more and each valid row handed to the partition its application is
+        // hashed to, each partition imports its rows in its own transaction
+        int capacity = Math.max(1, applicationProperties.getUpload().getBatchSize());
+        List<PartitionQueue> queues = new ArrayList<>();
+        List<Future<Long>> results = new ArrayList<>();
+        boolean read = false;
+        try {
+            for (int i = 0; i < partitions; i++) {
+                PartitionQueue queue = new PartitionQueue(capacity);
+                queues.add(queue);
+                results.add(uploadPartitionExecutor.submit(() -> {
+                    try {
+                        return inTransaction(transaction, () -> {
+                            ExcelUploadResolver resolver = this.newResolver(sharedIndex, indexes);
+                            long count = 0;
+                            for (ExcelRow row = queue.take(); row != null; row = queue.take()) {
+                                this.importApplicationRow(resolver, company_id, lineOfBusinesses.get(row.getString(3).toLowerCase()), row);
+                                resolver.rowCompleted();
+                                progress.rowProcessed(row);
+                                count++;
+                            }
+                            resolver.flush();
+                            return count;
+                        });
+                    } finally {
+                        queue.close();
+                    }
+                }));
+            }
+            StreamingExcelReader.forEachRow(sheet, FIRST_DATA_ROW, row -> {
+                try {
+                    validateAppPortfolioRow(row);
+                } catch (IllegalArgumentException exception) {
+                    // reported by the first pass
+                    return;
                 }
-                status = true;
+                queues.get(Math.floorMod(row.getString(6).toLowerCase().hashCode(), partitions)).put(row);
+            });
+            read = true;
+        } finally {
+            for (PartitionQueue queue : queues) {
+                queue.end(read);
+            }
+        }
+        Exception failure = null;
+        for (Future<Long> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                log.error("Partition of the app portfolio upload for company {} failed", company_id, e.getCause());
+                failure = failure == null ? (Exception) e.getCause() : failure;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the upload partitions", e);
             }
         }
-        // if not exists then add to the table
-        if(status == false) {
-            BusinessFunction newbfData = new BusinessFunction();
-            newbfData.setName(bfName);
-            newbfData.setLineOfBusiness(lobData);
-            newbfData.setType(BusinessFunctionType.valueOf(bfType));
-
-            newbfData.setEmployee(this.checkForEmployee(employee_id, employee_name));
-            businessFunction =  businessFunctionRepository.save(newbfData);
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
         }
-        return businessFunction;
+        return rows;
     }
 
-    @Override
-    public Capabilities checkForCap(BusinessFunction bfData, String capName) {
-        List<Capabilities> capData = capabilitiesRepository.findAll();
-        Capabilities capability = new Capabilities();
-        Boolean status = false;
-        //For checking id already exist
-        for(Capabilities cap : capData) {
-            if(cap.getBusinessFunction().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == bfData.getLineOfBusiness().getOraganizationalUnit().getCompany().getId() && 
-            cap.getDescription().toLowerCase().equals(capName.toLowerCase())) {
-                capability = cap;
-                status = true;
+    /**
+     * Import the application, technology, expenditure, spend and budget columns of a portfolio row.
+     */
+    private void importApplicationRow(ExcelUploadResolver resolver, Long company_id, LineOfBusiness lob_data, ExcelRow row) {
+        Application app_data = resolver.application(lob_data,row.getString(6), row.getString(7), row.getString(8), row.getDate(9));
+
+        if(!row.isBlank(10)) {
+            TechnologyStack techStack_data = resolver.technologyStack(row.getString(10),row.getString(11), row.getString(12));
+
+            Technology tech_data = resolver.technology(app_data, techStack_data);
+
+            if(tech_data.getTechnologyStack().getType().equals("CLOUD")) {
+                resolver.spend(company_id, "INFRA",tech_data.getId(), (int) Math.round(row.getNumeric(13)),row.getString(14));
+            } else {
+                resolver.spend(company_id, "LICENSE",tech_data.getId(), (int) Math.round(row.getNumeric(13)),row.getString(14));
             }
         }
-        // if not exists then add to the table
-        if(status == false) {
-            Capabilities newCapData = new Capabilities();
-            newCapData.setDescription(capName);
-            newCapData.setBusinessFunction(bfData);
 
-            capability=  capabilitiesRepository.save(newCapData);
+        if(!row.isBlank(15)) {
+            Expenditure expenditure_data = resolver.expenditure(app_data, row.getString(15),row.getString(16),
+            row.getDate(19),row.getDate(20));
+
+            resolver.spend(company_id, expenditure_data.getExpenditureType(), expenditure_data.getId(),
+            (int) Math.round(row.getNumeric(17)),row.getString(18));
+        }
+
+        if((int) Math.round(row.getNumeric(21)) == 0 &&
+        !row.isBlank(22)) {
+            resolver.budget(app_data, (int) Math.round(row.getNumeric(21)),row.getString(22),
+            (int) Math.round(row.getNumeric(21)));
         }
-        return capability;
     }
 
-    @Override
-    public BusinessProcess checkForBP(Capabilities capData, String bpName, Date startDate, Date endDate, String bpStatus) {
-        List<BusinessProcess> bpData = businessProcessRepository.findAll();
-        BusinessProcess businessProcess = new BusinessProcess();
-        Boolean status = false;
-        //For checking id already exist
-        for(BusinessProcess bp : bpData) {
-            if(bp.getCapabilities().getBusinessFunction().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == capData.getBusinessFunction().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() && 
-            bp.getName().toLowerCase().equals(bpName.toLowerCase())) {
-                businessProcess = bp;
-                status = true;
+    /**
+     * Check the values of a functional view row the resolver parses, before any of the row is written.
+     * <p>
+     * A failed write marks the upload transaction rollback-only, so only the rows rejected here are skipped:
+     * any error past this check fails the whole upload.
+     *
+     * @throws IllegalArgumentException naming the first invalid column.
+     */
+    private static void validateFunctionDataRow(ExcelRow row) {
+        requireEnum(row, 7, BusinessFunctionType.class);
+        if(!row.isBlank(11)) {
+            requireDate(row, 12);
+            requireDate(row, 13);
+            requireEnum(row, 14, ProcessStatus.class);
+
+            if(!row.isBlank(15)) {
+                requireEnum(row, 16, ResourcesRequired.class);
             }
         }
-        // if not exists then add to the table
-        if(status == false) {
-            BusinessProcess newBpData = new BusinessProcess();
-            newBpData.setName(bpName);
-            newBpData.setCapabilities(capData);
-            newBpData.setStartDate(startDate.toInstant().atZone(defaultZoneId).toLocalDate());
-            newBpData.setEndDate(endDate.toInstant().atZone(defaultZoneId).toLocalDate());
-            newBpData.setStatus(ProcessStatus.valueOf(bpStatus));
-
-            businessProcess = businessProcessRepository.save(newBpData);
+    }
+
+    /**
+     * Check the values of an app portfolio row the resolver parses, before any of the row is written.
+     *
+     * @throws IllegalArgumentException naming the first invalid column.
+     * @see #validateFunctionDataRow(ExcelRow)
+     */
+    private static void validateAppPortfolioRow(ExcelRow row) {
+        requireEnum(row, 7, ApplicationType.class);
+        requireEnum(row, 8, ApplicationStatus.class);
+        requireDate(row, 9);
+        if(!row.isBlank(10)) {
+            requireNumeric(row, 13);
+            requireEnum(row, 14, CurrencySuccessor.class);
+        }
+        if(!row.isBlank(15)) {
+            requireNumeric(row, 17);
+            requireEnum(row, 18, CurrencySuccessor.class);
+            requireDate(row, 19);
+            requireDate(row, 20);
+        }
+        if(requireNumeric(row, 21) == 0 && !row.isBlank(22)) {
+            requireEnum(row, 22, CurrencySuccessor.class);
         }
-        return businessProcess;
     }
 
-    @Override
-    public Activity checkForActivity(BusinessProcess bpData, String name, String resourcesRequired) {
-        List<Activity> activityData = activityRepository.findAll();
-        Activity activity = new Activity();
-        Boolean status = false;
-        //For checking id already exist
-        for(Activity data : activityData) {
-            if(data.getBusinessProcess().getCapabilities().getBusinessFunction().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == bpData.getCapabilities().getBusinessFunction().getLineOfBusiness().getOraganizationalUnit().getCompany().getId() && 
-            data.getName().toLowerCase().equals(name.toLowerCase())) {
-                activity= data;
-                status = true;
-            }
+    private static <E extends Enum<E>> void requireEnum(ExcelRow row, int column, Class<E> type) {
+        try {
+            Enum.valueOf(type, row.getString(column));
+        } catch (IllegalArgumentException exception) {
+            throw invalidColumn(column, "'" + row.getString(column) + "' is not a " + type.getSimpleName());
         }
-        // if not exists then add to the table
-        if(status == false) {
-            Activity newActivityData = new Activity();
-            newActivityData.setName(name);
-            newActivityData.setBusinessProcess(bpData);
-            newActivityData.setResourcesRequired(ResourcesRequired.valueOf(resourcesRequired));
-
-            activity = activityRepository.save(newActivityData);
-            activitySearchRepository.save(newActivityData);
+    }
+
+    private static double requireNumeric(ExcelRow row, int column) {
+        try {
+            return row.getNumeric(column);
+        } catch (NumberFormatException exception) {
+            throw invalidColumn(column, "'" + row.getString(column) + "' is not a number");
         }
-        return activity;
     }
 
-    @Override
-    public Employee checkForEmployee(String employee_id, String employee_name) {
-        List<Employee> employeeData = employeeRepository.findAll();
-        Employee employee = new Employee();
-        Boolean status = false;
-        //For checking id already exist
-        for(Employee data : employeeData) {
-            if(data.getEmployeeId() == employee_id) {
-                employee = data;
-                status = true;
-            }
+    private static void requireDate(ExcelRow row, int column) {
+        if (row.isBlank(column)) {
+            throw invalidColumn(column, "a date is required");
         }
-        // if not exists then add to the table
-        if(status == false) {
-            Employee newEmployeeData = new Employee();
-            newEmployeeData.setEmployeeId(employee_id);
-            newEmployeeData.setName(employee_name);
+        requireNumeric(row, column);
+    }
+
+    private static IllegalArgumentException invalidColumn(int column, String reason) {
+        // sheet columns are numbered from 1
+        return new IllegalArgumentException("Column " + (column + 1) + ": " + reason);
+    }
 
-            employee = employeeRepository.save(newEmployeeData);
+    /**
+     * Run a sheet read in a transaction, letting its {@link IOException} through.
+     */
+    private static long inTransaction(TransactionTemplate transaction, SheetRead read) throws IOException {
+        try {
+            return transaction.execute(status -> {
+                try {
+                    return read.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return employee;
-    } 
+    }
 
-    @Override
-    public Application checkForApplication(LineOfBusiness lob_data, String app_name, String app_type, String app_status, Date imp_date) {
-        List<Application> applicationData = applicationRepository.findAll();
-        Application application = new Application();
-        Boolean status = false;
-        //For checking id already exist
-        for(Application data : applicationData) {
-            if(data.getLineOfBusiness().getOraganizationalUnit().getCompany().getId() == lob_data.getOraganizationalUnit().getCompany().getId() && 
-            data.getName().toLowerCase().equals(app_name.toLowerCase())) {
-                application= data;
-                status = true;
+    @FunctionalInterface
+    private interface SheetRead {
+        long run() throws IOException;
+    }
+
+    /**
+     * The rows of a sheet handed from the reader of a parallel upload to one of its partitions.
+     * <p>
+     * The queue is bounded, so the reader waits for a partition that is behind. Once a partition is closed,
+     * because it failed, the rows handed to it are dropped instead.
+     */
+    private static class PartitionQueue {
+
+        private static final long POLL_MILLIS = 100;
+
+        private final BlockingQueue<ExcelRow> rows;
+
+        private volatile boolean closed;
+
+        private volatile Boolean read;
+
+        PartitionQueue(int capacity) {
+            this.rows = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void put(ExcelRow row) {
+            try {
+                while (!closed && !rows.offer(row, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    // wait for the partition to take a row, or to be closed
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while handing a row to an upload partition", e);
             }
         }
-        // if not exists then add to the table
-        if(status == false) {
-            Application newApplicationData = new Application();
-            newApplicationData.setName(app_name);
-	    newApplicationData.setDescription(app_name+"-"+ApplicationType.valueOf(app_type).toString());
-            newApplicationData.setLineOfBusiness(lob_data);
-            newApplicationData.setStatus(ApplicationStatus.valueOf(app_status));
-            newApplicationData.setType(ApplicationType.valueOf(app_type));
-            newApplicationData.setImplementationDate(imp_date.toInstant().atZone(defaultZoneId).toLocalDate());
-            application = applicationRepository.save(newApplicationData);
-            applicationSearchRepository.save(newApplicationData);
+
+        /**
+         * Signal the end of the sheet, this never waits for the partition.
+         *
+         * @param read whether the whole sheet was read, a partition rolls back if it was not.
+         */
+        void end(boolean read) {
+            this.read = read;
         }
-        return application;
-    } 
-    
-    @Override
-    public TechnologyStack checkForTechnologyStack(String techName,String version, String techType) {
-        List<TechnologyStack> technologystackData = technologyStackRepository.findAll();
-        TechnologyStack technologyStack = new TechnologyStack();
-        Boolean status = false;
-        //For checking id already exist
-        for(TechnologyStack data : technologystackData) {
-            if(data.getName().toLowerCase().equals(techName.toLowerCase()+"-"+version) && 
-            data.getType().toUpperCase().equals(techType.toUpperCase())) {
-                technologyStack = data;
-                status = true;
+
+        /**
+         * Take the next row of the partition.
+         *
+         * @return the row, or {@code null} once every row of the sheet was taken.
+         */
+        ExcelRow take() {
+            try {
+                while (true) {
+                    ExcelRow row = rows.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (row != null) {
+                        return row;
+                    }
+                    Boolean ended = read;
+                    if (ended != null && rows.isEmpty()) {
+                        if (!ended) {
+                            throw new IllegalStateException("The sheet could not be read");
+                        }
+                        return null;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the rows of an upload partition", e);
             }
         }
-        // if not exists then add to the table
-        if(status == false) {
-            TechnologyStack newTechnologyStackdata = new TechnologyStack();
-            newTechnologyStackdata.setName(techName+"-"+version);
-            newTechnologyStackdata.setType(techType);
-        
-            technologyStack = technologyStackRepository.save(newTechnologyStackdata);
+
+        void close() {
+            closed = true;
         }
-        return technologyStack;
+    }
+
+    @Override
+    public OraganizationalUnit checkForOrganizationalUnit(String orgName, String employee_id, String employee_name, Long company_id) {
+        return this.resolveOnce(resolver -> resolver.organizationalUnit(orgName, employee_id, employee_name, company_id));
+    }
+
+    @Override
+    public LineOfBusiness checkForLOB(OraganizationalUnit orgData,String lobName, String employee_id, String employee_name) {
+        return this.resolveOnce(resolver -> resolver.lineOfBusiness(orgData, lobName, employee_id, employee_name));
+    }
+
+    @Override
+    public BusinessFunction checkForBF(LineOfBusiness lobData,
+     String bfName, String bfType, String employee_id, String employee_name) {
+        return this.resolveOnce(resolver -> resolver.businessFunction(lobData, bfName, bfType, employee_id, employee_name));
+    }
+
+    @Override
+    public Capabilities checkForCap(BusinessFunction bfData, String capName) {
+        return this.resolveOnce(resolver -> resolver.capability(bfData, capName));
+    }
+
+    @Override
+    public BusinessProcess checkForBP(Capabilities capData, String bpName, Date startDate, Date endDate, String bpStatus) {
+        return this.resolveOnce(resolver -> resolver.businessProcess(capData, bpName, startDate, endDate, bpStatus));
+    }
+
+    @Override
+    public Activity checkForActivity(BusinessProcess bpData, String name, String resourcesRequired) {
+        return this.resolveOnce(resolver -> resolver.activity(bpData, name, resourcesRequired));
+    }
+
+    @Override
+    public Employee checkForEmployee(String employee_id, String employee_name) {
+        return this.resolveOnce(resolver -> resolver.employee(employee_id, employee_name));
+    }
+
+    @Override
+    public Application checkForApplication(LineOfBusiness lob_data, String app_name, String app_type, String app_status, Date imp_date) {
+        return this.resolveOnce(resolver -> resolver.application(lob_data, app_name, app_type, app_status, imp_date));
+    }
+
+    @Override
+    public TechnologyStack checkForTechnologyStack(String techName,String version, String techType) {
+        return this.resolveOnce(resolver -> resolver.technologyStack(techName, version, techType));
     }
 
     @Override
     public Technology checkForTechnology(Application app_data, TechnologyStack techStack_data) {
-        List<Technology> technologyData = technologyRepository.findAll();
-        Technology technology = new Technology();
-        Boolean status = false;
-        //For checking id already exist
-        for(Technology techdata : technologyData) {
-            if(techdata.getApplication().getId() == app_data.getId() && 
-            techdata.getTechnologyStack().getId() == techStack_data.getId()) {
-                technology = techdata;
-                status = true;
-            }
-        }
-        // if not exists then add to the table
-        if(status == false) {
-            Technology newTechnologydata = new Technology();
-            newTechnologydata.setTechnologyStack(techStack_data);
-            newTechnologydata.setApplication(app_data);
-        
-            technology = technologyRepository.save(newTechnologydata);
-            technologySearchRepository.save(newTechnologydata);
-        }
-        return technology;
+        return this.resolveOnce(resolver -> resolver.technology(app_data, techStack_data));
     }
 
     @Override
     public void checkForSpend(String type,Long spend_id, Integer amount, String successor){
-        Date toDay = new Date();
-        List<Spend> spendData = spendRepository.findAll();
-        Spend spend = new Spend();
-        Boolean status = false;
-        //For checking id already exist
-        for(Spend spend_data : spendData) {
-            if(spend_data.getSpendId() == spend_id && spend_data.getExpenditureType().equals(type)) {
-                spend = spend_data;
-                if(spend.getAmount() != amount) {
-                    spend.setAmount(amount);
-                    spend.setSuccessor(CurrencySuccessor.valueOf(successor));
-                    spendRepository.save(spend);
-                }
-                status = true;
-            }
+        // a spend has no foreign key, its company is the one of the technology or expenditure it points to
+        Optional<Application> application;
+        if ("INFRA".equals(type) || "LICENSE".equals(type)) {
+            application = technologyRepository.findById(spend_id).map(Technology::getApplication);
+        } else {
+            application = expenditureRepository.findById(spend_id).map(Expenditure::getApplication);
         }
-        // if not exists then add to the table
-        if(status == false) {
-            Spend newSpendData = new Spend();
-            newSpendData.setAmount(amount);
-            newSpendData.setSuccessor(CurrencySuccessor.valueOf(successor));
-            newSpendData.setExpenditureType(type);
-            newSpendData.setSpendId(spend_id);
-            newSpendData.setDateOfUpdate(toDay.toInstant().atZone(defaultZoneId).toLocalDate());
-     
-            spend = spendRepository.save(newSpendData);
-        } 
+        application.ifPresent(app_data -> this.resolveOnce(resolver -> {
+            resolver.spend(ExcelUploadResolver.companyId(app_data), type, spend_id, amount, successor);
+            return null;
+        }));
     }
 
     @Override
     public Expenditure checkForExpenditure(Application appData,String exp_type, String exp_desc, Date startDate, Date end_date) {
-        List<Expenditure> expData = expenditureRepository.findAll();
-        Expenditure expenditure = new Expenditure();
-        Boolean status = false;
-        //For checking id already exist
-        for(Expenditure expd : expData) {
-            if(expd.getApplication().getId() == appData.getId() && 
-            expd.getExpenditureType().equals(exp_type)) {
-                expenditure = expd;
-                status = true;
-            }
-        }
-        // if not exists then add to the table
-        if(status == false) {
-            Expenditure newExpendituredata = new Expenditure();
-            newExpendituredata.setDescription(exp_desc);
-            newExpendituredata.setExpenditureType(exp_type);
-            newExpendituredata.setStartDate(startDate.toInstant().atZone(defaultZoneId).toLocalDate());
-            newExpendituredata.setEndDate(end_date.toInstant().atZone(defaultZoneId).toLocalDate());
-            newExpendituredata.setApplication(appData);
-        
-            expenditure = expenditureRepository.save(newExpendituredata);
-        }
-        return expenditure;
+        return this.resolveOnce(resolver -> resolver.expenditure(appData, exp_type, exp_desc, startDate, end_date));
     }
 
     @Override
     public void checkForBudget(Application app_data, Integer amount, String successor, Integer year) {
-        List<Budget> budgetData = budgetRepository.findAll();
-        Budget budget = new Budget();
-        Boolean status = false;
-        //For checking id already exist
-        for(Budget data : budgetData) {
-            if(data.getApplication().getId() == app_data.getId() && 
-            data.getYear() == year) {
-                budget = data;
-                if(data.getAmount() != amount) {
-                    budget.setAmount(amount);
-                    budget.setSuccessor(CurrencySuccessor.valueOf(successor));
-                    budgetRepository.save(budget);
-                }
-                
-                status = true;
-            }
-        }
-        // if not exists then add to the table
-        if(status == false) {
-            Budget newBudgetData = new Budget();
-            newBudgetData.setAmount(amount);
-            newBudgetData.setApplication(app_data);
-            newBudgetData.setSuccessor(CurrencySuccessor.valueOf(successor));
-            newBudgetData.setYear(year);
-   
-            budgetRepository.save(newBudgetData);
-        }
+        this.resolveOnce(resolver -> {
+            resolver.budget(app_data, amount, successor, year);
+            return null;
+        });
+    }
+
+    /**
+     * Create the resolver holding the natural-key indexes of one upload.
+     */
+    private ExcelUploadResolver newResolver() {
+        return this.newResolver(new SharedUploadIndex(employeeRepository, technologyStackRepository),
+            new ExcelUploadResolver.Indexes());
+    }
+
+    private ExcelUploadResolver newResolver(SharedUploadIndex sharedIndex, ExcelUploadResolver.Indexes indexes) {
+        return new ExcelUploadResolver(sharedIndex, indexes, oraganizationalUnitRepository, lineOfBusinessRepository,
+            businessFunctionRepository, capabilitiesRepository, businessProcessRepository, activityRepository,
+            companyRepository, applicationRepository, technologyRepository,
+            expenditureRepository, spendRepository, budgetRepository, searchIndexingService, entityManager,
+            applicationProperties.getUpload().getBatchSize());
+    }
+
+    /**
+     * Run a single lookup on a fresh resolver and write what it created.
+     */
+    private <T> T resolveOnce(Function<ExcelUploadResolver, T> lookup) {
+        ExcelUploadResolver resolver = this.newResolver();
+        T result = lookup.apply(resolver);
+        resolver.flush();
+        return result;
     }
 }
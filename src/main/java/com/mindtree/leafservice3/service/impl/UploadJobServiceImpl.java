@@ -0,0 +1,165 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.service.UploadExcelService;
+import com.mindtree.leafservice3.service.UploadJobService;
+import com.mindtree.leafservice3.service.dto.UploadJobDTO;
+import com.mindtree.leafservice3.service.util.ExcelRow;
+import com.mindtree.leafservice3.service.util.UploadProgress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Service Implementation running Excel uploads on the {@code taskExecutor}.
+ * <p>
+ * Jobs are tracked in memory, the most recent {@link #MAX_FINISHED_JOBS} finished jobs are kept for polling.
+ */
+@Service
+public class UploadJobServiceImpl implements UploadJobService {
+
+    static final int MAX_FINISHED_JOBS = 100;
+
+    private static final String FUNCTIONAL_VIEW = "functionalView";
+
+    private static final String APP_VIEW = "appView";
+
+    private final Logger log = LoggerFactory.getLogger(UploadJobServiceImpl.class);
+
+    private final JobRegistry<UploadJob> jobs;
+
+    private final UploadExcelService uploadExcelService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public UploadJobServiceImpl(UploadExcelService uploadExcelService, @Qualifier("taskExecutor") Executor taskExecutor,
+            ApplicationProperties applicationProperties) {
+        this.jobs = new JobRegistry<>("Upload", taskExecutor, MAX_FINISHED_JOBS);
+        this.uploadExcelService = uploadExcelService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public UploadJobDTO submitFunctionDataUpload(Long company_id, MultipartFile readExcelDataFile) throws IOException {
+        return submit(FUNCTIONAL_VIEW, company_id, readExcelDataFile);
+    }
+
+    @Override
+    public UploadJobDTO submitAppPortfolioUpload(Long company_id, MultipartFile readExcelDataFile) throws IOException {
+        return submit(APP_VIEW, company_id, readExcelDataFile);
+    }
+
+    @Override
+    public List<UploadJobDTO> findAll() {
+        return jobs.findAll().stream().map(UploadJob::toDTO).collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<UploadJobDTO> findOne(String id) {
+        return jobs.find(id).map(UploadJob::toDTO);
+    }
+
+    private UploadJobDTO submit(String type, Long company_id, MultipartFile readExcelDataFile) throws IOException {
+        // the multipart content is deleted once the request completes, keep a copy for the job
+        Path sheet = Files.createTempFile("upload-job", ".xlsx");
+        try {
+            readExcelDataFile.transferTo(sheet.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(sheet);
+            throw e;
+        }
+        UploadJob job = new UploadJob(type, company_id, readExcelDataFile.getOriginalFilename());
+        if (!jobs.submit(job, () -> run(job, sheet), "Too many uploads in progress, please retry later")) {
+            Files.deleteIfExists(sheet);
+        }
+        return job.toDTO();
+    }
+
+    private void run(UploadJob job, Path sheet) {
+        log.debug("Starting upload job {}", job.id);
+        job.start();
+        try (InputStream inputStream = Files.newInputStream(sheet)) {
+            if (APP_VIEW.equals(job.type) && applicationProperties.getUpload().getParallelism() > 1) {
+                uploadExcelService.appPortfolioUploadInParallel(job.companyId, sheet.toFile(), job);
+            } else if (APP_VIEW.equals(job.type)) {
+                uploadExcelService.appPortfolioUpload(job.companyId, inputStream, job);
+            } else {
+                uploadExcelService.functionDataUpload(job.companyId, inputStream, job);
+            }
+            job.finish(UploadJobDTO.Status.COMPLETED, job.firstFailure);
+        } catch (IOException e) {
+            job.finish(UploadJobDTO.Status.FAILED, "Please check your input data");
+        } catch (RuntimeException e) {
+            log.error("Upload job {} failed", job.id, e);
+            job.finish(UploadJobDTO.Status.FAILED, e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(sheet);
+            } catch (IOException e) {
+                log.warn("Could not delete the sheet of upload job {}", job.id, e);
+            }
+        }
+        log.debug("Upload job {} finished: {} rows processed, {} rows failed", job.id, job.rowsProcessed, job.rowsFailed);
+    }
+
+    /**
+     * The live state of a job, updated from the thread running it.
+     */
+    private static class UploadJob extends JobRegistry.Job implements UploadProgress {
+
+        private final String type;
+
+        private final Long companyId;
+
+        private final String fileName;
+
+        private final AtomicLong rowsProcessed = new AtomicLong();
+
+        private final AtomicLong rowsFailed = new AtomicLong();
+
+        private volatile String firstFailure;
+
+        UploadJob(String type, Long companyId, String fileName) {
+            this.type = type;
+            this.companyId = companyId;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public void rowProcessed(ExcelRow row) {
+            rowsProcessed.incrementAndGet();
+        }
+
+        @Override
+        public void rowFailed(ExcelRow row, RuntimeException exception) {
+            if (rowsFailed.incrementAndGet() == 1) {
+                // sheet rows are numbered from 1
+                firstFailure = "Row " + (row.getRowNum() + 1) + ": " + exception.getMessage();
+            }
+        }
+
+        UploadJobDTO toDTO() {
+            UploadJobDTO dto = toDTO(new UploadJobDTO());
+            dto.type = type;
+            dto.companyId = companyId;
+            dto.fileName = fileName;
+            dto.rowsProcessed = rowsProcessed.get();
+            dto.rowsFailed = rowsFailed.get();
+            dto.rowsPerSecond = JobRegistry.rate(dto.rowsProcessed + dto.rowsFailed, dto.startedAt, dto.finishedAt);
+            return dto;
+        }
+    }
+}
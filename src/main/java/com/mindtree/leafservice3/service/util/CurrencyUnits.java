@@ -0,0 +1,88 @@
+package com.mindtree.leafservice3.service.util;
+
+import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
+
+/**
+ * Utility class normalizing amounts entered with a {@link CurrencySuccessor}.
+ * <p>
+ * Amounts are handled as {@code long} currency units: a billion-scaled {@code Integer} amount still fits, and every
+ * conversion and sum is exact, an overflow throws an {@link ArithmeticException} instead of wrapping around.
+ */
+public final class CurrencyUnits {
+
+    private static final long THOUSAND = 1_000L;
+
+    /**
+     * Currency units of each successor, indexed by ordinal.
+     */
+    private static final long[] SCALES = new long[CurrencySuccessor.values().length];
+
+    static {
+        SCALES[CurrencySuccessor.NOSUCCESSOR.ordinal()] = 1L;
+        SCALES[CurrencySuccessor.K.ordinal()] = THOUSAND;
+        SCALES[CurrencySuccessor.M.ordinal()] = THOUSAND * THOUSAND;
+        SCALES[CurrencySuccessor.B.ordinal()] = THOUSAND * THOUSAND * THOUSAND;
+    }
+
+    private CurrencyUnits() {
+    }
+
+    /**
+     * Get the currency units of a successor.
+     *
+     * @param successor the successor, {@code null} for units.
+     * @return the currency units of one amount entered with the successor.
+     */
+    public static long scale(CurrencySuccessor successor) {
+        return successor == null ? 1L : SCALES[successor.ordinal()];
+    }
+
+    /**
+     * Convert an amount to currency units.
+     *
+     * @param amount the amount, as entered.
+     * @param successor the successor the amount was entered with, {@code null} or {@code NOSUCCESSOR} for units.
+     * @return the amount in currency units.
+     * @throws ArithmeticException if the amount does not fit a {@code long} in currency units.
+     */
+    public static long toUnits(long amount, CurrencySuccessor successor) {
+        return Math.multiplyExact(amount, scale(successor));
+    }
+
+    /**
+     * Add an amount in currency units to a total of an accumulator.
+     *
+     * @param totals the accumulator.
+     * @param index the position of the total.
+     * @param units the amount in currency units.
+     * @throws ArithmeticException if the total overflows.
+     */
+    public static void add(long[] totals, int index, long units) {
+        totals[index] = Math.addExact(totals[index], units);
+    }
+
+    /**
+     * Convert an amount in currency units to thousands, the scale the dashboards are drawn in.
+     *
+     * @param units the amount in currency units.
+     * @return the amount in thousands, rounded half up.
+     */
+    public static long toThousands(long units) {
+        long thousands = Math.floorDiv(units, THOUSAND);
+        return Math.floorMod(units, THOUSAND) >= THOUSAND / 2 ? thousands + 1 : thousands;
+    }
+
+    /**
+     * Convert amounts in currency units to thousands.
+     *
+     * @param units the amounts in currency units.
+     * @return a new array of the amounts in thousands, rounded half up.
+     */
+    public static long[] toThousands(long[] units) {
+        long[] thousands = new long[units.length];
+        for (int i = 0; i < units.length; i++) {
+            thousands[i] = toThousands(units[i]);
+        }
+        return thousands;
+    }
+}
@@ -0,0 +1,90 @@
+package com.mindtree.leafservice3.service.util;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * A single spreadsheet row read by {@link StreamingExcelReader}.
+ * <p>
+ * Cell values are kept as the raw strings found in the sheet XML, so numeric and date
+ * cells are converted only when the caller asks for them.
+ */
+public class ExcelRow {
+
+    private final int rowNum;
+
+    private final String[] values;
+
+    public ExcelRow(int rowNum, String[] values) {
+        this.rowNum = rowNum;
+        this.values = values;
+    }
+
+    /**
+     * @return the 0-based index of the row in the sheet.
+     */
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    /**
+     * @return the number of columns up to and including the last non blank cell.
+     */
+    public int getColumnCount() {
+        return values.length;
+    }
+
+    public boolean isBlank(int column) {
+        return getString(column).isEmpty();
+    }
+
+    /**
+     * Get the text of a cell.
+     *
+     * @param column the 0-based column index.
+     * @return the cell text, or an empty string if the cell is missing.
+     */
+    public String getString(int column) {
+        if (column >= values.length || values[column] == null) {
+            return "";
+        }
+        return values[column];
+    }
+
+    /**
+     * Get the numeric value of a cell.
+     *
+     * @param column the 0-based column index.
+     * @return the cell value, or {@code 0} if the cell is missing.
+     */
+    public double getNumeric(int column) {
+        String value = getString(column).trim();
+        if (value.isEmpty()) {
+            return 0;
+        }
+        return Double.parseDouble(value);
+    }
+
+    /**
+     * Get the date value of a cell stored as an Excel serial date.
+     *
+     * @param column the 0-based column index.
+     * @return the cell date, or {@code null} if the cell is missing.
+     */
+    public Date getDate(int column) {
+        if (isBlank(column)) {
+            return null;
+        }
+        return DateUtil.getJavaDate(getNumeric(column));
+    }
+
+    @Override
+    public String toString() {
+        return "ExcelRow{" +
+            "rowNum=" + rowNum +
+            ", values=" + Arrays.toString(values) +
+            "}";
+    }
+}
@@ -0,0 +1,228 @@
+package com.mindtree.leafservice3.service.util;
+
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shared strings table of a workbook, spooled to a temporary file instead of being held in memory.
+ * <p>
+ * Excel stores the text of every string cell once in the shared strings table, which
+ * {@link org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable} loads whole into the heap, so its size
+ * grows with the number of distinct strings of the sheet. Here only the file offset of each string is kept,
+ * 8 bytes per string, and the {@link #CACHE_SIZE} most recently read strings: a sheet of a million distinct
+ * strings needs about 8 MB.
+ */
+class SpooledSharedStrings implements SharedStrings, Closeable {
+
+    static final int CACHE_SIZE = 4096;
+
+    private final Path file;
+
+    private final RandomAccessFile strings;
+
+    private final long[] offsets;
+
+    private final int count;
+
+    private final int uniqueCount;
+
+    private final Map<Integer, String> cache = new LinkedHashMap<Integer, String>(CACHE_SIZE, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private SpooledSharedStrings(Path file, long[] offsets, int count, int uniqueCount) throws IOException {
+        this.file = file;
+        this.strings = new RandomAccessFile(file.toFile(), "r");
+        this.offsets = offsets;
+        this.count = count;
+        this.uniqueCount = uniqueCount;
+    }
+
+    /**
+     * Spool the shared strings table of a workbook.
+     *
+     * @param workbook the workbook.
+     * @return the table, to be closed once the sheets are read.
+     */
+    static SpooledSharedStrings spool(OPCPackage workbook) throws IOException, SAXException, ParserConfigurationException {
+        Path file = Files.createTempFile("shared-strings", ".bin");
+        try {
+            Spooler spooler = new Spooler();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                spooler.out = out;
+                List<PackagePart> parts = workbook.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+                if (!parts.isEmpty()) {
+                    XMLReader parser = SAXHelper.newXMLReader();
+                    parser.setContentHandler(spooler);
+                    try (InputStream part = parts.get(0).getInputStream()) {
+                        parser.parse(new InputSource(part));
+                    }
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            long[] offsets = spooler.size == spooler.offsets.length ? spooler.offsets
+                : Arrays.copyOf(spooler.offsets, spooler.size);
+            return new SpooledSharedStrings(file, offsets, spooler.count, spooler.uniqueCount);
+        } catch (IOException | SAXException | ParserConfigurationException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    @Override
+    public RichTextString getItemAt(int idx) {
+        return new XSSFRichTextString(getEntryAt(idx));
+    }
+
+    /**
+     * @param idx the index of the string in the table.
+     * @return the text of the string.
+     */
+    String getEntryAt(int idx) {
+        String value = cache.get(idx);
+        if (value == null) {
+            value = read(idx);
+            cache.put(idx, value);
+        }
+        return value;
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public int getUniqueCount() {
+        return uniqueCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            strings.close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private String read(int idx) {
+        try {
+            strings.seek(offsets[idx]);
+            byte[] bytes = new byte[strings.readInt()];
+            strings.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the text of each {@code si} element of the table as its length followed by its UTF-8 bytes,
+     * skipping the phonetic runs like {@link org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable}.
+     */
+    private static class Spooler extends DefaultHandler {
+
+        private DataOutputStream out;
+
+        private long[] offsets = new long[1024];
+
+        private int size;
+
+        private long position;
+
+        private int count;
+
+        private int uniqueCount;
+
+        private final StringBuilder characters = new StringBuilder();
+
+        private boolean tIsOpen;
+
+        private boolean inRPh;
+
+        @Override
+        public void startElement(String uri, String localName, String name, Attributes attributes) {
+            if ("sst".equals(localName)) {
+                count = intAttribute(attributes, "count");
+                uniqueCount = intAttribute(attributes, "uniqueCount");
+                offsets = new long[Math.max(uniqueCount, 1)];
+            } else if ("si".equals(localName)) {
+                characters.setLength(0);
+            } else if ("t".equals(localName)) {
+                tIsOpen = true;
+            } else if ("rPh".equals(localName)) {
+                inRPh = true;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String name) {
+            if ("si".equals(localName)) {
+                write(characters.toString());
+            } else if ("t".equals(localName)) {
+                tIsOpen = false;
+            } else if ("rPh".equals(localName)) {
+                inRPh = false;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (tIsOpen && !inRPh) {
+                characters.append(ch, start, length);
+            }
+        }
+
+        private void write(String value) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = position;
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            try {
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            position += Integer.BYTES + bytes.length;
+        }
+
+        private static int intAttribute(Attributes attributes, String name) {
+            String value = attributes.getValue(name);
+            return value == null ? 0 : Integer.parseInt(value);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.mindtree.leafservice3.service.util;
+
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the first sheet of an {@code .xlsx} workbook row by row with the POI event (SAX) API.
+ * <p>
+ * Unlike {@link org.apache.poi.xssf.usermodel.XSSFWorkbook}, only the row being parsed is held
+ * in memory, so the heap used does not grow with the number of rows in the sheet. The shared strings
+ * table, which holds the text of every string cell, is spooled to disk by {@link SpooledSharedStrings}:
+ * it costs 8 bytes of heap per distinct string.
+ */
+public final class StreamingExcelReader {
+
+    private StreamingExcelReader() {
+    }
+
+    /**
+     * Stream the rows of the first sheet of a workbook.
+     * <p>
+     * The stream is spooled to a temporary file first, so the zip entries are read from disk
+     * instead of being inflated in memory.
+     *
+     * @param inputStream the workbook content.
+     * @param firstRow the 0-based index of the first row to hand over, header rows before it are skipped.
+     * @param rowHandler called for each row, in sheet order.
+     * @return the number of rows handed over.
+     * @throws IOException if the content is not a readable workbook.
+     */
+    public static long forEachRow(InputStream inputStream, int firstRow, Consumer<ExcelRow> rowHandler) throws IOException {
+        Path workbookFile = Files.createTempFile("upload-excel", ".xlsx");
+        try {
+            Files.copy(inputStream, workbookFile, StandardCopyOption.REPLACE_EXISTING);
+            return forEachRow(workbookFile.toFile(), firstRow, rowHandler);
+        } finally {
+            Files.deleteIfExists(workbookFile);
+        }
+    }
+
+    /**
+     * Stream the rows of the first sheet of a workbook file.
+     *
+     * @param workbookFile the workbook.
+     * @param firstRow the 0-based index of the first row to hand over, header rows before it are skipped.
+     * @param rowHandler called for each row, in sheet order.
+     * @return the number of rows handed over.
+     * @throws IOException if the file is not a readable workbook.
+     */
+    public static long forEachRow(File workbookFile, int firstRow, Consumer<ExcelRow> rowHandler) throws IOException {
+        try (OPCPackage workbook = OPCPackage.open(workbookFile, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(workbook);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return 0;
+            }
+            RowCollector collector = new RowCollector(firstRow, rowHandler);
+            try (SpooledSharedStrings strings = SpooledSharedStrings.spool(workbook);
+                    InputStream sheet = sheets.next()) {
+                XMLReader parser = SAXHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), strings, collector, new RawValueFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+            return collector.rowCount;
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Could not read the workbook", e);
+        }
+    }
+
+    /**
+     * Keeps numeric cells (including dates) as their raw stored value instead of the display format.
+     * <p>
+     * Like the general format of {@link DataFormatter}, integral values have no fraction, so id and year
+     * cells read as {@code "123"} rather than {@code "123.0"}.
+     */
+    static class RawValueFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    private static class RowCollector implements SheetContentsHandler {
+
+        private final int firstRow;
+
+        private final Consumer<ExcelRow> rowHandler;
+
+        private final List<String> values = new ArrayList<>();
+
+        private int currentRow;
+
+        private long rowCount;
+
+        RowCollector(int firstRow, Consumer<ExcelRow> rowHandler) {
+            this.firstRow = firstRow;
+            this.rowHandler = rowHandler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentRow = rowNum;
+            values.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum < firstRow || values.isEmpty()) {
+                return;
+            }
+            rowHandler.accept(new ExcelRow(rowNum, values.toArray(new String[0])));
+            rowCount++;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (currentRow < firstRow) {
+                return;
+            }
+            int column = cellReference == null ? values.size() : new CellReference(cellReference).getCol();
+            while (values.size() < column) {
+                values.add(null);
+            }
+            values.add(formattedValue);
+        }
+    }
+}
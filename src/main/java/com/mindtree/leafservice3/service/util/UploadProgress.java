@@ -0,0 +1,38 @@
+package com.mindtree.leafservice3.service.util;
+
+/**
+ * Receives the outcome of each sheet row of an Excel upload.
+ */
+public interface UploadProgress {
+
+    /**
+     * Stops the upload on the first row that cannot be imported.
+     */
+    UploadProgress FAIL_FAST = new UploadProgress() {
+
+        @Override
+        public void rowProcessed(ExcelRow row) {
+        }
+
+        @Override
+        public void rowFailed(ExcelRow row, RuntimeException exception) {
+            throw exception;
+        }
+    };
+
+    /**
+     * Called once a row has been imported.
+     *
+     * @param row the imported row.
+     */
+    void rowProcessed(ExcelRow row);
+
+    /**
+     * Called when the values of a row are invalid, before any of it is written. The upload goes on with the
+     * next row unless this method throws.
+     *
+     * @param row the rejected row.
+     * @param exception the reason it was rejected.
+     */
+    void rowFailed(ExcelRow row, RuntimeException exception);
+}
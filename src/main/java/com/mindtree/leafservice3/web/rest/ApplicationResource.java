@@ -4,16 +4,24 @@ import com.mindtree.leafservice3.domain.Application;
 import com.mindtree.leafservice3.service.ApplicationService;
 import com.mindtree.leafservice3.service.dto.ChartData;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
+import com.mindtree.leafservice3.web.rest.util.KeysetListWriter;
 
 import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -39,8 +47,11 @@ public class ApplicationResource {
 
     private final ApplicationService applicationService;
 
-    public ApplicationResource(ApplicationService applicationService) {
+    private final KeysetListWriter keysetListWriter;
+
+    public ApplicationResource(ApplicationService applicationService, KeysetListWriter keysetListWriter) {
         this.applicationService = applicationService;
+        this.keysetListWriter = keysetListWriter;
     }
 
     /**
@@ -84,14 +95,19 @@ public class ApplicationResource {
     }
 
     /**
-     * {@code GET  /applications} : get all the applications.
+     * {@code GET  /applications} : get all the applications, or a keyset page of them.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of applications in body.
+     * @param after the id after which the page starts.
+     * @param size the size of the page, capped to the largest page size.
+     * @param response the response the list is written to, with status {@code 200 (OK)}, and a {@code Link} header
+     *                 to the next page when a page is requested and full.
+     * @throws IOException if the response can't be written.
      */
     @GetMapping("/applications")
-    public List<Application> getAllApplications() {
-        log.debug("REST request to get all Applications");
-        return applicationService.findAll();
+    public void getAllApplications(@RequestParam(required = false) Long after, @RequestParam(required = false) Integer size,
+            HttpServletResponse response) throws IOException {
+        log.debug("REST request to get Applications after {}", after);
+        keysetListWriter.write(Application.class, Application::getId, after, size, response);
     }
 
     /**
@@ -133,10 +149,31 @@ public class ApplicationResource {
         return applicationService.search(query);
     }
 
+    /**
+     * {@code GET  /getAppChartData} : get the organizational tree.
+     *
+     * @param parentId the tracking id of the node to expand, the top of the tree if absent.
+     * @param depth the number of levels to return, every level if absent.
+     * @param page the page of the nodes right below the parent, every node if neither the page nor its size is set.
+     * @param size the size of the page.
+     * @param pageable the pagination information of the nodes right below the parent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the nodes below the parent in body, each
+     * with the nodes below it up to the depth.
+     */
     @GetMapping("/getAppChartData")
-    public List<ChartData> organizationalChartData() { 
-        log.debug("REST request to get organizational chart data");
-        return applicationService.organizationalChartData();
+    public ResponseEntity<List<ChartData>> organizationalChartData(@RequestParam(required = false) String parentId,
+            @RequestParam(required = false) Integer depth, @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size, Pageable pageable) {
+        log.debug("REST request to get organizational chart data below {} to depth {}", parentId, depth);
+        if (depth != null && depth < 1) {
+            throw new BadRequestAlertException("The depth must be at least 1", ENTITY_NAME, "depthinvalid");
+        }
+        if (page == null && size == null) {
+            return ResponseEntity.ok(applicationService.organizationalChartData(parentId, depth, Pageable.unpaged()).getContent());
+        }
+        Page<ChartData> nodes = applicationService.organizationalChartData(parentId, depth, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), nodes);
+        return ResponseEntity.ok().headers(headers).body(nodes.getContent());
     }
 
     @GetMapping("/getAppChartData/{company_id}")
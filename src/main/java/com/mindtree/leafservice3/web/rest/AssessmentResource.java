@@ -4,16 +4,21 @@ import com.mindtree.leafservice3.domain.Assessment;
 import com.mindtree.leafservice3.repository.AssessmentRepository;
 import com.mindtree.leafservice3.repository.search.AssessmentSearchRepository;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
+import com.mindtree.leafservice3.web.rest.util.KeysetListWriter;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional; 
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -43,9 +48,18 @@ public class AssessmentResource {
 
     private final AssessmentSearchRepository assessmentSearchRepository;
 
-    public AssessmentResource(AssessmentRepository assessmentRepository, AssessmentSearchRepository assessmentSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final KeysetListWriter keysetListWriter;
+
+    public AssessmentResource(AssessmentRepository assessmentRepository,
+            AssessmentSearchRepository assessmentSearchRepository,
+            SearchIndexingService searchIndexingService,
+            KeysetListWriter keysetListWriter) {
         this.assessmentRepository = assessmentRepository;
         this.assessmentSearchRepository = assessmentSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.keysetListWriter = keysetListWriter;
     }
 
     /**
@@ -62,7 +76,7 @@ public class AssessmentResource {
             throw new BadRequestAlertException("A new assessment cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Assessment result = assessmentRepository.save(assessment);
-        assessmentSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/assessments/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -84,22 +98,28 @@ public class AssessmentResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         Assessment result = assessmentRepository.save(assessment);
-        assessmentSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, assessment.getId().toString()))
             .body(result);
     }
 
     /**
-     * {@code GET  /assessments} : get all the assessments.
+     * {@code GET  /assessments} : get the summaries of all the assessments, or a keyset page of them,
+     * without their questions.
      *
-
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of assessments in body.
+     * @param after the id after which the page starts.
+     * @param size the size of the page, capped to the largest page size.
+     * @param response the response the list is written to, with status {@code 200 (OK)}, and a {@code Link} header
+     *                 to the next page when a page is requested and full.
+     * @throws IOException if the response can't be written.
      */
     @GetMapping("/assessments")
-    public List<Assessment> getAllAssessments() {
-        log.debug("REST request to get all Assessments");
-        return assessmentRepository.findAll();
+    public void getAllAssessments(@RequestParam(required = false) Long after, @RequestParam(required = false) Integer size,
+            HttpServletResponse response) throws IOException {
+        log.debug("REST request to get Assessments after {}", after);
+        keysetListWriter.write((cursor, limit) -> assessmentRepository.findSummariesAfter(cursor, PageRequest.of(0, limit)),
+            summary -> summary.id, after, size, response);
     }
 
     /**
@@ -125,7 +145,7 @@ public class AssessmentResource {
     public ResponseEntity<Void> deleteAssessment(@PathVariable Long id) {
         log.debug("REST request to delete Assessment : {}", id);
         assessmentRepository.deleteById(id);
-        assessmentSearchRepository.deleteById(id);
+        searchIndexingService.delete(Assessment.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString())).build();
     }
 
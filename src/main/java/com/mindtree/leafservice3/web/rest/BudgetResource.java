@@ -4,6 +4,7 @@ import com.mindtree.leafservice3.domain.Budget;
 import com.mindtree.leafservice3.repository.BudgetRepository;
 import com.mindtree.leafservice3.repository.search.BudgetSearchRepository;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.PaginationUtil;
@@ -49,9 +50,14 @@ public class BudgetResource {
 
     private final BudgetSearchRepository budgetSearchRepository;
 
-    public BudgetResource(BudgetRepository budgetRepository, BudgetSearchRepository budgetSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public BudgetResource(BudgetRepository budgetRepository,
+            BudgetSearchRepository budgetSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.budgetRepository = budgetRepository;
         this.budgetSearchRepository = budgetSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -68,7 +74,7 @@ public class BudgetResource {
             throw new BadRequestAlertException("A new budget cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Budget result = budgetRepository.save(budget);
-        budgetSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/budgets/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -90,7 +96,7 @@ public class BudgetResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         Budget result = budgetRepository.save(budget);
-        budgetSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, budget.getId().toString()))
             .body(result);
@@ -135,7 +141,7 @@ public class BudgetResource {
     public ResponseEntity<Void> deleteBudget(@PathVariable Long id) {
         log.debug("REST request to delete Budget : {}", id);
         budgetRepository.deleteById(id);
-        budgetSearchRepository.deleteById(id);
+        searchIndexingService.delete(Budget.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString())).build();
     }
 
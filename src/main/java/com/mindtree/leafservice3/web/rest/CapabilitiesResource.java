@@ -133,8 +133,14 @@ public class CapabilitiesResource {
         return capabilitiesService.search(query);
     }
 
+    /**
+     * {@code GET  /getChartData/:company_id} : get the organizational chart of the "company_id" company.
+     *
+     * @param company_id the id of the company.
+     * @return the nodes of the chart.
+     */
     @GetMapping("/getChartData/{company_id}")
-    public List<ChartData> organizationalChartData(@PathVariable Long company_id) { 
+    public List<ChartData> organizationalChartData(@PathVariable Long company_id) {
         log.debug("REST request to get organizational chart data");
         return capabilitiesService.organizationalChartData(company_id);
     }
@@ -4,12 +4,16 @@ import com.mindtree.leafservice3.domain.Diagram;
 import com.mindtree.leafservice3.repository.DiagramRepository;
 import com.mindtree.leafservice3.repository.search.DiagramSearchRepository;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
+import com.mindtree.leafservice3.web.rest.util.BlobResponseUtil;
+import com.mindtree.leafservice3.service.BlobStorageService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional; 
 import org.springframework.web.bind.annotation.*;
@@ -19,7 +23,10 @@ import java.net.URI;
 import java.net.URISyntaxException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -44,9 +51,18 @@ public class DiagramResource {
 
     private final DiagramSearchRepository diagramSearchRepository;
 
-    public DiagramResource(DiagramRepository diagramRepository, DiagramSearchRepository diagramSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final BlobStorageService blobStorageService;
+
+    public DiagramResource(DiagramRepository diagramRepository,
+            DiagramSearchRepository diagramSearchRepository,
+            SearchIndexingService searchIndexingService,
+            BlobStorageService blobStorageService) {
         this.diagramRepository = diagramRepository;
         this.diagramSearchRepository = diagramSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.blobStorageService = blobStorageService;
     }
 
     /**
@@ -62,8 +78,9 @@ public class DiagramResource {
         if (diagram.getId() != null) {
             throw new BadRequestAlertException("A new diagram cannot already have an ID", ENTITY_NAME, "idexists");
         }
+        storePicture(diagram);
         Diagram result = diagramRepository.save(diagram);
-        diagramSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/diagrams/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -84,8 +101,9 @@ public class DiagramResource {
         if (diagram.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        storePicture(diagram);
         Diagram result = diagramRepository.save(diagram);
-        diagramSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, diagram.getId().toString()))
             .body(result);
@@ -116,6 +134,25 @@ public class DiagramResource {
         return ResponseUtil.wrapOrNotFound(diagram);
     }
 
+    /**
+     * {@code GET  /diagrams/:id/picture} : get the picture of the "id" diagram.
+     *
+     * @param id the id of the diagram.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the content in body, with status
+     *         {@code 206 (Partial Content)} and the requested ranges of the content, with status
+     *         {@code 304 (Not Modified)} if the content matches {@code If-None-Match}, or with status
+     *         {@code 404 (Not Found)}.
+     */
+    @GetMapping("/diagrams/{id}/picture")
+    public ResponseEntity<Resource> getDiagramPicture(@PathVariable Long id) {
+        log.debug("REST request to get the picture of Diagram : {}", id);
+        return diagramRepository.findById(id)
+            .filter(diagram -> diagram.getPictureKey() != null)
+            .map(diagram -> BlobResponseUtil.wrapOrNotFound(blobStorageService.find(diagram.getPictureKey()),
+                diagram.getPictureKey(), diagram.getPictureContentType()))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * {@code DELETE  /diagrams/:id} : delete the "id" diagram.
      *
@@ -126,7 +163,7 @@ public class DiagramResource {
     public ResponseEntity<Void> deleteDiagram(@PathVariable Long id) {
         log.debug("REST request to delete Diagram : {}", id);
         diagramRepository.deleteById(id);
-        diagramSearchRepository.deleteById(id);
+        searchIndexingService.delete(Diagram.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString())).build();
     }
 
@@ -140,8 +177,23 @@ public class DiagramResource {
     @GetMapping("/_search/diagrams")
     public List<Diagram> searchDiagrams(@RequestParam String query) {
         log.debug("REST request to search Diagrams for query {}", query);
-        return StreamSupport
+        // the documents only hold the metadata of the pictures, read the diagrams found from the database
+        List<Long> ids = StreamSupport
             .stream(diagramSearchRepository.search(queryStringQuery(query)).spliterator(), false)
+            .map(Diagram::getId)
             .collect(Collectors.toList());
+        Map<Long, Diagram> diagrams = diagramRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Diagram::getId, Function.identity()));
+        return ids.stream().map(diagrams::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private void storePicture(Diagram diagram) {
+        if (diagram.getPicture() != null) {
+            diagram.setPictureKey(blobStorageService.store(diagram.getPicture()));
+            diagram.setPictureSize((long) diagram.getPicture().length);
+        } else if (!blobStorageService.exists(diagram.getPictureKey())) {
+            throw new BadRequestAlertException("The picture is missing from the request and the blob store", ENTITY_NAME,
+                "picturenull");
+        }
     }
 }
@@ -4,16 +4,21 @@ import com.mindtree.leafservice3.domain.Evaluation;
 import com.mindtree.leafservice3.repository.EvaluationRepository;
 import com.mindtree.leafservice3.repository.search.EvaluationSearchRepository;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
+import com.mindtree.leafservice3.web.rest.util.KeysetListWriter;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -42,9 +47,18 @@ public class EvaluationResource {
 
     private final EvaluationSearchRepository evaluationSearchRepository;
 
-    public EvaluationResource(EvaluationRepository evaluationRepository, EvaluationSearchRepository evaluationSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final KeysetListWriter keysetListWriter;
+
+    public EvaluationResource(EvaluationRepository evaluationRepository,
+            EvaluationSearchRepository evaluationSearchRepository,
+            SearchIndexingService searchIndexingService,
+            KeysetListWriter keysetListWriter) {
         this.evaluationRepository = evaluationRepository;
         this.evaluationSearchRepository = evaluationSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.keysetListWriter = keysetListWriter;
     }
 
     /**
@@ -62,7 +76,7 @@ public class EvaluationResource {
         }
         System.out.println("Check"+evaluation);
         Evaluation result = evaluationRepository.save(evaluation);
-        evaluationSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/evaluations/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -84,21 +98,28 @@ public class EvaluationResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         Evaluation result = evaluationRepository.save(evaluation);
-        evaluationSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, evaluation.getId().toString()))
             .body(result);
     }
 
     /**
-     * {@code GET  /evaluations} : get all the evaluations.
+     * {@code GET  /evaluations} : get the summaries of all the evaluations, or a keyset page of them,
+     * without their assessment results.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of evaluations in body.
+     * @param after the id after which the page starts.
+     * @param size the size of the page, capped to the largest page size.
+     * @param response the response the list is written to, with status {@code 200 (OK)}, and a {@code Link} header
+     *                 to the next page when a page is requested and full.
+     * @throws IOException if the response can't be written.
      */
     @GetMapping("/evaluations")
-    public List<Evaluation> getAllEvaluations() {
-        log.debug("REST request to get all Evaluations");
-        return evaluationRepository.findAll();
+    public void getAllEvaluations(@RequestParam(required = false) Long after, @RequestParam(required = false) Integer size,
+            HttpServletResponse response) throws IOException {
+        log.debug("REST request to get Evaluations after {}", after);
+        keysetListWriter.write((cursor, limit) -> evaluationRepository.findSummariesAfter(cursor, PageRequest.of(0, limit)),
+            summary -> summary.id, after, size, response);
     }
 
     /**
@@ -124,7 +145,7 @@ public class EvaluationResource {
     public ResponseEntity<Void> deleteEvaluation(@PathVariable Long id) {
         log.debug("REST request to delete Evaluation : {}", id);
         evaluationRepository.deleteById(id);
-        evaluationSearchRepository.deleteById(id);
+        searchIndexingService.delete(Evaluation.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString())).build();
     }
 
@@ -4,6 +4,7 @@ import com.mindtree.leafservice3.domain.Example;
 import com.mindtree.leafservice3.repository.ExampleRepository;
 import com.mindtree.leafservice3.repository.search.ExampleSearchRepository;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.ResponseUtil;
@@ -42,9 +43,14 @@ public class ExampleResource {
 
     private final ExampleSearchRepository exampleSearchRepository;
 
-    public ExampleResource(ExampleRepository exampleRepository, ExampleSearchRepository exampleSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public ExampleResource(ExampleRepository exampleRepository,
+            ExampleSearchRepository exampleSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.exampleRepository = exampleRepository;
         this.exampleSearchRepository = exampleSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -61,7 +67,7 @@ public class ExampleResource {
             throw new BadRequestAlertException("A new example cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Example result = exampleRepository.save(example);
-        exampleSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/examples/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -83,7 +89,7 @@ public class ExampleResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         Example result = exampleRepository.save(example);
-        exampleSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, example.getId().toString()))
             .body(result);
@@ -123,7 +129,7 @@ public class ExampleResource {
     public ResponseEntity<Void> deleteExample(@PathVariable Long id) {
         log.debug("REST request to delete Example : {}", id);
         exampleRepository.deleteById(id);
-        exampleSearchRepository.deleteById(id);
+        searchIndexingService.delete(Example.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString())).build();
     }
 
@@ -4,12 +4,16 @@ import com.mindtree.leafservice3.domain.ExcelTemplate;
 import com.mindtree.leafservice3.repository.ExcelTemplateRepository;
 import com.mindtree.leafservice3.repository.search.ExcelTemplateSearchRepository;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
+import com.mindtree.leafservice3.web.rest.util.BlobResponseUtil;
+import com.mindtree.leafservice3.service.BlobStorageService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,7 +22,10 @@ import java.net.URI;
 import java.net.URISyntaxException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -42,9 +49,18 @@ public class ExcelTemplateResource {
 
     private final ExcelTemplateSearchRepository excelTemplateSearchRepository;
 
-    public ExcelTemplateResource(ExcelTemplateRepository excelTemplateRepository, ExcelTemplateSearchRepository excelTemplateSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final BlobStorageService blobStorageService;
+
+    public ExcelTemplateResource(ExcelTemplateRepository excelTemplateRepository,
+            ExcelTemplateSearchRepository excelTemplateSearchRepository,
+            SearchIndexingService searchIndexingService,
+            BlobStorageService blobStorageService) {
         this.excelTemplateRepository = excelTemplateRepository;
         this.excelTemplateSearchRepository = excelTemplateSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.blobStorageService = blobStorageService;
     }
 
     /**
@@ -60,8 +76,9 @@ public class ExcelTemplateResource {
         if (excelTemplate.getId() != null) {
             throw new BadRequestAlertException("A new excelTemplate cannot already have an ID", ENTITY_NAME, "idexists");
         }
+        storeFileName(excelTemplate);
         ExcelTemplate result = excelTemplateRepository.save(excelTemplate);
-        excelTemplateSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/excel-templates/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -82,8 +99,9 @@ public class ExcelTemplateResource {
         if (excelTemplate.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        storeFileName(excelTemplate);
         ExcelTemplate result = excelTemplateRepository.save(excelTemplate);
-        excelTemplateSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, excelTemplate.getId().toString()))
             .body(result);
@@ -113,6 +131,25 @@ public class ExcelTemplateResource {
         return ResponseUtil.wrapOrNotFound(excelTemplate);
     }
 
+    /**
+     * {@code GET  /excel-templates/:id/file-name} : get the template file of the "id" excelTemplate.
+     *
+     * @param id the id of the excelTemplate.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the content in body, with status
+     *         {@code 206 (Partial Content)} and the requested ranges of the content, with status
+     *         {@code 304 (Not Modified)} if the content matches {@code If-None-Match}, or with status
+     *         {@code 404 (Not Found)}.
+     */
+    @GetMapping("/excel-templates/{id}/file-name")
+    public ResponseEntity<Resource> getExcelTemplateFileName(@PathVariable Long id) {
+        log.debug("REST request to get the fileName of ExcelTemplate : {}", id);
+        return excelTemplateRepository.findById(id)
+            .filter(excelTemplate -> excelTemplate.getFileNameKey() != null)
+            .map(excelTemplate -> BlobResponseUtil.wrapOrNotFound(blobStorageService.find(excelTemplate.getFileNameKey()),
+                excelTemplate.getFileNameKey(), excelTemplate.getFileNameContentType()))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * {@code DELETE  /excel-templates/:id} : delete the "id" excelTemplate.
      *
@@ -123,7 +160,7 @@ public class ExcelTemplateResource {
     public ResponseEntity<Void> deleteExcelTemplate(@PathVariable Long id) {
         log.debug("REST request to delete ExcelTemplate : {}", id);
         excelTemplateRepository.deleteById(id);
-        excelTemplateSearchRepository.deleteById(id);
+        searchIndexingService.delete(ExcelTemplate.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString())).build();
     }
 
@@ -137,9 +174,23 @@ public class ExcelTemplateResource {
     @GetMapping("/_search/excel-templates")
     public List<ExcelTemplate> searchExcelTemplates(@RequestParam String query) {
         log.debug("REST request to search ExcelTemplates for query {}", query);
-        return StreamSupport
+        // the documents only hold the metadata of the files, read the templates found from the database
+        List<Long> ids = StreamSupport
             .stream(excelTemplateSearchRepository.search(queryStringQuery(query)).spliterator(), false)
+            .map(ExcelTemplate::getId)
             .collect(Collectors.toList());
+        Map<Long, ExcelTemplate> excelTemplates = excelTemplateRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(ExcelTemplate::getId, Function.identity()));
+        return ids.stream().map(excelTemplates::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
+    private void storeFileName(ExcelTemplate excelTemplate) {
+        if (excelTemplate.getFileName() != null) {
+            excelTemplate.setFileNameKey(blobStorageService.store(excelTemplate.getFileName()));
+            excelTemplate.setFileNameSize((long) excelTemplate.getFileName().length);
+        } else if (!blobStorageService.exists(excelTemplate.getFileNameKey())) {
+            throw new BadRequestAlertException("The template file is missing from the request and the blob store",
+                ENTITY_NAME, "filenamenull");
+        }
+    }
 }
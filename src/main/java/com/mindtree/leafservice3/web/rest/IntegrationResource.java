@@ -1,8 +1,10 @@
 package com.mindtree.leafservice3.web.rest;
 
 import com.mindtree.leafservice3.domain.Integration;
+import com.mindtree.leafservice3.service.IntegrationGraphService;
 import com.mindtree.leafservice3.service.IntegrationService;
 import com.mindtree.leafservice3.service.dto.IntegrationData;
+import com.mindtree.leafservice3.service.dto.IntegrationGraphNode;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
@@ -39,8 +41,11 @@ public class IntegrationResource {
 
     private final IntegrationService integrationService;
 
-    public IntegrationResource(IntegrationService integrationService) {
+    private final IntegrationGraphService integrationGraphService;
+
+    public IntegrationResource(IntegrationService integrationService, IntegrationGraphService integrationGraphService) {
         this.integrationService = integrationService;
+        this.integrationGraphService = integrationGraphService;
     }
 
     /**
@@ -138,4 +143,51 @@ public class IntegrationResource {
     public IntegrationData getIntegrationData(@PathVariable Long app_id) {
         return integrationService.getIntegrationData(app_id);
     }
+
+    /**
+     * {@code GET  /integrations/graph/:app_id/neighbourhood?hops=:hops} : get the applications linked to an
+     * application within a number of hops, whatever the direction of the data flow.
+     *
+     * @param app_id the id of the application.
+     * @param hops the largest number of hops.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the applications, nearest first,
+     * or with status {@code 404 (Not Found)} if the application does not exist.
+     */
+    @GetMapping("/integrations/graph/{app_id}/neighbourhood")
+    public ResponseEntity<List<IntegrationGraphNode>> getNeighbourhood(@PathVariable Long app_id,
+            @RequestParam(defaultValue = "1") int hops) {
+        log.debug("REST request to get the applications within {} hops of Application : {}", hops, app_id);
+        return ResponseUtil.wrapOrNotFound(integrationGraphService.getNeighbourhood(app_id, hops));
+    }
+
+    /**
+     * {@code GET  /integrations/graph/:app_id/blast-radius?hops=:hops} : get the applications the data of an
+     * application flows to, directly or through other applications.
+     *
+     * @param app_id the id of the application.
+     * @param hops the largest number of hops, every application reached when absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the applications, nearest first,
+     * or with status {@code 404 (Not Found)} if the application does not exist.
+     */
+    @GetMapping("/integrations/graph/{app_id}/blast-radius")
+    public ResponseEntity<List<IntegrationGraphNode>> getBlastRadius(@PathVariable Long app_id,
+            @RequestParam(required = false) Integer hops) {
+        log.debug("REST request to get the blast radius of Application : {}", app_id);
+        return ResponseUtil.wrapOrNotFound(integrationGraphService.getBlastRadius(app_id, hops));
+    }
+
+    /**
+     * {@code GET  /integrations/graph/path?from=:from&to=:to} : get a path with the fewest integrations between two
+     * applications, whatever the direction of the data flow.
+     *
+     * @param from the id of the first application.
+     * @param to the id of the last application.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the applications of the path, or
+     * with status {@code 404 (Not Found)} if the applications are not linked.
+     */
+    @GetMapping("/integrations/graph/path")
+    public ResponseEntity<List<IntegrationGraphNode>> getShortestPath(@RequestParam Long from, @RequestParam Long to) {
+        log.debug("REST request to get the shortest path from Application : {} to Application : {}", from, to);
+        return ResponseUtil.wrapOrNotFound(integrationGraphService.getShortestPath(from, to));
+    }
 }
@@ -4,17 +4,22 @@ import com.mindtree.leafservice3.domain.Label;
 import com.mindtree.leafservice3.repository.LabelRepository;
 import com.mindtree.leafservice3.repository.search.LabelSearchRepository;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
+import com.mindtree.leafservice3.web.rest.util.KeysetListWriter;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional; 
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -44,9 +49,18 @@ public class LabelResource {
 
     private final LabelSearchRepository labelSearchRepository;
 
-    public LabelResource(LabelRepository labelRepository, LabelSearchRepository labelSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final KeysetListWriter keysetListWriter;
+
+    public LabelResource(LabelRepository labelRepository,
+            LabelSearchRepository labelSearchRepository,
+            SearchIndexingService searchIndexingService,
+            KeysetListWriter keysetListWriter) {
         this.labelRepository = labelRepository;
         this.labelSearchRepository = labelSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.keysetListWriter = keysetListWriter;
     }
 
     /**
@@ -63,7 +77,7 @@ public class LabelResource {
             throw new BadRequestAlertException("A new label cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Label result = labelRepository.save(label);
-        labelSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/labels/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -85,22 +99,28 @@ public class LabelResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         Label result = labelRepository.save(label);
-        labelSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, label.getId().toString()))
             .body(result);
     }
 
     /**
-     * {@code GET  /labels} : get all the labels.
+     * {@code GET  /labels} : get the summaries of all the labels, or a keyset page of them,
+     * without their data.
      *
-
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of labels in body.
+     * @param after the id after which the page starts.
+     * @param size the size of the page, capped to the largest page size.
+     * @param response the response the list is written to, with status {@code 200 (OK)}, and a {@code Link} header
+     *                 to the next page when a page is requested and full.
+     * @throws IOException if the response can't be written.
      */
     @GetMapping("/labels")
-    public List<Label> getAllLabels() {
-        log.debug("REST request to get all Labels");
-        return labelRepository.findAll();
+    public void getAllLabels(@RequestParam(required = false) Long after, @RequestParam(required = false) Integer size,
+            HttpServletResponse response) throws IOException {
+        log.debug("REST request to get Labels after {}", after);
+        keysetListWriter.write((cursor, limit) -> labelRepository.findSummariesAfter(cursor, PageRequest.of(0, limit)),
+            summary -> summary.id, after, size, response);
     }
 
     /**
@@ -126,7 +146,7 @@ public class LabelResource {
     public ResponseEntity<Void> deleteLabel(@PathVariable Long id) {
         log.debug("REST request to delete Label : {}", id);
         labelRepository.deleteById(id);
-        labelSearchRepository.deleteById(id);
+        searchIndexingService.delete(Label.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString())).build();
     }
 
@@ -133,9 +133,22 @@ public class LineOfBusinessResource {
         return lineOfBusinessService.search(query);
     }
 
+    /**
+     * {@code GET  /_search/lob/:lob_id?depth=:depth&page=:page&size=:size} : drill down into a lineOfBusiness.
+     *
+     * @param lob_id the id of the lineOfBusiness.
+     * @param depth the number of levels read below the lineOfBusiness, from {@code 1} for the business functions to
+     * {@code 5} for the tasks.
+     * @param page the page of business functions.
+     * @param size the number of business functions of the page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the business functions of the
+     * lineOfBusiness and their subtree, or with status {@code 404 (Not Found)}.
+     */
     @GetMapping("/_search/lob/{lob_id}")
-    public LobSearchData searchData(@PathVariable Long lob_id) {
-        log.debug("REST request to search LineOfBusinesses for query {}", lob_id);
-        return lineOfBusinessService.searchData(lob_id);
+    public ResponseEntity<LobSearchData> searchData(@PathVariable Long lob_id,
+            @RequestParam(defaultValue = "" + LobSearchData.MAX_DEPTH) int depth,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(required = false) Integer size) {
+        log.debug("REST request to search data for lob id : {}", lob_id);
+        return ResponseUtil.wrapOrNotFound(lineOfBusinessService.searchData(lob_id, depth, page, size));
     }
 }
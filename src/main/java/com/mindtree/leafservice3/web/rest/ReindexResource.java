@@ -0,0 +1,85 @@
+package com.mindtree.leafservice3.web.rest;
+
+import com.mindtree.leafservice3.service.ReindexService;
+import com.mindtree.leafservice3.service.dto.ReindexJobDTO;
+import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
+
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * REST controller for rebuilding the Elasticsearch indices.
+ */
+@RestController
+@RequestMapping("/management/reindex")
+public class ReindexResource {
+
+    private static final String ENTITY_NAME = "reindex";
+
+    private final Logger log = LoggerFactory.getLogger(ReindexResource.class);
+
+    private final ReindexService reindexService;
+
+    public ReindexResource(ReindexService reindexService) {
+        this.reindexService = reindexService;
+    }
+
+    /**
+     * {@code POST  /reindex} : queue the rebuild of search indices.
+     *
+     * @param mode {@code FULL} to rebuild the indices from scratch, {@code INCREMENTAL} to index the rows added
+     *             or updated since the last rebuild.
+     * @param index the aliases of the indices to rebuild, all of them when missing.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the queued job, or with
+     *         status {@code 400 (Bad Request)} if an index is unknown.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping
+    public ResponseEntity<ReindexJobDTO> reindex(@RequestParam(defaultValue = "FULL") ReindexJobDTO.Mode mode,
+            @RequestParam(required = false) List<String> index) throws URISyntaxException {
+        log.debug("REST request to reindex {} : {}", mode, index);
+        Set<String> aliases = reindexService.getAliases();
+        if (index != null) {
+            for (String alias : index) {
+                if (!aliases.contains(alias)) {
+                    throw new BadRequestAlertException("Unknown search index " + alias, ENTITY_NAME, "indexunknown");
+                }
+            }
+        }
+        ReindexJobDTO job = reindexService.submit(mode, index != null ? index : Collections.emptyList());
+        return ResponseEntity.accepted().location(new URI("/management/reindex/" + job.id)).body(job);
+    }
+
+    /**
+     * {@code GET  /reindex} : get the reindex jobs still tracked.
+     *
+     * @return the list of jobs, most recent first.
+     */
+    @GetMapping
+    public List<ReindexJobDTO> getAllReindexJobs() {
+        log.debug("REST request to get all reindex jobs");
+        return reindexService.findAll();
+    }
+
+    /**
+     * {@code GET  /reindex/:id} : get the progress of the "id" reindex job.
+     *
+     * @param id the id of the job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the documents indexed and the
+     *         throughput of every index, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ReindexJobDTO> getReindexJob(@PathVariable String id) {
+        log.debug("REST request to get reindex job : {}", id);
+        return ResponseUtil.wrapOrNotFound(reindexService.findOne(id));
+    }
+}
@@ -1,7 +1,9 @@
 package com.mindtree.leafservice3.web.rest;
 
 import com.mindtree.leafservice3.domain.Report;
+import com.mindtree.leafservice3.service.ReportJobService;
 import com.mindtree.leafservice3.service.ReportService;
+import com.mindtree.leafservice3.service.dto.ReportJobDTO;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
@@ -9,8 +11,13 @@ import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.net.URI;
@@ -38,8 +45,11 @@ public class ReportResource {
 
     private final ReportService reportService;
 
-    public ReportResource(ReportService reportService) {
+    private final ReportJobService reportJobService;
+
+    public ReportResource(ReportService reportService, ReportJobService reportJobService) {
         this.reportService = reportService;
+        this.reportJobService = reportJobService;
     }
 
     /**
@@ -119,11 +129,70 @@ public class ReportResource {
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString())).build();
     }
 
-    @GetMapping("/pdfGenerator") 
-    public void pdfGenerator() {
-        log.debug("REST request to generate pdf Report "); 
+    /**
+     * {@code GET  /pdfGenerator/:company_id} : get the portfolio report of the "company_id" company.
+     * <p>
+     * The PDF is streamed to the response while it is rendered, by the {@code StreamingResponseBodyHttpMessageConverter}
+     * as the body is either a stream or a job. The report of a company with more applications than
+     * the background threshold is rendered by a job instead, to be downloaded from {@code /reports/jobs/:id/pdf}.
+     *
+     * @param company_id the id of the company.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the PDF in body,
+     *         or with status {@code 202 (Accepted)} and the queued job in body,
+     *         or with status {@code 404 (Not Found)} if the company does not exist.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @GetMapping("/pdfGenerator/{company_id}")
+    public ResponseEntity<?> pdfGenerator(@PathVariable Long company_id) throws URISyntaxException {
+        log.debug("REST request to generate the portfolio report of Company : {}", company_id);
+        Optional<Long> applications = reportService.countPortfolioApplications(company_id);
+        if (!applications.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (reportJobService.isRenderedInBackground(applications.get())) {
+            ReportJobDTO job = reportJobService.submitPortfolioReport(company_id);
+            return ResponseEntity.accepted().location(new URI("/api/reports/jobs/" + job.id)).body(job);
+        }
+        StreamingResponseBody report = outputStream -> reportService.writePortfolioReport(company_id, outputStream);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_PDF)
+            .header(HttpHeaders.CONTENT_DISPOSITION, reportDisposition(company_id))
+            .body(report);
     }
-    
+
+    /**
+     * {@code GET  /reports/jobs/:id} : get the progress of the "id" report job.
+     *
+     * @param id the id of the job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/reports/jobs/{id}")
+    public ResponseEntity<ReportJobDTO> getReportJob(@PathVariable String id) {
+        log.debug("REST request to get report job : {}", id);
+        return ResponseUtil.wrapOrNotFound(reportJobService.findOne(id));
+    }
+
+    /**
+     * {@code GET  /reports/jobs/:id/pdf} : download the report rendered by the "id" job.
+     *
+     * @param id the id of the job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the PDF in body,
+     *         or with status {@code 404 (Not Found)} if the job does not exist or is not completed.
+     */
+    @GetMapping("/reports/jobs/{id}/pdf")
+    public ResponseEntity<Resource> downloadReport(@PathVariable String id) {
+        log.debug("REST request to download the report of report job : {}", id);
+        Optional<ReportJobDTO> job = reportJobService.findOne(id);
+        Optional<Resource> report = reportJobService.findReport(id);
+        if (!job.isPresent() || !report.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_PDF)
+            .header(HttpHeaders.CONTENT_DISPOSITION, reportDisposition(job.get().companyId))
+            .body(report.get());
+    }
+
     /**
      * {@code SEARCH  /_search/reports?query=:query} : search for the report corresponding
      * to the query.
@@ -137,4 +206,8 @@ public class ReportResource {
         return reportService.search(query);
     }
 
+    private static String reportDisposition(Long company_id) {
+        return ContentDisposition.builder("attachment").filename("portfolio-" + company_id + ".pdf").build().toString();
+    }
+
 }
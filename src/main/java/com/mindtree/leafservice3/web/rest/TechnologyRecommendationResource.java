@@ -4,6 +4,7 @@ import com.mindtree.leafservice3.domain.TechnologyRecommendation;
 import com.mindtree.leafservice3.repository.TechnologyRecommendationRepository;
 import com.mindtree.leafservice3.repository.search.TechnologyRecommendationSearchRepository;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.ResponseUtil;
@@ -44,9 +45,14 @@ public class TechnologyRecommendationResource {
 
     private final TechnologyRecommendationSearchRepository technologyRecommendationSearchRepository;
 
-    public TechnologyRecommendationResource(TechnologyRecommendationRepository technologyRecommendationRepository, TechnologyRecommendationSearchRepository technologyRecommendationSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    public TechnologyRecommendationResource(TechnologyRecommendationRepository technologyRecommendationRepository,
+            TechnologyRecommendationSearchRepository technologyRecommendationSearchRepository,
+            SearchIndexingService searchIndexingService) {
         this.technologyRecommendationRepository = technologyRecommendationRepository;
         this.technologyRecommendationSearchRepository = technologyRecommendationSearchRepository;
+        this.searchIndexingService = searchIndexingService;
     }
 
     /**
@@ -63,7 +69,7 @@ public class TechnologyRecommendationResource {
             throw new BadRequestAlertException("A new technologyRecommendation cannot already have an ID", ENTITY_NAME, "idexists");
         }
         TechnologyRecommendation result = technologyRecommendationRepository.save(technologyRecommendation);
-        technologyRecommendationSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/technology-recommendations/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -85,7 +91,7 @@ public class TechnologyRecommendationResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         TechnologyRecommendation result = technologyRecommendationRepository.save(technologyRecommendation);
-        technologyRecommendationSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, technologyRecommendation.getId().toString()))
             .body(result);
@@ -126,7 +132,7 @@ public class TechnologyRecommendationResource {
     public ResponseEntity<Void> deleteTechnologyRecommendation(@PathVariable Long id) {
         log.debug("REST request to delete TechnologyRecommendation : {}", id);
         technologyRecommendationRepository.deleteById(id);
-        technologyRecommendationSearchRepository.deleteById(id);
+        searchIndexingService.delete(TechnologyRecommendation.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString())).build();
     }
 
@@ -4,6 +4,8 @@ import com.mindtree.leafservice3.domain.TechnologySuggestions;
 import com.mindtree.leafservice3.repository.TechnologySuggestionsRepository;
 import com.mindtree.leafservice3.repository.search.TechnologySuggestionsSearchRepository;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
+import com.mindtree.leafservice3.web.rest.util.KeysetListWriter;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.ResponseUtil;
@@ -14,6 +16,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional; 
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -43,9 +47,18 @@ public class TechnologySuggestionsResource {
 
     private final TechnologySuggestionsSearchRepository technologySuggestionsSearchRepository;
 
-    public TechnologySuggestionsResource(TechnologySuggestionsRepository technologySuggestionsRepository, TechnologySuggestionsSearchRepository technologySuggestionsSearchRepository) {
+    private final SearchIndexingService searchIndexingService;
+
+    private final KeysetListWriter keysetListWriter;
+
+    public TechnologySuggestionsResource(TechnologySuggestionsRepository technologySuggestionsRepository,
+            TechnologySuggestionsSearchRepository technologySuggestionsSearchRepository,
+            SearchIndexingService searchIndexingService,
+            KeysetListWriter keysetListWriter) {
         this.technologySuggestionsRepository = technologySuggestionsRepository;
         this.technologySuggestionsSearchRepository = technologySuggestionsSearchRepository;
+        this.searchIndexingService = searchIndexingService;
+        this.keysetListWriter = keysetListWriter;
     }
 
     /**
@@ -64,7 +77,7 @@ public class TechnologySuggestionsResource {
         TechnologySuggestions result = technologySuggestionsRepository.save(technologySuggestions);
         System.out.println("****************************");
         System.out.println(result);
-        technologySuggestionsSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.created(new URI("/api/technology-suggestions/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -86,22 +99,26 @@ public class TechnologySuggestionsResource {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         TechnologySuggestions result = technologySuggestionsRepository.save(technologySuggestions);
-        technologySuggestionsSearchRepository.save(result);
+        searchIndexingService.index(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, technologySuggestions.getId().toString()))
             .body(result);
     }
 
     /**
-     * {@code GET  /technology-suggestions} : get all the technologySuggestions.
+     * {@code GET  /technology-suggestions} : get all the technologySuggestions, or a keyset page of them.
      *
-
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of technologySuggestions in body.
+     * @param after the id after which the page starts.
+     * @param size the size of the page, capped to the largest page size.
+     * @param response the response the list is written to, with status {@code 200 (OK)}, and a {@code Link} header
+     *                 to the next page when a page is requested and full.
+     * @throws IOException if the response can't be written.
      */
     @GetMapping("/technology-suggestions")
-    public List<TechnologySuggestions> getAllTechnologySuggestions() {
-        log.debug("REST request to get all TechnologySuggestions");
-        return technologySuggestionsRepository.findAll();
+    public void getAllTechnologySuggestions(@RequestParam(required = false) Long after, @RequestParam(required = false) Integer size,
+            HttpServletResponse response) throws IOException {
+        log.debug("REST request to get TechnologySuggestions after {}", after);
+        keysetListWriter.write(TechnologySuggestions.class, TechnologySuggestions::getId, after, size, response);
     }
 
     /**
@@ -127,7 +144,7 @@ public class TechnologySuggestionsResource {
     public ResponseEntity<Void> deleteTechnologySuggestions(@PathVariable Long id) {
         log.debug("REST request to delete TechnologySuggestions : {}", id);
         technologySuggestionsRepository.deleteById(id);
-        technologySuggestionsSearchRepository.deleteById(id);
+        searchIndexingService.delete(TechnologySuggestions.class, id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString())).build();
     }
 
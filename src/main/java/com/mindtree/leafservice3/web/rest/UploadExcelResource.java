@@ -1,8 +1,12 @@
 package com.mindtree.leafservice3.web.rest;
 
 import com.mindtree.leafservice3.domain.UploadExcel;
+import com.mindtree.leafservice3.service.BlobStorageService;
 import com.mindtree.leafservice3.service.UploadExcelService;
+import com.mindtree.leafservice3.service.UploadJobService;
+import com.mindtree.leafservice3.service.dto.UploadJobDTO;
 import com.mindtree.leafservice3.web.rest.errors.BadRequestAlertException;
+import com.mindtree.leafservice3.web.rest.util.BlobResponseUtil;
 import org.springframework.http.MediaType;
 
 import io.github.jhipster.web.util.HeaderUtil;
@@ -10,11 +14,13 @@ import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
+import java.net.URI;
 import java.net.URISyntaxException;
 
 import java.util.List;
@@ -38,9 +44,15 @@ public class UploadExcelResource {
 
     private final UploadExcelService uploadExcelService;
 
-    public UploadExcelResource(UploadExcelService uploadExcelService) {
-        this.uploadExcelService = uploadExcelService;
+    private final UploadJobService uploadJobService;
+
+    private final BlobStorageService blobStorageService;
 
+    public UploadExcelResource(UploadExcelService uploadExcelService, UploadJobService uploadJobService,
+            BlobStorageService blobStorageService) {
+        this.uploadExcelService = uploadExcelService;
+        this.uploadJobService = uploadJobService;
+        this.blobStorageService = blobStorageService;
     }
 
     /**
@@ -61,6 +73,7 @@ public class UploadExcelResource {
         if (uploadExcel.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        storeName(uploadExcel);
         UploadExcel result = uploadExcelService.save(uploadExcel);
         return ResponseEntity.ok().headers(
                 HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, uploadExcel.getId().toString()))
@@ -93,6 +106,25 @@ public class UploadExcelResource {
         return ResponseUtil.wrapOrNotFound(uploadExcel);
     }
 
+    /**
+     * {@code GET  /upload-excels/:id/name} : get the sheet uploaded as the "id" uploadExcel.
+     *
+     * @param id the id of the uploadExcel.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the content in body, with status
+     *         {@code 206 (Partial Content)} and the requested ranges of the content, with status
+     *         {@code 304 (Not Modified)} if the content matches {@code If-None-Match}, or with status
+     *         {@code 404 (Not Found)}.
+     */
+    @GetMapping("/upload-excels/{id}/name")
+    public ResponseEntity<Resource> getUploadExcelName(@PathVariable Long id) {
+        log.debug("REST request to get the name of UploadExcel : {}", id);
+        return uploadExcelService.findOne(id)
+            .filter(uploadExcel -> uploadExcel.getNameKey() != null)
+            .map(uploadExcel -> BlobResponseUtil.wrapOrNotFound(blobStorageService.find(uploadExcel.getNameKey()),
+                uploadExcel.getNameKey(), uploadExcel.getNameContentType()))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * {@code DELETE  /upload-excels/:id} : delete the "id" uploadExcel.
      *
@@ -121,18 +153,70 @@ public class UploadExcelResource {
         return uploadExcelService.search(query);
     }
 
+    /**
+     * {@code POST  /upload-excels/functionalView/:company_id} : queue the upload of a functional view sheet.
+     *
+     * @param company_id the id of the company the sheet belongs to.
+     * @param readExcelDataFile the sheet.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the queued job.
+     * @throws IOException if the sheet could not be kept for the job.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
     @PostMapping(path = "/upload-excels/functionalView/{company_id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public String functionalView(@PathVariable Long company_id, @RequestParam("file") MultipartFile readExcelDataFile) throws IOException {
-        log.debug("REST request to Upload excel for functional data for company", company_id);
-        return uploadExcelService.functionDataUpload(company_id, readExcelDataFile);
-
+    public ResponseEntity<UploadJobDTO> functionalView(@PathVariable Long company_id, @RequestParam("file") MultipartFile readExcelDataFile) throws IOException, URISyntaxException {
+        log.debug("REST request to Upload excel for functional data for company : {}", company_id);
+        UploadJobDTO job = uploadJobService.submitFunctionDataUpload(company_id, readExcelDataFile);
+        return ResponseEntity.accepted().location(new URI("/api/upload-excels/jobs/" + job.id)).body(job);
     }
 
+    /**
+     * {@code POST  /upload-excels/appView/:company_id} : queue the upload of an application portfolio sheet.
+     *
+     * @param company_id the id of the company the sheet belongs to.
+     * @param readExcelDataFile the sheet.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the queued job.
+     * @throws IOException if the sheet could not be kept for the job.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
     @PostMapping(path = "/upload-excels/appView/{company_id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public String appView(@PathVariable Long company_id, @RequestParam("file") MultipartFile readExcelDataFile) throws IOException {
-        log.debug("REST request to Upload excel for app portfolio data particular company", company_id);
-        return uploadExcelService.appPortfolioUpload(company_id, readExcelDataFile);
+    public ResponseEntity<UploadJobDTO> appView(@PathVariable Long company_id, @RequestParam("file") MultipartFile readExcelDataFile) throws IOException, URISyntaxException {
+        log.debug("REST request to Upload excel for app portfolio data particular company : {}", company_id);
+        UploadJobDTO job = uploadJobService.submitAppPortfolioUpload(company_id, readExcelDataFile);
+        return ResponseEntity.accepted().location(new URI("/api/upload-excels/jobs/" + job.id)).body(job);
+    }
+
+    /**
+     * {@code GET  /upload-excels/jobs} : get the upload jobs still tracked.
+     *
+     * @return the list of jobs, most recent first.
+     */
+    @GetMapping("/upload-excels/jobs")
+    public List<UploadJobDTO> getAllUploadJobs() {
+        log.debug("REST request to get all upload jobs");
+        return uploadJobService.findAll();
+    }
 
+    /**
+     * {@code GET  /upload-excels/jobs/:id} : get the progress of the "id" upload job.
+     *
+     * @param id the id of the job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body
+     *         the rows processed and failed, the throughput and the status of the job,
+     *         or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/upload-excels/jobs/{id}")
+    public ResponseEntity<UploadJobDTO> getUploadJob(@PathVariable String id) {
+        log.debug("REST request to get upload job : {}", id);
+        return ResponseUtil.wrapOrNotFound(uploadJobService.findOne(id));
     }
 
+    private void storeName(UploadExcel uploadExcel) {
+        if (uploadExcel.getName() != null) {
+            uploadExcel.setNameKey(blobStorageService.store(uploadExcel.getName()));
+            uploadExcel.setNameSize((long) uploadExcel.getName().length);
+        } else if (!blobStorageService.exists(uploadExcel.getNameKey())) {
+            throw new BadRequestAlertException("The sheet is missing from the request and the blob store", ENTITY_NAME,
+                "namenull");
+        }
+    }
 }
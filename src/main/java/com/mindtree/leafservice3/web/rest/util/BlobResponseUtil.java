@@ -0,0 +1,43 @@
+package com.mindtree.leafservice3.web.rest.util;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utility class for the responses streaming a blob of the blob store.
+ * <p>
+ * The body is the {@link Resource} of the blob itself: Spring MVC copies it to the response without loading it in
+ * memory, answers {@code Range} requests with {@code 206 (Partial Content)} and the requested regions of the file,
+ * and answers {@code If-None-Match} requests matching the ETag with {@code 304 (Not Modified)}. The ETag is the key
+ * of the blob, which never changes for a given content.
+ */
+public final class BlobResponseUtil {
+
+    private static final long MAX_AGE_DAYS = 365;
+
+    private BlobResponseUtil() {
+    }
+
+    /**
+     * Wrap a blob in a {@link ResponseEntity}.
+     *
+     * @param blob the blob, empty if missing from the store.
+     * @param key the key of the blob.
+     * @param contentType the content type of the blob, {@code application/octet-stream} when missing.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the blob in body, or with status
+     *         {@code 404 (Not Found)}.
+     */
+    public static ResponseEntity<Resource> wrapOrNotFound(Optional<Resource> blob, String key, String contentType) {
+        return blob.map(resource -> ResponseEntity.ok()
+            .eTag(key)
+            .cacheControl(CacheControl.maxAge(MAX_AGE_DAYS, TimeUnit.DAYS).cachePrivate())
+            .contentType(contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM)
+            .body(resource))
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,98 @@
+package com.mindtree.leafservice3.web.rest.util;
+
+import com.mindtree.leafservice3.service.KeysetPaginationService;
+import com.mindtree.leafservice3.service.KeysetPaginationService.PageQuery;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes the lists of entities, or of their summaries, of the {@code GET} endpoints straight to the response, as a JSON array.
+ * <p>
+ * When the request gives an {@code after} cursor or a {@code size}, a single keyset page is written, with a
+ * {@code Link} header to the next page as long as the page is full. Otherwise every entity is written, the table
+ * being read one page at a time: the response is streamed and the memory used stays the same whatever the size of
+ * the table.
+ */
+@Component
+public class KeysetListWriter {
+
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final ObjectMapper objectMapper;
+
+    public KeysetListWriter(KeysetPaginationService keysetPaginationService, ObjectMapper objectMapper) {
+        this.keysetPaginationService = keysetPaginationService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write the entities of a type.
+     *
+     * @param type the class of the entities.
+     * @param id the id of an entity, used as the cursor of the next page.
+     * @param after the id after which the page starts, or {@code null}.
+     * @param size the size of the page, or {@code null}.
+     * @param response the response to write to.
+     * @throws IOException if the response can't be written.
+     */
+    public <T> void write(Class<T> type, Function<T, Long> id, Long after, Integer size, HttpServletResponse response)
+            throws IOException {
+        write((cursor, limit) -> keysetPaginationService.findPage(type, cursor, limit), id, after, size, response);
+    }
+
+    /**
+     * Write the rows read by a query, such as the summaries of entities.
+     *
+     * @param query the query reading a page of rows.
+     * @param id the id of a row, used as the cursor of the next page.
+     * @param after the id after which the page starts, or {@code null}.
+     * @param size the size of the page, or {@code null}.
+     * @param response the response to write to.
+     * @throws IOException if the response can't be written.
+     */
+    public <T> void write(PageQuery<T> query, Function<T, Long> id, Long after, Integer size,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        if (after == null && size == null) {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+                generator.writeStartArray();
+                keysetPaginationService.forEachPage(query, id, page -> {
+                    writeAll(generator, page);
+                    generator.flush();
+                });
+                generator.writeEndArray();
+            }
+            return;
+        }
+        int pageSize = keysetPaginationService.pageSize(size);
+        List<T> page = keysetPaginationService.findPage(query, after, pageSize);
+        if (page.size() == pageSize) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", id.apply(page.get(page.size() - 1)))
+                .replaceQueryParam("size", pageSize)
+                .toUriString();
+            response.setHeader(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            writeAll(generator, page);
+            generator.writeEndArray();
+        }
+    }
+
+    private static void writeAll(JsonGenerator generator, List<?> entities) throws IOException {
+        for (Object entity : entities) {
+            generator.writeObject(entity);
+        }
+    }
+}
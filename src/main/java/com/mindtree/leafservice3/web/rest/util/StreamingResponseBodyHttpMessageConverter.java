@@ -0,0 +1,44 @@
+package com.mindtree.leafservice3.web.rest.util;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link StreamingResponseBody} to the response, in the request thread.
+ * <p>
+ * Spring MVC only streams a body asynchronously when the handler declares a {@code ResponseEntity<StreamingResponseBody>};
+ * this converter lets a handler returning a {@code ResponseEntity<?>} answer with either a streamed body or an object
+ * written by the other converters.
+ */
+public class StreamingResponseBodyHttpMessageConverter extends AbstractHttpMessageConverter<StreamingResponseBody> {
+
+    public StreamingResponseBodyHttpMessageConverter() {
+        super(MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StreamingResponseBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StreamingResponseBody readInternal(Class<? extends StreamingResponseBody> clazz,
+            HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void writeInternal(StreamingResponseBody body, HttpOutputMessage outputMessage) throws IOException {
+        body.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,45 @@
+package com.mindtree.leafservice3.config;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the metrics of the caches created by {@link CacheConfiguration}.
+ */
+@SpringBootTest(classes = LeafService3App.class)
+public class CacheConfigurationIT {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testCacheStatisticsAreExported() {
+        Cache<Object, Object> cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        cache.put("cache-metrics", "user");
+        cache.get("cache-metrics");
+        cache.get("cache-metrics-missing");
+        cache.remove("cache-metrics");
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE)
+            .tag("result", "hit").functionCounter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE)
+            .tag("result", "miss").functionCounter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE)
+            .functionCounter()).isNotNull();
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "com.mindtree.leafservice3.domain.Application")
+            .meters()).isNotEmpty();
+    }
+}
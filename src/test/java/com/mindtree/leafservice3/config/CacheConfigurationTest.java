@@ -0,0 +1,99 @@
+package com.mindtree.leafservice3.config;
+
+import io.github.jhipster.config.JHipsterProperties;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the cache regions of {@link CacheConfiguration}.
+ */
+public class CacheConfigurationTest {
+
+    private final JHipsterProperties.Cache.Ehcache defaults = new JHipsterProperties().getCache().getEhcache();
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager = Caching.getCachingProvider().getCacheManager(
+            Caching.getCachingProvider().getDefaultURI(), getClass().getClassLoader());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    public void testRegionIsFoundByEntityClassNameOrCacheName() {
+        ApplicationProperties.Cache cache = new ApplicationProperties().getCache();
+        ApplicationProperties.Cache.Region technologyStack = new ApplicationProperties.Cache.Region();
+        ApplicationProperties.Cache.Region authorities = new ApplicationProperties.Cache.Region();
+        ApplicationProperties.Cache.Region usersByLogin = new ApplicationProperties.Cache.Region();
+        cache.getRegions().put("technology-stack", technologyStack);
+        cache.getRegions().put("user-authorities", authorities);
+        cache.getRegions().put("users-by-login", usersByLogin);
+
+        assertThat(cache.getRegion("com.mindtree.leafservice3.domain.TechnologyStack")).isSameAs(technologyStack);
+        assertThat(cache.getRegion("com.mindtree.leafservice3.domain.User.authorities")).isSameAs(authorities);
+        assertThat(cache.getRegion("usersByLogin")).isSameAs(usersByLogin);
+        assertThat(cache.getRegion("com.mindtree.leafservice3.domain.Technology")).isNull();
+    }
+
+    @Test
+    public void testRegionSizedByEntries() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxEntries(5000L);
+        region.setTimeToLive(Duration.ofMinutes(10));
+
+        ResourcePools pools = createCache("entries", region).unwrap(org.ehcache.Cache.class)
+            .getRuntimeConfiguration().getResourcePools();
+
+        assertThat(pools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(5000L);
+        assertThat(pools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        assertThat(pools.getResourceTypeSet()).containsOnly(ResourceType.Core.HEAP);
+    }
+
+    @Test
+    public void testRegionSizedByBytesWithOffHeapTier() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setHeapSize(DataSize.ofMegabytes(1));
+        region.setOffHeapSize(DataSize.ofMegabytes(4));
+
+        Cache<Object, Object> cache = createCache("bytes", region);
+        ResourcePools pools = cache.unwrap(org.ehcache.Cache.class).getRuntimeConfiguration().getResourcePools();
+
+        assertThat(pools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(MemoryUnit.B);
+        assertThat(pools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(1024L * 1024);
+        assertThat(pools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(4L * 1024 * 1024);
+        for (long i = 0; i < 1000; i++) {
+            cache.put(i, "value " + i);
+        }
+        assertThat(cache.get(999L)).isEqualTo("value 999");
+    }
+
+    @Test
+    public void testRegionDefaultsToJHipsterSettings() {
+        ResourcePools pools = createCache("defaults", new ApplicationProperties.Cache.Region())
+            .unwrap(org.ehcache.Cache.class).getRuntimeConfiguration().getResourcePools();
+
+        assertThat(pools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(defaults.getMaxEntries());
+    }
+
+    private Cache<Object, Object> createCache(String name, ApplicationProperties.Cache.Region region) {
+        return cacheManager.createCache(name, CacheConfiguration.regionConfiguration(region, defaults));
+    }
+}
@@ -0,0 +1,97 @@
+package com.mindtree.leafservice3.config;
+
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.domain.Diagram;
+import com.mindtree.leafservice3.domain.enumeration.DiagramCategory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.EntityMapper;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the search documents written by the {@link ElasticsearchConfiguration.CustomEntityMapper}.
+ */
+public class ElasticsearchConfigurationTest {
+
+    private static final byte[] PICTURE = "picture".getBytes(StandardCharsets.UTF_8);
+
+    // sha256sum of "picture"
+    private static final String PICTURE_CHECKSUM = "2cea274d0bedc39ec4ab6ba9e59ec889e3ed6fb56a1cf088a64d9b383378dc97";
+
+    private ObjectMapper objectMapper;
+
+    private EntityMapper entityMapper;
+
+    private Diagram diagram;
+
+    @BeforeEach
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        entityMapper = new ElasticsearchConfiguration(objectMapper).getEntityMapper();
+        Company company = new Company().companyName("Acme").description("Acme");
+        company.setId(3L);
+        diagram = new Diagram().category(DiagramCategory.values()[0]).picture(PICTURE).pictureKey(PICTURE_CHECKSUM)
+            .pictureSize((long) PICTURE.length).pictureContentType("image/png")
+            .company(company);
+        diagram.setId(7L);
+    }
+
+    @Test
+    public void testDocumentHoldsTheReferenceToTheBlob() throws Exception {
+        JsonNode document = objectMapper.readTree(entityMapper.mapToString(diagram));
+
+        assertThat(document.has("picture")).isFalse();
+        assertThat(document.has("pictureMetadata")).isFalse();
+        assertThat(document.get("pictureKey").asText()).isEqualTo(PICTURE_CHECKSUM);
+        assertThat(document.get("pictureSize").asInt()).isEqualTo(PICTURE.length);
+        assertThat(document.get("pictureContentType").asText()).isEqualTo("image/png");
+        assertThat(document.get("category").asText()).isEqualTo(DiagramCategory.values()[0].name());
+        assertThat(document.get("company").get("id").asLong()).isEqualTo(3L);
+    }
+
+    @Test
+    public void testDocumentHoldsTheMetadataOfTheBinary() throws Exception {
+        JsonNode document = objectMapper.readTree(entityMapper.mapToString(new Attachment(PICTURE)));
+
+        assertThat(document.has("content")).isFalse();
+        assertThat(document.get("contentMetadata").get("size").asInt()).isEqualTo(PICTURE.length);
+        assertThat(document.get("contentMetadata").get("checksum").asText()).isEqualTo(PICTURE_CHECKSUM);
+    }
+
+    @Test
+    public void testDocumentIsReadBackWithoutTheBinary() throws Exception {
+        Diagram read = entityMapper.mapToObject(entityMapper.mapToString(diagram), Diagram.class);
+
+        assertThat(read.getId()).isEqualTo(7L);
+        assertThat(read.getPicture()).isNull();
+        assertThat(read.getPictureKey()).isEqualTo(PICTURE_CHECKSUM);
+        assertThat(read.getPictureContentType()).isEqualTo("image/png");
+    }
+
+    @Test
+    public void testRestApiKeepsTheBinary() throws Exception {
+        Attachment attachment = new Attachment(PICTURE);
+        entityMapper.mapToString(attachment);
+
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(attachment)).has("content")).isTrue();
+    }
+
+    public static class Attachment {
+
+        private final byte[] content;
+
+        Attachment(byte[] content) {
+            this.content = content;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.mindtree.leafservice3.repository;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.Budget;
+import com.mindtree.leafservice3.domain.BusinessFunction;
+import com.mindtree.leafservice3.domain.Capabilities;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.domain.Employee;
+import com.mindtree.leafservice3.domain.Expenditure;
+import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.OraganizationalUnit;
+import com.mindtree.leafservice3.domain.Spend;
+import com.mindtree.leafservice3.domain.Technology;
+import com.mindtree.leafservice3.domain.TechnologyStack;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationStatus;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationType;
+import com.mindtree.leafservice3.domain.enumeration.BusinessFunctionType;
+import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
+import com.mindtree.leafservice3.domain.enumeration.Gender;
+import com.mindtree.leafservice3.service.ApplicationService;
+import com.mindtree.leafservice3.service.CapabilitiesService;
+import com.mindtree.leafservice3.service.SpendService;
+import com.mindtree.leafservice3.service.TechnologyService;
+import com.mindtree.leafservice3.service.dto.TechnologyAppCount;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query count tests for the company scoped finders and the services reading through them.
+ * <p>
+ * Every line of business, organizational unit, business function and application of the company has its own
+ * owner or stack, so an eager association left out of a fetch join would cost a query per row.
+ */
+@SpringBootTest(classes = LeafService3App.class)
+@Transactional
+public class CompanyScopedQueriesIT {
+
+    private static final int UNITS = 3;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private OraganizationalUnitRepository oraganizationalUnitRepository;
+
+    @Autowired
+    private LineOfBusinessRepository lineOfBusinessRepository;
+
+    @Autowired
+    private BusinessFunctionRepository businessFunctionRepository;
+
+    @Autowired
+    private CapabilitiesRepository capabilitiesRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private TechnologyRepository technologyRepository;
+
+    @Autowired
+    private ExpenditureRepository expenditureRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private CapabilitiesService capabilitiesService;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private SpendService spendService;
+
+    @Autowired
+    private TechnologyService technologyService;
+
+    private Statistics statistics;
+
+    private Long companyId;
+
+    @BeforeEach
+    public void createCompany() {
+        LocalDate today = LocalDate.now();
+        Company company = new Company().companyName("Scoped").description("Scoped");
+        em.persist(company);
+        companyId = company.getId();
+        // a second company, which must not show up
+        Company other = new Company().companyName("Other").description("Other");
+        em.persist(other);
+        for (Company owner : new Company[] {company, other}) {
+            for (int i = 0; i < UNITS; i++) {
+                OraganizationalUnit unit = new OraganizationalUnit().name("OU " + i).company(owner).employee(employee());
+                em.persist(unit);
+                LineOfBusiness lineOfBusiness = new LineOfBusiness().name("LOB " + i).oraganizationalUnit(unit).employee(employee());
+                em.persist(lineOfBusiness);
+                BusinessFunction businessFunction = new BusinessFunction().name("BF " + i).type(BusinessFunctionType.Primary)
+                    .lineOfBusiness(lineOfBusiness).employee(employee());
+                em.persist(businessFunction);
+                em.persist(new Capabilities().description("Capability " + i).businessFunction(businessFunction));
+                Application application = new Application().name("App " + i).description("App " + i)
+                    .type(ApplicationType.WebApplication).status(ApplicationStatus.Running).implementationDate(today)
+                    .lineOfBusiness(lineOfBusiness);
+                em.persist(application);
+                TechnologyStack stack = new TechnologyStack().name("Stack " + i).type(i % 2 == 0 ? "CLOUD" : "DATABASE");
+                em.persist(stack);
+                Technology technology = new Technology().application(application).technologyStack(stack);
+                em.persist(technology);
+                Expenditure expenditure = new Expenditure().description("Team " + i).startDate(today)
+                    .expenditureType("RESOURCE").application(application);
+                em.persist(expenditure);
+                em.persist(spend(technology.getId(), i % 2 == 0 ? "INFRA" : "LICENSE"));
+                em.persist(spend(expenditure.getId(), "RESOURCE"));
+                em.persist(new Budget().amount(i).year(today.getYear()).successor(CurrencySuccessor.K).application(application));
+            }
+        }
+        em.flush();
+        em.clear();
+        // the second level cache would hide the queries of a missing fetch join
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void testFindersRunASingleQuery() {
+        assertThat(queries(() -> oraganizationalUnitRepository.findAllByCompanyId(companyId))).isEqualTo(1);
+        assertThat(queries(() -> lineOfBusinessRepository.findAllByCompanyId(companyId))).isEqualTo(1);
+        assertThat(queries(() -> businessFunctionRepository.findAllByCompanyId(companyId))).isEqualTo(1);
+        assertThat(queries(() -> capabilitiesRepository.findAllByCompanyId(companyId))).isEqualTo(1);
+        assertThat(queries(() -> applicationRepository.findAllByCompanyId(companyId))).isEqualTo(1);
+        assertThat(queries(() -> technologyRepository.findAllByCompanyId(companyId))).isEqualTo(1);
+        assertThat(queries(() -> expenditureRepository.findAllByCompanyId(companyId))).isEqualTo(1);
+        assertThat(queries(() -> budgetRepository.findAllByCompanyId(companyId))).isEqualTo(1);
+    }
+
+    @Test
+    public void testFindersOnlyReturnTheCompanyRows() {
+        assertThat(capabilitiesRepository.findAllByCompanyId(companyId)).hasSize(UNITS)
+            .allMatch(capability -> capability.getBusinessFunction().getLineOfBusiness().getOraganizationalUnit()
+                .getCompany().getId().equals(companyId));
+        assertThat(technologyRepository.findAllByCompanyId(companyId)).hasSize(UNITS)
+            .allMatch(technology -> technology.getApplication().getLineOfBusiness().getOraganizationalUnit()
+                .getCompany().getId().equals(companyId));
+        assertThat(budgetRepository.findAllByCompanyId(companyId)).hasSize(UNITS);
+    }
+
+    @Test
+    public void testServicesDoNotQueryPerRow() {
+        // the whole chart is read with a single projection query
+        assertThat(queries(() -> capabilitiesService.organizationalChartData(companyId))).isEqualTo(1);
+        assertThat(queries(() -> applicationService.getAppChartData(companyId))).isEqualTo(2);
+        // a page of units, their lines of business, and the applications of those counted per line of business
+        assertThat(queries(() -> applicationService.organizationalChartData(null, 2, PageRequest.of(0, 2000))
+            .getContent())).isEqualTo(3);
+        assertThat(queries(() -> spendService.getApplicationData(companyId))).isEqualTo(2);
+        assertThat(queries(() -> spendService.getSpendData(companyId))).isEqualTo(1);
+        // the usage counts are grouped by the database
+        assertThat(queries(() -> technologyService.technologyCount(companyId))).isEqualTo(1);
+    }
+
+    @Test
+    public void testTechnologyCountGroupsTheCompanyTechnologiesPerStack() {
+        Technology technology = technologyRepository.findAllByCompanyId(companyId).get(0);
+        em.persist(new Technology().application(technology.getApplication())
+            .technologyStack(technology.getTechnologyStack()));
+        em.flush();
+
+        List<TechnologyAppCount> counts = technologyService.technologyCount(companyId);
+
+        assertThat(counts).hasSize(UNITS);
+        assertThat(counts).extracting(count -> count.name).containsExactly("Stack 0", "Stack 1", "Stack 2");
+        assertThat(counts).extracting(count -> count.type).containsExactly("CLOUD", "DATABASE", "CLOUD");
+        assertThat(counts).filteredOn(count -> count.name.equals(technology.getTechnologyStack().getName()))
+            .extracting(count -> count.count).containsExactly(2);
+        assertThat(counts).extracting(count -> count.count).containsOnly(1, 2);
+    }
+
+    @Test
+    public void testSpendDataResolvesTheSpendsThroughTheirTarget() {
+        List<Long> technologyIds = technologyRepository.findAllByCompanyId(companyId).stream()
+            .map(Technology::getId).collect(Collectors.toList());
+        List<Long> expenditureIds = expenditureRepository.findAllByCompanyId(companyId).stream()
+            .map(Expenditure::getId).collect(Collectors.toList());
+
+        List<Spend> spends = spendService.getSpendData(companyId);
+
+        assertThat(spends).hasSize(2 * UNITS);
+        assertThat(spends).filteredOn(spend -> !spend.getExpenditureType().equals("RESOURCE"))
+            .extracting(Spend::getSpendId).containsExactlyInAnyOrderElementsOf(technologyIds);
+        assertThat(spends).filteredOn(spend -> spend.getExpenditureType().equals("RESOURCE"))
+            .extracting(Spend::getSpendId).containsExactlyInAnyOrderElementsOf(expenditureIds);
+    }
+
+    private long queries(Supplier<List<?>> work) {
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+        assertThat(work.get()).isNotEmpty();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Spend spend(Long spendId, String expenditureType) {
+        return new Spend().spendId(spendId).expenditureType(expenditureType).amount(1000).successor(CurrencySuccessor.K)
+            .dateOfUpdate(LocalDate.now());
+    }
+
+    private Employee employee() {
+        Employee employee = new Employee().employeeId("E" + System.nanoTime()).name("Owner").dateOfJoining(LocalDate.now())
+            .gender(Gender.Female).address("Bangalore").designation("Manager");
+        em.persist(employee);
+        return employee;
+    }
+}
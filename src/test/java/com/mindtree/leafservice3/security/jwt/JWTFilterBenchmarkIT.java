@@ -0,0 +1,81 @@
+package com.mindtree.leafservice3.security.jwt;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.security.AuthoritiesConstants;
+
+import io.github.jhipster.config.JHipsterProperties;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency benchmark for the {@link JWTFilter}.
+ * <p>
+ * The same request is filtered many times, once with the verified token cache disabled, each request parsing and
+ * verifying its token, and once with the cache, and the mean time per request of the runs is logged.
+ */
+public class JWTFilterBenchmarkIT {
+
+    private static final int WARMUP_REQUESTS = 20_000;
+
+    private static final int REQUESTS = 100_000;
+
+    private final Logger log = LoggerFactory.getLogger(JWTFilterBenchmarkIT.class);
+
+    @Test
+    public void benchmarkFilterPerRequest() throws Exception {
+        long uncached = measure(0);
+        long cached = measure(new ApplicationProperties().getTokenCache().getMaxSize());
+
+        log.info("JWT filter: {} ns/request verifying every token, {} ns/request with the verified token cache",
+            uncached, cached);
+        assertThat(cached).isLessThan(uncached);
+    }
+
+    private long measure(int cacheSize) throws IOException, ServletException {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getTokenCache().setMaxSize(cacheSize);
+        TokenProvider tokenProvider = new TokenProvider(new JHipsterProperties(), applicationProperties);
+        ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64
+            .decode("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8")));
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 3_600_000L);
+        JWTFilter jwtFilter = new JWTFilter(tokenProvider);
+        String jwt = tokenProvider.createToken(new UsernamePasswordAuthenticationToken("bench-user", "bench-password",
+            Arrays.asList(new SimpleGrantedAuthority(AuthoritiesConstants.USER),
+                new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))), false);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        request.setRequestURI("/api/applications");
+
+        filter(jwtFilter, request, WARMUP_REQUESTS);
+        long start = System.nanoTime();
+        filter(jwtFilter, request, REQUESTS);
+        long elapsed = System.nanoTime() - start;
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("bench-user");
+        SecurityContextHolder.clearContext();
+        return elapsed / REQUESTS;
+    }
+
+    private static void filter(JWTFilter jwtFilter, MockHttpServletRequest request, int requests)
+            throws IOException, ServletException {
+        for (int i = 0; i < requests; i++) {
+            SecurityContextHolder.clearContext();
+            jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        }
+    }
+}
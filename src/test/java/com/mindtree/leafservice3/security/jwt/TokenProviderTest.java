@@ -1,5 +1,6 @@
 package com.mindtree.leafservice3.security.jwt;
 
+import com.mindtree.leafservice3.config.ApplicationProperties;
 import com.mindtree.leafservice3.security.AuthoritiesConstants;
 
 import java.security.Key;
@@ -11,6 +12,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import io.github.jhipster.config.JHipsterProperties;
@@ -30,7 +32,7 @@ public class TokenProviderTest {
 
     @BeforeEach
     public void setup() {
-        tokenProvider = new TokenProvider( new JHipsterProperties());
+        tokenProvider = new TokenProvider( new JHipsterProperties(), new ApplicationProperties());
         key = Keys.hmacShaKeyFor(Decoders.BASE64
             .decode("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8"));
 
@@ -83,6 +85,36 @@ public class TokenProviderTest {
         assertThat(isTokenValid).isEqualTo(false);
     }
 
+    @Test
+    public void testVerifiedAuthenticationIsBuiltPerRequest() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        Optional<Authentication> first = tokenProvider.getVerifiedAuthentication(token);
+        ((UsernamePasswordAuthenticationToken) first.get()).eraseCredentials();
+        first.get().setAuthenticated(false);
+        Optional<Authentication> second = tokenProvider.getVerifiedAuthentication(token);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getName()).isEqualTo("anonymous");
+        assertThat(first.get().getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ANONYMOUS);
+        assertThat(second.get()).isNotSameAs(first.get());
+        assertThat(second.get().getName()).isEqualTo("anonymous");
+        assertThat(second.get().getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ANONYMOUS);
+        assertThat(second.get().isAuthenticated()).isTrue();
+        assertThat(second.get().getCredentials()).isEqualTo(token);
+        assertThat(((User) second.get().getPrincipal()).getPassword()).isEmpty();
+    }
+
+    @Test
+    public void testNoVerifiedAuthenticationWhenJWThasInvalidSignature() {
+        String token = createTokenWithDifferentSignature();
+
+        assertThat(tokenProvider.getVerifiedAuthentication(token)).isEmpty();
+        assertThat(tokenProvider.getVerifiedAuthentication(token)).isEmpty();
+    }
+
     private Authentication createAuthentication() {
         Collection<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
@@ -0,0 +1,110 @@
+package com.mindtree.leafservice3.security.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the {@link VerifiedTokenCache} class.
+ */
+public class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T10:00:00Z");
+
+    private static final Date IN_ONE_MINUTE = Date.from(NOW.plusSeconds(60));
+
+    private static final List<GrantedAuthority> AUTHORITIES =
+        Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+
+    @Test
+    public void testTokenIsKeptUntilItExpires() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("token", "user", AUTHORITIES, IN_ONE_MINUTE);
+
+        VerifiedTokenCache.VerifiedToken verified = cache.get("token");
+        assertThat(verified.getSubject()).isEqualTo("user");
+        assertThat(verified.getAuthorities()).containsExactlyElementsOf(AUTHORITIES);
+        assertThatThrownBy(() -> verified.getAuthorities().clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(cache.get("other")).isNull();
+
+        VerifiedTokenCache later = new VerifiedTokenCache(10, Clock.fixed(NOW.plusSeconds(60), ZoneOffset.UTC));
+        assertThat(later.put("token", "user", AUTHORITIES, IN_ONE_MINUTE).getSubject()).isEqualTo("user");
+
+        assertThat(later.get("token")).isNull();
+        assertThat(later.size()).isZero();
+    }
+
+    @Test
+    public void testExpiredTokensAreDroppedWhenFull() {
+        MutableClock clock = new MutableClock();
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, clock);
+        cache.put("expiring", "user", AUTHORITIES, Date.from(NOW.plusSeconds(1)));
+        cache.put("first", "user", AUTHORITIES, IN_ONE_MINUTE);
+        clock.instant = NOW.plusSeconds(1);
+        cache.put("second", "user", AUTHORITIES, IN_ONE_MINUTE);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("expiring")).isNull();
+        assertThat(cache.get("first")).isNotNull();
+        assertThat(cache.get("second")).isNotNull();
+    }
+
+    @Test
+    public void testFullCacheIsSweptOncePerHalfOfItsSize() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, Clock.fixed(NOW, ZoneOffset.UTC));
+        for (int i = 0; i < 10; i++) {
+            cache.put("token" + i, "user", AUTHORITIES, IN_ONE_MINUTE);
+        }
+
+        cache.put("new0", "user", AUTHORITIES, IN_ONE_MINUTE);
+
+        assertThat(cache.size()).isEqualTo(6);
+        for (int i = 1; i < 5; i++) {
+            cache.put("new" + i, "user", AUTHORITIES, IN_ONE_MINUTE);
+        }
+        assertThat(cache.size()).isEqualTo(10);
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.get("new" + i)).isNotNull();
+        }
+    }
+
+    @Test
+    public void testNothingIsKeptWhenDisabled() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("token", "user", AUTHORITIES, IN_ONE_MINUTE);
+
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = NOW;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.mindtree.leafservice3.service;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.domain.Expenditure;
+import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.OraganizationalUnit;
+import com.mindtree.leafservice3.domain.Technology;
+import com.mindtree.leafservice3.domain.TechnologyStack;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationStatus;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationType;
+import com.mindtree.leafservice3.repository.ApplicationRepository;
+import com.mindtree.leafservice3.service.dto.ChartData;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for the dashboards read through the cacheable company scoped finders, with the second-level and query
+ * caches enabled as in production.
+ * <p>
+ * Each dashboard is read once with empty caches, then repeatedly: the repeated reads must not send a single statement
+ * to the database, and the mean time of both is logged. Updating a row of one of the tables read must invalidate the
+ * cached results.
+ */
+@SpringBootTest(classes = LeafService3App.class, properties = {
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+    // a context of its own, which must not share the database, caches nor search node of the other tests
+    "spring.datasource.url=jdbc:h2:mem:LeafService3QueryCache;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.cache.jcache.config=classpath:config/ehcache-query-cache.xml",
+    "spring.data.elasticsearch.properties.path.home=target/elasticsearch-query-cache"
+})
+public class DashboardQueryCacheBenchmarkIT {
+
+    private static final int UNITS = 20;
+
+    private static final int REPEATS = 200;
+
+    private final Logger log = LoggerFactory.getLogger(DashboardQueryCacheBenchmarkIT.class);
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private SpendService spendService;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private Long companyId;
+
+    @BeforeEach
+    public void createCompany() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        companyId = transactionTemplate.execute(status -> {
+            LocalDate today = LocalDate.now();
+            Company company = new Company().companyName("Dashboard").description("Dashboard");
+            em.persist(company);
+            for (int i = 0; i < UNITS; i++) {
+                OraganizationalUnit unit = new OraganizationalUnit().name("OU " + i).company(company);
+                em.persist(unit);
+                LineOfBusiness lineOfBusiness = new LineOfBusiness().name("LOB " + i).oraganizationalUnit(unit);
+                em.persist(lineOfBusiness);
+                Application application = new Application().name("App " + i).description("App " + i)
+                    .type(ApplicationType.WebApplication).status(ApplicationStatus.Running).implementationDate(today)
+                    .lineOfBusiness(lineOfBusiness);
+                em.persist(application);
+                TechnologyStack stack = new TechnologyStack().name("Stack " + i).type(i % 2 == 0 ? "CLOUD" : "DATABASE");
+                em.persist(stack);
+                em.persist(new Technology().application(application).technologyStack(stack));
+                em.persist(new Expenditure().description("Team " + i).startDate(today).expenditureType("RESOURCE")
+                    .application(application));
+            }
+            return company.getId();
+        });
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void deleteCompany() {
+        statistics.setStatisticsEnabled(false);
+        transactionTemplate.execute(status -> {
+            for (String entity : Arrays.asList("Technology", "Expenditure", "Application")) {
+                em.createQuery("delete from " + entity + " e where e.companyId = :companyId")
+                    .setParameter("companyId", companyId).executeUpdate();
+            }
+            em.createQuery("delete from TechnologyStack stack where stack.name like 'Stack %' "
+                + "and not exists (select technology from Technology technology "
+                + "where technology.technologyStack = stack)").executeUpdate();
+            em.createQuery("delete from LineOfBusiness lineOfBusiness where lineOfBusiness.oraganizationalUnit.id in "
+                + "(select unit.id from OraganizationalUnit unit where unit.company.id = :companyId)")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from OraganizationalUnit unit where unit.company.id = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from Company company where company.id = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            return null;
+        });
+    }
+
+    @Test
+    public void benchmarkRepeatedDashboards() {
+        benchmark("application chart", () -> applicationService.getAppChartData(companyId));
+        benchmark("application spend", () -> spendService.getApplicationData(companyId));
+    }
+
+    @Test
+    public void testUpdateInvalidatesCachedResults() {
+        assertThat(names(applicationService.getAppChartData(companyId))).contains("App 0");
+        statistics.clear();
+        applicationService.getAppChartData(companyId);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        transactionTemplate.execute(status -> {
+            Application application = applicationRepository.findAllByCompanyId(companyId).stream()
+                .filter(candidate -> candidate.getName().equals("App 0"))
+                .findFirst()
+                .get();
+            application.setName("Renamed");
+            return null;
+        });
+        statistics.clear();
+
+        assertThat(names(applicationService.getAppChartData(companyId))).contains("Renamed").doesNotContain("App 0");
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+    }
+
+    private void benchmark(String dashboard, Supplier<List<?>> read) {
+        em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics.clear();
+        long start = System.nanoTime();
+        assertThat(read.get()).isNotEmpty();
+        long cold = System.nanoTime() - start;
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+
+        statistics.clear();
+        start = System.nanoTime();
+        for (int i = 0; i < REPEATS; i++) {
+            assertThat(read.get()).isNotEmpty();
+        }
+        long repeated = (System.nanoTime() - start) / REPEATS;
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+
+        log.info("Dashboard {}: {} us with empty caches, {} us repeated without any statement", dashboard,
+            cold / 1000, repeated / 1000);
+    }
+
+    private static List<String> names(List<ChartData> chartData) {
+        return chartData.stream().map(data -> data.name).collect(Collectors.toList());
+    }
+}
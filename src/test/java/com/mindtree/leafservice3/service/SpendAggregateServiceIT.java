@@ -0,0 +1,233 @@
+package com.mindtree.leafservice3.service;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.Budget;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.domain.Expenditure;
+import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.OraganizationalUnit;
+import com.mindtree.leafservice3.domain.Spend;
+import com.mindtree.leafservice3.domain.Technology;
+import com.mindtree.leafservice3.domain.TechnologyStack;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationStatus;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationType;
+import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
+import com.mindtree.leafservice3.repository.ApplicationRepository;
+import com.mindtree.leafservice3.repository.BudgetRepository;
+import com.mindtree.leafservice3.repository.CompanyRepository;
+import com.mindtree.leafservice3.repository.ExpenditureRepository;
+import com.mindtree.leafservice3.repository.LineOfBusinessRepository;
+import com.mindtree.leafservice3.repository.OraganizationalUnitRepository;
+import com.mindtree.leafservice3.repository.SpendAggregateRepository;
+import com.mindtree.leafservice3.repository.SpendRepository;
+import com.mindtree.leafservice3.repository.TechnologyRepository;
+import com.mindtree.leafservice3.repository.TechnologyStackRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the incremental maintenance of the spend aggregation cube by {@link SpendAggregateService}.
+ * <p>
+ * The cube is refreshed before commit, so every change is made in its own committed transaction.
+ */
+@SpringBootTest(classes = LeafService3App.class)
+public class SpendAggregateServiceIT {
+
+    @Autowired
+    private SpendService spendService;
+
+    @Autowired
+    private SpendAggregateService spendAggregateService;
+
+    @Autowired
+    private SpendAggregateRepository spendAggregateRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private OraganizationalUnitRepository oraganizationalUnitRepository;
+
+    @Autowired
+    private LineOfBusinessRepository lineOfBusinessRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private TechnologyStackRepository technologyStackRepository;
+
+    @Autowired
+    private TechnologyRepository technologyRepository;
+
+    @Autowired
+    private ExpenditureRepository expenditureRepository;
+
+    @Autowired
+    private SpendRepository spendRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testCubeFollowsSpendBudgetAndApplicationChanges() {
+        LocalDate today = LocalDate.now();
+        Company company = inTransaction(() -> companyRepository.save(new Company().companyName("Cube").description("Cube")));
+        Application application = inTransaction(() -> {
+            OraganizationalUnit unit = oraganizationalUnitRepository.save(new OraganizationalUnit().name("Cube OU").company(company));
+            LineOfBusiness lineOfBusiness = lineOfBusinessRepository.save(new LineOfBusiness().name("Cube LOB").oraganizationalUnit(unit));
+            return applicationRepository.save(new Application().name("Cube app").description("Cube app")
+                .type(ApplicationType.WebApplication).status(ApplicationStatus.Running).implementationDate(today)
+                .lineOfBusiness(lineOfBusiness));
+        });
+        Spend infraSpend = inTransaction(() -> {
+            TechnologyStack stack = technologyStackRepository.save(new TechnologyStack().name("Cube stack").type("CLOUD"));
+            Technology technology = technologyRepository.save(new Technology().application(application).technologyStack(stack));
+            Expenditure expenditure = expenditureRepository.save(new Expenditure().description("Cube team")
+                .startDate(today).expenditureType("RESOURCE").application(application));
+            spendRepository.save(new Spend().dateOfUpdate(today).amount(3).successor(CurrencySuccessor.M)
+                .expenditureType("RESOURCE").spendId(expenditure.getId()));
+            budgetRepository.save(new Budget().amount(5).year(today.getYear()).successor(CurrencySuccessor.K).application(application));
+            return spendRepository.save(new Spend().dateOfUpdate(today).amount(2).successor(CurrencySuccessor.K)
+                .expenditureType("INFRA").spendId(technology.getId()));
+        });
+
+        List<Object> details = spendService.findYearlySpendDetails(company.getId());
+        assertThat(details.get(1)).isEqualTo(Arrays.asList(3_002L, 0L, 0L, 0L, 0L));
+        assertThat(details.get(2)).isEqualTo(Arrays.asList(0L, 0L, 0L, 0L, 0L));
+        assertThat(details.get(3)).isEqualTo(Arrays.asList("Cube LOB"));
+        assertThat(details.get(4)).isEqualTo(Arrays.asList(3_002L));
+        assertThat(details.get(5)).isEqualTo(Arrays.asList(5L));
+
+        inTransaction(() -> applicationRepository.save(application.status(ApplicationStatus.InProgress)));
+        inTransaction(() -> spendRepository.save(infraSpend.amount(4).dateOfUpdate(today.minusYears(1))));
+
+        details = spendService.findYearlySpendDetails(company.getId());
+        assertThat(details.get(1)).isEqualTo(Arrays.asList(0L, 0L, 0L, 0L, 0L));
+        assertThat(details.get(2)).isEqualTo(Arrays.asList(3_000L, 4L, 0L, 0L, 0L));
+        assertThat(details.get(4)).isEqualTo(Arrays.asList(3_000L));
+
+        inTransaction(() -> {
+            spendRepository.delete(infraSpend);
+            return null;
+        });
+        details = spendService.findYearlySpendDetails(company.getId());
+        assertThat(details.get(2)).isEqualTo(Arrays.asList(3_000L, 0L, 0L, 0L, 0L));
+
+        inTransaction(() -> {
+            spendAggregateService.rebuild();
+            return null;
+        });
+        assertThat(spendService.findYearlySpendDetails(company.getId())).isEqualTo(details);
+    }
+
+    @Test
+    public void testCubeFollowsApplicationStatusChanges() {
+        Company company = inTransaction(() -> companyRepository.save(new Company().companyName("Cube status").description("Cube")));
+        Technology technology = createTechnology(createApplication(createLineOfBusiness(createUnit(company))), "CLOUD");
+        createSpend(technology, "INFRA", 2);
+        assertThat(totals(company)).containsExactly(Arrays.asList(ApplicationStatus.Running, 2_000L));
+
+        inTransaction(() -> applicationRepository.save(technology.getApplication().status(ApplicationStatus.Halted)));
+
+        assertThat(totals(company)).containsExactly(Arrays.asList(ApplicationStatus.Halted, 2_000L));
+    }
+
+    @Test
+    public void testCubeFollowsLineOfBusinessMovedToAnotherCompany() {
+        Company company = inTransaction(() -> companyRepository.save(new Company().companyName("Cube from").description("Cube")));
+        Company otherCompany = inTransaction(() -> companyRepository.save(new Company().companyName("Cube to").description("Cube")));
+        OraganizationalUnit otherUnit = createUnit(otherCompany);
+        LineOfBusiness lineOfBusiness = createLineOfBusiness(createUnit(company));
+        createSpend(createTechnology(createApplication(lineOfBusiness), "CLOUD"), "INFRA", 2);
+        assertThat(totals(company)).hasSize(1);
+
+        inTransaction(() -> lineOfBusinessRepository.save(lineOfBusiness.oraganizationalUnit(otherUnit)));
+
+        assertThat(totals(company)).isEmpty();
+        assertThat(totals(otherCompany)).containsExactly(Arrays.asList(ApplicationStatus.Running, 2_000L));
+    }
+
+    @Test
+    public void testCubeFollowsOrganizationalUnitMovedToAnotherCompany() {
+        Company company = inTransaction(() -> companyRepository.save(new Company().companyName("Cube from").description("Cube")));
+        Company otherCompany = inTransaction(() -> companyRepository.save(new Company().companyName("Cube to").description("Cube")));
+        OraganizationalUnit unit = createUnit(company);
+        createSpend(createTechnology(createApplication(createLineOfBusiness(unit)), "CLOUD"), "INFRA", 2);
+        assertThat(totals(company)).hasSize(1);
+
+        inTransaction(() -> oraganizationalUnitRepository.save(unit.company(otherCompany)));
+
+        assertThat(totals(company)).isEmpty();
+        assertThat(totals(otherCompany)).containsExactly(Arrays.asList(ApplicationStatus.Running, 2_000L));
+    }
+
+    @Test
+    public void testTechnologySpendsOnlyCountWhenMatchingTheStackType() {
+        Company company = inTransaction(() -> companyRepository.save(new Company().companyName("Cube stack").description("Cube")));
+        Technology technology = createTechnology(createApplication(createLineOfBusiness(createUnit(company))), "CLOUD");
+        createSpend(technology, "INFRA", 2);
+        createSpend(technology, "LICENSE", 7);
+        // a cloud stack only counts its infrastructure spends
+        assertThat(totals(company)).containsExactly(Arrays.asList(ApplicationStatus.Running, 2_000L));
+
+        inTransaction(() -> technologyStackRepository.save(technology.getTechnologyStack().type("LANGUAGE")));
+
+        // any other stack only counts its license spends
+        assertThat(totals(company)).containsExactly(Arrays.asList(ApplicationStatus.Running, 7_000L));
+    }
+
+    private OraganizationalUnit createUnit(Company company) {
+        return inTransaction(() -> oraganizationalUnitRepository.save(new OraganizationalUnit().name("Cube OU").company(company)));
+    }
+
+    private LineOfBusiness createLineOfBusiness(OraganizationalUnit unit) {
+        return inTransaction(() -> lineOfBusinessRepository.save(new LineOfBusiness().name("Cube LOB").oraganizationalUnit(unit)));
+    }
+
+    private Application createApplication(LineOfBusiness lineOfBusiness) {
+        return inTransaction(() -> applicationRepository.save(new Application().name("Cube app").description("Cube app")
+            .type(ApplicationType.WebApplication).status(ApplicationStatus.Running).implementationDate(LocalDate.now())
+            .lineOfBusiness(lineOfBusiness)));
+    }
+
+    private Technology createTechnology(Application application, String stackType) {
+        return inTransaction(() -> {
+            TechnologyStack stack = technologyStackRepository.save(new TechnologyStack().name("Cube stack").type(stackType));
+            return technologyRepository.save(new Technology().application(application).technologyStack(stack));
+        });
+    }
+
+    private void createSpend(Technology technology, String expenditureType, int amount) {
+        inTransaction(() -> spendRepository.save(new Spend().dateOfUpdate(LocalDate.now()).amount(amount)
+            .successor(CurrencySuccessor.K).expenditureType(expenditureType).spendId(technology.getId())));
+    }
+
+    /**
+     * @return the {@code [applicationStatus, spent]} of each cell of the company this year.
+     */
+    private List<List<Object>> totals(Company company) {
+        return inTransaction(() -> spendAggregateRepository.findTotalsByCompanyId(company.getId(), LocalDate.now().getYear())
+            .stream().map(row -> Arrays.asList(row[2], row[3])).collect(Collectors.toList()));
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+}
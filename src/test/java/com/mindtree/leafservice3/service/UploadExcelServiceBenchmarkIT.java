@@ -0,0 +1,168 @@
+package com.mindtree.leafservice3.service;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.domain.Employee;
+import com.mindtree.leafservice3.domain.enumeration.Gender;
+import com.mindtree.leafservice3.repository.ApplicationRepository;
+import com.mindtree.leafservice3.repository.CompanyRepository;
+import com.mindtree.leafservice3.repository.EmployeeRepository;
+import com.mindtree.leafservice3.repository.SpendRepository;
+import com.mindtree.leafservice3.repository.TechnologyStackRepository;
+import com.mindtree.leafservice3.service.util.UploadProgress;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput benchmark for the application portfolio upload of {@link UploadExcelService}.
+ * <p>
+ * The same sheet is uploaded for several companies, once writing every row on its own, once with the
+ * configured JDBC batch and flush size and once partitioned across the configured parallelism, and the
+ * rows/sec of the runs are logged.
+ */
+@SpringBootTest(classes = LeafService3App.class)
+@Transactional
+public class UploadExcelServiceBenchmarkIT {
+
+    private static final int ROWS = 2_000;
+
+    private final Logger log = LoggerFactory.getLogger(UploadExcelServiceBenchmarkIT.class);
+
+    @Autowired
+    private UploadExcelService uploadExcelService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private SpendRepository spendRepository;
+
+    @Autowired
+    private TechnologyStackRepository technologyStackRepository;
+
+    private final int configuredBatchSize = new ApplicationProperties().getUpload().getBatchSize();
+
+    @AfterEach
+    public void restoreBatchSize() {
+        applicationProperties.getUpload().setBatchSize(configuredBatchSize);
+    }
+
+    @Test
+    public void benchmarkAppPortfolioUpload() throws IOException {
+        double rowByRow = upload("row-by-row", 1, false);
+        double batched = upload("batched", configuredBatchSize, false);
+
+        log.info("App portfolio upload of {} rows: {} rows/sec row by row, {} rows/sec with a batch size of {}",
+            ROWS, Math.round(rowByRow), Math.round(batched), configuredBatchSize);
+    }
+
+    /**
+     * Partitions commit on their own, so this run is not rolled back and needs a committed company.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void benchmarkParallelAppPortfolioUpload() throws IOException {
+        double sequential = upload("sequential", configuredBatchSize, false);
+        double parallel = upload("parallel", configuredBatchSize, true);
+
+        log.info("App portfolio upload of {} rows: {} rows/sec in a single transaction, {} rows/sec in {} partitions",
+            ROWS, Math.round(sequential), Math.round(parallel), applicationProperties.getUpload().getParallelism());
+    }
+
+    private double upload(String run, int batchSize, boolean parallel) throws IOException {
+        applicationProperties.getUpload().setBatchSize(batchSize);
+        Company company = companyRepository.saveAndFlush(new Company().companyName(run).description(run));
+        // the sheet only carries the id and name of an owner, the other employee columns are mandatory
+        employeeRepository.saveAndFlush(new Employee().employeeId(run + "-owner").name("Owner")
+            .dateOfJoining(LocalDate.now()).gender(Gender.Female).address("Bangalore").designation("Manager"));
+        byte[] sheet = appPortfolioSheet(run);
+        long elapsed;
+        if (parallel) {
+            Path file = Files.createTempFile(run, ".xlsx");
+            try {
+                Files.write(file, sheet);
+                long start = System.nanoTime();
+                long rows = uploadExcelService.appPortfolioUploadInParallel(company.getId(), file.toFile(), UploadProgress.FAIL_FAST);
+                elapsed = System.nanoTime() - start;
+                assertThat(rows).isEqualTo(ROWS);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } else {
+            long start = System.nanoTime();
+            String result = uploadExcelService.appPortfolioUpload(company.getId(), new MockMultipartFile("file", run + ".xlsx", null, sheet));
+            elapsed = System.nanoTime() - start;
+            assertThat(result).isEqualTo("sucessfully Added");
+        }
+
+        assertThat(applicationRepository.findAllByCompanyId(company.getId())).hasSize(ROWS);
+        assertThat(spendRepository.findAllByCompanyId(company.getId())).hasSize(ROWS);
+        // every version of the stack is created once, however many partitions use it
+        assertThat(technologyStackRepository.findAll()).filteredOn(stack -> stack.getName().startsWith(run + "-stack")).hasSize(10);
+        return ROWS / (elapsed / 1_000_000_000d);
+    }
+
+    private static byte[] appPortfolioSheet(String run) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("portfolio");
+            sheet.createRow(0).createCell(0).setCellValue("header");
+            sheet.createRow(1).createCell(0).setCellValue("header");
+            for (int i = 0; i < ROWS; i++) {
+                Row row = sheet.createRow(i + 2);
+                row.createCell(0).setCellValue("OU-" + (i % 5));
+                row.createCell(1).setCellValue(run + "-owner");
+                row.createCell(2).setCellValue("OU owner");
+                row.createCell(3).setCellValue("LOB-" + (i % 20));
+                row.createCell(4).setCellValue(run + "-owner");
+                row.createCell(5).setCellValue("LOB owner");
+                row.createCell(6).setCellValue("Application " + i);
+                row.createCell(7).setCellValue("WebApplication");
+                row.createCell(8).setCellValue("Running");
+                row.createCell(9).setCellValue(new Date());
+                row.createCell(10).setCellValue(run + "-stack");
+                row.createCell(11).setCellValue("1." + (i % 10));
+                row.createCell(12).setCellValue("CLOUD");
+                row.createCell(13).setCellValue(100 + i);
+                row.createCell(14).setCellValue("K");
+                row.createCell(21).setCellValue(0);
+                row.createCell(22).setCellValue("K");
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.mindtree.leafservice3.service;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.domain.Employee;
+import com.mindtree.leafservice3.domain.OraganizationalUnit;
+import com.mindtree.leafservice3.domain.TechnologyStack;
+import com.mindtree.leafservice3.domain.enumeration.Gender;
+import com.mindtree.leafservice3.repository.ApplicationRepository;
+import com.mindtree.leafservice3.repository.OraganizationalUnitRepository;
+import com.mindtree.leafservice3.repository.SpendRepository;
+import com.mindtree.leafservice3.repository.TechnologyStackRepository;
+import com.mindtree.leafservice3.service.util.ExcelRow;
+import com.mindtree.leafservice3.service.util.UploadProgress;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the row validation and the parallel import of the uploads of {@link UploadExcelService}.
+ * <p>
+ * The upload commits its own transactions, so the company of the tests is committed, and deleted afterwards.
+ */
+@SpringBootTest(classes = LeafService3App.class)
+public class UploadExcelServiceIT {
+
+    private static final String OWNER = "upload-it-owner";
+
+    private static final String STACK = "upload-it-stack";
+
+    @Autowired
+    private UploadExcelService uploadExcelService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private OraganizationalUnitRepository oraganizationalUnitRepository;
+
+    @Autowired
+    private SpendRepository spendRepository;
+
+    @Autowired
+    private TechnologyStackRepository technologyStackRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Company company;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.execute(status -> {
+            company = new Company().companyName("Upload").description("Upload");
+            em.persist(company);
+            // the sheet only carries the id and name of an owner, the other employee columns are mandatory
+            em.persist(new Employee().employeeId(OWNER).name("Owner").dateOfJoining(LocalDate.now())
+                .gender(Gender.Female).address("Bangalore").designation("Manager"));
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transactionTemplate.execute(status -> {
+            Long companyId = company.getId();
+            em.createQuery("delete from SpendAggregate spendAggregate where spendAggregate.companyId = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from Spend spend where spend.companyId = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from Technology technology where technology.companyId = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from TechnologyStack technologyStack where technologyStack.name like :name")
+                .setParameter("name", STACK + "%").executeUpdate();
+            em.createQuery("delete from Application application where application.companyId = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from LineOfBusiness lineOfBusiness where lineOfBusiness.oraganizationalUnit.id in "
+                + "(select unit.id from OraganizationalUnit unit where unit.company.id = :companyId)")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from OraganizationalUnit unit where unit.company.id = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from Company company where company.id = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from Employee employee where employee.employeeId = :employeeId")
+                .setParameter("employeeId", OWNER).executeUpdate();
+            return null;
+        });
+    }
+
+    @Test
+    public void testInvalidRowsAreSkippedAndTheOthersCommitted() throws IOException {
+        byte[] sheet = appPortfolioSheet(new String[][] {
+            {"Stores", "Alpha", "WebApplication", null},
+            {"Warehouses", "Beta", "Mainframe", null},
+            {"Stores", "Gamma", "ERP", null}
+        });
+        RecordingProgress progress = new RecordingProgress();
+
+        long rows = uploadExcelService.appPortfolioUpload(company.getId(), new ByteArrayInputStream(sheet), progress);
+
+        assertThat(rows).isEqualTo(3);
+        assertThat(progress.processed).containsExactly(2, 4);
+        assertThat(progress.failed).containsExactly("3: Column 8: 'Mainframe' is not a ApplicationType");
+        assertThat(applicationRepository.findAllByCompanyId(company.getId()))
+            .extracting(Application::getName).containsExactlyInAnyOrder("Alpha", "Gamma");
+        // nothing of the rejected row is written, not even its new organizational unit
+        assertThat(oraganizationalUnitRepository.findAllByCompanyId(company.getId()))
+            .extracting(OraganizationalUnit::getName).containsExactly("Stores");
+    }
+
+    @Test
+    public void testParallelUploadSkipsInvalidRowsAndCreatesSharedRowsOnce() throws IOException {
+        byte[] sheet = appPortfolioSheet(new String[][] {
+            {"Stores", "Alpha", "WebApplication", "CLOUD"},
+            {"Warehouses", "Beta", "Mainframe", "CLOUD"},
+            {"Stores", "Gamma", "ERP", "CLOUD"},
+            {"Stores", "Delta", "ERP", "LANGUAGE"}
+        });
+        RecordingProgress progress = new RecordingProgress();
+        Path file = Files.createTempFile("upload-it", ".xlsx");
+        long rows;
+        try {
+            Files.write(file, sheet);
+            rows = uploadExcelService.appPortfolioUploadInParallel(company.getId(), file.toFile(), progress);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertThat(rows).isEqualTo(4);
+        assertThat(progress.processed).containsExactlyInAnyOrder(2, 4, 5);
+        assertThat(progress.failed).containsExactly("3: Column 8: 'Mainframe' is not a ApplicationType");
+        assertThat(applicationRepository.findAllByCompanyId(company.getId()))
+            .extracting(Application::getName).containsExactlyInAnyOrder("Alpha", "Gamma", "Delta");
+        assertThat(oraganizationalUnitRepository.findAllByCompanyId(company.getId()))
+            .extracting(OraganizationalUnit::getName).containsExactly("Stores");
+        // the stack of Alpha and Gamma is created once, whichever partitions import them
+        assertThat(technologyStackRepository.findAll()).filteredOn(stack -> stack.getName().startsWith(STACK))
+            .extracting(TechnologyStack::getType).containsExactlyInAnyOrder("CLOUD", "LANGUAGE");
+        assertThat(spendRepository.findAllByCompanyId(company.getId())).hasSize(3);
+    }
+
+    /**
+     * Build an app portfolio sheet of applications without expenditure or budget.
+     *
+     * @param applications the organizational unit, name, type and technology stack type, if any, of each
+     *                     application.
+     */
+    private static byte[] appPortfolioSheet(String[][] applications) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("portfolio");
+            sheet.createRow(0).createCell(0).setCellValue("header");
+            sheet.createRow(1).createCell(0).setCellValue("header");
+            for (int i = 0; i < applications.length; i++) {
+                Row row = sheet.createRow(i + 2);
+                row.createCell(0).setCellValue(applications[i][0]);
+                row.createCell(1).setCellValue(OWNER);
+                row.createCell(2).setCellValue("OU owner");
+                row.createCell(3).setCellValue(applications[i][0] + " LOB");
+                row.createCell(4).setCellValue(OWNER);
+                row.createCell(5).setCellValue("LOB owner");
+                row.createCell(6).setCellValue(applications[i][1]);
+                row.createCell(7).setCellValue(applications[i][2]);
+                row.createCell(8).setCellValue("Running");
+                row.createCell(9).setCellValue(new Date());
+                if (applications[i][3] != null) {
+                    row.createCell(10).setCellValue(STACK + "-" + applications[i][3]);
+                    row.createCell(11).setCellValue("1.0");
+                    row.createCell(12).setCellValue(applications[i][3]);
+                    row.createCell(13).setCellValue(100);
+                    row.createCell(14).setCellValue("K");
+                }
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static class RecordingProgress implements UploadProgress {
+
+        private final List<Integer> processed = new CopyOnWriteArrayList<>();
+
+        private final List<String> failed = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void rowProcessed(ExcelRow row) {
+            processed.add(row.getRowNum());
+        }
+
+        @Override
+        public void rowFailed(ExcelRow row, RuntimeException exception) {
+            failed.add(row.getRowNum() + ": " + exception.getMessage());
+        }
+    }
+}
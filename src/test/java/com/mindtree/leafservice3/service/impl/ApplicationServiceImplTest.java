@@ -0,0 +1,165 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.repository.ApplicationRepository;
+import com.mindtree.leafservice3.repository.LineOfBusinessRepository;
+import com.mindtree.leafservice3.repository.OraganizationalUnitRepository;
+import com.mindtree.leafservice3.repository.TechnologyRepository;
+import com.mindtree.leafservice3.repository.search.ApplicationSearchRepository;
+import com.mindtree.leafservice3.service.SearchIndexingService;
+import com.mindtree.leafservice3.service.dto.ChartData;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the organizational tree of {@link ApplicationServiceImpl}.
+ */
+public class ApplicationServiceImplTest {
+
+    private OraganizationalUnitRepository oraganizationalUnitRepository;
+
+    private LineOfBusinessRepository lineOfBusinessRepository;
+
+    private ApplicationRepository applicationRepository;
+
+    private ApplicationServiceImpl applicationService;
+
+    @BeforeEach
+    public void setup() {
+        oraganizationalUnitRepository = mock(OraganizationalUnitRepository.class);
+        lineOfBusinessRepository = mock(LineOfBusinessRepository.class);
+        applicationRepository = mock(ApplicationRepository.class);
+        applicationService = new ApplicationServiceImpl(applicationRepository, oraganizationalUnitRepository,
+            lineOfBusinessRepository, mock(ApplicationSearchRepository.class), mock(TechnologyRepository.class),
+            mock(SearchIndexingService.class));
+
+        when(oraganizationalUnitRepository.findChartNodes(any())).thenAnswer(invocation -> page(Arrays.asList(
+            new Object[] {1L, "Europe"},
+            new Object[] {2L, "Asia"}), invocation.getArgument(0)));
+        List<Object[]> lineOfBusinesses = Arrays.asList(
+            new Object[] {10L, "Retail", 1L},
+            new Object[] {11L, "Banking", 1L},
+            new Object[] {12L, "Orphan", null});
+        when(lineOfBusinessRepository.findChartNodesByOraganizationalUnitIds(any()))
+            .thenAnswer(invocation -> children(lineOfBusinesses, invocation.getArgument(0)));
+        when(lineOfBusinessRepository.countChartNodesByOraganizationalUnitIds(any()))
+            .thenAnswer(invocation -> counts(lineOfBusinesses, invocation.getArgument(0)));
+        List<Object[]> applications = Arrays.asList(
+            new Object[] {100L, "Shop", 10L},
+            new Object[] {101L, "Stock", 10L},
+            new Object[] {102L, "Loans", 11L});
+        when(applicationRepository.findChartNodesByLineOfBusinessIds(any()))
+            .thenAnswer(invocation -> children(applications, invocation.getArgument(0)));
+        when(applicationRepository.countChartNodesByLineOfBusinessIds(any()))
+            .thenAnswer(invocation -> counts(applications, invocation.getArgument(0)));
+    }
+
+    @Test
+    public void testWholeTreeIsNested() {
+        List<ChartData> tree = applicationService.organizationalChartData(null, null, Pageable.unpaged()).getContent();
+
+        assertThat(tree).extracting(data -> data.trackingId).containsExactly("Europe-Org1", "Asia-Org2");
+        ChartData europe = tree.get(0);
+        assertThat(europe.childCount).isEqualTo(2);
+        assertThat(europe.children).extracting(data -> data.trackingId).containsExactly("Retail-Lob10", "Banking-Lob11");
+        ChartData retail = europe.children.get(0);
+        assertThat(retail.parentId).isEqualTo("Europe-Org1");
+        assertThat(retail.children).extracting(data -> data.trackingId).containsExactly("Shop-App100", "Stock-App101");
+        assertThat(retail.children.get(0).parentName).isEqualTo("Retail");
+        assertThat(retail.children.get(0).title).isEqualTo("applications");
+        assertThat(retail.children.get(0).children).isNull();
+        assertThat(tree.get(1).children).isEmpty();
+        verify(applicationRepository, never()).countChartNodesByLineOfBusinessIds(any());
+    }
+
+    @Test
+    public void testDeepestLevelOnlyCountsItsChildren() {
+        List<ChartData> tree = applicationService.organizationalChartData(null, 2, Pageable.unpaged()).getContent();
+
+        List<ChartData> lineOfBusinesses = tree.get(0).children;
+        assertThat(lineOfBusinesses).extracting(data -> data.childCount).containsExactly(2, 1);
+        assertThat(lineOfBusinesses).allMatch(data -> data.children == null);
+        assertThat(tree.get(1).childCount).isEqualTo(0);
+        verify(applicationRepository).countChartNodesByLineOfBusinessIds(
+            argThat(ids -> ids.size() == 2 && ids.containsAll(Arrays.asList(10L, 11L))));
+        verify(applicationRepository, never()).findChartNodesByLineOfBusinessIds(any());
+    }
+
+    @Test
+    public void testTopLevelIsPaged() {
+        Page<ChartData> page = applicationService.organizationalChartData(null, 1, PageRequest.of(1, 1));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(data -> data.trackingId).containsExactly("Asia-Org2");
+        assertThat(page.getContent().get(0).childCount).isEqualTo(0);
+        verify(lineOfBusinessRepository).countChartNodesByOraganizationalUnitIds(
+            argThat(ids -> ids.size() == 1 && ids.contains(2L)));
+        verify(lineOfBusinessRepository, never()).findChartNodesByOraganizationalUnitIds(any());
+    }
+
+    @Test
+    public void testNodeIsExpandedLazily() {
+        when(lineOfBusinessRepository.findChartNodesByOraganizationalUnitId(eq(1L), any())).thenAnswer(invocation -> page(
+            Arrays.asList(new Object[] {10L, "Retail", 1L}, new Object[] {11L, "Banking", 1L}), invocation.getArgument(1)));
+
+        List<ChartData> children = applicationService.organizationalChartData("Europe-Org1", 1, Pageable.unpaged())
+            .getContent();
+
+        assertThat(children).extracting(data -> data.trackingId).containsExactly("Retail-Lob10", "Banking-Lob11");
+        assertThat(children).extracting(data -> data.childCount).containsExactly(2, 1);
+        assertThat(children).extracting(data -> data.parentId).containsOnly("Europe-Org1");
+        verify(oraganizationalUnitRepository, never()).findChartNodes(any());
+        verify(applicationRepository, never()).findChartNodesByLineOfBusinessIds(any());
+    }
+
+    @Test
+    public void testApplicationsAndUnknownNodesHaveNoChildren() {
+        assertThat(applicationService.organizationalChartData("Shop-App100", null, Pageable.unpaged())).isEmpty();
+        assertThat(applicationService.organizationalChartData("unknown", null, Pageable.unpaged())).isEmpty();
+        verify(applicationRepository, never()).findChartNodesByLineOfBusinessId(any(), any());
+        when(applicationRepository.findChartNodesByLineOfBusinessId(eq(10L), any())).thenAnswer(invocation -> page(
+            Collections.singletonList(new Object[] {100L, "Shop", 10L}), invocation.getArgument(1)));
+
+        assertThat(applicationService.organizationalChartData("Retail-Lob10", 5, Pageable.unpaged()))
+            .extracting(data -> data.trackingId).containsExactly("Shop-App100");
+    }
+
+    private static Page<Object[]> page(List<Object[]> rows, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(rows);
+        }
+        int from = (int) Math.min(pageable.getOffset(), rows.size());
+        int to = Math.min(from + pageable.getPageSize(), rows.size());
+        return new PageImpl<>(rows.subList(from, to), pageable, rows.size());
+    }
+
+    private static List<Object[]> children(List<Object[]> rows, Collection<Long> parentIds) {
+        return rows.stream().filter(row -> parentIds.contains(row[2])).collect(Collectors.toList());
+    }
+
+    private static List<Object[]> counts(List<Object[]> rows, Collection<Long> parentIds) {
+        return children(rows, parentIds).stream()
+            .collect(Collectors.groupingBy(row -> (Long) row[2], Collectors.counting()))
+            .entrySet().stream().map(entry -> new Object[] {entry.getKey(), entry.getValue()})
+            .collect(Collectors.toList());
+    }
+}
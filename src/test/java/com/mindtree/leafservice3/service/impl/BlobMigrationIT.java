@@ -0,0 +1,80 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.repository.CompanyRepository;
+import com.mindtree.leafservice3.service.BlobStorageService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@link BlobMigration} of the binaries still stored in the database.
+ */
+@SpringBootTest(classes = LeafService3App.class)
+public class BlobMigrationIT {
+
+    private static final byte[] PICTURE = "picture".getBytes(StandardCharsets.UTF_8);
+
+    // sha256sum of "picture"
+    private static final String PICTURE_KEY = "2cea274d0bedc39ec4ab6ba9e59ec889e3ed6fb56a1cf088a64d9b383378dc97";
+
+    @Autowired
+    private BlobMigration blobMigration;
+
+    @Autowired
+    private BlobStorageService blobStorageService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Company company;
+
+    @AfterEach
+    public void tearDown() {
+        if (company != null) {
+            new TransactionTemplate(transactionManager).execute(status -> {
+                jdbcTemplate.update("delete from diagram where company_id = ?", company.getId());
+                companyRepository.delete(company);
+                return null;
+            });
+        }
+    }
+
+    @Test
+    public void testBinariesAreMovedToTheBlobStore() {
+        company = new TransactionTemplate(transactionManager).execute(status -> {
+            Company saved = companyRepository.save(new Company().companyName("Acme").description("Acme"));
+            for (int i = 0; i < 3; i++) {
+                jdbcTemplate.update("insert into diagram (category, picture, picture_content_type, company_id) "
+                    + "values (?, ?, ?, ?)", "APPPORTFOLIO", PICTURE, "image/png", saved.getId());
+            }
+            return saved;
+        });
+
+        blobMigration.migrate();
+
+        assertThat(jdbcTemplate.queryForList("select picture_key from diagram where company_id = ?", String.class,
+            company.getId())).containsExactly(PICTURE_KEY, PICTURE_KEY, PICTURE_KEY);
+        assertThat(jdbcTemplate.queryForList("select picture_size from diagram where company_id = ?", Long.class,
+            company.getId())).containsOnly((long) PICTURE.length);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from diagram where picture is not null", Long.class))
+            .isZero();
+        assertThat(blobStorageService.exists(PICTURE_KEY)).isTrue();
+    }
+}
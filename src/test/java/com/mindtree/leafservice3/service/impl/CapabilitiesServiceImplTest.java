@@ -0,0 +1,87 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.repository.CapabilitiesRepository;
+import com.mindtree.leafservice3.repository.CompanyRepository;
+import com.mindtree.leafservice3.repository.search.CapabilitiesSearchRepository;
+import com.mindtree.leafservice3.service.CapabilitiesService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
+import com.mindtree.leafservice3.service.dto.ChartData;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the organizational chart of {@link CapabilitiesServiceImpl}.
+ */
+public class CapabilitiesServiceImplTest {
+
+    @Test
+    public void testNodesAreLinkedToTheirParentWhateverTheRowOrder() {
+        List<ChartData> chart = CapabilitiesServiceImpl.chartData(Arrays.asList(
+            row(4, 9, "Pricing", 7),
+            row(2, 5, "Retail", 3),
+            row(0, 1, "Acme", null),
+            row(3, 7, "Sales", 5),
+            row(1, 3, "Europe", 1)));
+
+        assertThat(chart).extracting(data -> data.title).containsExactly("Company", "oraganizational-units",
+            "line-of-businesses", "business-functions", "capabilities");
+        assertThat(chart).extracting(data -> data.trackingId)
+            .containsExactly("Acme-Comp1", "Europe-Org3", "Retail-Lob5", "Sales-bf7", "Pricing-Cap9");
+        assertThat(chart).extracting(data -> data.parentId)
+            .containsExactly(null, "Acme-Comp1", "Europe-Org3", "Retail-Lob5", "Sales-bf7");
+        assertThat(chart).extracting(data -> data.parentName)
+            .containsExactly(null, "Acme", "Europe", "Retail", "Sales");
+    }
+
+    @Test
+    public void testNodesOutsideTheChartAreLeftOut() {
+        List<ChartData> chart = CapabilitiesServiceImpl.chartData(Arrays.asList(
+            row(0, 1, "Acme", null),
+            row(3, 7, "Sales", 99),
+            row(4, 9, "Pricing", 7),
+            row(4, 10, "Unassigned", null)));
+
+        assertThat(chart).extracting(data -> data.id).containsExactly(1L);
+    }
+
+    @Test
+    public void testMissingCompanyHasNoChart() {
+        assertThat(CapabilitiesServiceImpl.chartData(Collections.singletonList(row(1, 3, "Europe", 1)))).isEmpty();
+    }
+
+    @Test
+    public void testCachedChartIsNotChangedByCallers() {
+        CompanyRepository companyRepository = mock(CompanyRepository.class);
+        when(companyRepository.findOrganizationalChartNodes(1L)).thenReturn(Arrays.asList(
+            row(0, 1, "Acme", null),
+            row(1, 3, "Europe", 1)));
+        CapabilitiesServiceImpl capabilitiesService = new CapabilitiesServiceImpl(mock(CapabilitiesRepository.class),
+            mock(CapabilitiesSearchRepository.class), companyRepository, mock(SearchIndexingService.class),
+            new ConcurrentMapCacheManager(CapabilitiesService.ORGANIZATIONAL_CHART_CACHE));
+
+        List<ChartData> chart = capabilitiesService.organizationalChartData(1L);
+        chart.get(1).name = "changed";
+        chart.remove(0);
+
+        assertThat(capabilitiesService.organizationalChartData(1L)).extracting(data -> data.name)
+            .containsExactly("Acme", "Europe");
+        verify(companyRepository, times(1)).findOrganizationalChartNodes(1L);
+    }
+
+    private static Object[] row(int level, long id, String name, Integer parentId) {
+        // drivers return the numeric columns of a union with various types
+        return new Object[] {level, BigInteger.valueOf(id), name, parentId};
+    }
+}
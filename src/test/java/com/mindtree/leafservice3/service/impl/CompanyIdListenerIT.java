@@ -0,0 +1,168 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.domain.Activity;
+import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.Budget;
+import com.mindtree.leafservice3.domain.BusinessFunction;
+import com.mindtree.leafservice3.domain.BusinessProcess;
+import com.mindtree.leafservice3.domain.Capabilities;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.domain.CompanyScoped;
+import com.mindtree.leafservice3.domain.Expenditure;
+import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.OraganizationalUnit;
+import com.mindtree.leafservice3.domain.Spend;
+import com.mindtree.leafservice3.domain.Task;
+import com.mindtree.leafservice3.domain.Technology;
+import com.mindtree.leafservice3.domain.TechnologyStack;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationType;
+import com.mindtree.leafservice3.domain.enumeration.BusinessFunctionType;
+import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
+import com.mindtree.leafservice3.domain.enumeration.ProcessStatus;
+import com.mindtree.leafservice3.domain.enumeration.ResourcesRequired;
+import com.mindtree.leafservice3.repository.SpendRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@link CompanyIdListener}.
+ * <p>
+ * Moved rows are synchronized before commit, so every change is made in its own committed transaction.
+ */
+@SpringBootTest(classes = LeafService3App.class)
+public class CompanyIdListenerIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private SpendRepository spendRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testCompanyIdFollowsTheHierarchy() {
+        LocalDate today = LocalDate.now();
+        Company first = inTransaction(() -> persist(new Company().companyName("First").description("First")));
+        Company second = inTransaction(() -> persist(new Company().companyName("Second").description("Second")));
+        OraganizationalUnit secondUnit = inTransaction(() -> persist(new OraganizationalUnit().name("Second OU").company(second)));
+        LineOfBusiness lineOfBusiness = inTransaction(() -> persist(new LineOfBusiness().name("LOB")
+            .oraganizationalUnit(persist(new OraganizationalUnit().name("First OU").company(first)))));
+
+        List<CompanyScoped> rows = inTransaction(() -> {
+            List<CompanyScoped> created = new ArrayList<>();
+            BusinessFunction businessFunction = persist(new BusinessFunction().name("BF").type(BusinessFunctionType.Primary)
+                .lineOfBusiness(lineOfBusiness));
+            Capabilities capability = persist(new Capabilities().description("Capability").businessFunction(businessFunction));
+            BusinessProcess businessProcess = persist(new BusinessProcess().name("BP").startDate(today)
+                .status(ProcessStatus.Started).capabilities(capability));
+            Activity activity = persist(new Activity().name("Activity").description("Activity")
+                .resourcesRequired(ResourcesRequired.People).businessProcess(businessProcess));
+            Task task = persist(new Task().name("Task").estimatedCost(1).successor(CurrencySuccessor.K).activity(activity));
+            Application application = persist(new Application().name("App").description("App")
+                .type(ApplicationType.WebApplication).implementationDate(today).lineOfBusiness(lineOfBusiness));
+            Technology technology = persist(new Technology().application(application)
+                .technologyStack(persist(new TechnologyStack().name("Stack").type("CLOUD"))));
+            Expenditure expenditure = persist(new Expenditure().description("Team").startDate(today)
+                .expenditureType("RESOURCE").application(application));
+            Budget budget = persist(new Budget().amount(1).year(today.getYear()).successor(CurrencySuccessor.K).application(application));
+            Spend infraSpend = persist(new Spend().dateOfUpdate(today).amount(1).successor(CurrencySuccessor.K)
+                .expenditureType("INFRA").spendId(technology.getId()));
+            Spend resourceSpend = persist(new Spend().dateOfUpdate(today).amount(1).successor(CurrencySuccessor.K)
+                .expenditureType("RESOURCE").spendId(expenditure.getId()));
+            created.add(capability);
+            created.add(businessProcess);
+            created.add(activity);
+            created.add(task);
+            created.add(application);
+            created.add(technology);
+            created.add(expenditure);
+            created.add(budget);
+            created.add(infraSpend);
+            created.add(resourceSpend);
+            return created;
+        });
+        assertThat(reload(rows)).extracting(CompanyScoped::getCompanyId).containsOnly(first.getId());
+        assertThat(inTransaction(() -> spendRepository.findAllByCompanyId(first.getId()))).hasSize(2);
+
+        inTransaction(() -> em.merge(lineOfBusiness.oraganizationalUnit(secondUnit)));
+
+        assertThat(reload(rows)).extracting(CompanyScoped::getCompanyId).containsOnly(second.getId());
+        assertThat(inTransaction(() -> spendRepository.findAllByCompanyId(first.getId()))).isEmpty();
+    }
+
+    @Test
+    public void testOnlyTheSubtreeOfAMovedRowIsSynchronized() {
+        LocalDate today = LocalDate.now();
+        Company first = inTransaction(() -> persist(new Company().companyName("First").description("First")));
+        Company second = inTransaction(() -> persist(new Company().companyName("Second").description("Second")));
+        LineOfBusiness firstLineOfBusiness = inTransaction(() -> persist(new LineOfBusiness().name("First LOB")
+            .oraganizationalUnit(persist(new OraganizationalUnit().name("First OU").company(first)))));
+        LineOfBusiness secondLineOfBusiness = inTransaction(() -> persist(new LineOfBusiness().name("Second LOB")
+            .oraganizationalUnit(persist(new OraganizationalUnit().name("Second OU").company(second)))));
+        Application moved = inTransaction(() -> persist(new Application().name("Moved").description("Moved")
+            .type(ApplicationType.WebApplication).implementationDate(today).lineOfBusiness(firstLineOfBusiness)));
+        Technology technology = inTransaction(() -> persist(new Technology().application(moved)
+            .technologyStack(persist(new TechnologyStack().name("Stack").type("CLOUD")))));
+        Application unrelated = inTransaction(() -> persist(new Application().name("Unrelated").description("Unrelated")
+            .type(ApplicationType.WebApplication).implementationDate(today).lineOfBusiness(firstLineOfBusiness)));
+        Task task = inTransaction(() -> {
+            BusinessFunction businessFunction = persist(new BusinessFunction().name("BF").type(BusinessFunctionType.Primary)
+                .lineOfBusiness(firstLineOfBusiness));
+            Capabilities capability = persist(new Capabilities().description("Capability").businessFunction(businessFunction));
+            BusinessProcess businessProcess = persist(new BusinessProcess().name("BP").startDate(today)
+                .status(ProcessStatus.Started).capabilities(capability));
+            Activity activity = persist(new Activity().name("Activity").description("Activity")
+                .resourcesRequired(ResourcesRequired.People).businessProcess(businessProcess));
+            return persist(new Task().name("Task").estimatedCost(1).successor(CurrencySuccessor.K).activity(activity));
+        });
+        // a company id out of step with the parents, which only an unscoped statement would rewrite
+        inTransaction(() -> em.createNativeQuery("update application set company_id = -1 where id = :id")
+            .setParameter("id", unrelated.getId()).executeUpdate());
+
+        inTransaction(() -> em.merge(moved.lineOfBusiness(secondLineOfBusiness)));
+
+        assertThat(reload(Arrays.asList(moved, technology))).extracting(CompanyScoped::getCompanyId)
+            .containsOnly(second.getId());
+        assertThat(reload(Collections.singletonList(unrelated))).extracting(CompanyScoped::getCompanyId)
+            .containsOnly(-1L);
+        // the capabilities below the line of business the application left are not moved
+        assertThat(reload(Collections.singletonList(task))).extracting(CompanyScoped::getCompanyId)
+            .containsOnly(first.getId());
+    }
+
+    private List<CompanyScoped> reload(List<? extends CompanyScoped> rows) {
+        return inTransaction(() -> {
+            List<CompanyScoped> reloaded = new ArrayList<>();
+            for (CompanyScoped row : rows) {
+                reloaded.add(em.find(row.getClass(), em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(row)));
+            }
+            return reloaded;
+        });
+    }
+
+    private <T> T persist(T entity) {
+        em.persist(entity);
+        return entity;
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+}
@@ -0,0 +1,76 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link FileSystemBlobStorageService} class.
+ */
+public class FileSystemBlobStorageServiceTest {
+
+    private static final byte[] CONTENT = "picture".getBytes(StandardCharsets.UTF_8);
+
+    // sha256sum of "picture"
+    private static final String KEY = "2cea274d0bedc39ec4ab6ba9e59ec889e3ed6fb56a1cf088a64d9b383378dc97";
+
+    private Path directory;
+
+    private FileSystemBlobStorageService blobStorageService;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("blobs");
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBlobStore().setDirectory(directory.toString());
+        blobStorageService = new FileSystemBlobStorageService(applicationProperties);
+    }
+
+    @Test
+    public void testBlobIsStoredUnderTheHashOfItsContent() throws IOException {
+        String key = blobStorageService.store(CONTENT);
+
+        assertThat(key).isEqualTo(KEY);
+        assertThat(directory.resolve("2c").resolve("ea").resolve(KEY)).hasBinaryContent(CONTENT);
+        assertThat(blobStorageService.exists(KEY)).isTrue();
+        Resource resource = blobStorageService.find(KEY).get();
+        assertThat(resource.contentLength()).isEqualTo(CONTENT.length);
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(StreamUtils.copyToByteArray(in)).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    public void testSameContentIsStoredOnce() throws IOException {
+        String first = blobStorageService.store(CONTENT);
+        String second = blobStorageService.store(new ByteArrayInputStream(CONTENT));
+
+        assertThat(second).isEqualTo(first);
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(directory.resolve("2c/ea/" + KEY));
+        }
+    }
+
+    @Test
+    public void testUnknownOrInvalidKeysAreMissing() {
+        blobStorageService.store(CONTENT);
+
+        assertThat(blobStorageService.find(KEY.replace('2', '3'))).isEmpty();
+        assertThat(blobStorageService.find("../../" + KEY)).isEmpty();
+        assertThat(blobStorageService.find(KEY.toUpperCase())).isEmpty();
+        assertThat(blobStorageService.exists(null)).isFalse();
+    }
+}
@@ -0,0 +1,73 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.domain.enumeration.IntegrationFlowType;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Random;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of the traversals of an {@link IntegrationGraph} of {@value #APPLICATIONS} applications linked by
+ * {@value #INTEGRATIONS} random integrations, logging the mean time of each traversal.
+ */
+public class IntegrationGraphBenchmarkIT {
+
+    private static final int APPLICATIONS = 10000;
+
+    private static final int INTEGRATIONS = 50000;
+
+    private static final int WARM_UP = 2000;
+
+    private static final int REPEATS = 2000;
+
+    private final Logger log = LoggerFactory.getLogger(IntegrationGraphBenchmarkIT.class);
+
+    private final Random random = new Random(42);
+
+    private IntegrationGraph graph;
+
+    @BeforeEach
+    public void createGraph() {
+        IntegrationFlowType[] flowTypes = IntegrationFlowType.values();
+        LongObjectHashMap<IntegrationGraph.Edge> edges = new LongObjectHashMap<>();
+        for (long id = 1; id <= INTEGRATIONS; id++) {
+            edges.put(id, new IntegrationGraph.Edge(application(), application(),
+                flowTypes[random.nextInt(flowTypes.length)]));
+        }
+        graph = new IntegrationGraph();
+        graph.load(edges);
+        assertThat(graph.size()).isEqualTo(INTEGRATIONS);
+    }
+
+    @Test
+    public void benchmarkTraversals() {
+        benchmark("2-hop neighbourhood", application -> assertThat(graph.neighbourhood(application, 2)).isNotNull());
+        benchmark("blast radius", application -> assertThat(graph.dependents(application, Integer.MAX_VALUE))
+            .isNotNull());
+        benchmark("shortest path", application -> graph.shortestPath(application, application()));
+    }
+
+    private void benchmark(String traversal, LongConsumer run) {
+        for (int i = 0; i < WARM_UP; i++) {
+            run.accept(application());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REPEATS; i++) {
+            run.accept(application());
+        }
+        long mean = (System.nanoTime() - start) / REPEATS;
+        log.info("Integration graph {}: {} us on {} applications and {} integrations", traversal, mean / 1000,
+            APPLICATIONS, INTEGRATIONS);
+    }
+
+    private long application() {
+        return 1 + random.nextInt(APPLICATIONS);
+    }
+}
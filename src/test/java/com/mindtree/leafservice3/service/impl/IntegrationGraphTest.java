@@ -0,0 +1,94 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.domain.enumeration.IntegrationFlowType;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link IntegrationGraph}.
+ */
+public class IntegrationGraphTest {
+
+    private IntegrationGraph graph;
+
+    @BeforeEach
+    public void setUp() {
+        // 1 -> 2 -> 3 -> 4, 5 <-> 2 and 6 -> 1
+        graph = new IntegrationGraph();
+        graph.put(10, new IntegrationGraph.Edge(1, 2, IntegrationFlowType.OUTBOUND));
+        graph.put(11, new IntegrationGraph.Edge(3, 2, IntegrationFlowType.INBOUND));
+        graph.put(12, new IntegrationGraph.Edge(3, 4, IntegrationFlowType.OUTBOUND));
+        graph.put(13, new IntegrationGraph.Edge(2, 5, IntegrationFlowType.BIDIRECTIONAL));
+        graph.put(14, new IntegrationGraph.Edge(6, 1, IntegrationFlowType.OUTBOUND));
+    }
+
+    @Test
+    public void testNeighbourhoodFollowsBothDirections() {
+        IntegrationGraph.Traversal traversal = graph.neighbourhood(2, 1);
+
+        assertThat(traversal.applicationIds.toArray()).containsExactlyInAnyOrder(1L, 3L, 5L);
+        assertThat(traversal.hops.toArray()).containsOnly(1);
+    }
+
+    @Test
+    public void testNeighbourhoodStopsAtTheHops() {
+        IntegrationGraph.Traversal traversal = graph.neighbourhood(1, 2);
+
+        assertThat(traversal.applicationIds.toArray()).containsExactlyInAnyOrder(2L, 6L, 3L, 5L);
+        assertThat(traversal.hops.get(traversal.applicationIds.indexOf(3))).isEqualTo(2);
+    }
+
+    @Test
+    public void testDependentsFollowTheDataFlow() {
+        assertThat(graph.dependents(1, Integer.MAX_VALUE).applicationIds.toArray())
+            .containsExactly(2L, 3L, 5L, 4L);
+        assertThat(graph.dependents(3, Integer.MAX_VALUE).applicationIds.toArray()).containsExactly(4L);
+        assertThat(graph.dependents(4, Integer.MAX_VALUE).applicationIds.toArray()).isEmpty();
+        assertThat(graph.dependents(6, 1).applicationIds.toArray()).containsExactly(1L);
+    }
+
+    @Test
+    public void testShortestPath() {
+        assertThat(graph.shortestPath(6, 4).toArray()).containsExactly(6L, 1L, 2L, 3L, 4L);
+        assertThat(graph.shortestPath(4, 5).toArray()).containsExactly(4L, 3L, 2L, 5L);
+        assertThat(graph.shortestPath(1, 1).toArray()).containsExactly(1L);
+        assertThat(graph.shortestPath(1, 7)).isNull();
+    }
+
+    @Test
+    public void testPutMovesAnIntegration() {
+        graph.put(12, new IntegrationGraph.Edge(5, 4, IntegrationFlowType.OUTBOUND));
+
+        assertThat(graph.dependents(3, Integer.MAX_VALUE).applicationIds.toArray()).isEmpty();
+        assertThat(graph.shortestPath(3, 4).toArray()).containsExactly(3L, 2L, 5L, 4L);
+        assertThat(graph.size()).isEqualTo(5);
+    }
+
+    @Test
+    public void testRemoveKeepsTheOtherIntegrationsOfTheSameApplications() {
+        graph.put(15, new IntegrationGraph.Edge(1, 2, IntegrationFlowType.OUTBOUND));
+
+        graph.remove(10);
+
+        assertThat(graph.dependents(1, 1).applicationIds.toArray()).containsExactly(2L);
+        graph.remove(15);
+        assertThat(graph.dependents(1, 1).applicationIds.toArray()).isEmpty();
+        assertThat(graph.shortestPath(1, 2)).isNull();
+    }
+
+    @Test
+    public void testLoadReplacesEveryIntegration() {
+        LongObjectHashMap<IntegrationGraph.Edge> edges = new LongObjectHashMap<>();
+        edges.put(20, new IntegrationGraph.Edge(7, 8, IntegrationFlowType.OUTBOUND));
+
+        graph.load(edges);
+
+        assertThat(graph.size()).isEqualTo(1);
+        assertThat(graph.neighbourhood(2, 1).applicationIds.toArray()).isEmpty();
+        assertThat(graph.dependents(7, 1).applicationIds.toArray()).containsExactly(8L);
+    }
+}
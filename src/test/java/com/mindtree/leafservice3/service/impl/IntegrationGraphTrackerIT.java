@@ -0,0 +1,137 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.Integration;
+import com.mindtree.leafservice3.domain.enumeration.IntegrationFlowType;
+import com.mindtree.leafservice3.repository.ApplicationRepository;
+import com.mindtree.leafservice3.repository.IntegrationRepository;
+import com.mindtree.leafservice3.web.rest.ApplicationResourceIT;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@link IntegrationGraphTracker} keeping the {@link IntegrationGraph} in step with the
+ * committed integrations.
+ */
+@SpringBootTest(classes = LeafService3App.class)
+public class IntegrationGraphTrackerIT {
+
+    @Autowired
+    private IntegrationGraph integrationGraph;
+
+    @Autowired
+    private IntegrationGraphTracker integrationGraphTracker;
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Application source;
+
+    private Application target;
+
+    @BeforeEach
+    public void createApplications() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.execute(status -> {
+            source = ApplicationResourceIT.createEntity(em);
+            em.persist(source);
+            target = ApplicationResourceIT.createUpdatedEntity(em);
+            em.persist(target);
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void deleteApplications() {
+        transactionTemplate.execute(status -> {
+            em.createQuery("delete from Integration integration where integration.integrationApp.id in :ids "
+                + "or integration.application.id in :ids")
+                .setParameter("ids", Arrays.asList(source.getId(), target.getId()))
+                .executeUpdate();
+            applicationRepository.deleteById(source.getId());
+            applicationRepository.deleteById(target.getId());
+            return null;
+        });
+        integrationGraphTracker.load();
+    }
+
+    @Test
+    public void testCommittedIntegrationIsAddedToTheGraph() {
+        save(IntegrationFlowType.OUTBOUND);
+
+        assertThat(integrationGraph.dependents(source.getId(), 1).applicationIds.toArray())
+            .containsExactly(target.getId());
+        assertThat(integrationGraph.dependents(target.getId(), 1).applicationIds.toArray()).isEmpty();
+    }
+
+    @Test
+    public void testRolledBackIntegrationIsNotAddedToTheGraph() {
+        transactionTemplate.execute(status -> {
+            integrationRepository.saveAndFlush(new Integration().entity("Orders").flowType(IntegrationFlowType.OUTBOUND)
+                .application(source).integrationApp(target));
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(integrationGraph.neighbourhood(source.getId(), 1).applicationIds.toArray()).isEmpty();
+    }
+
+    @Test
+    public void testUpdatedAndDeletedIntegrationsMoveInTheGraph() {
+        Integration integration = save(IntegrationFlowType.OUTBOUND);
+
+        transactionTemplate.execute(status -> {
+            integrationRepository.findById(integration.getId()).get().setFlowType(IntegrationFlowType.INBOUND);
+            return null;
+        });
+        assertThat(integrationGraph.dependents(source.getId(), 1).applicationIds.toArray()).isEmpty();
+        assertThat(integrationGraph.dependents(target.getId(), 1).applicationIds.toArray())
+            .containsExactly(source.getId());
+
+        transactionTemplate.execute(status -> {
+            integrationRepository.deleteById(integration.getId());
+            return null;
+        });
+        assertThat(integrationGraph.neighbourhood(target.getId(), 1).applicationIds.toArray()).isEmpty();
+    }
+
+    @Test
+    public void testLoadReadsEveryIntegration() {
+        save(IntegrationFlowType.BIDIRECTIONAL);
+        integrationGraph.load(new LongObjectHashMap<>());
+
+        integrationGraphTracker.load();
+
+        assertThat(integrationGraph.dependents(target.getId(), 1).applicationIds.toArray())
+            .containsExactly(source.getId());
+    }
+
+    private Integration save(IntegrationFlowType flowType) {
+        return transactionTemplate.execute(status -> integrationRepository.save(new Integration().entity("Orders")
+            .flowType(flowType).application(source).integrationApp(target)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the full reads of {@link KeysetPaginationServiceImpl}.
+ */
+public class KeysetPaginationServiceImplTest {
+
+    @Test
+    public void testPagesAreHandledOnceTheirTransactionEnded() throws IOException {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPagination().setMaxPageSize(2);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        AtomicInteger open = new AtomicInteger();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            open.incrementAndGet();
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> open.decrementAndGet()).when(transactionManager).commit(any());
+        KeysetPaginationServiceImpl keysetPaginationService = new KeysetPaginationServiceImpl(applicationProperties,
+            mock(EntityManager.class), transactionManager);
+        List<Long> rows = Arrays.asList(1L, 2L, 3L, 4L, 5L);
+        List<Long> cursors = new ArrayList<>();
+        List<List<Long>> pages = new ArrayList<>();
+
+        keysetPaginationService.forEachPage((after, size) -> {
+            assertThat(open.get()).isEqualTo(1);
+            cursors.add(after);
+            int from = after == Long.MIN_VALUE ? 0 : rows.indexOf(after) + 1;
+            return rows.subList(from, Math.min(from + size, rows.size()));
+        }, row -> row, page -> {
+            assertThat(open.get()).isZero();
+            pages.add(page);
+        });
+
+        assertThat(cursors).containsExactly(Long.MIN_VALUE, 2L, 4L);
+        assertThat(pages).containsExactly(Arrays.asList(1L, 2L), Arrays.asList(3L, 4L), Collections.singletonList(5L));
+    }
+}
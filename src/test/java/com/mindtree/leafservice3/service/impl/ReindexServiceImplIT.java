@@ -0,0 +1,229 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.repository.CompanyRepository;
+import com.mindtree.leafservice3.service.dto.ReindexJobDTO;
+
+import io.searchbox.client.JestClient;
+import io.searchbox.core.Bulk;
+import io.searchbox.core.Count;
+import io.searchbox.core.CountResult;
+import io.searchbox.core.Get;
+import io.searchbox.indices.aliases.GetAliases;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.EntityMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Integration tests for the {@link ReindexServiceImpl}, against the embedded Elasticsearch node.
+ */
+@SpringBootTest(classes = LeafService3App.class)
+public class ReindexServiceImplIT {
+
+    private static final String ALIAS = "company";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Autowired
+    private JestClient jestClient;
+
+    @Autowired
+    private EntityMapper entityMapper;
+
+    @Autowired
+    private ReindexChangeTracker changeTracker;
+
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+
+    private final List<Long> companyIds = new ArrayList<>();
+
+    private ReindexServiceImpl reindexService;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getReindex().setChunkSize(2);
+        applicationProperties.getReindex().setWatermarkLag(Duration.ZERO);
+        reindexService = new ReindexServiceImpl(applicationProperties, em, transactionManager, elasticsearchOperations,
+            jestClient, entityMapper, changeTracker, queuedTasks::add);
+        deleteIndices();
+        for (int i = 0; i < 3; i++) {
+            createCompany("Company " + i);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        deleteIndices();
+        new TransactionTemplate(transactionManager).execute(status -> {
+            companyIds.forEach(companyRepository::deleteById);
+            return null;
+        });
+    }
+
+    @Test
+    public void testFullReindexMovesTheAliasToAFreshIndex() throws IOException {
+        // the index created by the repository at startup, before any rebuild
+        elasticsearchOperations.createIndex(ALIAS);
+        Instant started = Instant.now();
+
+        ReindexJobDTO job = runJob(ReindexJobDTO.Mode.FULL);
+
+        assertThat(job.status).isEqualTo(ReindexJobDTO.Status.COMPLETED);
+        ReindexJobDTO.IndexProgress index = job.indices.get(0);
+        assertThat(index.alias).isEqualTo(ALIAS);
+        assertThat(index.index).startsWith(ALIAS + "_");
+        assertThat(index.documentsIndexed).isEqualTo(index.documentsTotal).isEqualTo(companyRepository.count());
+        assertThat(index.watermark).isBetween(started, index.finishedAt);
+        assertThat(indicesOf(ALIAS)).containsExactly(index.index);
+        assertThat(documents()).isEqualTo(companyRepository.count());
+
+        ReindexJobDTO rebuilt = runJob(ReindexJobDTO.Mode.FULL);
+
+        assertThat(rebuilt.status).isEqualTo(ReindexJobDTO.Status.COMPLETED);
+        assertThat(indicesOf(ALIAS)).containsExactly(rebuilt.indices.get(0).index);
+        assertThat(elasticsearchOperations.indexExists(index.index)).isFalse();
+        assertThat(documents()).isEqualTo(companyRepository.count());
+    }
+
+    @Test
+    public void testIncrementalReindexIndexesTheRowsModifiedSinceTheWatermark() throws IOException {
+        ReindexJobDTO full = runJob(ReindexJobDTO.Mode.FULL);
+        Long updatedId = companyIds.get(0);
+        new TransactionTemplate(transactionManager).execute(status ->
+            companyRepository.findById(updatedId).get().companyName("Updated"));
+        createCompany("Added");
+        createCompany("Added again");
+
+        ReindexJobDTO job = runJob(ReindexJobDTO.Mode.INCREMENTAL);
+
+        assertThat(job.status).isEqualTo(ReindexJobDTO.Status.COMPLETED);
+        assertThat(job.documentsIndexed).isEqualTo(3);
+        assertThat(job.indices.get(0).watermark).isAfter(full.indices.get(0).watermark);
+        elasticsearchOperations.refresh(ALIAS);
+        assertThat(documents()).isEqualTo(companyRepository.count());
+        assertThat(jestClient.execute(new Get.Builder(ALIAS, String.valueOf(updatedId)).build())
+            .getSourceAsObject(Company.class).getCompanyName()).isEqualTo("Updated");
+
+        ReindexJobDTO unchanged = runJob(ReindexJobDTO.Mode.INCREMENTAL);
+
+        assertThat(unchanged.documentsIndexed).isZero();
+        assertThat(unchanged.indices.get(0).watermark).isAfter(job.indices.get(0).watermark);
+    }
+
+    @Test
+    public void testChangesCommittedDuringTheRebuildAreReplayed() throws IOException {
+        Long deletedId = companyIds.get(0);
+        JestClient changingJestClient = mock(JestClient.class, delegatesTo(jestClient));
+        // the rows change once the first page is read, while its bulk request is on its way
+        doAnswer(invocation -> {
+            if (companyRepository.existsById(deletedId)) {
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    companyRepository.deleteById(deletedId);
+                    return null;
+                });
+                companyIds.remove(deletedId);
+                createCompany("Added during the rebuild");
+            }
+            return jestClient.execute(invocation.getArgument(0));
+        }).when(changingJestClient).execute(any(Bulk.class));
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getReindex().setChunkSize(2);
+        applicationProperties.getReindex().setWatermarkLag(Duration.ZERO);
+        reindexService = new ReindexServiceImpl(applicationProperties, em, transactionManager, elasticsearchOperations,
+            changingJestClient, entityMapper, changeTracker, queuedTasks::add);
+
+        ReindexJobDTO job = runJob(ReindexJobDTO.Mode.FULL);
+
+        assertThat(job.status).isEqualTo(ReindexJobDTO.Status.COMPLETED);
+        elasticsearchOperations.refresh(ALIAS);
+        assertThat(documents()).isEqualTo(companyRepository.count());
+    }
+
+    @Test
+    public void testIncrementalReindexNeedsAFullReindexFirst() {
+        ReindexJobDTO job = runJob(ReindexJobDTO.Mode.INCREMENTAL);
+
+        assertThat(job.status).isEqualTo(ReindexJobDTO.Status.FAILED);
+        assertThat(job.message).isEqualTo(ALIAS + ": The index has no watermark, run a full reindex first");
+    }
+
+    @Test
+    public void testOnlyOneJobRunsAtATime() {
+        ReindexJobDTO queued = reindexService.submit(ReindexJobDTO.Mode.FULL, Collections.singletonList(ALIAS));
+        ReindexJobDTO rejected = reindexService.submit(ReindexJobDTO.Mode.FULL, Collections.singletonList(ALIAS));
+
+        assertThat(queued.status).isEqualTo(ReindexJobDTO.Status.QUEUED);
+        assertThat(rejected.status).isEqualTo(ReindexJobDTO.Status.FAILED);
+        assertThat(queuedTasks).hasSize(1);
+        assertThat(reindexService.findAll()).extracting(job -> job.id).containsExactlyInAnyOrder(queued.id, rejected.id);
+        assertThat(reindexService.getAliases()).contains(ALIAS, "application", "user");
+    }
+
+    private ReindexJobDTO runJob(ReindexJobDTO.Mode mode) {
+        ReindexJobDTO job = reindexService.submit(mode, Collections.singletonList(ALIAS));
+        queuedTasks.forEach(Runnable::run);
+        queuedTasks.clear();
+        return reindexService.findOne(job.id).get();
+    }
+
+    private void createCompany(String name) {
+        Company company = new TransactionTemplate(transactionManager).execute(status ->
+            companyRepository.save(new Company().companyName(name).description(name)));
+        companyIds.add(company.getId());
+    }
+
+    private long documents() throws IOException {
+        CountResult result = jestClient.execute(new Count.Builder().addIndex(ALIAS).build());
+        return result.getCount().longValue();
+    }
+
+    private Set<String> indicesOf(String alias) throws IOException {
+        Set<String> indices = new HashSet<>();
+        jestClient.execute(new GetAliases.Builder().addIndex(alias).build())
+            .getJsonObject().entrySet().forEach(entry -> indices.add(entry.getKey()));
+        return indices;
+    }
+
+    private void deleteIndices() throws IOException {
+        if (elasticsearchOperations.indexExists(ALIAS)) {
+            for (String index : indicesOf(ALIAS)) {
+                elasticsearchOperations.deleteIndex(index);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.service.ReportService;
+import com.mindtree.leafservice3.service.dto.ReportJobDTO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the {@link ReportJobServiceImpl} class.
+ */
+public class ReportJobServiceImplTest {
+
+    private static final Long COMPANY_ID = 3L;
+
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+
+    private ReportJobServiceImpl reportJobService;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        ReportService reportService = mock(ReportService.class);
+        when(reportService.writePortfolioReport(eq(COMPANY_ID), any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write(new byte[] {1, 2, 3});
+            return 1L;
+        });
+        reportJobService = new ReportJobServiceImpl(reportService, queuedTasks::add, new ApplicationProperties());
+    }
+
+    @Test
+    public void testReportIsKeptUntilItsDownloadsAreDone() throws IOException {
+        ReportJobDTO job = submitAndRun();
+        Resource report = reportJobService.findReport(job.id).get();
+
+        try (InputStream download = report.getInputStream()) {
+            for (int i = 0; i < ReportJobServiceImpl.MAX_FINISHED_JOBS; i++) {
+                submitAndRun();
+            }
+            submitAndRun();
+
+            assertThat(reportJobService.findOne(job.id)).isNotPresent();
+            assertThat(report.getFile()).exists();
+            assertThat(download.read()).isEqualTo(1);
+        }
+        assertThat(report.getFile()).doesNotExist();
+    }
+
+    @Test
+    public void testEvictedReportIsDeleted() throws IOException {
+        ReportJobDTO job = submitAndRun();
+        Resource report = reportJobService.findReport(job.id).get();
+
+        for (int i = 0; i <= ReportJobServiceImpl.MAX_FINISHED_JOBS; i++) {
+            submitAndRun();
+        }
+
+        assertThat(report.getFile()).doesNotExist();
+        assertThat(reportJobService.findReport(job.id)).isNotPresent();
+    }
+
+    private ReportJobDTO submitAndRun() {
+        ReportJobDTO job = reportJobService.submitPortfolioReport(COMPANY_ID);
+        queuedTasks.forEach(Runnable::run);
+        queuedTasks.clear();
+        return job;
+    }
+}
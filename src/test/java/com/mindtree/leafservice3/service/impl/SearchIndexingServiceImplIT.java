@@ -0,0 +1,216 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.repository.CompanyRepository;
+import com.mindtree.leafservice3.repository.search.CompanySearchRepository;
+
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.searchbox.client.JestClient;
+import io.searchbox.core.Bulk;
+import io.searchbox.core.BulkResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the asynchronous indexing of {@link SearchIndexingServiceImpl}.
+ * <p>
+ * The test profile indexes inline, so each test runs its own asynchronous instance. Documents are only indexed once
+ * their transaction committed, so every change is made in its own committed transaction.
+ */
+@SpringBootTest(classes = LeafService3App.class)
+public class SearchIndexingServiceImplIT {
+
+    private static final long WAIT_MILLIS = 5000;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    private CompanySearchRepository companySearchRepository;
+
+    private JestClient jestClient;
+
+    private MeterRegistry meterRegistry;
+
+    private SearchIndexingServiceImpl searchIndexingService;
+
+    private final List<Long> companyIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() throws IOException {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSearchIndexing().setFlushIntervalMillis(50);
+        applicationProperties.getSearchIndexing().setRetryBackoffMillis(10);
+        companySearchRepository = mock(CompanySearchRepository.class);
+        jestClient = mock(JestClient.class);
+        BulkResult succeeded = new BulkResult(new Gson());
+        succeeded.setSucceeded(true);
+        when(jestClient.execute(any(Bulk.class))).thenReturn(succeeded);
+        meterRegistry = new SimpleMeterRegistry();
+        searchIndexingService = new SearchIndexingServiceImpl(applicationProperties,
+            Collections.singletonList(companySearchRepository), em, transactionManager, elasticsearchOperations,
+            jestClient, meterRegistry);
+        searchIndexingService.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        searchIndexingService.stop();
+        inTransaction(() -> {
+            companyIds.forEach(companyRepository::deleteById);
+            return null;
+        });
+    }
+
+    @Test
+    public void testDocumentsAreIndexedInBulkOnceCommitted() {
+        Company company = inTransaction(() -> {
+            Company saved = companyRepository.save(new Company().companyName("Acme").description("first"));
+            searchIndexingService.index(saved);
+            saved.setDescription("second");
+            searchIndexingService.index(saved);
+            verify(companySearchRepository, never()).saveAll(anyIterable());
+            return saved;
+        });
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<Company>> documents = ArgumentCaptor.forClass(Iterable.class);
+        verify(companySearchRepository, timeout(WAIT_MILLIS)).saveAll(documents.capture());
+        // the two requests are coalesced and the committed state is indexed
+        assertThat(documents.getValue()).extracting(Company::getDescription).containsExactly("second");
+        assertThat(documents.getValue()).extracting(Company::getId).containsExactly(company.getId());
+        assertThat(meterRegistry.get("search.indexing.documents").tag("operation", "index").counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("search.indexing.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRolledBackChangesAreNotIndexed() {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            Company saved = companyRepository.save(new Company().companyName("Acme").description("rolled back"));
+            searchIndexingService.index(saved);
+            status.setRollbackOnly();
+            return null;
+        });
+        Company company = inTransaction(() -> companyRepository.save(new Company().companyName("Acme").description("committed")));
+        searchIndexingService.index(company);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<Company>> documents = ArgumentCaptor.forClass(Iterable.class);
+        verify(companySearchRepository, timeout(WAIT_MILLIS)).saveAll(documents.capture());
+        assertThat(documents.getAllValues()).hasSize(1);
+        assertThat(documents.getValue()).extracting(Company::getDescription).containsExactly("committed");
+    }
+
+    @Test
+    public void testRequiresNewTransactionIndexesItsChangesWhenItCommits() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        new TransactionTemplate(transactionManager).execute(status -> {
+            Company saved = companyRepository.save(new Company().companyName("Acme").description("rolled back"));
+            searchIndexingService.index(saved);
+            Company committed = requiresNew.execute(inner -> {
+                Company company = companyRepository.save(new Company().companyName("Acme").description("committed"));
+                searchIndexingService.index(company);
+                return company;
+            });
+            companyIds.add(committed.getId());
+            status.setRollbackOnly();
+            return null;
+        });
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<Company>> documents = ArgumentCaptor.forClass(Iterable.class);
+        verify(companySearchRepository, timeout(WAIT_MILLIS)).saveAll(documents.capture());
+        // the inner transaction is not folded into the outer one, which rolled back
+        assertThat(documents.getAllValues()).hasSize(1);
+        assertThat(documents.getValue()).extracting(Company::getDescription).containsExactly("committed");
+    }
+
+    @Test
+    public void testFailedBulkRequestIsRetried() {
+        doThrow(new IllegalStateException("Elasticsearch unavailable")).doReturn(Collections.emptyList())
+            .when(companySearchRepository).saveAll(anyIterable());
+
+        Company company = inTransaction(() -> {
+            Company saved = companyRepository.save(new Company().companyName("Acme").description("retried"));
+            searchIndexingService.index(saved);
+            return saved;
+        });
+
+        verify(companySearchRepository, timeout(WAIT_MILLIS).times(2)).saveAll(anyIterable());
+        assertThat(meterRegistry.get("search.indexing.retries").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("search.indexing.failures").counter().count()).isZero();
+        assertThat(company.getId()).isNotNull();
+    }
+
+    @Test
+    public void testDeletedAndMissingEntitiesAreRemoved() throws IOException {
+        Company company = inTransaction(() -> companyRepository.save(new Company().companyName("Acme").description("deleted")));
+        inTransaction(() -> {
+            searchIndexingService.index(company);
+            companyRepository.deleteById(company.getId());
+            companyIds.remove(company.getId());
+            searchIndexingService.delete(Company.class, 42L);
+            return null;
+        });
+
+        // both documents are deleted by one bulk request
+        ArgumentCaptor<Bulk> bulk = ArgumentCaptor.forClass(Bulk.class);
+        verify(jestClient, timeout(WAIT_MILLIS)).execute(bulk.capture());
+        String data = bulk.getValue().getData(new Gson());
+        assertThat(data).contains("\"delete\"").contains("\"_id\":\"" + company.getId() + "\"").contains("\"_id\":\"42\"");
+        verify(jestClient, times(1)).execute(any(Bulk.class));
+        verify(companySearchRepository, never()).deleteById(anyLong());
+        verify(companySearchRepository, never()).saveAll(anyIterable());
+        assertThat(meterRegistry.get("search.indexing.documents").tag("operation", "delete").counter().count())
+            .isEqualTo(2);
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        T result = new TransactionTemplate(transactionManager).execute(status -> work.get());
+        if (result instanceof Company) {
+            companyIds.add(((Company) result).getId());
+        }
+        return result;
+    }
+}
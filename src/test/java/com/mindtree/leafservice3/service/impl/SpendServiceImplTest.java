@@ -0,0 +1,79 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationStatus;
+import com.mindtree.leafservice3.repository.ApplicationRepository;
+import com.mindtree.leafservice3.repository.ExpenditureRepository;
+import com.mindtree.leafservice3.repository.LineOfBusinessRepository;
+import com.mindtree.leafservice3.repository.SpendAggregateRepository;
+import com.mindtree.leafservice3.repository.SpendRepository;
+import com.mindtree.leafservice3.repository.TechnologyRepository;
+import com.mindtree.leafservice3.repository.search.SpendSearchRepository;
+import com.mindtree.leafservice3.service.SearchIndexingService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the yearly spend details of {@link SpendServiceImpl}.
+ */
+public class SpendServiceImplTest {
+
+    private static final Long COMPANY_ID = 7L;
+
+    private final int currentYear = Calendar.getInstance().get(Calendar.YEAR);
+
+    private SpendAggregateRepository spendAggregateRepository;
+
+    private SpendServiceImpl spendService;
+
+    @BeforeEach
+    public void setup() {
+        spendAggregateRepository = mock(SpendAggregateRepository.class);
+        LineOfBusinessRepository lineOfBusinessRepository = mock(LineOfBusinessRepository.class);
+        LineOfBusiness retail = new LineOfBusiness().name("Retail");
+        retail.setId(1L);
+        LineOfBusiness banking = new LineOfBusiness().name("Banking");
+        banking.setId(2L);
+        when(lineOfBusinessRepository.findAllByCompanyId(COMPANY_ID)).thenReturn(Arrays.asList(retail, banking));
+        spendService = new SpendServiceImpl(mock(SpendRepository.class), mock(SpendSearchRepository.class),
+            mock(ApplicationRepository.class), mock(TechnologyRepository.class), mock(ExpenditureRepository.class),
+            lineOfBusinessRepository, spendAggregateRepository, mock(SearchIndexingService.class));
+    }
+
+    @Test
+    public void testYearlySpendDetailsAreReadFromTheCube() {
+        when(spendAggregateRepository.findTotalsByCompanyId(COMPANY_ID, currentYear - 4)).thenReturn(Arrays.asList(
+            new Object[] {currentYear, 1L, ApplicationStatus.Running, 2_000_000L, 5_000_000L},
+            new Object[] {currentYear, 2L, ApplicationStatus.InProgress, 1_500L, 0L},
+            new Object[] {currentYear, 2L, ApplicationStatus.Halted, 10_000L, 1_000_000_000L},
+            new Object[] {currentYear - 2, 1L, ApplicationStatus.Running, 3_000L, 0L}));
+
+        List<Object> details = spendService.findYearlySpendDetails(COMPANY_ID);
+
+        assertThat(details).hasSize(6);
+        assertThat(details.get(0)).isEqualTo(Arrays.asList(currentYear, currentYear - 1, currentYear - 2, currentYear - 3, currentYear - 4));
+        assertThat(details.get(1)).isEqualTo(Arrays.asList(2_000L, 0L, 3L, 0L, 0L));
+        assertThat(details.get(2)).isEqualTo(Arrays.asList(2L, 0L, 0L, 0L, 0L));
+        assertThat(details.get(3)).isEqualTo(Arrays.asList("Retail", "Banking"));
+        assertThat(details.get(4)).isEqualTo(Arrays.asList(2_000L, 12L));
+        assertThat(details.get(5)).isEqualTo(Arrays.asList(5_000L, 1_000_000L));
+    }
+
+    @Test
+    public void testYearlySpendDetailsOfACompanyWithoutSpend() {
+        List<Object> details = spendService.findYearlySpendDetails(COMPANY_ID);
+
+        assertThat(details.get(1)).isEqualTo(Arrays.asList(0L, 0L, 0L, 0L, 0L));
+        assertThat(details.get(4)).isEqualTo(Arrays.asList(0L, 0L));
+        assertThat(details.get(5)).isEqualTo(Arrays.asList(0L, 0L));
+    }
+}
@@ -0,0 +1,150 @@
+package com.mindtree.leafservice3.service.impl;
+
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.service.UploadExcelService;
+import com.mindtree.leafservice3.service.dto.UploadJobDTO;
+import com.mindtree.leafservice3.service.util.ExcelRow;
+import com.mindtree.leafservice3.service.util.UploadProgress;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the {@link UploadJobServiceImpl} class.
+ */
+public class UploadJobServiceImplTest {
+
+    private static final Long COMPANY_ID = 3L;
+
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+
+    private UploadExcelService uploadExcelService;
+
+    private ApplicationProperties applicationProperties;
+
+    private UploadJobServiceImpl uploadJobService;
+
+    private MockMultipartFile sheet;
+
+    @BeforeEach
+    public void setup() {
+        uploadExcelService = mock(UploadExcelService.class);
+        Executor executor = queuedTasks::add;
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getUpload().setParallelism(1);
+        uploadJobService = new UploadJobServiceImpl(uploadExcelService, executor, applicationProperties);
+        sheet = new MockMultipartFile("file", "portfolio.xlsx", null, new byte[] {1, 2, 3});
+    }
+
+    @Test
+    public void testJobIsQueuedUntilTheExecutorRunsIt() throws IOException {
+        UploadJobDTO job = uploadJobService.submitAppPortfolioUpload(COMPANY_ID, sheet);
+
+        assertThat(job.id).isNotNull();
+        assertThat(job.status).isEqualTo(UploadJobDTO.Status.QUEUED);
+        assertThat(job.fileName).isEqualTo("portfolio.xlsx");
+        assertThat(uploadJobService.findOne(job.id)).isPresent();
+        assertThat(uploadJobService.findOne("unknown")).isNotPresent();
+        assertThat(queuedTasks).hasSize(1);
+    }
+
+    @Test
+    public void testJobReportsRowsProcessedAndFailed() throws IOException {
+        when(uploadExcelService.appPortfolioUpload(eq(COMPANY_ID), any(InputStream.class), any(UploadProgress.class)))
+            .thenAnswer(invocation -> {
+                UploadProgress progress = invocation.getArgument(2);
+                progress.rowProcessed(new ExcelRow(2, new String[0]));
+                progress.rowFailed(new ExcelRow(3, new String[0]), new IllegalArgumentException("No enum constant"));
+                progress.rowProcessed(new ExcelRow(4, new String[0]));
+                return 3L;
+            });
+
+        UploadJobDTO job = uploadJobService.submitAppPortfolioUpload(COMPANY_ID, sheet);
+        queuedTasks.forEach(Runnable::run);
+
+        UploadJobDTO finished = uploadJobService.findOne(job.id).get();
+        assertThat(finished.status).isEqualTo(UploadJobDTO.Status.COMPLETED);
+        assertThat(finished.rowsProcessed).isEqualTo(2);
+        assertThat(finished.rowsFailed).isEqualTo(1);
+        assertThat(finished.message).isEqualTo("Row 4: No enum constant");
+        assertThat(finished.startedAt).isNotNull();
+        assertThat(finished.finishedAt).isNotNull();
+    }
+
+    @Test
+    public void testAppPortfolioIsImportedInParallelWhenEnabled() throws IOException {
+        applicationProperties.getUpload().setParallelism(4);
+        when(uploadExcelService.appPortfolioUploadInParallel(eq(COMPANY_ID), any(File.class), any(UploadProgress.class)))
+            .thenAnswer(invocation -> {
+                assertThat((File) invocation.getArgument(1)).exists();
+                UploadProgress progress = invocation.getArgument(2);
+                progress.rowProcessed(new ExcelRow(2, new String[0]));
+                return 1L;
+            });
+
+        UploadJobDTO job = uploadJobService.submitAppPortfolioUpload(COMPANY_ID, sheet);
+        queuedTasks.forEach(Runnable::run);
+
+        UploadJobDTO finished = uploadJobService.findOne(job.id).get();
+        assertThat(finished.status).isEqualTo(UploadJobDTO.Status.COMPLETED);
+        assertThat(finished.rowsProcessed).isEqualTo(1);
+        verify(uploadExcelService, never()).appPortfolioUpload(any(Long.class), any(InputStream.class), any(UploadProgress.class));
+    }
+
+    @Test
+    public void testUnreadableSheetFailsTheJob() throws IOException {
+        when(uploadExcelService.functionDataUpload(eq(COMPANY_ID), any(InputStream.class), any(UploadProgress.class)))
+            .thenThrow(new IOException("Could not read the workbook"));
+
+        UploadJobDTO job = uploadJobService.submitFunctionDataUpload(COMPANY_ID, sheet);
+        queuedTasks.forEach(Runnable::run);
+
+        UploadJobDTO finished = uploadJobService.findOne(job.id).get();
+        assertThat(finished.status).isEqualTo(UploadJobDTO.Status.FAILED);
+        assertThat(finished.message).isEqualTo("Please check your input data");
+    }
+
+    @Test
+    public void testMostRecentFinishedJobsAreKept() throws IOException {
+        for (int i = 0; i <= UploadJobServiceImpl.MAX_FINISHED_JOBS; i++) {
+            uploadJobService.submitAppPortfolioUpload(COMPANY_ID, sheet);
+            queuedTasks.forEach(Runnable::run);
+            queuedTasks.clear();
+        }
+
+        UploadJobDTO queued = uploadJobService.submitAppPortfolioUpload(COMPANY_ID, sheet);
+
+        assertThat(uploadJobService.findAll()).filteredOn(job -> job.status == UploadJobDTO.Status.COMPLETED)
+            .hasSize(UploadJobServiceImpl.MAX_FINISHED_JOBS);
+        assertThat(uploadJobService.findOne(queued.id)).isPresent();
+    }
+
+    @Test
+    public void testRejectedJobFails() throws IOException {
+        uploadJobService = new UploadJobServiceImpl(uploadExcelService, task -> {
+            throw new TaskRejectedException("queue full");
+        }, applicationProperties);
+
+        UploadJobDTO job = uploadJobService.submitAppPortfolioUpload(COMPANY_ID, sheet);
+
+        assertThat(job.status).isEqualTo(UploadJobDTO.Status.FAILED);
+        assertThat(uploadJobService.findAll()).extracting(dto -> dto.id).containsExactly(job.id);
+    }
+}
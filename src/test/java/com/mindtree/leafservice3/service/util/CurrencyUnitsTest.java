@@ -0,0 +1,52 @@
+package com.mindtree.leafservice3.service.util;
+
+import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the {@link CurrencyUnits} utility class.
+ */
+public class CurrencyUnitsTest {
+
+    @Test
+    public void testToUnits() {
+        assertThat(CurrencyUnits.toUnits(12, CurrencySuccessor.NOSUCCESSOR)).isEqualTo(12L);
+        assertThat(CurrencyUnits.toUnits(12, null)).isEqualTo(12L);
+        assertThat(CurrencyUnits.toUnits(12, CurrencySuccessor.K)).isEqualTo(12_000L);
+        assertThat(CurrencyUnits.toUnits(12, CurrencySuccessor.M)).isEqualTo(12_000_000L);
+        assertThat(CurrencyUnits.toUnits(Integer.MAX_VALUE, CurrencySuccessor.B)).isEqualTo(Integer.MAX_VALUE * 1_000_000_000L);
+    }
+
+    @Test
+    public void testToUnitsFailsOnOverflow() {
+        assertThatThrownBy(() -> CurrencyUnits.toUnits(10_000_000_000L, CurrencySuccessor.B))
+            .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    public void testAddAccumulatesBillionScaledAmounts() {
+        long[] totals = new long[2];
+
+        for (int i = 0; i < 4; i++) {
+            CurrencyUnits.add(totals, 1, CurrencyUnits.toUnits(Integer.MAX_VALUE, CurrencySuccessor.B));
+        }
+
+        assertThat(totals).containsExactly(0L, 4L * Integer.MAX_VALUE * 1_000_000_000L);
+        assertThatThrownBy(() -> CurrencyUnits.add(totals, 1, Long.MAX_VALUE / 2))
+            .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    public void testToThousandsRoundsHalfUp() {
+        assertThat(CurrencyUnits.toThousands(1_499)).isEqualTo(1L);
+        assertThat(CurrencyUnits.toThousands(1_500)).isEqualTo(2L);
+        assertThat(CurrencyUnits.toThousands(-1_500)).isEqualTo(-1L);
+        assertThat(CurrencyUnits.toThousands(0)).isEqualTo(0L);
+        assertThat(CurrencyUnits.toThousands(Long.MAX_VALUE)).isEqualTo(Long.MAX_VALUE / 1_000 + 1);
+        assertThat(CurrencyUnits.toThousands(new long[] {1_499, 1_500, 0})).containsExactly(1L, 2L, 0L);
+    }
+}
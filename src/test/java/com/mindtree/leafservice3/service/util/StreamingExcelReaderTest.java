@@ -0,0 +1,229 @@
+package com.mindtree.leafservice3.service.util;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link StreamingExcelReader} utility class.
+ * <p>
+ * Like the sheets saved by Excel, the text of the cells of the test workbook is in its shared strings table.
+ * Building a 200k row sheet with {@link XSSFWorkbook} would not fit in the test heap, so its sheet and shared
+ * strings parts are streamed into a workbook saved by {@link XSSFWorkbook}.
+ */
+public class StreamingExcelReaderTest {
+
+    private static final int HEADER_ROWS = 2;
+
+    private static final int DATA_ROWS = 200_000;
+
+    /**
+     * Heap that a 200k row upload may keep live on top of what was used before reading.
+     * Loading the same sheet with XSSFWorkbook needs several hundred megabytes, and holding its 600k
+     * distinct strings in memory close to a hundred.
+     */
+    private static final long HEAP_CEILING_BYTES = 48L * 1024 * 1024;
+
+    private static final Date IMPLEMENTATION_DATE = Date.from(LocalDate.of(2019, 11, 20).atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+    /**
+     * The strings shared by several rows, followed in the table by the employee id, employee name and application
+     * name of each row.
+     */
+    private static final String[] COMMON_STRINGS = {"header", "WEB", "Running"};
+
+    private static final int OU_STRINGS = 10;
+
+    private static final int LOB_STRINGS = 50;
+
+    private static final String NAME_PADDING = new String(new char[80]).replace('\0', '.');
+
+    private static Path workbookFile;
+
+    @BeforeAll
+    public static void createWorkbook() throws IOException {
+        Path template = Files.createTempFile("streaming-excel-reader-template", ".xlsx");
+        workbookFile = Files.createTempFile("streaming-excel-reader", ".xlsx");
+        try {
+            int dateStyle;
+            try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(template)) {
+                CellStyle style = workbook.createCellStyle();
+                style.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd-mm-yyyy"));
+                dateStyle = style.getIndex();
+                XSSFSheet sheet = workbook.createSheet("portfolio");
+                sheet.createRow(0).createCell(0).setCellValue(COMMON_STRINGS[0]);
+                workbook.write(out);
+            }
+            try (ZipInputStream in = new ZipInputStream(Files.newInputStream(template));
+                    ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(workbookFile))) {
+                for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                    out.putNextEntry(new ZipEntry(entry.getName()));
+                    if ("xl/worksheets/sheet1.xml".equals(entry.getName())) {
+                        writeSheet(out, dateStyle);
+                    } else if ("xl/sharedStrings.xml".equals(entry.getName())) {
+                        writeSharedStrings(out);
+                    } else {
+                        copy(in, out);
+                    }
+                    out.closeEntry();
+                }
+            }
+        } finally {
+            Files.deleteIfExists(template);
+        }
+    }
+
+    @AfterAll
+    public static void deleteWorkbook() throws IOException {
+        Files.deleteIfExists(workbookFile);
+    }
+
+    @Test
+    public void testReadsCellValues() throws IOException {
+        List<ExcelRow> rows = new ArrayList<>();
+        StreamingExcelReader.forEachRow(workbookFile.toFile(), HEADER_ROWS, row -> {
+            if (rows.size() < 2) {
+                rows.add(row);
+            }
+        });
+
+        ExcelRow first = rows.get(0);
+        assertThat(first.getRowNum()).isEqualTo(HEADER_ROWS);
+        assertThat(first.getString(0)).isEqualTo("OU-0");
+        assertThat(first.getString(1)).isEqualTo("E0");
+        assertThat(first.getString(6)).isEqualTo("Application 0" + NAME_PADDING);
+        assertThat(first.getString(7)).isEqualTo("WEB");
+        assertThat(first.getDate(9)).isEqualTo(IMPLEMENTATION_DATE);
+        assertThat(first.isBlank(4)).isTrue();
+        assertThat(first.getString(40)).isEmpty();
+        ExcelRow second = rows.get(1);
+        assertThat(second.getString(3)).isEqualTo("LOB-1");
+        assertThat(second.getString(13)).isEqualTo("1");
+        assertThat(second.getNumeric(13)).isEqualTo(1d);
+        assertThat(second.getString(14)).isEqualTo("0.5");
+    }
+
+    @Test
+    public void testFormatsIntegralNumbersWithoutFraction() {
+        StreamingExcelReader.RawValueFormatter formatter = new StreamingExcelReader.RawValueFormatter();
+
+        assertThat(formatter.formatRawCellContents(123d, 0, "General")).isEqualTo("123");
+        assertThat(formatter.formatRawCellContents(2019d, 0, "General")).isEqualTo("2019");
+        assertThat(formatter.formatRawCellContents(-7d, 0, "General")).isEqualTo("-7");
+        assertThat(formatter.formatRawCellContents(0d, 0, "General")).isEqualTo("0");
+        assertThat(formatter.formatRawCellContents(12_000_000_000d, 0, "General")).isEqualTo("12000000000");
+        assertThat(formatter.formatRawCellContents(2.5d, 0, "General")).isEqualTo("2.5");
+        // dates keep their serial value, including the time of day
+        assertThat(formatter.formatRawCellContents(43789.25d, 14, "m/d/yy")).isEqualTo("43789.25");
+    }
+
+    @Test
+    public void testLargeSheetStaysUnderHeapCeiling() throws IOException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong();
+
+        long rowCount = StreamingExcelReader.forEachRow(workbookFile.toFile(), HEADER_ROWS, row -> {
+            if (row.getRowNum() % 25_000 == 0) {
+                System.gc();
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed() - baseline, Math::max);
+            }
+        });
+
+        assertThat(rowCount).isEqualTo(DATA_ROWS);
+        assertThat(peak.get()).isLessThan(HEAP_CEILING_BYTES);
+    }
+
+    private static void writeSheet(OutputStream out, int dateStyle) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+        for (int i = 0; i < HEADER_ROWS; i++) {
+            writer.write("<row r=\"" + (i + 1) + "\">" + sharedString("A", i + 1, 0) + "</row>");
+        }
+        double date = DateUtil.getExcelDate(IMPLEMENTATION_DATE);
+        int rowStrings = COMMON_STRINGS.length + OU_STRINGS + LOB_STRINGS;
+        for (int i = 0; i < DATA_ROWS; i++) {
+            int r = HEADER_ROWS + i + 1;
+            writer.write("<row r=\"" + r + "\">"
+                + sharedString("A", r, COMMON_STRINGS.length + i % OU_STRINGS)
+                + sharedString("B", r, rowStrings + 3 * i)
+                + sharedString("C", r, rowStrings + 3 * i + 1)
+                + sharedString("D", r, COMMON_STRINGS.length + OU_STRINGS + i % LOB_STRINGS)
+                + sharedString("G", r, rowStrings + 3 * i + 2)
+                + sharedString("H", r, 1)
+                + sharedString("I", r, 2)
+                + "<c r=\"J" + r + "\" s=\"" + dateStyle + "\"><v>" + date + "</v></c>"
+                + "<c r=\"N" + r + "\"><v>" + i + "</v></c>"
+                + "<c r=\"O" + r + "\"><v>" + (i / 2d) + "</v></c>"
+                + "</row>");
+        }
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+    }
+
+    private static void writeSharedStrings(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        int uniqueCount = COMMON_STRINGS.length + OU_STRINGS + LOB_STRINGS + 3 * DATA_ROWS;
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"" + uniqueCount
+            + "\" uniqueCount=\"" + uniqueCount + "\">");
+        for (String value : COMMON_STRINGS) {
+            writer.write(stringItem(value));
+        }
+        for (int i = 0; i < OU_STRINGS; i++) {
+            writer.write(stringItem("OU-" + i));
+        }
+        for (int i = 0; i < LOB_STRINGS; i++) {
+            writer.write(stringItem("LOB-" + i));
+        }
+        for (int i = 0; i < DATA_ROWS; i++) {
+            writer.write(stringItem("E" + i) + stringItem("Employee " + i) + stringItem("Application " + i + NAME_PADDING));
+        }
+        writer.write("</sst>");
+        writer.flush();
+    }
+
+    private static String sharedString(String column, int row, int index) {
+        return "<c r=\"" + column + row + "\" t=\"s\"><v>" + index + "</v></c>";
+    }
+
+    private static String stringItem(String value) {
+        return "<si><t>" + value + "</t></si>";
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        for (int read = in.read(buffer); read > 0; read = in.read(buffer)) {
+            out.write(buffer, 0, read);
+        }
+    }
+}
@@ -2,10 +2,13 @@ package com.mindtree.leafservice3.web.rest;
 
 import com.mindtree.leafservice3.LeafService3App;
 import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.OraganizationalUnit;
 import com.mindtree.leafservice3.repository.ApplicationRepository;
 import com.mindtree.leafservice3.repository.search.ApplicationSearchRepository;
 import com.mindtree.leafservice3.service.ApplicationService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
+import com.mindtree.leafservice3.web.rest.util.KeysetListWriter;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -71,6 +74,9 @@ public class ApplicationResourceIT {
     @Autowired
     private ApplicationSearchRepository mockApplicationSearchRepository;
 
+    @Autowired
+    private KeysetListWriter keysetListWriter;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -93,7 +99,7 @@ public class ApplicationResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final ApplicationResource applicationResource = new ApplicationResource(applicationService);
+        final ApplicationResource applicationResource = new ApplicationResource(applicationService, keysetListWriter);
         this.restApplicationMockMvc = MockMvcBuilders.standaloneSetup(applicationResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -403,6 +409,90 @@ public class ApplicationResourceIT {
             .andExpect(jsonPath("$.[*].implementationDate").value(hasItem(DEFAULT_IMPLEMENTATION_DATE.toString())));
     }
 
+    @Test
+    @Transactional
+    public void getTheOrganizationalChartBelowANode() throws Exception {
+        OraganizationalUnit oraganizationalUnit = createChart();
+
+        restApplicationMockMvc.perform(get("/api/getAppChartData?parentId={parentId}", trackingId(oraganizationalUnit)))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].name").value("Chart Lob A"))
+            .andExpect(jsonPath("$.[0].parentId").value(trackingId(oraganizationalUnit)))
+            .andExpect(jsonPath("$.[0].childCount").value(2))
+            .andExpect(jsonPath("$.[0].children.[*].name").value(hasItem("Chart App A1")))
+            .andExpect(jsonPath("$.[0].children.[0].title").value("applications"))
+            .andExpect(jsonPath("$.[1].childCount").value(0));
+    }
+
+    @Test
+    @Transactional
+    public void getTheOrganizationalChartToADepth() throws Exception {
+        OraganizationalUnit oraganizationalUnit = createChart();
+
+        restApplicationMockMvc.perform(get("/api/getAppChartData?parentId={parentId}&depth=1", trackingId(oraganizationalUnit)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].childCount").value(2))
+            .andExpect(jsonPath("$.[0].children").doesNotExist());
+
+        restApplicationMockMvc.perform(get("/api/getAppChartData?depth=0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getAPageOfTheOrganizationalChart() throws Exception {
+        OraganizationalUnit oraganizationalUnit = createChart();
+
+        restApplicationMockMvc.perform(get("/api/getAppChartData?parentId={parentId}&page=0&size=2", trackingId(oraganizationalUnit)))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].name").value("Chart Lob A"));
+        restApplicationMockMvc.perform(get("/api/getAppChartData?parentId={parentId}&page=1&size=2", trackingId(oraganizationalUnit)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].name").value("Chart Lob C"));
+    }
+
+    @Test
+    @Transactional
+    public void getTheWholeOrganizationalChartWhenNotPaged() throws Exception {
+        for (int i = 0; i < 21; i++) {
+            em.persist(new OraganizationalUnit().name("Chart OU " + i));
+        }
+        em.flush();
+        long oraganizationalUnits = em.createQuery("select count(oraganizationalUnit) from OraganizationalUnit oraganizationalUnit",
+            Long.class).getSingleResult();
+
+        restApplicationMockMvc.perform(get("/api/getAppChartData?depth=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value((int) oraganizationalUnits));
+    }
+
+    /**
+     * Create an organizational unit with three lines of business, the first one with two applications.
+     */
+    private OraganizationalUnit createChart() {
+        OraganizationalUnit oraganizationalUnit = new OraganizationalUnit().name("Chart OU");
+        em.persist(oraganizationalUnit);
+        LineOfBusiness lineOfBusiness = new LineOfBusiness().name("Chart Lob A").oraganizationalUnit(oraganizationalUnit);
+        em.persist(lineOfBusiness);
+        em.persist(new LineOfBusiness().name("Chart Lob B").oraganizationalUnit(oraganizationalUnit));
+        em.persist(new LineOfBusiness().name("Chart Lob C").oraganizationalUnit(oraganizationalUnit));
+        for (String name : new String[] {"Chart App A1", "Chart App A2"}) {
+            em.persist(createEntity(em).name(name).lineOfBusiness(lineOfBusiness));
+        }
+        em.flush();
+        return oraganizationalUnit;
+    }
+
+    private static String trackingId(OraganizationalUnit oraganizationalUnit) {
+        return oraganizationalUnit.getName() + "-Org" + oraganizationalUnit.getId();
+    }
+
     @Test
     @Transactional
     public void equalsVerifier() throws Exception {
@@ -4,7 +4,9 @@ import com.mindtree.leafservice3.LeafService3App;
 import com.mindtree.leafservice3.domain.Assessment;
 import com.mindtree.leafservice3.repository.AssessmentRepository;
 import com.mindtree.leafservice3.repository.search.AssessmentSearchRepository;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
+import com.mindtree.leafservice3.web.rest.util.KeysetListWriter;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +14,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
@@ -27,6 +30,8 @@ import java.util.List;
 import static com.mindtree.leafservice3.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -56,6 +61,12 @@ public class AssessmentResourceIT {
     @Autowired
     private AssessmentSearchRepository mockAssessmentSearchRepository;
 
+    @Autowired
+    private SearchIndexingService searchIndexingService;
+
+    @Autowired
+    private KeysetListWriter keysetListWriter;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -78,7 +89,8 @@ public class AssessmentResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final AssessmentResource assessmentResource = new AssessmentResource(assessmentRepository, mockAssessmentSearchRepository);
+        final AssessmentResource assessmentResource = new AssessmentResource(assessmentRepository, mockAssessmentSearchRepository,
+            searchIndexingService, keysetListWriter);
         this.restAssessmentMockMvc = MockMvcBuilders.standaloneSetup(assessmentResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -174,9 +186,33 @@ public class AssessmentResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(assessment.getId().intValue())))
             .andExpect(jsonPath("$.[*].assessmentCategory").value(hasItem(DEFAULT_ASSESSMENT_CATEGORY.toString())))
-            .andExpect(jsonPath("$.[*].questions").value(hasItem(DEFAULT_QUESTIONS.toString())));
+            .andExpect(jsonPath("$.[*].questions").doesNotExist());
     }
     
+    @Test
+    @Transactional
+    public void getAssessmentsPage() throws Exception {
+        // Initialize the database
+        assessmentRepository.saveAndFlush(assessment);
+        Assessment second = assessmentRepository.saveAndFlush(createEntity(em));
+        Assessment third = assessmentRepository.saveAndFlush(createEntity(em));
+        long after = assessment.getId() - 1;
+
+        // Get the first page, with a link to the next one
+        restAssessmentMockMvc.perform(get("/api/assessments?after={after}&size=2", after))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + second.getId() + "&size=2>; rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(assessment.getId().intValue(), second.getId().intValue())));
+
+        // Get the last page
+        restAssessmentMockMvc.perform(get("/api/assessments?after={after}&size=2", second.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())))
+            .andExpect(jsonPath("$.[0].questions").doesNotExist());
+    }
+
     @Test
     @Transactional
     public void getAssessment() throws Exception {
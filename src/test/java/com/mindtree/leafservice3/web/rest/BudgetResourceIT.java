@@ -5,6 +5,7 @@ import com.mindtree.leafservice3.domain.Budget;
 import com.mindtree.leafservice3.domain.Application;
 import com.mindtree.leafservice3.repository.BudgetRepository;
 import com.mindtree.leafservice3.repository.search.BudgetSearchRepository;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -61,6 +62,9 @@ public class BudgetResourceIT {
     @Autowired
     private BudgetSearchRepository mockBudgetSearchRepository;
 
+    @Autowired
+    private SearchIndexingService searchIndexingService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -83,7 +87,8 @@ public class BudgetResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final BudgetResource budgetResource = new BudgetResource(budgetRepository, mockBudgetSearchRepository);
+        final BudgetResource budgetResource = new BudgetResource(budgetRepository, mockBudgetSearchRepository,
+            searchIndexingService);
         this.restBudgetMockMvc = MockMvcBuilders.standaloneSetup(budgetResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
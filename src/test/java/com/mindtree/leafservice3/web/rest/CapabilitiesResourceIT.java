@@ -1,7 +1,11 @@
 package com.mindtree.leafservice3.web.rest;
 
 import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.domain.BusinessFunction;
 import com.mindtree.leafservice3.domain.Capabilities;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.OraganizationalUnit;
 import com.mindtree.leafservice3.repository.CapabilitiesRepository;
 import com.mindtree.leafservice3.repository.search.CapabilitiesSearchRepository;
 import com.mindtree.leafservice3.service.CapabilitiesService;
@@ -27,6 +31,7 @@ import java.util.List;
 import static com.mindtree.leafservice3.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -301,6 +306,60 @@ public class CapabilitiesResourceIT {
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)));
     }
 
+    @Test
+    @Transactional
+    public void getOrganizationalChartData() throws Exception {
+        // Initialize the database
+        BusinessFunction businessFunction = createOrganization();
+        capabilitiesService.save(capabilities.businessFunction(businessFunction));
+        Long companyId = capabilities.getCompanyId();
+
+        // Get the chart
+        restCapabilitiesMockMvc.perform(get("/api/getChartData/{company_id}", companyId))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].title").value(contains("Company", "oraganizational-units",
+                "line-of-businesses", "business-functions", "capabilities")))
+            .andExpect(jsonPath("$.[4].id").value(capabilities.getId().intValue()))
+            .andExpect(jsonPath("$.[4].name").value(DEFAULT_DESCRIPTION))
+            .andExpect(jsonPath("$.[4].trackingId").value(DEFAULT_DESCRIPTION + "-Cap" + capabilities.getId()))
+            .andExpect(jsonPath("$.[4].parentId").value(businessFunction.getName() + "-bf" + businessFunction.getId()))
+            .andExpect(jsonPath("$.[4].parentName").value(businessFunction.getName()));
+    }
+
+    @Test
+    @Transactional
+    public void getOrganizationalChartDataAfterChange() throws Exception {
+        // Initialize the database
+        BusinessFunction businessFunction = createOrganization();
+        capabilitiesService.save(capabilities.businessFunction(businessFunction));
+        Long companyId = capabilities.getCompanyId();
+        assertThat(capabilitiesService.organizationalChartData(companyId)).hasSize(5);
+
+        // Rename the business function and add a capability below it
+        businessFunction.setName("renamed");
+        capabilitiesService.save(createUpdatedEntity(em).businessFunction(businessFunction));
+        em.flush();
+
+        assertThat(capabilitiesService.organizationalChartData(companyId))
+            .filteredOn(data -> "capabilities".equals(data.title))
+            .extracting(data -> data.name + ":" + data.parentName)
+            .containsExactlyInAnyOrder(DEFAULT_DESCRIPTION + ":renamed", UPDATED_DESCRIPTION + ":renamed");
+    }
+
+    private BusinessFunction createOrganization() {
+        Company company = CompanyResourceIT.createEntity(em);
+        em.persist(company);
+        OraganizationalUnit oraganizationalUnit = OraganizationalUnitResourceIT.createEntity(em).company(company);
+        em.persist(oraganizationalUnit);
+        LineOfBusiness lineOfBusiness = LineOfBusinessResourceIT.createEntity(em).oraganizationalUnit(oraganizationalUnit);
+        em.persist(lineOfBusiness);
+        BusinessFunction businessFunction = BusinessFunctionResourceIT.createEntity(em).lineOfBusiness(lineOfBusiness);
+        em.persist(businessFunction);
+        em.flush();
+        return businessFunction;
+    }
+
     @Test
     @Transactional
     public void equalsVerifier() throws Exception {
@@ -5,6 +5,8 @@ import com.mindtree.leafservice3.domain.Diagram;
 import com.mindtree.leafservice3.domain.Company;
 import com.mindtree.leafservice3.repository.DiagramRepository;
 import com.mindtree.leafservice3.repository.search.DiagramSearchRepository;
+import com.mindtree.leafservice3.service.BlobStorageService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,15 +15,18 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.Base64Utils;
 import org.springframework.validation.Validator;
 
 import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 
@@ -45,6 +50,8 @@ public class DiagramResourceIT {
 
     private static final byte[] DEFAULT_PICTURE = TestUtil.createByteArray(1, "0");
     private static final byte[] UPDATED_PICTURE = TestUtil.createByteArray(1, "1");
+    private static final String DEFAULT_PICTURE_KEY = "6e340b9cffb37a989ca544e6bb780a2c78901d3fb33738768511a30617afa01d";
+    private static final String UPDATED_PICTURE_KEY = "4bf5122f344554c53bde2ebb8cd2b7e3d1600ad631c385a5d7cce23c7785459a";
     private static final String DEFAULT_PICTURE_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_PICTURE_CONTENT_TYPE = "image/png";
 
@@ -59,6 +66,12 @@ public class DiagramResourceIT {
     @Autowired
     private DiagramSearchRepository mockDiagramSearchRepository;
 
+    @Autowired
+    private SearchIndexingService searchIndexingService;
+
+    @Autowired
+    private BlobStorageService blobStorageService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -81,12 +94,14 @@ public class DiagramResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final DiagramResource diagramResource = new DiagramResource(diagramRepository, mockDiagramSearchRepository);
+        final DiagramResource diagramResource = new DiagramResource(diagramRepository, mockDiagramSearchRepository,
+            searchIndexingService, blobStorageService);
         this.restDiagramMockMvc = MockMvcBuilders.standaloneSetup(diagramResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
             .setConversionService(createFormattingConversionService())
-            .setMessageConverters(jacksonMessageConverter)
+            .setMessageConverters(jacksonMessageConverter, new ResourceHttpMessageConverter(),
+                new ResourceRegionHttpMessageConverter())
             .setValidator(validator).build();
     }
 
@@ -140,6 +155,8 @@ public class DiagramResourceIT {
     @BeforeEach
     public void initTest() {
         diagram = createEntity(em);
+        diagram.setPictureKey(blobStorageService.store(DEFAULT_PICTURE));
+        diagram.setPictureSize((long) DEFAULT_PICTURE.length);
     }
 
     @Test
@@ -150,7 +167,7 @@ public class DiagramResourceIT {
         // Create the Diagram
         restDiagramMockMvc.perform(post("/api/diagrams")
             .contentType(TestUtil.APPLICATION_JSON_UTF8)
-            .content(TestUtil.convertObjectToJsonBytes(diagram)))
+            .content(TestUtil.convertObjectToJsonBytes(diagram, "picture", diagram.getPicture())))
             .andExpect(status().isCreated());
 
         // Validate the Diagram in the database
@@ -158,7 +175,8 @@ public class DiagramResourceIT {
         assertThat(diagramList).hasSize(databaseSizeBeforeCreate + 1);
         Diagram testDiagram = diagramList.get(diagramList.size() - 1);
         assertThat(testDiagram.getCategory()).isEqualTo(DEFAULT_CATEGORY);
-        assertThat(testDiagram.getPicture()).isEqualTo(DEFAULT_PICTURE);
+        assertThat(testDiagram.getPictureKey()).isEqualTo(DEFAULT_PICTURE_KEY);
+        assertThat(testDiagram.getPictureSize()).isEqualTo((long) DEFAULT_PICTURE.length);
         assertThat(testDiagram.getPictureContentType()).isEqualTo(DEFAULT_PICTURE_CONTENT_TYPE);
 
         // Validate the Diagram in Elasticsearch
@@ -176,7 +194,7 @@ public class DiagramResourceIT {
         // An entity with an existing ID cannot be created, so this API call must fail
         restDiagramMockMvc.perform(post("/api/diagrams")
             .contentType(TestUtil.APPLICATION_JSON_UTF8)
-            .content(TestUtil.convertObjectToJsonBytes(diagram)))
+            .content(TestUtil.convertObjectToJsonBytes(diagram, "picture", diagram.getPicture())))
             .andExpect(status().isBadRequest());
 
         // Validate the Diagram in the database
@@ -199,7 +217,26 @@ public class DiagramResourceIT {
 
         restDiagramMockMvc.perform(post("/api/diagrams")
             .contentType(TestUtil.APPLICATION_JSON_UTF8)
-            .content(TestUtil.convertObjectToJsonBytes(diagram)))
+            .content(TestUtil.convertObjectToJsonBytes(diagram, "picture", diagram.getPicture())))
+            .andExpect(status().isBadRequest());
+
+        List<Diagram> diagramList = diagramRepository.findAll();
+        assertThat(diagramList).hasSize(databaseSizeBeforeTest);
+    }
+
+    @Test
+    @Transactional
+    public void checkPictureIsRequired() throws Exception {
+        int databaseSizeBeforeTest = diagramRepository.findAll().size();
+        // set the field null, and reference content missing from the blob store
+        diagram.setPicture(null);
+        diagram.setPictureKey(UPDATED_PICTURE_KEY.replace('4', '5'));
+
+        // Create the Diagram, which fails.
+
+        restDiagramMockMvc.perform(post("/api/diagrams")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(diagram, "picture", diagram.getPicture())))
             .andExpect(status().isBadRequest());
 
         List<Diagram> diagramList = diagramRepository.findAll();
@@ -219,7 +256,8 @@ public class DiagramResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(diagram.getId().intValue())))
             .andExpect(jsonPath("$.[*].category").value(hasItem(DEFAULT_CATEGORY.toString())))
             .andExpect(jsonPath("$.[*].pictureContentType").value(hasItem(DEFAULT_PICTURE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].picture").value(hasItem(Base64Utils.encodeToString(DEFAULT_PICTURE))));
+            .andExpect(jsonPath("$.[*].pictureKey").value(hasItem(DEFAULT_PICTURE_KEY)))
+            .andExpect(jsonPath("$.[*].picture").doesNotExist());
     }
     
     @Test
@@ -235,7 +273,61 @@ public class DiagramResourceIT {
             .andExpect(jsonPath("$.id").value(diagram.getId().intValue()))
             .andExpect(jsonPath("$.category").value(DEFAULT_CATEGORY.toString()))
             .andExpect(jsonPath("$.pictureContentType").value(DEFAULT_PICTURE_CONTENT_TYPE))
-            .andExpect(jsonPath("$.picture").value(Base64Utils.encodeToString(DEFAULT_PICTURE)));
+            .andExpect(jsonPath("$.pictureKey").value(DEFAULT_PICTURE_KEY))
+            .andExpect(jsonPath("$.picture").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    public void getDiagramPicture() throws Exception {
+        // Initialize the database
+        diagramRepository.saveAndFlush(diagram);
+
+        // Get the picture
+        restDiagramMockMvc.perform(get("/api/diagrams/{id}/picture", diagram.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_PICTURE_CONTENT_TYPE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + DEFAULT_PICTURE_KEY + "\""))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(content().bytes(DEFAULT_PICTURE));
+    }
+
+    @Test
+    @Transactional
+    public void getDiagramPictureRange() throws Exception {
+        // Initialize the database
+        byte[] picture = "0123456789".getBytes(StandardCharsets.US_ASCII);
+        diagram.setPictureKey(blobStorageService.store(picture));
+        diagram.setPictureSize((long) picture.length);
+        diagramRepository.saveAndFlush(diagram);
+
+        // Get a range of the picture
+        restDiagramMockMvc.perform(get("/api/diagrams/{id}/picture", diagram.getId())
+            .header(HttpHeaders.RANGE, "bytes=2-5"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+            .andExpect(content().bytes("2345".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    @Transactional
+    public void getUnmodifiedDiagramPicture() throws Exception {
+        // Initialize the database
+        diagramRepository.saveAndFlush(diagram);
+
+        // Get the picture already held by the client
+        restDiagramMockMvc.perform(get("/api/diagrams/{id}/picture", diagram.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, "\"" + DEFAULT_PICTURE_KEY + "\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @Transactional
+    public void getNonExistingDiagramPicture() throws Exception {
+        // Get the picture
+        restDiagramMockMvc.perform(get("/api/diagrams/{id}/picture", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
     }
 
     @Test
@@ -265,7 +357,7 @@ public class DiagramResourceIT {
 
         restDiagramMockMvc.perform(put("/api/diagrams")
             .contentType(TestUtil.APPLICATION_JSON_UTF8)
-            .content(TestUtil.convertObjectToJsonBytes(updatedDiagram)))
+            .content(TestUtil.convertObjectToJsonBytes(updatedDiagram, "picture", updatedDiagram.getPicture())))
             .andExpect(status().isOk());
 
         // Validate the Diagram in the database
@@ -273,7 +365,8 @@ public class DiagramResourceIT {
         assertThat(diagramList).hasSize(databaseSizeBeforeUpdate);
         Diagram testDiagram = diagramList.get(diagramList.size() - 1);
         assertThat(testDiagram.getCategory()).isEqualTo(UPDATED_CATEGORY);
-        assertThat(testDiagram.getPicture()).isEqualTo(UPDATED_PICTURE);
+        assertThat(testDiagram.getPictureKey()).isEqualTo(UPDATED_PICTURE_KEY);
+        assertThat(testDiagram.getPictureSize()).isEqualTo((long) UPDATED_PICTURE.length);
         assertThat(testDiagram.getPictureContentType()).isEqualTo(UPDATED_PICTURE_CONTENT_TYPE);
 
         // Validate the Diagram in Elasticsearch
@@ -290,7 +383,7 @@ public class DiagramResourceIT {
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restDiagramMockMvc.perform(put("/api/diagrams")
             .contentType(TestUtil.APPLICATION_JSON_UTF8)
-            .content(TestUtil.convertObjectToJsonBytes(diagram)))
+            .content(TestUtil.convertObjectToJsonBytes(diagram, "picture", diagram.getPicture())))
             .andExpect(status().isBadRequest());
 
         // Validate the Diagram in the database
@@ -336,6 +429,7 @@ public class DiagramResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(diagram.getId().intValue())))
             .andExpect(jsonPath("$.[*].category").value(hasItem(DEFAULT_CATEGORY.toString())))
             .andExpect(jsonPath("$.[*].pictureContentType").value(hasItem(DEFAULT_PICTURE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].picture").value(hasItem(Base64Utils.encodeToString(DEFAULT_PICTURE))));
+            .andExpect(jsonPath("$.[*].pictureKey").value(hasItem(DEFAULT_PICTURE_KEY)))
+            .andExpect(jsonPath("$.[*].picture").doesNotExist());
     }
 }
@@ -5,7 +5,9 @@ import com.mindtree.leafservice3.domain.Evaluation;
 import com.mindtree.leafservice3.domain.Application;
 import com.mindtree.leafservice3.repository.EvaluationRepository;
 import com.mindtree.leafservice3.repository.search.EvaluationSearchRepository;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
+import com.mindtree.leafservice3.web.rest.util.KeysetListWriter;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -66,6 +68,12 @@ public class EvaluationResourceIT {
     @Autowired
     private EvaluationSearchRepository mockEvaluationSearchRepository;
 
+    @Autowired
+    private SearchIndexingService searchIndexingService;
+
+    @Autowired
+    private KeysetListWriter keysetListWriter;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -88,7 +96,8 @@ public class EvaluationResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final EvaluationResource evaluationResource = new EvaluationResource(evaluationRepository, mockEvaluationSearchRepository);
+        final EvaluationResource evaluationResource = new EvaluationResource(evaluationRepository, mockEvaluationSearchRepository,
+            searchIndexingService, keysetListWriter);
         this.restEvaluationMockMvc = MockMvcBuilders.standaloneSetup(evaluationResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -265,8 +274,9 @@ public class EvaluationResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(evaluation.getId().intValue())))
             .andExpect(jsonPath("$.[*].assessmentCategory").value(hasItem(DEFAULT_ASSESSMENT_CATEGORY.toString())))
             .andExpect(jsonPath("$.[*].score").value(hasItem(DEFAULT_SCORE)))
-            .andExpect(jsonPath("$.[*].assessmentResult").value(hasItem(DEFAULT_ASSESSMENT_RESULT.toString())))
-            .andExpect(jsonPath("$.[*].attemptDate").value(hasItem(DEFAULT_ATTEMPT_DATE.toString())));
+            .andExpect(jsonPath("$.[*].assessmentResult").doesNotExist())
+            .andExpect(jsonPath("$.[*].attemptDate").value(hasItem(DEFAULT_ATTEMPT_DATE.toString())))
+            .andExpect(jsonPath("$.[*].application.id").value(hasItem(evaluation.getApplication().getId().intValue())));
     }
     
     @Test
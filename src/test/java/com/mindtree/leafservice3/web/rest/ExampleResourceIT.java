@@ -4,6 +4,7 @@ import com.mindtree.leafservice3.LeafService3App;
 import com.mindtree.leafservice3.domain.Example;
 import com.mindtree.leafservice3.repository.ExampleRepository;
 import com.mindtree.leafservice3.repository.search.ExampleSearchRepository;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -51,6 +52,9 @@ public class ExampleResourceIT {
     @Autowired
     private ExampleSearchRepository mockExampleSearchRepository;
 
+    @Autowired
+    private SearchIndexingService searchIndexingService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -73,7 +77,8 @@ public class ExampleResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final ExampleResource exampleResource = new ExampleResource(exampleRepository, mockExampleSearchRepository);
+        final ExampleResource exampleResource = new ExampleResource(exampleRepository, mockExampleSearchRepository,
+            searchIndexingService);
         this.restExampleMockMvc = MockMvcBuilders.standaloneSetup(exampleResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -4,6 +4,8 @@ import com.mindtree.leafservice3.LeafService3App;
 import com.mindtree.leafservice3.domain.ExcelTemplate;
 import com.mindtree.leafservice3.repository.ExcelTemplateRepository;
 import com.mindtree.leafservice3.repository.search.ExcelTemplateSearchRepository;
+import com.mindtree.leafservice3.service.BlobStorageService;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,7 +19,6 @@ import org.springframework.http.converter.json.MappingJackson2HttpMessageConvert
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.Base64Utils;
 import org.springframework.validation.Validator;
 
 import javax.persistence.EntityManager;
@@ -41,6 +42,8 @@ public class ExcelTemplateResourceIT {
 
     private static final byte[] DEFAULT_FILE_NAME = TestUtil.createByteArray(1, "0");
     private static final byte[] UPDATED_FILE_NAME = TestUtil.createByteArray(1, "1");
+    private static final String DEFAULT_FILE_NAME_KEY = "6e340b9cffb37a989ca544e6bb780a2c78901d3fb33738768511a30617afa01d";
+    private static final String UPDATED_FILE_NAME_KEY = "4bf5122f344554c53bde2ebb8cd2b7e3d1600ad631c385a5d7cce23c7785459a";
     private static final String DEFAULT_FILE_NAME_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_FILE_NAME_CONTENT_TYPE = "image/png";
 
@@ -58,6 +61,12 @@ public class ExcelTemplateResourceIT {
     @Autowired
     private ExcelTemplateSearchRepository mockExcelTemplateSearchRepository;
 
+    @Autowired
+    private SearchIndexingService searchIndexingService;
+
+    @Autowired
+    private BlobStorageService blobStorageService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -80,7 +89,8 @@ public class ExcelTemplateResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final ExcelTemplateResource excelTemplateResource = new ExcelTemplateResource(excelTemplateRepository, mockExcelTemplateSearchRepository);
+        final ExcelTemplateResource excelTemplateResource = new ExcelTemplateResource(excelTemplateRepository, mockExcelTemplateSearchRepository,
+            searchIndexingService, blobStorageService);
         this.restExcelTemplateMockMvc = MockMvcBuilders.standaloneSetup(excelTemplateResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -119,6 +129,8 @@ public class ExcelTemplateResourceIT {
     @BeforeEach
     public void initTest() {
         excelTemplate = createEntity(em);
+        excelTemplate.setFileNameKey(blobStorageService.store(DEFAULT_FILE_NAME));
+        excelTemplate.setFileNameSize((long) DEFAULT_FILE_NAME.length);
     }
 
     @Test
@@ -129,14 +141,15 @@ public class ExcelTemplateResourceIT {
         // Create the ExcelTemplate
         restExcelTemplateMockMvc.perform(post("/api/excel-templates")
             .contentType(TestUtil.APPLICATION_JSON_UTF8)
-            .content(TestUtil.convertObjectToJsonBytes(excelTemplate)))
+            .content(TestUtil.convertObjectToJsonBytes(excelTemplate, "fileName", excelTemplate.getFileName())))
             .andExpect(status().isCreated());
 
         // Validate the ExcelTemplate in the database
         List<ExcelTemplate> excelTemplateList = excelTemplateRepository.findAll();
         assertThat(excelTemplateList).hasSize(databaseSizeBeforeCreate + 1);
         ExcelTemplate testExcelTemplate = excelTemplateList.get(excelTemplateList.size() - 1);
-        assertThat(testExcelTemplate.getFileName()).isEqualTo(DEFAULT_FILE_NAME);
+        assertThat(testExcelTemplate.getFileNameKey()).isEqualTo(DEFAULT_FILE_NAME_KEY);
+        assertThat(testExcelTemplate.getFileNameSize()).isEqualTo((long) DEFAULT_FILE_NAME.length);
         assertThat(testExcelTemplate.getFileNameContentType()).isEqualTo(DEFAULT_FILE_NAME_CONTENT_TYPE);
         assertThat(testExcelTemplate.getType()).isEqualTo(DEFAULT_TYPE);
 
@@ -155,7 +168,7 @@ public class ExcelTemplateResourceIT {
         // An entity with an existing ID cannot be created, so this API call must fail
         restExcelTemplateMockMvc.perform(post("/api/excel-templates")
             .contentType(TestUtil.APPLICATION_JSON_UTF8)
-            .content(TestUtil.convertObjectToJsonBytes(excelTemplate)))
+            .content(TestUtil.convertObjectToJsonBytes(excelTemplate, "fileName", excelTemplate.getFileName())))
             .andExpect(status().isBadRequest());
 
         // Validate the ExcelTemplate in the database
@@ -178,7 +191,7 @@ public class ExcelTemplateResourceIT {
 
         restExcelTemplateMockMvc.perform(post("/api/excel-templates")
             .contentType(TestUtil.APPLICATION_JSON_UTF8)
-            .content(TestUtil.convertObjectToJsonBytes(excelTemplate)))
+            .content(TestUtil.convertObjectToJsonBytes(excelTemplate, "fileName", excelTemplate.getFileName())))
             .andExpect(status().isBadRequest());
 
         List<ExcelTemplate> excelTemplateList = excelTemplateRepository.findAll();
@@ -197,7 +210,8 @@ public class ExcelTemplateResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(excelTemplate.getId().intValue())))
             .andExpect(jsonPath("$.[*].fileNameContentType").value(hasItem(DEFAULT_FILE_NAME_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].fileName").value(hasItem(Base64Utils.encodeToString(DEFAULT_FILE_NAME))))
+            .andExpect(jsonPath("$.[*].fileNameKey").value(hasItem(DEFAULT_FILE_NAME_KEY)))
+            .andExpect(jsonPath("$.[*].fileName").doesNotExist())
             .andExpect(jsonPath("$.[*].type").value(hasItem(DEFAULT_TYPE.toString())));
     }
     
@@ -213,7 +227,8 @@ public class ExcelTemplateResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.id").value(excelTemplate.getId().intValue()))
             .andExpect(jsonPath("$.fileNameContentType").value(DEFAULT_FILE_NAME_CONTENT_TYPE))
-            .andExpect(jsonPath("$.fileName").value(Base64Utils.encodeToString(DEFAULT_FILE_NAME)))
+            .andExpect(jsonPath("$.fileNameKey").value(DEFAULT_FILE_NAME_KEY))
+            .andExpect(jsonPath("$.fileName").doesNotExist())
             .andExpect(jsonPath("$.type").value(DEFAULT_TYPE.toString()));
     }
 
@@ -244,14 +259,15 @@ public class ExcelTemplateResourceIT {
 
         restExcelTemplateMockMvc.perform(put("/api/excel-templates")
             .contentType(TestUtil.APPLICATION_JSON_UTF8)
-            .content(TestUtil.convertObjectToJsonBytes(updatedExcelTemplate)))
+            .content(TestUtil.convertObjectToJsonBytes(updatedExcelTemplate, "fileName", updatedExcelTemplate.getFileName())))
             .andExpect(status().isOk());
 
         // Validate the ExcelTemplate in the database
         List<ExcelTemplate> excelTemplateList = excelTemplateRepository.findAll();
         assertThat(excelTemplateList).hasSize(databaseSizeBeforeUpdate);
         ExcelTemplate testExcelTemplate = excelTemplateList.get(excelTemplateList.size() - 1);
-        assertThat(testExcelTemplate.getFileName()).isEqualTo(UPDATED_FILE_NAME);
+        assertThat(testExcelTemplate.getFileNameKey()).isEqualTo(UPDATED_FILE_NAME_KEY);
+        assertThat(testExcelTemplate.getFileNameSize()).isEqualTo((long) UPDATED_FILE_NAME.length);
         assertThat(testExcelTemplate.getFileNameContentType()).isEqualTo(UPDATED_FILE_NAME_CONTENT_TYPE);
         assertThat(testExcelTemplate.getType()).isEqualTo(UPDATED_TYPE);
 
@@ -269,7 +285,7 @@ public class ExcelTemplateResourceIT {
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restExcelTemplateMockMvc.perform(put("/api/excel-templates")
             .contentType(TestUtil.APPLICATION_JSON_UTF8)
-            .content(TestUtil.convertObjectToJsonBytes(excelTemplate)))
+            .content(TestUtil.convertObjectToJsonBytes(excelTemplate, "fileName", excelTemplate.getFileName())))
             .andExpect(status().isBadRequest());
 
         // Validate the ExcelTemplate in the database
@@ -314,7 +330,8 @@ public class ExcelTemplateResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(excelTemplate.getId().intValue())))
             .andExpect(jsonPath("$.[*].fileNameContentType").value(hasItem(DEFAULT_FILE_NAME_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].fileName").value(hasItem(Base64Utils.encodeToString(DEFAULT_FILE_NAME))))
+            .andExpect(jsonPath("$.[*].fileNameKey").value(hasItem(DEFAULT_FILE_NAME_KEY)))
+            .andExpect(jsonPath("$.[*].fileName").doesNotExist())
             .andExpect(jsonPath("$.[*].type").value(hasItem(DEFAULT_TYPE.toString())));
     }
 
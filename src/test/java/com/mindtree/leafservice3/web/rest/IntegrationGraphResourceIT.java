@@ -0,0 +1,159 @@
+package com.mindtree.leafservice3.web.rest;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.Integration;
+import com.mindtree.leafservice3.domain.enumeration.IntegrationFlowType;
+import com.mindtree.leafservice3.service.IntegrationGraphService;
+import com.mindtree.leafservice3.service.IntegrationService;
+import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the integration graph endpoints of the {@link IntegrationResource} REST controller.
+ * <p>
+ * The graph only holds committed integrations, so the applications and integrations of the tests are committed, and
+ * deleted afterwards.
+ */
+@SpringBootTest(classes = LeafService3App.class)
+public class IntegrationGraphResourceIT {
+
+    @Autowired
+    private IntegrationService integrationService;
+
+    @Autowired
+    private IntegrationGraphService integrationGraphService;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc restIntegrationMockMvc;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Long first;
+
+    private Long second;
+
+    private Long third;
+
+    private Long fourth;
+
+    @BeforeEach
+    public void setup() {
+        IntegrationResource integrationResource = new IntegrationResource(integrationService, integrationGraphService);
+        this.restIntegrationMockMvc = MockMvcBuilders.standaloneSetup(integrationResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(jacksonMessageConverter).build();
+
+        // First -> Second -> Third, and Fourth without integrations
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        List<Application> applications = transactionTemplate.execute(status -> {
+            List<Application> created = Arrays.asList(ApplicationResourceIT.createEntity(em).name("First"),
+                ApplicationResourceIT.createEntity(em).name("Second"), ApplicationResourceIT.createEntity(em).name("Third"),
+                ApplicationResourceIT.createEntity(em).name("Fourth"));
+            created.forEach(em::persist);
+            em.persist(new Integration().entity("Orders").flowType(IntegrationFlowType.OUTBOUND)
+                .application(created.get(0)).integrationApp(created.get(1)));
+            em.persist(new Integration().entity("Invoices").flowType(IntegrationFlowType.INBOUND)
+                .application(created.get(2)).integrationApp(created.get(1)));
+            return created;
+        });
+        first = applications.get(0).getId();
+        second = applications.get(1).getId();
+        third = applications.get(2).getId();
+        fourth = applications.get(3).getId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transactionTemplate.execute(status -> {
+            em.createQuery("delete from Integration integration where integration.integrationApp.id = :id")
+                .setParameter("id", second).executeUpdate();
+            em.createQuery("delete from Application application where application.id in :ids")
+                .setParameter("ids", Arrays.asList(first, second, third, fourth)).executeUpdate();
+            return null;
+        });
+    }
+
+    @Test
+    public void getNeighbourhood() throws Exception {
+        restIntegrationMockMvc.perform(get("/api/integrations/graph/{app_id}/neighbourhood?hops=2", third))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].appId").value(contains(second.intValue(), first.intValue())))
+            .andExpect(jsonPath("$.[*].appName").value(contains("Second", "First")))
+            .andExpect(jsonPath("$.[*].hops").value(contains(1, 2)));
+        restIntegrationMockMvc.perform(get("/api/integrations/graph/{app_id}/neighbourhood", third))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].appName").value(contains("Second")));
+    }
+
+    @Test
+    public void getNeighbourhoodOfNonExistingApplication() throws Exception {
+        restIntegrationMockMvc.perform(get("/api/integrations/graph/{app_id}/neighbourhood", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getBlastRadius() throws Exception {
+        restIntegrationMockMvc.perform(get("/api/integrations/graph/{app_id}/blast-radius", first))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].appName").value(contains("Second", "Third")))
+            .andExpect(jsonPath("$.[*].hops").value(contains(1, 2)));
+        restIntegrationMockMvc.perform(get("/api/integrations/graph/{app_id}/blast-radius?hops=1", first))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].appName").value(contains("Second")));
+        restIntegrationMockMvc.perform(get("/api/integrations/graph/{app_id}/blast-radius", third))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    public void getShortestPath() throws Exception {
+        restIntegrationMockMvc.perform(get("/api/integrations/graph/path?from={from}&to={to}", third, first))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].appName").value(contains("Third", "Second", "First")))
+            .andExpect(jsonPath("$.[*].hops").value(contains(0, 1, 2)));
+        restIntegrationMockMvc.perform(get("/api/integrations/graph/path?from={from}&to={to}", first, fourth))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getIntegrationData() throws Exception {
+        restIntegrationMockMvc.perform(get("/api/integrations/getIntegrationData/{app_id}", third))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.mainAppName").value("Third"))
+            .andExpect(jsonPath("$.links.[*].appName").value(contains("Second")))
+            .andExpect(jsonPath("$.links.[*].entity").value(contains("Invoices")))
+            .andExpect(jsonPath("$.links.[*].flowType").value(contains("INBOUND")));
+    }
+}
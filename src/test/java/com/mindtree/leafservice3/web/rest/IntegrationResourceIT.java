@@ -5,6 +5,7 @@ import com.mindtree.leafservice3.domain.Integration;
 import com.mindtree.leafservice3.domain.Application;
 import com.mindtree.leafservice3.repository.IntegrationRepository;
 import com.mindtree.leafservice3.repository.search.IntegrationSearchRepository;
+import com.mindtree.leafservice3.service.IntegrationGraphService;
 import com.mindtree.leafservice3.service.IntegrationService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
 
@@ -52,6 +53,9 @@ public class IntegrationResourceIT {
     @Autowired
     private IntegrationService integrationService;
 
+    @Autowired
+    private IntegrationGraphService integrationGraphService;
+
     /**
      * This repository is mocked in the com.mindtree.leafservice3.repository.search test package.
      *
@@ -82,7 +86,7 @@ public class IntegrationResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final IntegrationResource integrationResource = new IntegrationResource(integrationService);
+        final IntegrationResource integrationResource = new IntegrationResource(integrationService, integrationGraphService);
         this.restIntegrationMockMvc = MockMvcBuilders.standaloneSetup(integrationResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -5,7 +5,9 @@ import com.mindtree.leafservice3.domain.Label;
 import com.mindtree.leafservice3.domain.Company;
 import com.mindtree.leafservice3.repository.LabelRepository;
 import com.mindtree.leafservice3.repository.search.LabelSearchRepository;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
+import com.mindtree.leafservice3.web.rest.util.KeysetListWriter;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -56,6 +58,12 @@ public class LabelResourceIT {
     @Autowired
     private LabelSearchRepository mockLabelSearchRepository;
 
+    @Autowired
+    private SearchIndexingService searchIndexingService;
+
+    @Autowired
+    private KeysetListWriter keysetListWriter;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -78,7 +86,8 @@ public class LabelResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final LabelResource labelResource = new LabelResource(labelRepository, mockLabelSearchRepository);
+        final LabelResource labelResource = new LabelResource(labelRepository, mockLabelSearchRepository,
+            searchIndexingService, keysetListWriter);
         this.restLabelMockMvc = MockMvcBuilders.standaloneSetup(labelResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -212,7 +221,8 @@ public class LabelResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(label.getId().intValue())))
             .andExpect(jsonPath("$.[*].label_type").value(hasItem(DEFAULT_LABEL_TYPE)))
-            .andExpect(jsonPath("$.[*].label_data").value(hasItem(DEFAULT_LABEL_DATA.toString())));
+            .andExpect(jsonPath("$.[*].label_data").doesNotExist())
+            .andExpect(jsonPath("$.[*].company.id").value(hasItem(label.getCompany().getId().intValue())));
     }
     
     @Test
@@ -1,7 +1,17 @@
 package com.mindtree.leafservice3.web.rest;
 
 import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.domain.Activity;
+import com.mindtree.leafservice3.domain.BusinessFunction;
+import com.mindtree.leafservice3.domain.BusinessProcess;
+import com.mindtree.leafservice3.domain.Capabilities;
 import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.Task;
+import com.mindtree.leafservice3.domain.enumeration.BusinessFunctionType;
+import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
+import com.mindtree.leafservice3.domain.enumeration.ProcessStatus;
+import com.mindtree.leafservice3.domain.enumeration.ResourcesRequired;
 import com.mindtree.leafservice3.repository.LineOfBusinessRepository;
 import com.mindtree.leafservice3.repository.search.LineOfBusinessSearchRepository;
 import com.mindtree.leafservice3.service.LineOfBusinessService;
@@ -21,6 +31,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.Validator;
 
 import javax.persistence.EntityManager;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 
@@ -28,6 +39,8 @@ import static com.mindtree.leafservice3.web.rest.TestUtil.createFormattingConver
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -70,6 +83,9 @@ public class LineOfBusinessResourceIT {
     @Autowired
     private Validator validator;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     private MockMvc restLineOfBusinessMockMvc;
 
     private LineOfBusiness lineOfBusiness;
@@ -301,6 +317,150 @@ public class LineOfBusinessResourceIT {
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
     }
 
+    @Test
+    @Transactional
+    public void searchDataOfLineOfBusiness() throws Exception {
+        em.persist(lineOfBusiness);
+        Task task = createSubtree(lineOfBusiness, "Sales");
+        LineOfBusiness otherLineOfBusiness = createUpdatedEntity(em);
+        em.persist(otherLineOfBusiness);
+        createSubtree(otherLineOfBusiness, "Other");
+        em.flush();
+
+        restLineOfBusinessMockMvc.perform(get("/api/_search/lob/{lob_id}", lineOfBusiness.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.id").value(lineOfBusiness.getId().intValue()))
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
+            .andExpect(jsonPath("$.depth").value(5))
+            .andExpect(jsonPath("$.truncated").value(false))
+            .andExpect(jsonPath("$.hasMoreBusinessFunctions").value(false))
+            .andExpect(jsonPath("$.businessFunctions", hasSize(1)))
+            .andExpect(jsonPath("$.businessFunctions[0].name").value("Sales function"))
+            .andExpect(jsonPath("$.businessFunctions[0].type").value("Primary"))
+            .andExpect(jsonPath("$.businessFunctions[0].capabilities", hasSize(1)))
+            .andExpect(jsonPath("$.businessFunctions[0].capabilities[0].businessProcesses[0].status")
+                .value("InProgress"))
+            .andExpect(jsonPath("$.businessFunctions[0].capabilities[0].businessProcesses[0].activities[0].name")
+                .value("Sales activity"))
+            .andExpect(jsonPath("$.businessFunctions[0].capabilities[0].businessProcesses[0].activities[0].tasks",
+                hasSize(1)))
+            .andExpect(jsonPath("$.businessFunctions[0].capabilities[0].businessProcesses[0].activities[0].tasks[0].id")
+                .value(task.getId().intValue()))
+            .andExpect(jsonPath("$.businessFunctions[0].capabilities[0].businessProcesses[0].activities[0].tasks[0].estimatedCost")
+                .value(10))
+            .andExpect(jsonPath("$.businessFunctions[0].capabilities[0].businessProcesses[0].activities[0].tasks[0].estimatedCostUnits")
+                .value(10_000));
+    }
+
+    @Test
+    @Transactional
+    public void searchDataSumsTheEstimatedCostsOfAllTheTasksOfAnActivity() throws Exception {
+        em.persist(lineOfBusiness);
+        Task task = createSubtree(lineOfBusiness, "Sales");
+        em.persist(new Task().name("Billion task").estimatedCost(3).successor(CurrencySuccessor.B)
+            .activity(task.getActivity()));
+        em.persist(new Task().name("Million task").estimatedCost(2_000_000_000).successor(CurrencySuccessor.M)
+            .activity(task.getActivity()));
+        em.flush();
+        int maxNodesPerLevel = applicationProperties.getDrillDown().getMaxNodesPerLevel();
+        applicationProperties.getDrillDown().setMaxNodesPerLevel(1);
+        try {
+            restLineOfBusinessMockMvc.perform(get("/api/_search/lob/{lob_id}", lineOfBusiness.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.truncated").value(true))
+                .andExpect(jsonPath("$.businessFunctions[0].capabilities[0].businessProcesses[0].activities[0].tasks",
+                    hasSize(1)))
+                .andExpect(jsonPath("$.businessFunctions[0].capabilities[0].businessProcesses[0].activities[0].estimatedCostUnits")
+                    .value(2_000_003_000_010_000L));
+        } finally {
+            applicationProperties.getDrillDown().setMaxNodesPerLevel(maxNodesPerLevel);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void searchDataDownToDepth() throws Exception {
+        em.persist(lineOfBusiness);
+        createSubtree(lineOfBusiness, "Sales");
+        em.flush();
+
+        restLineOfBusinessMockMvc.perform(get("/api/_search/lob/{lob_id}?depth=2", lineOfBusiness.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.depth").value(2))
+            .andExpect(jsonPath("$.businessFunctions[0].capabilities", hasSize(1)))
+            .andExpect(jsonPath("$.businessFunctions[0].capabilities[0].businessProcesses", hasSize(0)));
+    }
+
+    @Test
+    @Transactional
+    public void searchDataPageOfBusinessFunctions() throws Exception {
+        em.persist(lineOfBusiness);
+        for (int i = 0; i < 3; i++) {
+            createSubtree(lineOfBusiness, "Function " + i);
+        }
+        em.flush();
+
+        restLineOfBusinessMockMvc.perform(get("/api/_search/lob/{lob_id}?page=0&size=2", lineOfBusiness.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.hasMoreBusinessFunctions").value(true))
+            .andExpect(jsonPath("$.businessFunctions[*].name").value(contains("Function 0 function", "Function 1 function")));
+        restLineOfBusinessMockMvc.perform(get("/api/_search/lob/{lob_id}?page=1&size=2", lineOfBusiness.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.hasMoreBusinessFunctions").value(false))
+            .andExpect(jsonPath("$.businessFunctions[*].name").value(contains("Function 2 function")));
+    }
+
+    @Test
+    @Transactional
+    public void searchDataTruncatesLevelsOverTheLimit() throws Exception {
+        em.persist(lineOfBusiness);
+        for (int i = 0; i < 3; i++) {
+            createSubtree(lineOfBusiness, "Function " + i);
+        }
+        em.flush();
+        int maxNodesPerLevel = applicationProperties.getDrillDown().getMaxNodesPerLevel();
+        applicationProperties.getDrillDown().setMaxNodesPerLevel(2);
+        try {
+            restLineOfBusinessMockMvc.perform(get("/api/_search/lob/{lob_id}", lineOfBusiness.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.truncated").value(true))
+                .andExpect(jsonPath("$.businessFunctions", hasSize(3)))
+                .andExpect(jsonPath("$.businessFunctions[*].capabilities[*]", hasSize(2)))
+                .andExpect(jsonPath("$.businessFunctions[*].capabilities[*].businessProcesses[*].activities[*].tasks[*]",
+                    hasSize(2)));
+        } finally {
+            applicationProperties.getDrillDown().setMaxNodesPerLevel(maxNodesPerLevel);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void searchDataOfNonExistingLineOfBusiness() throws Exception {
+        restLineOfBusinessMockMvc.perform(get("/api/_search/lob/{lob_id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    private Task createSubtree(LineOfBusiness lineOfBusiness, String name) {
+        BusinessFunction businessFunction = new BusinessFunction().name(name + " function")
+            .type(BusinessFunctionType.Primary).lineOfBusiness(lineOfBusiness);
+        em.persist(businessFunction);
+        Capabilities capabilities = new Capabilities().description(name + " capability")
+            .businessFunction(businessFunction);
+        em.persist(capabilities);
+        BusinessProcess businessProcess = new BusinessProcess().name(name + " process").startDate(LocalDate.now())
+            .status(ProcessStatus.InProgress).capabilities(capabilities);
+        em.persist(businessProcess);
+        Activity activity = new Activity().name(name + " activity").description(name + " activity")
+            .resourcesRequired(ResourcesRequired.People)
+            .businessProcess(businessProcess);
+        em.persist(activity);
+        Task task = new Task().name(name + " task").estimatedCost(10).successor(CurrencySuccessor.K)
+            .activity(activity);
+        em.persist(task);
+        return task;
+    }
+
     @Test
     @Transactional
     public void equalsVerifier() throws Exception {
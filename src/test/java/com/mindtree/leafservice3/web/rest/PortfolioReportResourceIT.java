@@ -0,0 +1,230 @@
+package com.mindtree.leafservice3.web.rest;
+
+import com.mindtree.leafservice3.LeafService3App;
+import com.mindtree.leafservice3.config.ApplicationProperties;
+import com.mindtree.leafservice3.domain.Application;
+import com.mindtree.leafservice3.domain.Company;
+import com.mindtree.leafservice3.domain.LineOfBusiness;
+import com.mindtree.leafservice3.domain.OraganizationalUnit;
+import com.mindtree.leafservice3.domain.Spend;
+import com.mindtree.leafservice3.domain.Technology;
+import com.mindtree.leafservice3.domain.TechnologyStack;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationStatus;
+import com.mindtree.leafservice3.domain.enumeration.ApplicationType;
+import com.mindtree.leafservice3.domain.enumeration.CurrencySuccessor;
+import com.mindtree.leafservice3.service.ReportJobService;
+import com.mindtree.leafservice3.service.ReportService;
+import com.mindtree.leafservice3.service.dto.ReportJobDTO;
+import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
+import com.mindtree.leafservice3.web.rest.util.StreamingResponseBodyHttpMessageConverter;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the portfolio report endpoints of the {@link ReportResource} REST controller.
+ * <p>
+ * The report is read in its own transactions, so the portfolio of the tests is committed, and deleted afterwards.
+ */
+@SpringBootTest(classes = LeafService3App.class)
+public class PortfolioReportResourceIT {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc restReportMockMvc;
+
+    private TransactionTemplate transactionTemplate;
+
+    private int maxPageSize;
+
+    private long backgroundThreshold;
+
+    private Company company;
+
+    private TechnologyStack stack;
+
+    @BeforeEach
+    public void setup() {
+        ReportResource reportResource = new ReportResource(reportService, reportJobService);
+        this.restReportMockMvc = MockMvcBuilders.standaloneSetup(reportResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(jacksonMessageConverter, new ResourceHttpMessageConverter(),
+                new StreamingResponseBodyHttpMessageConverter()).build();
+        maxPageSize = applicationProperties.getPagination().getMaxPageSize();
+        backgroundThreshold = applicationProperties.getReport().getBackgroundThreshold();
+        // several keyset pages for the three applications
+        applicationProperties.getPagination().setMaxPageSize(2);
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.execute(status -> {
+            company = new Company().companyName("Portfolio").description("Portfolio");
+            em.persist(company);
+            OraganizationalUnit unit = new OraganizationalUnit().name("Stores").company(company);
+            em.persist(unit);
+            LineOfBusiness lineOfBusiness = new LineOfBusiness().name("Retail").oraganizationalUnit(unit);
+            em.persist(lineOfBusiness);
+            for (String name : new String[] {"Alpha", "Beta", "Gamma"}) {
+                em.persist(new Application().name(name).description(name).type(ApplicationType.WebApplication)
+                    .status(ApplicationStatus.Running).implementationDate(LocalDate.now()).lineOfBusiness(lineOfBusiness));
+            }
+            Application alpha = em.createQuery("select application from Application application "
+                + "where application.name = 'Alpha' and application.lineOfBusiness = :lineOfBusiness", Application.class)
+                .setParameter("lineOfBusiness", lineOfBusiness).getSingleResult();
+            stack = new TechnologyStack().name("Java").type("LANGUAGE");
+            em.persist(stack);
+            Technology technology = new Technology().application(alpha).technologyStack(stack);
+            em.persist(technology);
+            // the cube counts the license spends of the stacks other than cloud ones
+            em.persist(new Spend().spendId(technology.getId()).expenditureType("LICENSE").amount(12)
+                .successor(CurrencySuccessor.K).dateOfUpdate(LocalDate.now()));
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        applicationProperties.getPagination().setMaxPageSize(maxPageSize);
+        applicationProperties.getReport().setBackgroundThreshold(backgroundThreshold);
+        transactionTemplate.execute(status -> {
+            Long companyId = company.getId();
+            em.createQuery("delete from SpendAggregate spendAggregate where spendAggregate.companyId = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from Spend spend where spend.companyId = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from Technology technology where technology.companyId = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from TechnologyStack technologyStack where technologyStack.id = :id")
+                .setParameter("id", stack.getId()).executeUpdate();
+            em.createQuery("delete from Application application where application.companyId = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from LineOfBusiness lineOfBusiness where lineOfBusiness.oraganizationalUnit.id in "
+                + "(select unit.id from OraganizationalUnit unit where unit.company.id = :companyId)")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from OraganizationalUnit unit where unit.company.id = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            em.createQuery("delete from Company company where company.id = :companyId")
+                .setParameter("companyId", companyId).executeUpdate();
+            return null;
+        });
+    }
+
+    @Test
+    public void streamThePortfolioReport() throws Exception {
+        byte[] pdf = restReportMockMvc.perform(get("/api/pdfGenerator/{company_id}", company.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+            .andExpect(header().string("Content-Disposition",
+                "attachment; filename=\"portfolio-" + company.getId() + ".pdf\""))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        String text = text(pdf);
+        assertThat(text).contains("Application portfolio of Portfolio");
+        assertThat(text).containsSubsequence("Alpha", "Retail", "Running", "WebApplication", "Java", "12", "0",
+            "Beta", "Retail", "Gamma", "Retail");
+    }
+
+    @Test
+    public void writeTheReportOutsideOfAnyTransaction() throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream() {
+
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+                super.write(b, off, len);
+            }
+        };
+
+        assertThat(reportService.writePortfolioReport(company.getId(), pdf)).isEqualTo(3);
+        assertThat(text(pdf.toByteArray())).containsSubsequence("Alpha", "Java", "12", "Beta", "Gamma");
+    }
+
+    @Test
+    public void getThePortfolioReportOfNonExistingCompany() throws Exception {
+        restReportMockMvc.perform(get("/api/pdfGenerator/{company_id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void renderTheReportOfALargeCompanyInTheBackground() throws Exception {
+        applicationProperties.getReport().setBackgroundThreshold(2);
+
+        String location = restReportMockMvc.perform(get("/api/pdfGenerator/{company_id}", company.getId()))
+            .andExpect(status().isAccepted())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.companyId").value(company.getId().intValue()))
+            .andReturn().getResponse().getHeader("Location");
+        assertThat(location).startsWith("/api/reports/jobs/");
+        String id = location.substring("/api/reports/jobs/".length());
+        for (int i = 0; i < 100 && reportJobService.findOne(id).get().finishedAt == null; i++) {
+            Thread.sleep(100);
+        }
+
+        restReportMockMvc.perform(get("/api/reports/jobs/{id}", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value(ReportJobDTO.Status.COMPLETED.toString()))
+            .andExpect(jsonPath("$.applicationsWritten").value(3));
+        byte[] pdf = restReportMockMvc.perform(get("/api/reports/jobs/{id}/pdf", id))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+            .andReturn().getResponse().getContentAsByteArray();
+        assertThat(text(pdf)).containsSubsequence("Alpha", "Beta", "Gamma");
+    }
+
+    @Test
+    public void getNonExistingReportJob() throws Exception {
+        restReportMockMvc.perform(get("/api/reports/jobs/{id}", "unknown"))
+            .andExpect(status().isNotFound());
+        restReportMockMvc.perform(get("/api/reports/jobs/{id}/pdf", "unknown"))
+            .andExpect(status().isNotFound());
+    }
+
+    private static String text(byte[] pdf) throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.mindtree.leafservice3.LeafService3App;
 import com.mindtree.leafservice3.domain.Report;
 import com.mindtree.leafservice3.repository.ReportRepository;
 import com.mindtree.leafservice3.repository.search.ReportSearchRepository;
+import com.mindtree.leafservice3.service.ReportJobService;
 import com.mindtree.leafservice3.service.ReportService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
 
@@ -53,6 +54,9 @@ public class ReportResourceIT {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private ReportJobService reportJobService;
+
     /**
      * This repository is mocked in the com.mindtree.leafservice3.repository.search test package.
      *
@@ -83,7 +87,7 @@ public class ReportResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final ReportResource reportResource = new ReportResource(reportService);
+        final ReportResource reportResource = new ReportResource(reportService, reportJobService);
         this.restReportMockMvc = MockMvcBuilders.standaloneSetup(reportResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
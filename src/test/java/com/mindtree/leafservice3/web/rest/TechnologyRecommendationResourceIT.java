@@ -4,6 +4,7 @@ import com.mindtree.leafservice3.LeafService3App;
 import com.mindtree.leafservice3.domain.TechnologyRecommendation;
 import com.mindtree.leafservice3.repository.TechnologyRecommendationRepository;
 import com.mindtree.leafservice3.repository.search.TechnologyRecommendationSearchRepository;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -67,6 +68,9 @@ public class TechnologyRecommendationResourceIT {
     @Autowired
     private TechnologyRecommendationSearchRepository mockTechnologyRecommendationSearchRepository;
 
+    @Autowired
+    private SearchIndexingService searchIndexingService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -89,7 +93,8 @@ public class TechnologyRecommendationResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final TechnologyRecommendationResource technologyRecommendationResource = new TechnologyRecommendationResource(technologyRecommendationRepository, mockTechnologyRecommendationSearchRepository);
+        final TechnologyRecommendationResource technologyRecommendationResource = new TechnologyRecommendationResource(technologyRecommendationRepository, mockTechnologyRecommendationSearchRepository,
+            searchIndexingService);
         this.restTechnologyRecommendationMockMvc = MockMvcBuilders.standaloneSetup(technologyRecommendationResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
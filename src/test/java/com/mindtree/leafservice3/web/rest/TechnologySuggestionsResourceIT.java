@@ -4,7 +4,9 @@ import com.mindtree.leafservice3.LeafService3App;
 import com.mindtree.leafservice3.domain.TechnologySuggestions;
 import com.mindtree.leafservice3.repository.TechnologySuggestionsRepository;
 import com.mindtree.leafservice3.repository.search.TechnologySuggestionsSearchRepository;
+import com.mindtree.leafservice3.service.SearchIndexingService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
+import com.mindtree.leafservice3.web.rest.util.KeysetListWriter;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -61,6 +63,12 @@ public class TechnologySuggestionsResourceIT {
     @Autowired
     private TechnologySuggestionsSearchRepository mockTechnologySuggestionsSearchRepository;
 
+    @Autowired
+    private SearchIndexingService searchIndexingService;
+
+    @Autowired
+    private KeysetListWriter keysetListWriter;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -83,7 +91,8 @@ public class TechnologySuggestionsResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final TechnologySuggestionsResource technologySuggestionsResource = new TechnologySuggestionsResource(technologySuggestionsRepository, mockTechnologySuggestionsSearchRepository);
+        final TechnologySuggestionsResource technologySuggestionsResource = new TechnologySuggestionsResource(technologySuggestionsRepository, mockTechnologySuggestionsSearchRepository,
+            searchIndexingService, keysetListWriter);
         this.restTechnologySuggestionsMockMvc = MockMvcBuilders.standaloneSetup(technologySuggestionsResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
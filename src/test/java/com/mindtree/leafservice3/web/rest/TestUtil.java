@@ -2,6 +2,7 @@ package com.mindtree.leafservice3.web.rest;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeDiagnosingMatcher;
@@ -51,6 +52,23 @@ public final class TestUtil {
         return mapper.writeValueAsBytes(object);
     }
 
+    /**
+     * Convert an object to JSON byte array, with a binary property that is only accepted in requests.
+     *
+     * @param object the object to convert.
+     * @param property the name of the binary property.
+     * @param content the content of the binary property, left out when {@code null}.
+     * @return the JSON byte array.
+     * @throws IOException
+     */
+    public static byte[] convertObjectToJsonBytes(Object object, String property, byte[] content) throws IOException {
+        ObjectNode json = mapper.valueToTree(object);
+        if (content != null) {
+            json.put(property, content);
+        }
+        return mapper.writeValueAsBytes(json);
+    }
+
     /**
      * Create a byte array with a specific size filled with specified data.
      *
@@ -10,7 +10,9 @@ import com.mindtree.leafservice3.repository.TechnologyRepository;
 import com.mindtree.leafservice3.repository.TechnologyStackRepository;
 import com.mindtree.leafservice3.repository.UploadExcelRepository;
 import com.mindtree.leafservice3.repository.search.UploadExcelSearchRepository;
+import com.mindtree.leafservice3.service.BlobStorageService;
 import com.mindtree.leafservice3.service.UploadExcelService;
+import com.mindtree.leafservice3.service.UploadJobService;
 import com.mindtree.leafservice3.web.rest.errors.ExceptionTranslator;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -24,7 +26,6 @@ import org.springframework.http.converter.json.MappingJackson2HttpMessageConvert
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.Base64Utils;
 import org.springframework.validation.Validator;
 
 import javax.persistence.EntityManager;
@@ -49,6 +50,8 @@ public class UploadExcelResourceIT {
 
     private static final byte[] DEFAULT_NAME = TestUtil.createByteArray(1, "0");
     private static final byte[] UPDATED_NAME = TestUtil.createByteArray(1, "1");
+    private static final String DEFAULT_NAME_KEY = "6e340b9cffb37a989ca544e6bb780a2c78901d3fb33738768511a30617afa01d";
+    private static final String UPDATED_NAME_KEY = "4bf5122f344554c53bde2ebb8cd2b7e3d1600ad631c385a5d7cce23c7785459a";
     private static final String DEFAULT_NAME_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_NAME_CONTENT_TYPE = "image/png";
 
@@ -61,6 +64,9 @@ public class UploadExcelResourceIT {
     @Autowired
     private UploadExcelService uploadExcelService;
 
+    @Autowired
+    private UploadJobService uploadJobService;
+
 
     /**
      * This repository is mocked in the com.mindtree.leafservice3.repository.search test package.
@@ -70,6 +76,9 @@ public class UploadExcelResourceIT {
     @Autowired
     private UploadExcelSearchRepository mockUploadExcelSearchRepository;
 
+    @Autowired
+    private BlobStorageService blobStorageService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -92,7 +101,8 @@ public class UploadExcelResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final UploadExcelResource uploadExcelResource = new UploadExcelResource(uploadExcelService);
+        final UploadExcelResource uploadExcelResource = new UploadExcelResource(uploadExcelService, uploadJobService,
+                blobStorageService);
         this.restUploadExcelMockMvc = MockMvcBuilders.standaloneSetup(uploadExcelResource)
                 .setCustomArgumentResolvers(pageableArgumentResolver).setControllerAdvice(exceptionTranslator)
                 .setConversionService(createFormattingConversionService()).setMessageConverters(jacksonMessageConverter)
@@ -146,6 +156,8 @@ public class UploadExcelResourceIT {
     @BeforeEach
     public void initTest() {
         uploadExcel = createEntity(em);
+        uploadExcel.setNameKey(blobStorageService.store(DEFAULT_NAME));
+        uploadExcel.setNameSize((long) DEFAULT_NAME.length);
     }
 
     @Test
@@ -155,13 +167,14 @@ public class UploadExcelResourceIT {
 
         // Create the UploadExcel
         restUploadExcelMockMvc.perform(post("/api/upload-excels").contentType(TestUtil.APPLICATION_JSON_UTF8)
-                .content(TestUtil.convertObjectToJsonBytes(uploadExcel))).andExpect(status().isCreated());
+                .content(TestUtil.convertObjectToJsonBytes(uploadExcel, "name", uploadExcel.getName()))).andExpect(status().isCreated());
 
         // Validate the UploadExcel in the database
         List<UploadExcel> uploadExcelList = uploadExcelRepository.findAll();
         assertThat(uploadExcelList).hasSize(databaseSizeBeforeCreate + 1);
         UploadExcel testUploadExcel = uploadExcelList.get(uploadExcelList.size() - 1);
-        assertThat(testUploadExcel.getName()).isEqualTo(DEFAULT_NAME);
+        assertThat(testUploadExcel.getNameKey()).isEqualTo(DEFAULT_NAME_KEY);
+        assertThat(testUploadExcel.getNameSize()).isEqualTo((long) DEFAULT_NAME.length);
         assertThat(testUploadExcel.getNameContentType()).isEqualTo(DEFAULT_NAME_CONTENT_TYPE);
         assertThat(testUploadExcel.getType()).isEqualTo(DEFAULT_TYPE);
 
@@ -179,7 +192,7 @@ public class UploadExcelResourceIT {
 
         // An entity with an existing ID cannot be created, so this API call must fail
         restUploadExcelMockMvc.perform(post("/api/upload-excels").contentType(TestUtil.APPLICATION_JSON_UTF8)
-                .content(TestUtil.convertObjectToJsonBytes(uploadExcel))).andExpect(status().isBadRequest());
+                .content(TestUtil.convertObjectToJsonBytes(uploadExcel, "name", uploadExcel.getName()))).andExpect(status().isBadRequest());
 
         // Validate the UploadExcel in the database
         List<UploadExcel> uploadExcelList = uploadExcelRepository.findAll();
@@ -199,7 +212,7 @@ public class UploadExcelResourceIT {
         // Create the UploadExcel, which fails.
 
         restUploadExcelMockMvc.perform(post("/api/upload-excels").contentType(TestUtil.APPLICATION_JSON_UTF8)
-                .content(TestUtil.convertObjectToJsonBytes(uploadExcel))).andExpect(status().isBadRequest());
+                .content(TestUtil.convertObjectToJsonBytes(uploadExcel, "name", uploadExcel.getName()))).andExpect(status().isBadRequest());
 
         List<UploadExcel> uploadExcelList = uploadExcelRepository.findAll();
         assertThat(uploadExcelList).hasSize(databaseSizeBeforeTest);
@@ -216,7 +229,8 @@ public class UploadExcelResourceIT {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
                 .andExpect(jsonPath("$.[*].id").value(hasItem(uploadExcel.getId().intValue())))
                 .andExpect(jsonPath("$.[*].nameContentType").value(hasItem(DEFAULT_NAME_CONTENT_TYPE)))
-                .andExpect(jsonPath("$.[*].name").value(hasItem(Base64Utils.encodeToString(DEFAULT_NAME))))
+                .andExpect(jsonPath("$.[*].nameKey").value(hasItem(DEFAULT_NAME_KEY)))
+                .andExpect(jsonPath("$.[*].name").doesNotExist())
                 .andExpect(jsonPath("$.[*].type").value(hasItem(DEFAULT_TYPE.toString())));
     }
 
@@ -231,7 +245,8 @@ public class UploadExcelResourceIT {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
                 .andExpect(jsonPath("$.id").value(uploadExcel.getId().intValue()))
                 .andExpect(jsonPath("$.nameContentType").value(DEFAULT_NAME_CONTENT_TYPE))
-                .andExpect(jsonPath("$.name").value(Base64Utils.encodeToString(DEFAULT_NAME)))
+                .andExpect(jsonPath("$.nameKey").value(DEFAULT_NAME_KEY))
+                .andExpect(jsonPath("$.name").doesNotExist())
                 .andExpect(jsonPath("$.type").value(DEFAULT_TYPE.toString()));
     }
 
@@ -260,13 +275,14 @@ public class UploadExcelResourceIT {
         updatedUploadExcel.name(UPDATED_NAME).nameContentType(UPDATED_NAME_CONTENT_TYPE).type(UPDATED_TYPE);
 
         restUploadExcelMockMvc.perform(put("/api/upload-excels").contentType(TestUtil.APPLICATION_JSON_UTF8)
-                .content(TestUtil.convertObjectToJsonBytes(updatedUploadExcel))).andExpect(status().isOk());
+                .content(TestUtil.convertObjectToJsonBytes(updatedUploadExcel, "name", updatedUploadExcel.getName()))).andExpect(status().isOk());
 
         // Validate the UploadExcel in the database
         List<UploadExcel> uploadExcelList = uploadExcelRepository.findAll();
         assertThat(uploadExcelList).hasSize(databaseSizeBeforeUpdate);
         UploadExcel testUploadExcel = uploadExcelList.get(uploadExcelList.size() - 1);
-        assertThat(testUploadExcel.getName()).isEqualTo(UPDATED_NAME);
+        assertThat(testUploadExcel.getNameKey()).isEqualTo(UPDATED_NAME_KEY);
+        assertThat(testUploadExcel.getNameSize()).isEqualTo((long) UPDATED_NAME.length);
         assertThat(testUploadExcel.getNameContentType()).isEqualTo(UPDATED_NAME_CONTENT_TYPE);
         assertThat(testUploadExcel.getType()).isEqualTo(UPDATED_TYPE);
 
@@ -283,7 +299,7 @@ public class UploadExcelResourceIT {
 
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restUploadExcelMockMvc.perform(put("/api/upload-excels").contentType(TestUtil.APPLICATION_JSON_UTF8)
-                .content(TestUtil.convertObjectToJsonBytes(uploadExcel))).andExpect(status().isBadRequest());
+                .content(TestUtil.convertObjectToJsonBytes(uploadExcel, "name", uploadExcel.getName()))).andExpect(status().isBadRequest());
 
         // Validate the UploadExcel in the database
         List<UploadExcel> uploadExcelList = uploadExcelRepository.findAll();
@@ -326,7 +342,8 @@ public class UploadExcelResourceIT {
                 .andExpect(status().isOk()).andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
                 .andExpect(jsonPath("$.[*].id").value(hasItem(uploadExcel.getId().intValue())))
                 .andExpect(jsonPath("$.[*].nameContentType").value(hasItem(DEFAULT_NAME_CONTENT_TYPE)))
-                .andExpect(jsonPath("$.[*].name").value(hasItem(Base64Utils.encodeToString(DEFAULT_NAME))))
+                .andExpect(jsonPath("$.[*].nameKey").value(hasItem(DEFAULT_NAME_KEY)))
+                .andExpect(jsonPath("$.[*].name").doesNotExist())
                 .andExpect(jsonPath("$.[*].type").value(hasItem(DEFAULT_TYPE.toString())));
     }
 